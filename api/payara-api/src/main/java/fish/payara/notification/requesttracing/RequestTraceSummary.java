@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.notification.requesttracing;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A compact, immutable view of a completed {@link RequestTrace}.
+ * <p>
+ * Summaries are what gets shared across a cluster instead of the full trace with all its spans and logs, which stays
+ * on the instance that recorded it.
+ */
+public final class RequestTraceSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final UUID traceId;
+    private final UUID instanceId;
+    private final String operationName;
+    private final Instant startTime;
+    private final long elapsedTime;
+
+    public RequestTraceSummary(UUID traceId, UUID instanceId, String operationName, Instant startTime, long elapsedTime) {
+        this.traceId = traceId;
+        this.instanceId = instanceId;
+        this.operationName = operationName;
+        this.startTime = startTime;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Creates the summary of the given trace.
+     *
+     * @param trace the completed trace to summarise
+     * @param instanceId the identifier of the instance that recorded the trace, may be null
+     * @return the summary of the trace
+     */
+    public static RequestTraceSummary of(RequestTrace trace, UUID instanceId) {
+        RequestTraceSpan root = trace.getTraceSpans().peekFirst();
+        return new RequestTraceSummary(trace.getTraceId(), instanceId, root == null ? null : root.getEventName(),
+                trace.getStartTime(), trace.getElapsedTime());
+    }
+
+    public UUID getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @return the identifier of the instance holding the full trace, or null if unknown
+     */
+    public UUID getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * @return the event name of the root span of the trace
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the time the trace took in milliseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTraceSummary{traceId=" + traceId + ", instanceId=" + instanceId + ", operationName="
+                + operationName + ", startTime=" + startTime + ", elapsedTime=" + elapsedTime + "}";
+    }
+}
@@ -175,4 +175,26 @@ public interface ManagedExecutorServiceBase extends ConfigBeanProxy,
      */
     void setContext(String value) throws PropertyVetoException;
 
+    /**
+     * Gets the value of the useVirtualThreads property.
+     * <p>
+     * When true, tasks run on virtual threads on Java 21 and later, and on platform threads on older versions.
+     * A managed executor service then starts a virtual thread for every task, ignoring its core and maximum pool
+     * sizes and its task queue capacity. A managed scheduled executor service keeps its core pool size of virtual
+     * threads, which still bounds the number of tasks running at once.
+     *
+     * @return possible object is
+     *         {@link String }
+     */
+    @Attribute(defaultValue="false", dataType=Boolean.class)
+    String getUseVirtualThreads();
+
+    /**
+     * Sets the value of the useVirtualThreads property.
+     *
+     * @param value allowed object is
+     *              {@link String }
+     */
+    void setUseVirtualThreads(String value) throws PropertyVetoException;
+
 }
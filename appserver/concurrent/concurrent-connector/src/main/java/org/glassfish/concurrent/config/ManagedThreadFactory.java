@@ -108,6 +108,25 @@ public interface ManagedThreadFactory extends ConfigBeanProxy, Resource,
      * @param value allowed object is {@link String }
      */
     void setContext(String value) throws PropertyVetoException;
+
+    /**
+     * Gets the value of the useVirtualThreads property.
+     * <p>
+     * When true, the factory creates virtual threads on Java 21 and later, and platform threads on older versions.
+     *
+     * @return possible object is
+     *         {@link String }
+     */
+    @Attribute(defaultValue="false", dataType=Boolean.class)
+    String getUseVirtualThreads();
+
+    /**
+     * Sets the value of the useVirtualThreads property.
+     *
+     * @param value allowed object is
+     *              {@link String }
+     */
+    void setUseVirtualThreads(String value) throws PropertyVetoException;
     
     @DuckTyped
     String getIdentity();
@@ -101,4 +101,13 @@ public class LogFacade {
     )
     public static final String DEPLOY_ERROR_NULL_CONFIG = prefix + "00004";
 
+    @LogMessageInfo(
+            message = "Virtual threads are not available in this Java runtime, {0} uses platform threads.",
+            comment = "A managed object is configured to use virtual threads, which require Java 21 or later.",
+            level = "WARNING",
+            cause = "The server runs on a Java version older than 21.",
+            action = "Run the server on Java 21 or later, or disable virtual threads for the managed object. "
+    )
+    public static final String VIRTUAL_THREADS_NOT_SUPPORTED = prefix + "00005";
+
 }
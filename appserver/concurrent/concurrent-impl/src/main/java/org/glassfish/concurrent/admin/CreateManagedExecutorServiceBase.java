@@ -89,6 +89,9 @@ public class CreateManagedExecutorServiceBase {
     @Param(name="threadlifetimeseconds", alias="threadLifetimeSeconds", defaultValue="0", optional=true)
     protected Integer threadlifetimeseconds;
 
+    @Param(name="usevirtualthreads", alias="useVirtualThreads", defaultValue="false", optional=true)
+    protected Boolean usevirtualthreads;
+
     @Param(optional=true)
     protected String description;
 
@@ -114,6 +117,8 @@ public class CreateManagedExecutorServiceBase {
             keepaliveseconds.toString());
         attrList.put(ResourceConstants.THREAD_LIFETIME_SECONDS, 
             threadlifetimeseconds.toString());
+        attrList.put(ResourceConstants.USE_VIRTUAL_THREADS,
+            usevirtualthreads.toString());
         attrList.put(ServerTags.DESCRIPTION, description);
         attrList.put(ResourceConstants.ENABLED, enabled.toString());
     }
@@ -92,6 +92,9 @@ public class CreateManagedThreadFactory implements AdminCommand {
     @Param(name="threadpriority", alias="threadPriority", defaultValue=""+Thread.NORM_PRIORITY, optional=true)
     private Integer threadpriority;
 
+    @Param(name="usevirtualthreads", alias="useVirtualThreads", defaultValue="false", optional=true)
+    private Boolean usevirtualthreads;
+
     @Param(optional=true)
     private String description;
 
@@ -122,6 +125,8 @@ public class CreateManagedThreadFactory implements AdminCommand {
         attrList.put(ResourceConstants.CONTEXT_INFO, contextinfo);
         attrList.put(ResourceConstants.THREAD_PRIORITY, 
             threadpriority.toString());
+        attrList.put(ResourceConstants.USE_VIRTUAL_THREADS,
+            usevirtualthreads.toString());
         attrList.put(ServerTags.DESCRIPTION, description);
         attrList.put(ResourceConstants.ENABLED, enabled.toString());
         ResourceStatus rs;
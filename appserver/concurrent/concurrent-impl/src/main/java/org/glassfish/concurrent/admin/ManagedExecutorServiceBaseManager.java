@@ -87,6 +87,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
     protected String corePoolSize = "0";
     protected String keepAliveSeconds = "60";
     protected String threadLifetimeSeconds = "0";
+    protected String useVirtualThreads = Boolean.FALSE.toString();
     protected String enabled = Boolean.TRUE.toString();
     protected String enabledValueForTarget = Boolean.TRUE.toString();
 
@@ -173,6 +174,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
         corePoolSize = (String) attributes.get(CORE_POOL_SIZE);
         keepAliveSeconds = (String) attributes.get(KEEP_ALIVE_SECONDS);
         threadLifetimeSeconds = (String) attributes.get(THREAD_LIFETIME_SECONDS);
+        useVirtualThreads = (String) attributes.get(USE_VIRTUAL_THREADS);
         if(target != null){
             enabled = resourceUtil.computeEnabledValueForResourceBasedOnTarget((String)attributes.get(ENABLED), target);
         }else{
@@ -201,6 +203,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
         managedExecutorService.setCorePoolSize(corePoolSize);
         managedExecutorService.setKeepAliveSeconds(keepAliveSeconds);
         managedExecutorService.setThreadLifetimeSeconds(threadLifetimeSeconds);
+        managedExecutorService.setUseVirtualThreads(useVirtualThreads);
         managedExecutorService.setEnabled(enabled);
         //Fix for GLASSFISH-21251
         managedExecutorService.setLongRunningTasks(longRunningTasks);
@@ -45,6 +45,8 @@ import com.sun.enterprise.config.serverbeans.Applications;
 import com.sun.enterprise.container.common.spi.util.ComponentEnvManager;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.util.Utility;
+import org.glassfish.api.event.EventListener;
+import org.glassfish.api.event.Events;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.concurrent.LogFacade;
 import org.glassfish.concurrent.runtime.deployer.ContextServiceConfig;
@@ -64,9 +66,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -78,6 +82,7 @@ import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
 import org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceImpl;
 import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
 import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
 import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
 
 /**
@@ -85,7 +90,7 @@ import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
  */
 @Service
 @Singleton
-public class ConcurrentRuntime implements PostConstruct, PreDestroy {
+public class ConcurrentRuntime implements PostConstruct, PreDestroy, EventListener {
 
     private static ConcurrentRuntime _runtime;
 
@@ -125,6 +130,9 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
     @Inject
     private ResourceNamingService resourceNamingService;
 
+    @Inject
+    private Events events;
+
     /**
      * Returns the ConcurrentRuntime instance.
      * It follows singleton pattern and only one instance exists at any point
@@ -225,20 +233,23 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
     }
 
     public synchronized ManagedExecutorServiceImpl createManagedExecutorService(ResourceInfo resourceInfo, ManagedExecutorServiceConfig config, ContextServiceImpl contextService) {
-        ManagedThreadFactoryImpl managedThreadFactory = new ThreadFactoryWrapper(
+        ThreadFactoryWrapper managedThreadFactory = new ThreadFactoryWrapper(
                 config.getJndiName() + "-managedThreadFactory",
                 null,
-                config.getThreadPriority());
+                config.getThreadPriority(),
+                config.getUseVirtualThreads());
+        // virtual threads are not pooled: every task gets a new thread, so the pool sizes and the queue are ignored
+        boolean virtual = managedThreadFactory.isVirtual();
         ManagedExecutorServiceImpl mes = new ManagedExecutorServiceImpl(config.getJndiName(),
                 managedThreadFactory,
                 config.getHungAfterSeconds() * 1_000L, // in milliseconds
                 config.isLongRunningTasks(),
-                config.getUseForkJoinPool(),
-                config.getCorePoolSize(),
-                config.getMaximumPoolSize(),
+                config.getUseForkJoinPool() && !virtual,
+                virtual ? 0 : config.getCorePoolSize(),
+                virtual ? Integer.MAX_VALUE : config.getMaximumPoolSize(),
                 config.getKeepAliveSeconds(), TimeUnit.SECONDS,
                 config.getThreadLifeTimeSeconds(),
-                config.getTaskQueueCapacity(),
+                virtual ? 0 : config.getTaskQueueCapacity(),
                 contextService,
                 AbstractManagedExecutorService.RejectPolicy.ABORT);
 
@@ -287,7 +298,8 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
         ManagedThreadFactoryImpl managedThreadFactory = new ThreadFactoryWrapper(
                 config.getJndiName() + "-managedThreadFactory",
                 null,
-                config.getThreadPriority());
+                config.getThreadPriority(),
+                config.getUseVirtualThreads());
         ManagedScheduledExecutorServiceImpl mes = new ManagedScheduledExecutorServiceImpl(config.getJndiName(),
                 managedThreadFactory,
                 config.getHungAfterSeconds() * 1000L, // in millseconds
@@ -332,7 +344,7 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
 
     public ManagedThreadFactoryImpl createManagedThreadFactory(ResourceInfo resource, ManagedThreadFactoryConfig config, ContextServiceImpl contextService) {
         ManagedThreadFactoryImpl managedThreadFactory = new ThreadFactoryWrapper(config.getJndiName(), contextService,
-                config.getThreadPriority());
+                config.getThreadPriority(), config.getUseVirtualThreads());
         return managedThreadFactory;
     }
 
@@ -443,12 +455,90 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
         return contextService;
     }
 
+    /**
+     * Creates the factory of virtual threads for the named managed object, or returns null when the Java runtime
+     * has no virtual threads and platform threads are used instead.
+     */
+    private static ThreadFactory createVirtualThreadFactory(String name) {
+        if (!VirtualThreads.isSupported()) {
+            logger.log(Level.WARNING, LogFacade.VIRTUAL_THREADS_NOT_SUPPORTED, name);
+            return null;
+        }
+        return VirtualThreads.newThreadFactory(name + "-");
+    }
+
     /**
      * context loader propagation to threads causes memory leaks on redeploy
      */
     private static final class ThreadFactoryWrapper extends ManagedThreadFactoryImpl {
+
+        private final String name;
+        private final ContextServiceImpl contextService;
+        private final ThreadFactory virtualThreadFactory;
+        // the superclass only tracks platform threads, virtual threads are tracked here so that stop() interrupts them
+        private final Set<Thread> virtualThreads = new HashSet<>();
+        private boolean stopped;
+
         public ThreadFactoryWrapper(String string, ContextServiceImpl contextService, int threadPriority) {
+            this(string, contextService, threadPriority, false);
+        }
+
+        ThreadFactoryWrapper(String string, ContextServiceImpl contextService, int threadPriority, boolean useVirtualThreads) {
             super(string, contextService, threadPriority);
+            this.name = string;
+            this.contextService = contextService;
+            this.virtualThreadFactory = useVirtualThreads ? createVirtualThreadFactory(string) : null;
+        }
+
+        boolean isVirtual() {
+            return virtualThreadFactory != null;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            if (virtualThreadFactory == null) {
+                return super.newThread(r);
+            }
+            // executors set up the context of each task, a thread factory of its own threads
+            ContextSetupProvider contextSetupProvider = contextService == null ? null : contextService.getContextSetupProvider();
+            ContextHandle contextHandleForSetup = contextSetupProvider == null ? null : contextSetupProvider.saveContext(contextService);
+            Thread thread = virtualThreadFactory.newThread(() -> {
+                try {
+                    if (contextHandleForSetup == null) {
+                        r.run();
+                        return;
+                    }
+                    ContextHandle contextHandleForReset = contextSetupProvider.setup(contextHandleForSetup);
+                    try {
+                        r.run();
+                    } finally {
+                        contextSetupProvider.reset(contextHandleForReset);
+                    }
+                } finally {
+                    synchronized (virtualThreads) {
+                        virtualThreads.remove(Thread.currentThread());
+                    }
+                }
+            });
+            thread.setContextClassLoader(null);
+            synchronized (virtualThreads) {
+                if (stopped) {
+                    throw new IllegalStateException("Managed thread factory " + name + " has been stopped");
+                }
+                virtualThreads.add(thread);
+            }
+            return thread;
+        }
+
+        @Override
+        public void stop() {
+            synchronized (virtualThreads) {
+                stopped = true;
+                for (Thread thread : virtualThreads) {
+                    thread.interrupt();
+                }
+            }
+            super.stop();
         }
 
         @Override
@@ -465,11 +555,25 @@ public class ConcurrentRuntime implements PostConstruct, PreDestroy {
 
     @Override
     public void postConstruct() {
+        if (events != null) {
+            events.register(this);
+        }
     }
 
     @Override
     public void preDestroy() {
         // TODO shut down objects here
+        if (events != null) {
+            events.unregister(this);
+        }
+    }
+
+    @Override
+    public void event(Event<?> event) {
+        // thread context providers cached for context capture may be loaded by the application
+        if (event.is(Deployment.APPLICATION_UNLOADED)) {
+            ContextCapturePlan.clearCache();
+        }
     }
 
     class HungTasksLogger implements Runnable {
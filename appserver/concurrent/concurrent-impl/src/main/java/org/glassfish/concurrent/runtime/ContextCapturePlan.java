@@ -0,0 +1,216 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.concurrent.runtime;
+
+import jakarta.enterprise.concurrent.ContextServiceDefinition;
+import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.glassfish.concurrent.LogFacade;
+
+import static org.glassfish.concurrent.runtime.ContextSetupProviderImpl.CONTEXT_TYPE_CLASSLOADING;
+import static org.glassfish.concurrent.runtime.ContextSetupProviderImpl.CONTEXT_TYPE_NAMING;
+import static org.glassfish.concurrent.runtime.ContextSetupProviderImpl.CONTEXT_TYPE_SECURITY;
+import static org.glassfish.concurrent.runtime.ContextSetupProviderImpl.CONTEXT_TYPE_WORKAREA;
+
+/**
+ * What a {@link ContextSetupProviderImpl} captures from a thread which runs with a given context class loader.
+ * <p>
+ * The {@link ThreadContextProvider}s visible to a class loader are looked up once, and the plan resolving the
+ * propagated, cleared and unchanged context types against them is built once per context setup provider, so that
+ * saving the context of a submitted task only takes the snapshots the plan needs. The cache holds application
+ * classes, so it is cleared when an application is unloaded.
+ */
+final class ContextCapturePlan {
+
+    private static final Logger logger = LogFacade.getLogger();
+
+    /**
+     * Bound on the number of class loaders kept in the cache, for loaders which are never unloaded as an application.
+     */
+    private static final int MAX_CLASS_LOADERS = 1024;
+
+    private static final Map<ClassLoader, LoadedProviders> CACHE = new ConcurrentHashMap<>();
+
+    private final boolean propagateInvocation;
+    private final boolean clearInvocation;
+    private final boolean transactionUnchanged;
+    private final ThreadContextProvider[] propagatedProviders;
+    private final ThreadContextProvider[] clearedProviders;
+
+    ContextCapturePlan(Map<String, ThreadContextProvider> providers, Set<String> contextPropagate,
+            Set<String> contextClear, Set<String> contextUnchanged, Set<String> allRemaining) {
+        Set<String> propagate = new HashSet<>(contextPropagate);
+        Set<String> clear = new HashSet<>(contextClear);
+        Set<String> unchanged = new HashSet<>(contextUnchanged);
+        Set<String> remaining = allRemaining == contextClear ? clear
+                : allRemaining == contextUnchanged ? unchanged : propagate;
+        for (String contextType : providers.keySet()) {
+            if (!propagate.contains(contextType) && !clear.contains(contextType) && !unchanged.contains(contextType)) {
+                remaining.add(contextType);
+            }
+        }
+        // check, if there is no unexpected provider name
+        propagate = filterVerifiedProviders(propagate, providers);
+        clear = filterVerifiedProviders(clear, providers);
+        unchanged = filterVerifiedProviders(unchanged, providers);
+
+        propagateInvocation = propagate.contains(CONTEXT_TYPE_NAMING);
+        clearInvocation = clear.contains(CONTEXT_TYPE_NAMING);
+        transactionUnchanged = unchanged.contains(CONTEXT_TYPE_WORKAREA);
+        // standard context types like CONTEXT_TYPE_CLASSLOADING have no provider
+        propagatedProviders = propagate.stream().map(providers::get).filter(provider -> provider != null)
+                .toArray(ThreadContextProvider[]::new);
+        clearedProviders = clear.stream().map(providers::get).filter(provider -> provider != null)
+                .toArray(ThreadContextProvider[]::new);
+    }
+
+    /**
+     * Returns the plan of the given context setup provider for threads with the given context class loader.
+     */
+    static ContextCapturePlan get(ContextSetupProviderImpl contextSetupProvider, ClassLoader classLoader) {
+        // ServiceLoader uses the system class loader in place of null
+        ClassLoader key = classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+        LoadedProviders loaded = CACHE.get(key);
+        if (loaded == null) {
+            if (CACHE.size() >= MAX_CLASS_LOADERS) {
+                CACHE.clear();
+            }
+            LoadedProviders found = new LoadedProviders(key);
+            loaded = CACHE.putIfAbsent(key, found);
+            if (loaded == null) {
+                loaded = found;
+            }
+        }
+        ContextCapturePlan plan = loaded.plans.get(contextSetupProvider);
+        if (plan == null) {
+            plan = contextSetupProvider.createCapturePlan(loaded.providers);
+            ContextCapturePlan existing = loaded.plans.putIfAbsent(contextSetupProvider, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Forgets all providers and plans, so that no class loader of an unloaded application stays reachable.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    boolean isPropagateInvocation() {
+        return propagateInvocation;
+    }
+
+    boolean isClearInvocation() {
+        return clearInvocation;
+    }
+
+    boolean isTransactionUnchanged() {
+        return transactionUnchanged;
+    }
+
+    /**
+     * Takes the snapshots of the propagated contexts of the current thread, followed by the snapshots of the cleared
+     * contexts.
+     */
+    List<ThreadContextSnapshot> takeSnapshots(Map<String, String> contextObjectProperties) {
+        int count = propagatedProviders.length + clearedProviders.length;
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        ThreadContextSnapshot[] snapshots = new ThreadContextSnapshot[count];
+        int i = 0;
+        for (ThreadContextProvider provider : propagatedProviders) {
+            snapshots[i++] = provider.currentContext(contextObjectProperties);
+        }
+        for (ThreadContextProvider provider : clearedProviders) {
+            snapshots[i++] = provider.clearedContext(contextObjectProperties);
+        }
+        return Collections.unmodifiableList(Arrays.asList(snapshots));
+    }
+
+    private static Set<String> filterVerifiedProviders(Set<String> contextTypes, Map<String, ThreadContextProvider> providers) {
+        Set<String> filtered = new HashSet<>();
+        for (String contextType : contextTypes) {
+            switch (contextType) {
+                case CONTEXT_TYPE_CLASSLOADING:
+                case CONTEXT_TYPE_SECURITY:
+                case CONTEXT_TYPE_NAMING:
+                case CONTEXT_TYPE_WORKAREA:
+                case ContextServiceDefinition.ALL_REMAINING:
+                    filtered.add(contextType);
+                    break;
+                default:
+                    if (providers.containsKey(contextType)) {
+                        filtered.add(contextType);
+                    } else {
+                        logger.log(Level.SEVERE, "Thread context provider ''{0}'' is not registered in WEB-APP/services/jakarta.enterprise.concurrent.spi.ThreadContextProvider and will be ignored!", contextType);
+                    }
+                    break;
+            }
+        }
+        return filtered;
+    }
+
+    private static final class LoadedProviders {
+
+        private final Map<String, ThreadContextProvider> providers = new HashMap<>();
+        private final Map<ContextSetupProviderImpl, ContextCapturePlan> plans = new ConcurrentHashMap<>();
+
+        LoadedProviders(ClassLoader classLoader) {
+            for (ThreadContextProvider provider : ServiceLoader.load(ThreadContextProvider.class, classLoader)) {
+                providers.put(provider.getThreadContextType(), provider);
+            }
+        }
+    }
+}
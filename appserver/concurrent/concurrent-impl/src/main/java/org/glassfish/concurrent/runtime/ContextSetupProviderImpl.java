@@ -80,13 +80,9 @@ import io.opentracing.propagation.Format;
 import jakarta.enterprise.concurrent.ContextServiceDefinition;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.glassfish.internal.api.Globals;
@@ -118,7 +114,6 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
     private final Set<String> contextPropagate;
     private final Set<String> contextClear;
     private final Set<String> contextUnchanged;
-    private Map<String, ThreadContextProvider> allThreadContextProviders = null;
     /**
      * Points to the context, which contains ALL_REMAINING.
      */
@@ -193,62 +188,40 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
     @Override
     public ContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
         // Capture the current thread context
+        ClassLoader currentClassLoader = Utility.getClassLoader();
         ClassLoader contextClassloader = null;
         SecurityContext currentSecurityContext = null;
         ComponentInvocation savedInvocation = null;
         if (classloading) {
-            contextClassloader = Utility.getClassLoader();
+            contextClassloader = currentClassLoader;
         }
         if (security) {
             currentSecurityContext = SecurityContext.getCurrent();
         }
 
-        // TODO: put initialization of providers to better place; caching is a problem due to different classloaders
-        allThreadContextProviders = new HashMap<>();
-        for (ThreadContextProvider service : ServiceLoader.load(jakarta.enterprise.concurrent.spi.ThreadContextProvider.class, Utility.getClassLoader())) {
-            String serviceName = service.getThreadContextType();
-            if (contextPropagate.contains(serviceName) || contextClear.contains(serviceName) || contextUnchanged.contains(serviceName)) {
-                allThreadContextProviders.put(serviceName, service);
-            } else {
-                if (allRemaining != null) {
-                    allRemaining.add(serviceName);
-                    allThreadContextProviders.put(serviceName, service);
+        // providers are resolved once per class loader, only snapshot what the plan needs
+        ContextCapturePlan plan = ContextCapturePlan.get(this, currentClassLoader);
+        if (plan.isPropagateInvocation() || plan.isClearInvocation()) {
+            ComponentInvocation currentInvocation = invocationManager.getCurrentInvocation();
+            if (currentInvocation != null) {
+                if (plan.isPropagateInvocation()) {
+                    savedInvocation = createComponentInvocation(currentInvocation);
+                }
+                if (plan.isClearInvocation()) {
+                    savedInvocation = new ComponentInvocation();
                 }
-            }
-        }
-        // check, if there is no unexpected provider name
-        Set<String> verifiedContextPropagate = filterVerifiedProviders(contextPropagate);
-        Set<String> verifiedContextClear = filterVerifiedProviders(contextClear);
-        Set<String> verifiedContextUnchanged = filterVerifiedProviders(contextUnchanged);
-
-        ComponentInvocation currentInvocation = invocationManager.getCurrentInvocation();
-        if (currentInvocation != null) {
-            if (verifiedContextPropagate.contains(CONTEXT_TYPE_NAMING)) {
-                savedInvocation = createComponentInvocation(currentInvocation);
-            }
-            if (verifiedContextClear.contains(CONTEXT_TYPE_NAMING)) {
-                savedInvocation = new ComponentInvocation();
             }
         }
         boolean useTransactionOfExecutionThread = (transactionManager == null && useTransactionOfExecutionThread(contextObjectProperties))
-                || verifiedContextUnchanged.contains(CONTEXT_TYPE_WORKAREA);
-
-        // store the snapshots of the current state
-        List<ThreadContextSnapshot> threadContextSnapshots = new ArrayList<>();
-        // remember values from propagate and clear lists
-        verifiedContextPropagate.stream()
-                .map((provider) -> allThreadContextProviders.get(provider))
-                .filter(snapshot -> snapshot != null) // ignore standard providers like CONTEXT_TYPE_CLASSLOADING
-                .map(snapshot -> snapshot.currentContext(contextObjectProperties))
-                .forEach(snapshot -> threadContextSnapshots.add(snapshot));
-        verifiedContextClear.stream()
-                .map((provider) -> allThreadContextProviders.get(provider))
-                .filter(snapshot -> snapshot != null)
-                .map(snapshot -> snapshot.clearedContext(contextObjectProperties))
-                .forEach(snapshot -> threadContextSnapshots.add(snapshot));
+                || plan.isTransactionUnchanged();
 
         return new InvocationContext(savedInvocation, contextClassloader, currentSecurityContext, useTransactionOfExecutionThread,
-                threadContextSnapshots, Collections.EMPTY_LIST);
+                plan.takeSnapshots(contextObjectProperties), Collections.emptyList(),
+                InvocationContext.getParentTraceContext(requestTracing, openTracing, invocationManager));
+    }
+
+    ContextCapturePlan createCapturePlan(Map<String, ThreadContextProvider> providers) {
+        return new ContextCapturePlan(providers, contextPropagate, contextClear, contextUnchanged, allRemaining);
     }
 
     @Override
@@ -321,15 +294,17 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
         }
 
         // execute thread contexts snapshots to begin
-        List<ThreadContextRestorer> restorers = Collections.EMPTY_LIST;
-        if (handle.getThreadContextSnapshots() != null) {
-            restorers = handle.getThreadContextSnapshots().stream()
-                    .map((ThreadContextSnapshot snapshot) -> snapshot.begin())
-                    .collect(Collectors.toList());
+        List<ThreadContextRestorer> restorers = Collections.emptyList();
+        List<ThreadContextSnapshot> snapshots = handle.getThreadContextSnapshots();
+        if (snapshots != null && !snapshots.isEmpty()) {
+            restorers = new ArrayList<>(snapshots.size());
+            for (ThreadContextSnapshot snapshot : snapshots) {
+                restorers.add(snapshot.begin());
+            }
         }
 
         return new InvocationContext(invocation, resetClassLoader, resetSecurityContext, handle.isUseTransactionOfExecutionThread(),
-                Collections.EMPTY_LIST, restorers);
+                Collections.emptyList(), restorers, null);
     }
 
     private void startConcurrentContextSpan(ComponentInvocation invocation, InvocationContext handle) {
@@ -456,31 +431,6 @@ public class ContextSetupProviderImpl implements ContextSetupProvider {
         return ManagedTask.SUSPEND;
     }
 
-    private Set<String> filterVerifiedProviders(Set<String> providers) {
-        HashSet<String> filtered = new HashSet<>();
-        Iterator<String> providerIter = providers.iterator();
-        while (providerIter.hasNext()) {
-            String provider = providerIter.next();
-            switch (provider) {
-                case CONTEXT_TYPE_CLASSLOADING:
-                case CONTEXT_TYPE_SECURITY:
-                case CONTEXT_TYPE_NAMING:
-                case CONTEXT_TYPE_WORKAREA:
-                case ContextServiceDefinition.ALL_REMAINING:
-                    filtered.add(provider);
-                    break;
-                default:
-                    if (allThreadContextProviders.containsKey(provider)) {
-                        filtered.add(provider);
-                    } else {
-                        logger.log(Level.SEVERE, "Thread context provider ''{0}'' is not registered in WEB-APP/services/jakarta.enterprise.concurrent.spi.ThreadContextProvider and will be ignored!", provider);
-                    }
-                    break;
-            }
-        }
-         return filtered;
-    }
-
     private void addToRemainingIfNotPresent(String contextType) {
         if (!(contextPropagate.contains(contextType) || contextClear.contains(contextType) || contextUnchanged.contains(contextType))) {
             // such context type is not present in any context
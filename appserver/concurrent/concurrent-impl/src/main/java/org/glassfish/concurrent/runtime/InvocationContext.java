@@ -86,27 +86,48 @@ public class InvocationContext implements ContextHandle {
         saveTracingContext();
     }
 
+    /**
+     * Creates the context with the given parent trace context, without looking up the tracing services.
+     */
+    InvocationContext(ComponentInvocation invocation, ClassLoader contextClassLoader, SecurityContext securityContext,
+            boolean useTransactionOfExecutionThread, List<ThreadContextSnapshot> threadContextSnapshots,
+            List<ThreadContextRestorer> threadContextRestorers, SpanContext parentTraceContext) {
+        this.invocation = invocation;
+        this.contextClassLoader = contextClassLoader;
+        this.securityContext = securityContext;
+        this.useTransactionOfExecutionThread = useTransactionOfExecutionThread;
+        this.threadContextSnapshots = threadContextSnapshots;
+        this.threadContextRestorers = threadContextRestorers;
+        this.parentTraceContext = parentTraceContext;
+    }
+
     private void saveTracingContext() {
         ServiceLocator serviceLocator = Globals.getDefaultBaseServiceLocator();
         
         if (serviceLocator != null) {
-            RequestTracingService requestTracing = serviceLocator.getService(RequestTracingService.class);
-            OpenTracingService openTracing = serviceLocator.getService(OpenTracingService.class);
-            
-            // Check that there's actually a trace running
-            if (requestTracing != null && requestTracing.isRequestTracingEnabled()
-                    && requestTracing.isTraceInProgress() && openTracing != null) {
-                
-                Tracer tracer = openTracing.getTracer(openTracing.getApplicationName(
-                        serviceLocator.getService(InvocationManager.class)));
-                
-                var currentSpan = tracer.activeSpan();
-                if (currentSpan != null) {
-                    this.parentTraceContext = currentSpan.context();
-                }
-            }   
+            this.parentTraceContext = getParentTraceContext(serviceLocator.getService(RequestTracingService.class),
+                    serviceLocator.getService(OpenTracingService.class), serviceLocator.getService(InvocationManager.class));
         }    
     }
+
+    /**
+     * Returns the context of the active span of the current thread, or null when no trace is running.
+     */
+    static SpanContext getParentTraceContext(RequestTracingService requestTracing, OpenTracingService openTracing,
+            InvocationManager invocationManager) {
+        // Check that there's actually a trace running
+        if (requestTracing != null && requestTracing.isRequestTracingEnabled()
+                && requestTracing.isTraceInProgress() && openTracing != null) {
+
+            Tracer tracer = openTracing.getTracer(openTracing.getApplicationName(invocationManager));
+
+            var currentSpan = tracer.activeSpan();
+            if (currentSpan != null) {
+                return currentSpan.context();
+            }
+        }
+        return null;
+    }
     
     public ComponentInvocation getInvocation() {
         return invocation;
@@ -50,6 +50,7 @@ public class ManagedExecutorServiceConfig extends BaseConfig  {
     private int hungAfterSeconds;
     private boolean longRunningTasks;
     private boolean useForkJoinPool;
+    private boolean useVirtualThreads;
     private int threadPriority;
     private int corePoolSize;
     private long keepAliveSeconds;
@@ -63,6 +64,7 @@ public class ManagedExecutorServiceConfig extends BaseConfig  {
         hungAfterSeconds = parseInt(config.getHungAfterSeconds(), 0);
         longRunningTasks = Boolean.valueOf(config.getLongRunningTasks());
         useForkJoinPool = Boolean.valueOf(config.getUseForkJoinPool());
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
         threadPriority = parseInt(config.getThreadPriority(), Thread.NORM_PRIORITY);
         corePoolSize = parseInt(config.getCorePoolSize(), 0);
         keepAliveSeconds = parseLong(config.getKeepAliveSeconds(), 60);
@@ -108,6 +110,10 @@ public class ManagedExecutorServiceConfig extends BaseConfig  {
         return useForkJoinPool;
     }
 
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     public String getContext() {
         return context;
     }
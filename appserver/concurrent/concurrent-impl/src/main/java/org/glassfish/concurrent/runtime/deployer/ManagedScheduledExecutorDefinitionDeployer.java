@@ -303,6 +303,16 @@ public class ManagedScheduledExecutorDefinitionDeployer implements ResourceDeplo
 
         }
 
+        @Override
+        public String getUseVirtualThreads() {
+            return String.valueOf(descriptor.isVirtual());
+        }
+
+        @Override
+        public void setUseVirtualThreads(String value) throws PropertyVetoException {
+
+        }
+
         @Override
         public String getJndiName() {
             return descriptor.getName();
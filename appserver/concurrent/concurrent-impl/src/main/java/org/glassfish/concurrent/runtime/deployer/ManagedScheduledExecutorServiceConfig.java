@@ -53,6 +53,7 @@ public class ManagedScheduledExecutorServiceConfig extends BaseConfig {
     private int corePoolSize;
     private long keepAliveSeconds;
     private long threadLifeTimeSeconds;
+    private boolean useVirtualThreads;
     private String context;
 
     public ManagedScheduledExecutorServiceConfig(ManagedScheduledExecutorService config) {
@@ -63,6 +64,7 @@ public class ManagedScheduledExecutorServiceConfig extends BaseConfig {
         corePoolSize = parseInt(config.getCorePoolSize(), 0);
         keepAliveSeconds = parseLong(config.getKeepAliveSeconds(), 60);
         threadLifeTimeSeconds = parseLong(config.getThreadLifetimeSeconds(), 0L);
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
         this.context = config.getContext();
     }
 
@@ -90,6 +92,10 @@ public class ManagedScheduledExecutorServiceConfig extends BaseConfig {
         return threadLifeTimeSeconds;
     }
 
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     public String getContext() {
         return context;
     }
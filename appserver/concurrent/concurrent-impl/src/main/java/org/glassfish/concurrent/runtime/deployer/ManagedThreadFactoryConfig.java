@@ -50,11 +50,13 @@ public class ManagedThreadFactoryConfig extends BaseConfig {
 
     private int threadPriority;
     private String context;
+    private boolean useVirtualThreads;
 
     public ManagedThreadFactoryConfig(ManagedThreadFactory config) {
         super(config.getJndiName(), config.getContextInfo(), config.getContextInfoEnabled());
         threadPriority = parseInt(config.getThreadPriority(), Thread.NORM_PRIORITY);
         context = config.getContext();
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
     }
 
     public int getThreadPriority() {
@@ -65,6 +67,10 @@ public class ManagedThreadFactoryConfig extends BaseConfig {
         return context;
     }
 
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     public TYPE getType() {
         return TYPE.MANAGED_THREAD_FACTORY;
     }
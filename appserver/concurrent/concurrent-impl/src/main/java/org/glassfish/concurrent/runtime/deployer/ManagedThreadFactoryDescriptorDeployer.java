@@ -252,6 +252,16 @@ public class ManagedThreadFactoryDescriptorDeployer implements ResourceDeployer
 
         }
 
+        @Override
+        public String getUseVirtualThreads() {
+            return String.valueOf(descriptor.isVirtual());
+        }
+
+        @Override
+        public void setUseVirtualThreads(String value) throws java.beans.PropertyVetoException {
+
+        }
+
         @Override
         public String getJndiName() {
             return descriptor.getName();
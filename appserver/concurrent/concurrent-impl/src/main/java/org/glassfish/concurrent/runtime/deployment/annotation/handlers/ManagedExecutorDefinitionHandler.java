@@ -105,6 +105,7 @@ public class ManagedExecutorDefinitionHandler extends AbstractResourceHandler {
             medd.setMaximumPoolSize(managedExecutorDefinition.maxAsync());
         }
 
+        medd.setVirtual(DefinitionAnnotations.isVirtual(managedExecutorDefinition));
         medd.setMetadataSource(MetadataSource.ANNOTATION);
         return medd;
     }
@@ -131,6 +132,10 @@ public class ManagedExecutorDefinitionHandler extends AbstractResourceHandler {
                 if (descriptor.getContext() == null && med.context() != null && !med.context().isBlank()) {
                     descriptor.setContext(TranslatedConfigView.expandValue(med.context()));
                 }
+
+                if (!descriptor.isVirtual() && DefinitionAnnotations.isVirtual(med)) {
+                    descriptor.setVirtual(true);
+                }
             }
         }
     }
@@ -107,6 +107,7 @@ public class ManagedScheduledExecutorDefinitionHandler extends AbstractResourceH
             msedd.setMaxAsync(managedScheduledExecutorDefinition.maxAsync());
         }
 
+        msedd.setVirtual(DefinitionAnnotations.isVirtual(managedScheduledExecutorDefinition));
         msedd.setMetadataSource(MetadataSource.ANNOTATION);
         return msedd;
     }
@@ -133,6 +134,10 @@ public class ManagedScheduledExecutorDefinitionHandler extends AbstractResourceH
                 if (descriptor.getContext() == null && msed.context() != null && !msed.context().isBlank()) {
                     descriptor.setContext(TranslatedConfigView.expandValue(msed.context()));
                 }
+
+                if (!descriptor.isVirtual() && DefinitionAnnotations.isVirtual(msed)) {
+                    descriptor.setVirtual(true);
+                }
             }
         }
     }
@@ -101,6 +101,7 @@ public class ManagedThreadFactoryDefinitionHandler extends AbstractResourceHandl
         } else {
             mtfdd.setPriority(managedThreadFactoryDefinition.priority());
         }
+        mtfdd.setVirtual(DefinitionAnnotations.isVirtual(managedThreadFactoryDefinition));
         return mtfdd;
     }
 
@@ -123,6 +124,10 @@ public class ManagedThreadFactoryDefinitionHandler extends AbstractResourceHandl
                 if (descriptor.getContext() == null && mtfdd.context() != null && !mtfdd.context().isBlank()) {
                     descriptor.setContext(TranslatedConfigView.expandValue(mtfdd.context()));
                 }
+
+                if (!descriptor.isVirtual() && DefinitionAnnotations.isVirtual(mtfdd)) {
+                    descriptor.setVirtual(true);
+                }
             }
         }
     }
@@ -0,0 +1,197 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.concurrent.runtime;
+
+import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.api.invocation.InvocationManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@link ContextSetupProviderImpl#saveContext} snapshots the thread context providers of the context
+ * class loader through the cached {@link ContextCapturePlan}.
+ */
+public class ContextCapturePlanTest {
+
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private URLClassLoader applicationClassLoader;
+    private ContextSetupProviderImpl contextSetupProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        // an application registering its own provider, which is propagated as one of the remaining contexts
+        File services = new File(folder.getRoot(), "META-INF/services/" + ThreadContextProvider.class.getName());
+        services.getParentFile().mkdirs();
+        Files.write(services.toPath(), ApplicationProvider.class.getName().getBytes(StandardCharsets.UTF_8));
+        applicationClassLoader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() },
+                getClass().getClassLoader());
+
+        ComponentInvocation invocation = new ComponentInvocation("component", ComponentInvocation.ComponentInvocationType.SERVLET_INVOCATION,
+                null, "application", "module", "application");
+        InvocationManager invocationManager = createNiceMock(InvocationManager.class);
+        expect(invocationManager.getCurrentInvocation()).andStubReturn(invocation);
+        replay(invocationManager);
+        contextSetupProvider = new ContextSetupProviderImpl(invocationManager, null, null, null, null, null,
+                Set.of(ContextSetupProviderImpl.CONTEXT_TYPE_CLASSLOADING, ContextSetupProviderImpl.CONTEXT_TYPE_NAMING),
+                Collections.emptySet(),
+                Set.of(ContextSetupProviderImpl.CONTEXT_TYPE_SECURITY, ContextSetupProviderImpl.CONTEXT_TYPE_WORKAREA));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ContextCapturePlan.clearCache();
+        applicationClassLoader.close();
+    }
+
+    @Test
+    public void planIsCachedPerClassLoader() {
+        ContextCapturePlan plan = ContextCapturePlan.get(contextSetupProvider, applicationClassLoader);
+        assertSame(plan, ContextCapturePlan.get(contextSetupProvider, applicationClassLoader));
+        assertNotSame(plan, ContextCapturePlan.get(contextSetupProvider, getClass().getClassLoader()));
+        assertTrue(plan.isPropagateInvocation());
+        assertTrue(plan.isTransactionUnchanged());
+    }
+
+    @Test
+    public void clearCacheForgetsPlans() {
+        ContextCapturePlan plan = ContextCapturePlan.get(contextSetupProvider, applicationClassLoader);
+        ContextCapturePlan.clearCache();
+        assertNotSame(plan, ContextCapturePlan.get(contextSetupProvider, applicationClassLoader));
+    }
+
+    @Test
+    public void applicationProviderIsSnapshottedOnlyForItsClassLoader() {
+        assertEquals(List.of(ApplicationProvider.SNAPSHOT), saveContext(applicationClassLoader));
+        assertEquals(Collections.emptyList(), saveContext(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void concurrentTasksSnapshotApplicationProvider() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task);
+            thread.setContextClassLoader(applicationClassLoader);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // half of the threads keep dropping the plan, as undeploying another application would
+                boolean clearCache = i % 2 == 0;
+                workers.add(executor.submit(() -> {
+                    for (int j = 0; j < TASKS_PER_THREAD; j++) {
+                        if (clearCache) {
+                            ContextCapturePlan.clearCache();
+                        }
+                        InvocationContext handle = (InvocationContext) contextSetupProvider.saveContext(null);
+                        assertEquals(List.of(ApplicationProvider.SNAPSHOT), handle.getThreadContextSnapshots());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<ThreadContextSnapshot> saveContext(ClassLoader contextClassLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        try {
+            return ((InvocationContext) contextSetupProvider.saveContext(null)).getThreadContextSnapshots();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    public static class ApplicationProvider implements ThreadContextProvider {
+
+        static final ThreadContextSnapshot SNAPSHOT = () -> () -> { };
+
+        @Override
+        public ThreadContextSnapshot currentContext(Map<String, String> props) {
+            return SNAPSHOT;
+        }
+
+        @Override
+        public ThreadContextSnapshot clearedContext(Map<String, String> props) {
+            return SNAPSHOT;
+        }
+
+        @Override
+        public String getThreadContextType() {
+            return "Application";
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.concurrent.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.glassfish.concurrent.config.ManagedExecutorService;
+import org.glassfish.concurrent.config.ManagedThreadFactory;
+import org.glassfish.concurrent.runtime.deployer.ManagedExecutorServiceConfig;
+import org.glassfish.concurrent.runtime.deployer.ManagedThreadFactoryConfig;
+import org.glassfish.enterprise.concurrent.AbstractManagedThread;
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+import org.glassfish.resourcebase.resources.api.ResourceInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    private final ConcurrentRuntime concurrentRuntime = new ConcurrentRuntime();
+    private final ResourceInfo resource = new ResourceInfo("test");
+
+    private final ContextHandle savedContext = createNiceMock(ContextHandle.class);
+    private final ContextHandle previousContext = createNiceMock(ContextHandle.class);
+    private final List<Thread> setUpThreads = new ArrayList<>();
+    private final List<Thread> resetThreads = new ArrayList<>();
+    private ContextServiceImpl contextService;
+
+    @Before
+    public void before() {
+        ContextSetupProvider contextSetupProvider = createNiceMock(ContextSetupProvider.class);
+        expect(contextSetupProvider.saveContext(anyObject())).andReturn(savedContext).anyTimes();
+        expect(contextSetupProvider.setup(savedContext)).andAnswer(() -> {
+            synchronized (setUpThreads) {
+                setUpThreads.add(Thread.currentThread());
+            }
+            return previousContext;
+        }).anyTimes();
+        contextSetupProvider.reset(previousContext);
+        expectLastCall().andAnswer(() -> {
+            synchronized (resetThreads) {
+                resetThreads.add(Thread.currentThread());
+            }
+            return null;
+        }).anyTimes();
+        replay(contextSetupProvider, savedContext, previousContext);
+        contextService = new ContextServiceImpl("concurrent/virtualContext", contextSetupProvider, null);
+    }
+
+    @Test
+    public void createsNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ThreadFactory factory = VirtualThreads.newThreadFactory("concurrent/virtualExecutor-");
+        CountDownLatch ran = new CountDownLatch(2);
+        Thread first = factory.newThread(ran::countDown);
+        Thread second = factory.newThread(ran::countDown);
+        assertTrue(isVirtual(first));
+        assertTrue(first.isDaemon());
+        assertEquals("concurrent/virtualExecutor-0", first.getName());
+        assertEquals("concurrent/virtualExecutor-1", second.getName());
+        first.start();
+        second.start();
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void failsWithoutVirtualThreads() {
+        assumeFalse(VirtualThreads.isSupported());
+        VirtualThreads.newThreadFactory("concurrent/virtualExecutor-");
+    }
+
+    @Test
+    public void executorRunsEveryTaskOnItsOwnVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        // a platform pool of this size would reject the third task
+        ManagedExecutorServiceImpl executor = createExecutor("1", "1", "1");
+        try {
+            int tasks = 3;
+            CountDownLatch running = new CountDownLatch(tasks);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Future<Thread>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    running.countDown();
+                    release.await();
+                    return Thread.currentThread();
+                }));
+            }
+            assertTrue("tasks should run at once", running.await(10, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<Thread> future : futures) {
+                Thread thread = future.get(10, TimeUnit.SECONDS);
+                assertTrue(isVirtual(thread));
+                assertTrue(setUpThreads.contains(thread));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executorFallsBackToPlatformThreads() throws Exception {
+        assumeFalse(VirtualThreads.isSupported());
+        ManagedExecutorServiceImpl executor = createExecutor("1", "1", "1");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+            assertTrue(thread instanceof AbstractManagedThread);
+            assertTrue(setUpThreads.contains(thread));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void threadFactorySetsUpContextOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ManagedThreadFactoryImpl factory = createThreadFactory();
+        AtomicReference<ClassLoader> contextClassLoader = new AtomicReference<>(getClass().getClassLoader());
+        Thread thread = factory.newThread(() -> contextClassLoader.set(Thread.currentThread().getContextClassLoader()));
+        assertTrue(isVirtual(thread));
+        thread.start();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+        assertNull(contextClassLoader.get());
+        assertEquals(1, setUpThreads.size());
+        assertSame(thread, setUpThreads.get(0));
+        assertSame(thread, resetThreads.get(0));
+    }
+
+    @Test
+    public void threadFactoryFallsBackToPlatformThreads() throws Exception {
+        assumeFalse(VirtualThreads.isSupported());
+        ManagedThreadFactoryImpl factory = createThreadFactory();
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread thread = factory.newThread(ran::countDown);
+        assertTrue(thread instanceof AbstractManagedThread);
+        thread.start();
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+        thread.join(10_000);
+        assertSame(thread, setUpThreads.get(0));
+    }
+
+    @Test
+    public void stoppingThreadFactoryInterruptsVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ManagedThreadFactoryImpl factory = createThreadFactory();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread thread = factory.newThread(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+        });
+        thread.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        factory.stop();
+        assertTrue("stop() should interrupt the thread", interrupted.await(10, TimeUnit.SECONDS));
+        try {
+            factory.newThread(() -> { });
+            fail("a stopped factory should not create threads");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private ManagedExecutorServiceImpl createExecutor(String corePoolSize, String maximumPoolSize, String taskQueueCapacity) {
+        ManagedExecutorService config = createNiceMock(ManagedExecutorService.class);
+        expect(config.getJndiName()).andReturn("concurrent/virtualExecutor").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("true").anyTimes();
+        expect(config.getCorePoolSize()).andReturn(corePoolSize).anyTimes();
+        expect(config.getMaximumPoolSize()).andReturn(maximumPoolSize).anyTimes();
+        expect(config.getTaskQueueCapacity()).andReturn(taskQueueCapacity).anyTimes();
+        replay(config);
+        return concurrentRuntime.createManagedExecutorService(resource, new ManagedExecutorServiceConfig(config), contextService);
+    }
+
+    private ManagedThreadFactoryImpl createThreadFactory() {
+        ManagedThreadFactory config = createNiceMock(ManagedThreadFactory.class);
+        expect(config.getJndiName()).andReturn("concurrent/virtualThreadFactory").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("true").anyTimes();
+        replay(config);
+        return concurrentRuntime.createManagedThreadFactory(resource, new ManagedThreadFactoryConfig(config), contextService);
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
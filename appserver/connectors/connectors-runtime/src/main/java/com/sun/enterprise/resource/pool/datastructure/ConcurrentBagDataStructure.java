@@ -0,0 +1,289 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock free datastructure for pool, modelled after a concurrent bag.
+ * <p>
+ * Each resource is wrapped in an entry whose state is claimed with a CAS, so acquiring and returning a resource never
+ * takes a lock. A resource is looked up in this order:
+ * <ol>
+ * <li>the resources recently returned by the calling thread (thread-local, weakly referenced)</li>
+ * <li>the handoff queue of resources returned or added since they were last handed out</li>
+ * <li>a scan over all resources, only if the free count indicates a free resource was missed</li>
+ * </ol>
+ * Waiting for a resource remains the job of the pool's wait queue, this structure only makes the non-blocking
+ * acquire and release paths contention free.
+ * <p>
+ * Selected by setting the pool property {@code PoolDataStructure} to the fully qualified name of this class.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+    private static final int REMOVED = -1;
+
+    /**
+     * Number of recently returned resources each thread remembers.
+     */
+    private static final int THREAD_LOCAL_ENTRIES = 16;
+
+    private static final class BagEntry {
+
+        final ResourceHandle handle;
+        final AtomicInteger state = new AtomicInteger(FREE);
+        final AtomicBoolean queued = new AtomicBoolean();
+        final WeakReference<BagEntry> threadRef = new WeakReference<>(this);
+
+        BagEntry(ResourceHandle handle) {
+            this.handle = handle;
+        }
+    }
+
+    private final ResourceHandler handler;
+    private int maxSize;
+
+    private final Map<ResourceHandle, BagEntry> entries;
+    private final Queue<BagEntry> handoffQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Deque<WeakReference<BagEntry>>> threadEntries = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private final AtomicInteger remainingCapacity;
+
+    protected static final Logger _logger = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    public ConcurrentBagDataStructure(int maxSize, ResourceHandler handler) {
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1000));
+        this.maxSize = maxSize;
+        this.handler = handler;
+        this.remainingCapacity = new AtomicInteger(maxSize);
+        if (_logger.isLoggable(Level.FINEST)) {
+            _logger.log(Level.FINEST, "pool.datastructure.concurrentbagds.init");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count && canGrow(); i++) {
+            try {
+                ResourceHandle handle = handler.createResource(allocator);
+                BagEntry entry = new BagEntry(handle);
+                entries.put(handle, entry);
+                freeCount.incrementAndGet();
+                enqueue(entry);
+                numResAdded++;
+            } catch (Exception e) {
+                remainingCapacity.incrementAndGet();
+                throw new PoolingException(e.getMessage(), e);
+            }
+        }
+        return numResAdded;
+    }
+
+    private boolean canGrow() {
+        int capacity = remainingCapacity.getAndUpdate(x -> x > 0 ? x - 1 : 0);
+        return capacity > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceHandle getResource() {
+        Deque<WeakReference<BagEntry>> local = threadEntries.get();
+        WeakReference<BagEntry> ref;
+        while ((ref = local.pollLast()) != null) {
+            BagEntry entry = ref.get();
+            if (entry != null && claim(entry)) {
+                return entry.handle;
+            }
+        }
+        BagEntry entry;
+        while ((entry = handoffQueue.poll()) != null) {
+            entry.queued.set(false);
+            if (claim(entry)) {
+                return entry.handle;
+            }
+        }
+        if (freeCount.get() > 0) {
+            for (BagEntry candidate : entries.values()) {
+                if (claim(candidate)) {
+                    return candidate.handle;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean claim(BagEntry entry) {
+        if (entry.state.compareAndSet(FREE, IN_USE)) {
+            freeCount.decrementAndGet();
+            entry.handle.setBusy(true);
+            return true;
+        }
+        return false;
+    }
+
+    private void enqueue(BagEntry entry) {
+        // at most one queue node per resource so resources claimed thread-locally do not pile up in the queue
+        if (entry.queued.compareAndSet(false, true)) {
+            handoffQueue.offer(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        BagEntry entry = entries.remove(resource);
+        if (entry == null) {
+            return;
+        }
+        if (entry.state.getAndSet(REMOVED) == FREE) {
+            freeCount.decrementAndGet();
+        }
+        remainingCapacity.incrementAndGet();
+        handler.deleteResource(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        BagEntry entry = entries.get(resource);
+        if (entry == null) {
+            return; // removed while in use
+        }
+        resource.setBusy(false);
+        if (entry.state.compareAndSet(IN_USE, FREE)) {
+            freeCount.incrementAndGet();
+            Deque<WeakReference<BagEntry>> local = threadEntries.get();
+            if (local.size() >= THREAD_LOCAL_ENTRIES) {
+                local.pollFirst();
+            }
+            local.offerLast(entry.threadRef);
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFreeListSize() {
+        return Math.max(0, freeCount.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll() {
+        final List<ResourceHandle> removedResources = new ArrayList<>();
+        for (BagEntry entry : entries.values()) {
+            if (entries.remove(entry.handle, entry)) {
+                if (entry.state.getAndSet(REMOVED) == FREE) {
+                    freeCount.decrementAndGet();
+                }
+                remainingCapacity.incrementAndGet();
+                removedResources.add(entry.handle);
+            }
+        }
+        handoffQueue.clear();
+        for (ResourceHandle resourceHandle : removedResources) {
+            handler.deleteResource(resourceHandle);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getResourcesSize() {
+        return entries.size();
+    }
+
+    /**
+     * Set maxSize based on the new max pool size set on the connection pool
+     * during a reconfiguration.
+     *
+     * @param maxSize
+     */
+    @Override
+    public synchronized void setMaxSize(int maxSize) {
+        int delta = maxSize - this.maxSize;
+        // remaining capacity might be negative after this, but its up to ConnectionPool to remove some of the resources
+        // before asking for new ones
+        remainingCapacity.getAndUpdate(x -> x + delta);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public ArrayList<ResourceHandle> getAllResources() {
+        return new ArrayList<>(entries.keySet());
+    }
+}
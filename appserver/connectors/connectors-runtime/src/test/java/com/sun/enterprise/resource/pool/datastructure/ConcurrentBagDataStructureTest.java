@@ -0,0 +1,180 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentBagDataStructureTest {
+
+    /**
+     * Creates plain {@link ResourceHandle}s and counts deletes.
+     */
+    static class TestResourceHandler implements ResourceHandler {
+
+        final AtomicInteger deleted = new AtomicInteger();
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+            deleted.incrementAndGet();
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) throws PoolingException {
+            return new ResourceHandle(null, null, null, null);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() throws PoolingException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set getInvalidConnections(Set connections) {
+            return new HashSet();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+            // not used
+        }
+    }
+
+    private final TestResourceHandler handler = new TestResourceHandler();
+
+    @Test
+    public void addResourceStopsAtMaxSize() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(3, handler);
+        assertEquals(2, ds.addResource(null, 2));
+        assertEquals(1, ds.addResource(null, 2));
+        assertEquals(3, ds.getResourcesSize());
+        assertEquals(3, ds.getFreeListSize());
+    }
+
+    @Test
+    public void getResourceClaimsEachResourceOnce() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(2, handler);
+        ds.addResource(null, 2);
+        ResourceHandle first = ds.getResource();
+        ResourceHandle second = ds.getResource();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertFalse(first.equals(second));
+        assertTrue(first.isBusy());
+        assertNull(ds.getResource());
+        assertEquals(0, ds.getFreeListSize());
+    }
+
+    @Test
+    public void returnedResourceIsReusedByReturningThread() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(4, handler);
+        ds.addResource(null, 4);
+        ResourceHandle handle = ds.getResource();
+        ds.returnResource(handle);
+        assertFalse(handle.isBusy());
+        assertEquals(4, ds.getFreeListSize());
+        assertSame(handle, ds.getResource());
+    }
+
+    @Test
+    public void returnedResourceIsHandedToOtherThreads() throws Exception {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(1, handler);
+        ds.addResource(null, 1);
+        ResourceHandle handle = ds.getResource();
+        ds.returnResource(handle);
+        ResourceHandle[] taken = new ResourceHandle[1];
+        Thread other = new Thread(() -> taken[0] = ds.getResource());
+        other.start();
+        other.join();
+        assertSame(handle, taken[0]);
+    }
+
+    @Test
+    public void removeResourceFreesCapacity() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(1, handler);
+        ds.addResource(null, 1);
+        ResourceHandle handle = ds.getResource();
+        ds.removeResource(handle);
+        assertEquals(1, handler.deleted.get());
+        assertEquals(0, ds.getResourcesSize());
+        ds.returnResource(handle);
+        assertEquals("removed resource must not come back", 0, ds.getFreeListSize());
+        assertEquals(1, ds.addResource(null, 1));
+    }
+
+    @Test
+    public void removeAllDeletesEverything() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(5, handler);
+        ds.addResource(null, 5);
+        ds.getResource();
+        ds.removeAll();
+        assertEquals(5, handler.deleted.get());
+        assertEquals(0, ds.getResourcesSize());
+        assertEquals(0, ds.getFreeListSize());
+        assertNull(ds.getResource());
+        assertEquals(5, ds.addResource(null, 5));
+    }
+
+    @Test
+    public void setMaxSizeAdjustsCapacity() throws PoolingException {
+        ConcurrentBagDataStructure ds = new ConcurrentBagDataStructure(2, handler);
+        ds.addResource(null, 2);
+        ds.setMaxSize(4);
+        assertEquals(2, ds.addResource(null, 5));
+        ds.setMaxSize(3);
+        assertEquals(0, ds.addResource(null, 1));
+    }
+}
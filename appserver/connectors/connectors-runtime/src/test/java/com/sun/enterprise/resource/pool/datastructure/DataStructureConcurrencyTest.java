@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.pool.datastructure.ConcurrentBagDataStructureTest.TestResourceHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the pool {@link DataStructure}s never hand out a resource twice when more threads than there are
+ * resources acquire and return resources concurrently.
+ */
+public class DataStructureConcurrencyTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int THREADS = 16;
+    private static final int ACQUIRES_PER_THREAD = 2000;
+
+    private final TestResourceHandler handler = new TestResourceHandler();
+
+    @Test
+    public void listDataStructure() throws Exception {
+        assertExclusiveUse(size -> new ListDataStructure(null, size, handler, null));
+    }
+
+    @Test
+    public void rwLockDataStructure() throws Exception {
+        assertExclusiveUse(size -> new RWLockDataStructure(size, handler));
+    }
+
+    @Test
+    public void concurrentBagDataStructure() throws Exception {
+        assertExclusiveUse(size -> new ConcurrentBagDataStructure(size, handler));
+    }
+
+    private static void assertExclusiveUse(IntFunction<DataStructure> factory) throws Exception {
+        DataStructure ds = factory.apply(POOL_SIZE);
+        ds.addResource(null, POOL_SIZE);
+        Set<ResourceHandle> inUse = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    int acquired = 0;
+                    while (acquired < ACQUIRES_PER_THREAD) {
+                        ResourceHandle handle = ds.getResource();
+                        if (handle == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        assertTrue("resource handed out twice", inUse.add(handle));
+                        acquired++;
+                        inUse.remove(handle);
+                        ds.returnResource(handle);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(POOL_SIZE, ds.getResourcesSize());
+        assertEquals(POOL_SIZE, ds.getFreeListSize());
+    }
+}
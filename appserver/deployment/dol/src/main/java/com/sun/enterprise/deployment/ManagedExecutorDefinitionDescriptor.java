@@ -52,6 +52,7 @@ public class ManagedExecutorDefinitionDescriptor extends ResourceDescriptor {
     private int maximumPoolSize = Integer.MAX_VALUE;
     private long hungAfterSeconds = 0;
     private String context;
+    private boolean virtual;
     private Properties properties = new Properties();
 
     public ManagedExecutorDefinitionDescriptor() {
@@ -92,6 +93,14 @@ public class ManagedExecutorDefinitionDescriptor extends ResourceDescriptor {
         this.context = context;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public void setVirtual(boolean virtual) {
+        this.virtual = virtual;
+    }
+
     public void addProperty(String key, String value) {
         properties.put(key, value);
     }
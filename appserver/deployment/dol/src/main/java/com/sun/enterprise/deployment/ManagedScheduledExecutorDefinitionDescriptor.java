@@ -52,6 +52,7 @@ public class ManagedScheduledExecutorDefinitionDescriptor extends ResourceDescri
     private String context;
     private long hungTaskThreshold = 0;
     private int maxAsync = Integer.MAX_VALUE;
+    private boolean virtual;
 
     private Properties properties = new Properties();
 
@@ -93,6 +94,14 @@ public class ManagedScheduledExecutorDefinitionDescriptor extends ResourceDescri
         this.maxAsync = maxAsync;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public void setVirtual(boolean virtual) {
+        this.virtual = virtual;
+    }
+
     public Properties getProperties() {
         return properties;
     }
@@ -51,6 +51,7 @@ public class ManagedThreadFactoryDefinitionDescriptor extends ResourceDescriptor
     private String name;
     private String context;
     private int priority = Thread.NORM_PRIORITY;
+    private boolean virtual;
     private Properties properties = new Properties();
 
     public ManagedThreadFactoryDefinitionDescriptor() {
@@ -83,6 +84,14 @@ public class ManagedThreadFactoryDefinitionDescriptor extends ResourceDescriptor
         this.priority = priority;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public void setVirtual(boolean virtual) {
+        this.virtual = virtual;
+    }
+
     public Properties getProperties() {
         return properties;
     }
@@ -62,6 +62,7 @@ public class ManagedExecutorDefinitionNode extends DeploymentDescriptorNode<Mana
         table.put(TagNames.MANAGED_EXECUTOR_MAX_ASYNC, "setMaximumPoolSize");
         table.put(TagNames.MANAGED_EXECUTOR_HUNG_TASK_THRESHOLD, "setHungAfterSeconds");
         table.put(TagNames.MANAGED_EXECUTOR_CONTEXT_SERVICE_REF, "setContext");
+        table.put(TagNames.MANAGED_EXECUTOR_VIRTUAL, "setVirtual");
         return table;
     }
 
@@ -71,6 +72,9 @@ public class ManagedExecutorDefinitionNode extends DeploymentDescriptorNode<Mana
         appendTextChild(node, TagNames.MANAGED_EXECUTOR_MAX_ASYNC, String.valueOf(managedExecutorDefinitionDescriptor.getMaximumPoolSize()));
         appendTextChild(node, TagNames.MANAGED_EXECUTOR_HUNG_TASK_THRESHOLD, String.valueOf(managedExecutorDefinitionDescriptor.getHungAfterSeconds()));
         appendTextChild(node, TagNames.MANAGED_EXECUTOR_CONTEXT_SERVICE_REF, managedExecutorDefinitionDescriptor.getContext());
+        if (managedExecutorDefinitionDescriptor.isVirtual()) {
+            appendTextChild(node, TagNames.MANAGED_EXECUTOR_VIRTUAL, String.valueOf(true));
+        }
         ResourcePropertyNode propertyNode = new ResourcePropertyNode();
         propertyNode.writeDescriptor(node, managedExecutorDefinitionDescriptor);
         return node;
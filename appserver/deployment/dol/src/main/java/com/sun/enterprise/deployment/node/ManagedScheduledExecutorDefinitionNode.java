@@ -62,6 +62,7 @@ public class ManagedScheduledExecutorDefinitionNode extends DeploymentDescriptor
         table.put(TagNames.MANAGED_SCHEDULED_EXECUTOR_MAX_ASYNC, "setMaxAsync");
         table.put(TagNames.MANAGED_SCHEDULED_EXECUTOR_CONTEXT_SERVICE_REF, "setContext");
         table.put(TagNames.MANAGED_SCHEDULED_EXECUTOR_HUNG_TASK_THRESHOLD, "setHungTaskThreshold");
+        table.put(TagNames.MANAGED_SCHEDULED_EXECUTOR_VIRTUAL, "setVirtual");
         return table;
     }
 
@@ -76,6 +77,9 @@ public class ManagedScheduledExecutorDefinitionNode extends DeploymentDescriptor
                 managedScheduledExecutorDefinitionDescriptor.getContext());
         appendTextChild(node, TagNames.MANAGED_SCHEDULED_EXECUTOR_HUNG_TASK_THRESHOLD,
                 String.valueOf(managedScheduledExecutorDefinitionDescriptor.getHungTaskThreshold()));
+        if (managedScheduledExecutorDefinitionDescriptor.isVirtual()) {
+            appendTextChild(node, TagNames.MANAGED_SCHEDULED_EXECUTOR_VIRTUAL, String.valueOf(true));
+        }
         ResourcePropertyNode propertyNode = new ResourcePropertyNode();
         propertyNode.writeDescriptor(node, managedScheduledExecutorDefinitionDescriptor);
         return node;
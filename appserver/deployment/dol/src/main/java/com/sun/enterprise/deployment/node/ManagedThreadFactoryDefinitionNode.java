@@ -61,6 +61,7 @@ public class ManagedThreadFactoryDefinitionNode extends DeploymentDescriptorNode
         table.put(TagNames.MANAGED_THREAD_FACTORY_NAME, "setName");
         table.put(TagNames.MANAGED_THREAD_FACTORY_CONTEXT_SERVICE_REF, "setContext");
         table.put(TagNames.MANAGED_THREAD_FACTORY_PRIORITY, "setPriority");
+        table.put(TagNames.MANAGED_THREAD_FACTORY_VIRTUAL, "setVirtual");
         return table;
     }
 
@@ -70,6 +71,9 @@ public class ManagedThreadFactoryDefinitionNode extends DeploymentDescriptorNode
         appendTextChild(node, TagNames.MANAGED_EXECUTOR_NAME, managedThreadFactoryDefinitionDescriptor.getName());
         appendTextChild(node, TagNames.MANAGED_THREAD_FACTORY_CONTEXT_SERVICE_REF, managedThreadFactoryDefinitionDescriptor.getContext());
         appendTextChild(node, TagNames.MANAGED_THREAD_FACTORY_PRIORITY, String.valueOf(managedThreadFactoryDefinitionDescriptor.getPriority()));
+        if (managedThreadFactoryDefinitionDescriptor.isVirtual()) {
+            appendTextChild(node, TagNames.MANAGED_THREAD_FACTORY_VIRTUAL, String.valueOf(true));
+        }
         ResourcePropertyNode propertyNode = new ResourcePropertyNode();
         propertyNode.writeDescriptor(node, managedThreadFactoryDefinitionDescriptor);
         return node;
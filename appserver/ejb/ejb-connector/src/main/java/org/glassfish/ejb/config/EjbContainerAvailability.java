@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.ejb.config;
 
@@ -114,7 +115,8 @@ public interface EjbContainerAvailability extends ConfigBeanProxy,
      * Gets the value of the sfsbPersistenceType property.
      *
      * Specifies the passivation mechanism for stateful session beans that do
-     * not have availability enabled. Default is "file".
+     * not have availability enabled. Default is "file", "log-file" stores the
+     * passivated beans in append-only log segments instead of a file per bean.
      *
      * @return possible object is
      *         {@link String }
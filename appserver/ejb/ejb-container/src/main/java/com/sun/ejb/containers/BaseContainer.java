@@ -274,6 +274,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = {HOME_KEY};
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String STRIPED_BEAN_POOL_PROP = "striped-bean-pool";
 
     protected ClassLoader loader = null;
     protected Class<?> ejbClass = null;
@@ -232,6 +232,20 @@ public abstract class AbstractPool
 	return destroyedCount;
     }
 
+    /**
+     * @return number of objects handed out from a cache local to the calling thread
+     */
+    public long getNumLocalHits() {
+        return 0;
+    }
+
+    /**
+     * @return number of objects handed out from the pool state shared by all threads
+     */
+    public long getNumSharedHits() {
+        return poolSuccess;
+    }
+
     public String getAllMonitoredAttrbuteValues() {
         StringBuilder sbuf = new StringBuilder();
         synchronized (list) {
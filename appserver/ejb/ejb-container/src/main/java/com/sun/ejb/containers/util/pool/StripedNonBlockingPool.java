@@ -0,0 +1,542 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+import com.sun.enterprise.util.Utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * A non blocking pool that does not serialize threads on a single lock.
+ * <p>
+ * Each thread is mapped to a stripe of a few slots holding idle objects, so a thread that keeps calling the same
+ * bean normally gets back the instance it returned last without touching any state shared with other threads.
+ * Objects that do not fit into the stripe spill into a shared lock free stack, which is also where threads look when
+ * their own stripe is empty, followed by the stripes of other threads. Only if all are empty a new object is created.
+ * <p>
+ * Steady pool size, resize quantity, max pool size and idle timeout have the same meaning as for
+ * {@link NonBlockingPool}: max pool size bounds the number of idle objects, the pool is refilled to the steady size
+ * in the background and objects idle for longer than the timeout are removed down to the steady size, resize
+ * quantity at a time. The single instance mode of {@link NonBlockingPool} is not supported.
+ * <p>
+ * Used for stateless session beans when the {@code striped-bean-pool} property is set to true.
+ */
+public class StripedNonBlockingPool extends AbstractPool {
+
+    private static final int SLOTS_PER_STRIPE = 4;
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicReferenceArray<Object> stripes;
+    private final int stripeMask;
+    private final ConcurrentLinkedDeque<Object> shared = new ConcurrentLinkedDeque<>();
+
+    /** Number of idle objects in the stripes and the shared stack, reserved before an object is added */
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+
+    private final AtomicBoolean resizeScheduled = new AtomicBoolean();
+    private final AtomicBoolean inResizing = new AtomicBoolean();
+    private final AtomicBoolean idleBeanWorkScheduled = new AtomicBoolean();
+    private boolean maintainSteadySize;
+    private volatile boolean poolClosed;
+    private TimerTask poolTimerTask;
+
+    public StripedNonBlockingPool(long beanId, String poolName, ObjectFactory factory,
+            int steadyPoolSize, int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds,
+            ClassLoader loader) {
+        this.poolName = poolName;
+        this.beanId = beanId;
+        this.factory = factory;
+        this.steadyPoolSize = Math.max(steadyPoolSize, 0);
+        this.resizeQuantity = Math.max(resizeQuantity, 0);
+        this.maxPoolSize = (maxPoolSize <= 0) ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(this.steadyPoolSize, this.maxPoolSize);
+        this.idleTimeoutInSeconds = Math.max(idleTimeoutInSeconds, 0);
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+        // replaced by the registered provider once setInfo is called
+        this.poolProbeNotifier = new EjbPoolProbeProvider();
+
+        int stripeCount = Integer.highestOneBit(
+                Math.min(Runtime.getRuntime().availableProcessors() * 2, MAX_STRIPES) * 2 - 1);
+        this.stripes = new AtomicReferenceArray<>(stripeCount * SLOTS_PER_STRIPE);
+        this.stripeMask = stripeCount - 1;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                this.poolTimerTask = new PoolResizeTimerTask();
+                EjbContainerUtilImpl.getInstance().getTimer().scheduleAtFixedRate(poolTimerTask,
+                        this.idleTimeoutInSeconds * 1000L, this.idleTimeoutInSeconds * 1000L);
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.log(Level.FINE, "[Pool-{0}]: Added PoolResizeTimerTask...", poolName);
+                }
+            } catch (Throwable th) {
+                _logger.log(Level.WARNING, "[Pool-" + poolName + "]: Could not add"
+                        + " PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        int stripe = stripeStart();
+        for (int i = 0; i < SLOTS_PER_STRIPE; i++) {
+            Object obj = stripes.getAndSet(stripe + i, null);
+            if (obj != null) {
+                localHits.increment();
+                taken();
+                return obj;
+            }
+        }
+        Object obj = shared.pollFirst();
+        if (obj == null) {
+            obj = steal(stripe);
+        }
+        if (obj != null) {
+            sharedHits.increment();
+            taken();
+            return obj;
+        }
+
+        scheduleResizeIfBelowSteadySize();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet();
+        try {
+            return factory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through
+     * getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj).
+     * @param object
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && reserveIdleSlot()) {
+            returned.increment();
+            int stripe = stripeStart();
+            for (int i = 0; i < SLOTS_PER_STRIPE; i++) {
+                if (stripes.compareAndSet(stripe + i, null, object)) {
+                    return;
+                }
+            }
+            shared.offerFirst(object);
+            return;
+        }
+        destroy(object, "exception in returnObj");
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore
+     * the reference to the object that they got from getObject(). An object
+     * that is obtained through getObject() must always be returned back to
+     * the pool using either returnObject(obj) or through destroyObject(obj).
+     * This method tells that the object should be destroyed and cannot
+     * be reused.
+     * @param object Object to be destroyed.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        destroy(object, "exception in destroyObject");
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            try {
+                poolTimerTask.cancel();
+            } catch (Throwable th) {
+                //Can safely ignore this!!
+            }
+        }
+        List<Object> idle = drain();
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE, "[Pool-{0}]: Destroying {1} beans from the pool...",
+                    new Object[]{poolName, idle.size()});
+        }
+
+        // since we're calling into ejb code, we need to set context class loader
+        ClassLoader origLoader = Utility.setContextClassLoader(containerClassLoader);
+        try {
+            for (Object elt : idle) {
+                destroy(elt, "exception in close");
+            }
+        } finally {
+            Utility.setContextClassLoader(origLoader);
+        }
+        unregisterProbeProvider();
+        this.poolTimerTask = null;
+        this.containerClassLoader = null;
+    }
+
+    @Override
+    protected void removeIdleObjects() {
+    }
+
+    /* *************** For Monitoring ***********************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return (int) (localHits.sum() + sharedHits.sum());
+    }
+
+    @Override
+    public int getSize() {
+        return idleCount.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return idleCount.get();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.get();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.get();
+    }
+
+    @Override
+    public long getNumLocalHits() {
+        return localHits.sum();
+    }
+
+    @Override
+    public long getNumSharedHits() {
+        return sharedHits.sum();
+    }
+
+    @Override
+    public void appendStats(StringBuilder sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(idleCount.get()).append("; ")
+            .append("CC=").append(created.get()).append("; ")
+            .append("DC=").append(destroyed.get()).append("; ")
+            .append("LH=").append(localHits.sum()).append("; ")
+            .append("SH=").append(sharedHits.sum()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        return "createdCount=" + created.get() + ";"
+            + "destroyedCount=" + destroyed.get() + ";"
+            + "waitCount=0;"
+            + "size=" + idleCount.get() + ";"
+            + "maxPoolSize=" + maxPoolSize + ";";
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        return "[Pool-" + poolName + "] "
+            + "CC=" + created.get() + "; "
+            + "DC=" + destroyed.get() + "; "
+            + "CS=" + idleCount.get() + "; "
+            + "LH=" + localHits.sum() + "; "
+            + "SH=" + sharedHits.sum() + "; "
+            + "PR=" + returned.sum() + "; "
+            + "SS=" + steadyPoolSize + "; "
+            + "MS=" + maxPoolSize + ";";
+    }
+
+    private int stripeStart() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & stripeMask) * SLOTS_PER_STRIPE;
+    }
+
+    /**
+     * Looks for an idle object in the stripes of other threads, which is still much cheaper than creating one.
+     */
+    private Object steal(int ownStripe) {
+        int length = stripes.length();
+        for (int i = SLOTS_PER_STRIPE; i < length; i++) {
+            int slot = (ownStripe + i) & (length - 1);
+            if (stripes.get(slot) != null) {
+                Object obj = stripes.getAndSet(slot, null);
+                if (obj != null) {
+                    return obj;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean reserveIdleSlot() {
+        int idle;
+        do {
+            idle = idleCount.get();
+            if (idle >= maxPoolSize) {
+                return false;
+            }
+        } while (!idleCount.compareAndSet(idle, idle + 1));
+        return true;
+    }
+
+    private void taken() {
+        int idle = idleCount.decrementAndGet();
+        if (idle < steadyPoolSize) {
+            scheduleResizeIfBelowSteadySize();
+        }
+    }
+
+    private void scheduleResizeIfBelowSteadySize() {
+        if (maintainSteadySize && !poolClosed && resizeScheduled.compareAndSet(false, true)) {
+            try {
+                EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.log(Level.FINE, "[Pool-{0}]: Added PoolResizeTimerTask...", poolName);
+                }
+            } catch (Exception ex) {
+                resizeScheduled.set(false);
+                _logger.log(Level.WARNING, "[Pool-" + poolName + "]: Cannot perform pool resize task", ex);
+            }
+        }
+    }
+
+    private void destroy(Object object, String message) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            factory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(Level.FINE, message, ex);
+        }
+    }
+
+    /**
+     * Creates objects and adds them to the shared stack, as far as max pool size allows.
+     * @param count the number of objects to be added.
+     */
+    protected void preload(int count) {
+        for (int i = 0; i < count && !poolClosed; i++) {
+            if (!reserveIdleSlot()) {
+                return;
+            }
+            Object obj;
+            try {
+                obj = factory.create(null);
+            } catch (Exception ex) {
+                //Need not throw this exception up since we are pre-populating
+                idleCount.decrementAndGet();
+                return;
+            }
+            poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+            created.incrementAndGet();
+            shared.offerLast(obj);
+        }
+    }
+
+    private List<Object> drain() {
+        List<Object> idle = new ArrayList<>();
+        for (int i = 0; i < stripes.length(); i++) {
+            Object obj = stripes.getAndSet(i, null);
+            if (obj != null) {
+                idleCount.decrementAndGet();
+                idle.add(obj);
+            }
+        }
+        Object obj;
+        while ((obj = shared.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            idle.add(obj);
+        }
+        return idle;
+    }
+
+    /**
+     * Takes up to {@code count} objects not used since {@code allowedIdleTime} out of the pool. The oldest objects
+     * are at the bottom of the shared stack; the stripes are checked as well as a thread that stopped calling the
+     * bean leaves its objects there.
+     */
+    private List<Object> takeIdleObjects(int count, long allowedIdleTime) {
+        List<Object> victims = new ArrayList<>();
+        Object obj;
+        while (victims.size() < count && (obj = shared.pollLast()) != null) {
+            if (((EJBContextImpl) obj).getLastTimeUsed() > allowedIdleTime) {
+                shared.offerLast(obj);
+                break;
+            }
+            idleCount.decrementAndGet();
+            victims.add(obj);
+        }
+        for (int i = 0; i < stripes.length() && victims.size() < count; i++) {
+            obj = stripes.get(i);
+            if (obj != null && ((EJBContextImpl) obj).getLastTimeUsed() <= allowedIdleTime
+                    && stripes.compareAndSet(i, obj, null)) {
+                idleCount.decrementAndGet();
+                victims.add(obj);
+            }
+        }
+        return victims;
+    }
+
+    protected void doResize() {
+        if (poolClosed || !inResizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        //We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = Utility.setContextClassLoader(containerClassLoader);
+        try {
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE, "[Pool-{0}]: Resize started at: {1} steadyPoolSize ::{2} resizeQuantity ::{3} maxPoolSize ::{4}",
+                        new Object[]{poolName, new java.util.Date(), steadyPoolSize, resizeQuantity, maxPoolSize});
+            }
+            int curSize = idleCount.get();
+            if (curSize > steadyPoolSize) {
+                //possible to reduce pool size....
+                if (idleTimeoutInSeconds <= 0 || resizeQuantity <= 0) {
+                    return;
+                }
+                int victimCount = Math.min(resizeQuantity, curSize - steadyPoolSize);
+                long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+                for (Object victim : takeIdleObjects(victimCount, allowedIdleTime)) {
+                    destroy(victim, "exception in doResize");
+                }
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+                int populateCount;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    populateCount = 0;
+                    while (curSize + populateCount < steadyPoolSize) {
+                        populateCount += resizeQuantity;
+                    }
+                }
+                preload(populateCount);
+            }
+        } catch (Throwable th) {
+            _logger.log(Level.WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            inResizing.set(false);
+            Utility.setContextClassLoader(previousClassLoader);
+        }
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE, "[Pool-{0}]: Resize completed at: {1}; after reSize: {2}",
+                    new Object[]{poolName, new java.util.Date(), getAllAttrValues()});
+        }
+    }
+
+    private class ReSizeWork implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } finally {
+                resizeScheduled.set(false);
+            }
+        }
+    }
+
+    private class IdleBeanWork implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } finally {
+                idleBeanWorkScheduled.set(false);
+            }
+        }
+    }
+
+    private class PoolResizeTimerTask extends TimerTask {
+
+        @Override
+        public void run() {
+            if (!idleBeanWorkScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                EjbContainerUtilImpl.getInstance().addWork(new IdleBeanWork());
+            } catch (Exception ex) {
+                idleBeanWorkScheduled.set(false);
+                _logger.log(Level.WARNING, "[Pool-" + poolName + "]: Cannot perform pool idle bean cleanup", ex);
+            }
+        }
+    }
+}
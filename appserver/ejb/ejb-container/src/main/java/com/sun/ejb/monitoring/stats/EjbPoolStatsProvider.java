@@ -75,6 +75,14 @@ public class EjbPoolStatsProvider {
             "JmsMaxMessagesLoad", "count", 
             "Provides the maximum number of messages to load into a JMS session, at a time.");
 
+    private CountStatisticImpl localHitsStat = new CountStatisticImpl(
+            "NumLocalHits", "count",
+            "Number of beans taken from a cache local to the calling thread");
+
+    private CountStatisticImpl sharedHitsStat = new CountStatisticImpl(
+            "NumSharedHits", "count",
+            "Number of beans taken from the part of the pool shared by all threads");
+
     private BoundedRangeStatisticImpl beansInPool;
     private BoundedRangeStatisticImpl threadsWaiting;
 
@@ -159,6 +167,20 @@ public class EjbPoolStatsProvider {
         return jmsStat;
     }
 
+    @ManagedAttribute(id="numlocalhits")
+    @Description( "Number of beans taken from a cache local to the calling thread")
+    public CountStatistic getNumLocalHits() {
+        localHitsStat.setCount(delegate.getNumLocalHits());
+        return localHitsStat;
+    }
+
+    @ManagedAttribute(id="numsharedhits")
+    @Description( "Number of beans taken from the part of the pool shared by all threads")
+    public CountStatistic getNumSharedHits() {
+        sharedHitsStat.setCount(delegate.getNumSharedHits());
+        return sharedHitsStat;
+    }
+
     @ProbeListener("glassfish:ejb:pool:objectAddedEvent")
     public void ejbObjectAddedEvent(
             @ProbeParam("beanId") long beanId,
@@ -0,0 +1,196 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StripedNonBlockingPoolTest {
+
+    private final CountingFactory factory = new CountingFactory();
+    private StripedNonBlockingPool pool;
+
+    @After
+    public void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void returnedObjectIsReusedBySameThread() {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 10, 0, null);
+        Object first = pool.getObject(null);
+        pool.returnObject(first);
+        assertSame(first, pool.getObject(null));
+        assertEquals(1, factory.created.get());
+        assertEquals(1, pool.getNumLocalHits());
+        assertEquals(0, pool.getNumSharedHits());
+    }
+
+    @Test
+    public void objectsBeyondStripeSpillToSharedStack() {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 100, 0, null);
+        Object[] objects = new Object[20];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = pool.getObject(null);
+        }
+        for (Object object : objects) {
+            pool.returnObject(object);
+        }
+        assertEquals(20, pool.getNumBeansInPool());
+        Set<Object> taken = new HashSet<>();
+        for (int i = 0; i < objects.length; i++) {
+            taken.add(pool.getObject(null));
+        }
+        assertEquals(20, taken.size());
+        assertEquals(20, factory.created.get());
+        assertEquals(20, pool.getNumLocalHits() + pool.getNumSharedHits());
+        assertTrue(pool.getNumSharedHits() > 0);
+    }
+
+    @Test
+    public void idleObjectsAreBoundedByMaxPoolSize() {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 5, 0, null);
+        Object[] objects = new Object[8];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = pool.getObject(null);
+        }
+        for (Object object : objects) {
+            pool.returnObject(object);
+        }
+        assertEquals(5, pool.getNumBeansInPool());
+        assertEquals(3, factory.destroyed.get());
+        assertEquals(3, pool.getTotalBeansDestroyed());
+        assertEquals(8, pool.getTotalBeansCreated());
+    }
+
+    @Test
+    public void objectsIdleInOtherThreadsStripesAreUsed() throws InterruptedException {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 10, 0, null);
+        AtomicReference<Object> returned = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            Object object = pool.getObject(null);
+            returned.set(object);
+            pool.returnObject(object);
+        });
+        other.start();
+        other.join();
+        assertSame(returned.get(), pool.getObject(null));
+        assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void closeDestroysIdleObjects() {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 10, 0, null);
+        Object first = pool.getObject(null);
+        Object second = pool.getObject(null);
+        pool.returnObject(first);
+        pool.returnObject(second);
+        pool.close();
+        assertEquals(2, factory.destroyed.get());
+        assertEquals(0, pool.getNumBeansInPool());
+        pool.returnObject(new Object());
+        assertEquals(3, factory.destroyed.get());
+        pool = null;
+    }
+
+    @Test
+    public void concurrentUseNeverHandsOutSameObjectTwice() throws InterruptedException {
+        pool = new StripedNonBlockingPool(1, "test", factory, 0, 1, 16, 0, null);
+        int threads = 16;
+        Set<Object> inUse = ConcurrentHashMap.newKeySet();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        Object object = pool.getObject(null);
+                        if (!inUse.add(object)) {
+                            throw new AssertionError("object handed out twice");
+                        }
+                        inUse.remove(object);
+                        pool.returnObject(object);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertNull(failure.get());
+        assertTrue(pool.getNumBeansInPool() <= 16);
+        assertEquals(factory.created.get() - factory.destroyed.get(), pool.getNumBeansInPool());
+    }
+
+    private static class CountingFactory implements ObjectFactory {
+
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
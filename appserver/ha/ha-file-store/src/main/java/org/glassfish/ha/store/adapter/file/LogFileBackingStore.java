@@ -0,0 +1,577 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+import java.io.*;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An implementation of BackingStore that persists Serializable data into a log of append only, memory-mapped
+ * segment files in the file system.
+ * <p>
+ * Unlike {@link FileBackingStore}, which creates, rewrites and deletes one file per key, every save and remove
+ * is a single append to the active segment, and loads read straight from the mapped segment at the location kept
+ * by an in-memory index. Updating the timestamp of a key overwrites the timestamp of its record in place.
+ * Segments whose records have mostly been superseded or removed are compacted in the background, by copying
+ * their remaining records to the active segment and deleting the segment file.
+ * <p>
+ * When the store is initialized it rebuilds the index by replaying the segments in the working directory in the
+ * order they were written, stopping at the first torn or corrupted record of each segment. The segments are
+ * written to the disk when they are full and on shutdown. Until then the data is kept by the operating system,
+ * so it survives the server process going down, but not the machine.
+ * <p>
+ * Segments are never unmapped explicitly, so on Windows the file of a compacted segment cannot be deleted right
+ * away. Such segments are flagged obsolete instead, and skipped and deleted when the store is initialized again.
+ *
+ * @see LogSegment
+ */
+public class LogFileBackingStore<K extends Serializable, V extends Serializable>
+        extends BackingStore<K, V> {
+
+    /**
+     * Vendor specific setting for the size of a segment in bytes
+     */
+    public static final String SEGMENT_SIZE_PROPERTY = "log.segment.size.in.bytes";
+
+    /**
+     * Vendor specific setting for the fraction of a segment which has to be superseded or removed for the
+     * segment to be compacted
+     */
+    public static final String COMPACTION_THRESHOLD_PROPERTY = "log.compaction.threshold";
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-file-store-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    protected Logger logger =
+            Logger.getLogger(LogFileBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private volatile boolean shutdown;
+
+    private static Level TRACE_LEVEL = Level.FINE;
+
+    private String debugStr;
+
+    private LogFileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private double compactionThreshold = 0.5;
+
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Guards appends, the active segment and changes to the index
+     */
+    private final Object writeLock = new Object();
+
+    private volatile LogSegment activeSegment;
+
+    /**
+     * Id of the next segment, above the ids of all segment files in the working directory
+     */
+    private long nextSegmentId;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * No arg constructor
+     */
+    public LogFileBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogFileBackingStore - " + conf.getStoreName() + "] ";
+
+        baseDir = conf.getBaseDirectory();
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        try {
+            defaultMaxIdleTimeoutInSeconds = Long.parseLong(
+                    (String) vendorMap.get("max.idle.timeout.in.seconds"));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            segmentSize = Integer.parseInt((String) vendorMap.get(SEGMENT_SIZE_PROPERTY));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            compactionThreshold = Double.parseDouble((String) vendorMap.get(COMPACTION_THRESHOLD_PROPERTY));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+
+        if ((baseDir.mkdirs() == false) && (! baseDir.isDirectory())) {
+            throw new BackingStoreException("[LogFileBackingStore::initialize] Create base directory (" + baseDir.getAbsolutePath() + ") failed");
+        }
+        try {
+            recover();
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Failed to open segments in " + baseDir.getAbsolutePath(), ex);
+        }
+        logger.log(Level.INFO, "[LogFileBackingStore::initialize] Successfully Created and initialized store. "
+                + "Working dir: " + baseDir + "; Recovered " + index.size() + " entries from "
+                + segments.size() + " segments; Configuration: " + conf);
+    }
+
+    /*package*/ void setFileBackingStoreFactory(LogFileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        V value = null;
+        Location location = index.get(key.toString());
+        // a location that was just compacted away still reads the same data from the old mapping
+        LogSegment.Record record = location == null ? null : location.segment.read(location.offset);
+        if (record != null) {
+            try (ObjectInputStream ois =
+                     super.createObjectInputStream(new ByteArrayInputStream(record.value))) {
+                value = (V) ois.readObject();
+                if (logger.isLoggable(TRACE_LEVEL)) {
+                    logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+                }
+            } catch (Exception ex) {
+                logger.log(Level.WARNING,debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            }
+        }
+
+        return value;
+    }
+
+    public void remove(K sessionKey) {
+        remove(sessionKey.toString());
+    }
+
+    private boolean remove(String sessionKey) {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+            }
+            boolean status = false;
+            synchronized (writeLock) {
+                Location old = index.remove(sessionKey);
+                if (old != null) {
+                    old.segment.markDead(old.size);
+                    Location tombstone = append(LogSegment.REMOVE, System.currentTimeMillis(), sessionKey, null);
+                    // only needed while older segments may still hold a record for the key
+                    tombstone.segment.markDead(tombstone.size);
+                    status = true;
+                }
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + status);
+            }
+            scheduleCompaction();
+            return status;
+        } catch (Exception ex) {
+            logger.log(TRACE_LEVEL, debugStr + "Failed to remove(" + sessionKey + ")");
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+            }
+            shutdown = true;
+            synchronized (writeLock) {
+                index.clear();
+                for (LogSegment segment : segments.values()) {
+                    closeSegment(segment, true);
+                }
+                segments.clear();
+                activeSegment = null;
+            }
+
+            if (baseDir.delete() == false) {
+                if (baseDir.exists()) {
+                    logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+                }
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            LogFileBackingStoreFactory.removemapping(getBackingStoreConfiguration().getStoreName());
+        }
+    }
+
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (shutdown) {
+                break;
+            }
+            if (entry.getValue().timestamp < threshold && remove(entry.getKey())) {
+                expiredSessions++;
+            }
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done removeExpired()");
+        }
+
+        return expiredSessions;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        synchronized (writeLock) {
+            if (activeSegment != null) {
+                activeSegment.force();
+            }
+        }
+        //DO NOT DELETE THE WORKING DIRECTORY
+    }
+
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew)
+            throws BackingStoreException {
+
+        String key = sessionKey.toString();
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+        byte[] data = getSerializedState(value);
+        try {
+            synchronized (writeLock) {
+                Location location = append(LogSegment.PUT, System.currentTimeMillis(), key, data);
+                Location old = index.put(key, location);
+                if (old != null) {
+                    old.segment.markDead(old.size);
+                }
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "save(" + sessionKey + ") failed", ex);
+            throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        scheduleCompaction();
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    public void updateTimeStamp(K k, String version, long timeStamp)
+            throws BackingStoreException {
+        updateTimestamp(k, timeStamp);
+    }
+
+    public void updateTimestamp(K sessionKey, long time)
+            throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+        synchronized (writeLock) {
+            Location location = index.get(sessionKey.toString());
+            if (location == null) {
+                logger.log(Level.WARNING, debugStr
+                        + ": Cannot update timsestamp for: " + sessionKey
+                        + "; Entry does not exist");
+            } else {
+                location.timestamp = time;
+                location.segment.touch(location.offset, time);
+            }
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new segment when it is full. Must hold the write lock.
+     */
+    private Location append(byte type, long timestamp, String key, byte[] value) throws IOException {
+        if (activeSegment == null) {
+            throw new IOException(debugStr + "Store has been destroyed");
+        }
+        byte[] keyBytes = LogSegment.encodeKey(key);
+        int offset = activeSegment.append(type, timestamp, keyBytes, value);
+        if (offset < 0) {
+            activeSegment.force();
+            int size = LogSegment.recordSize(keyBytes, value);
+            activeSegment = newSegment(Math.max(segmentSize, LogSegment.HEADER_SIZE + size));
+            offset = activeSegment.append(type, timestamp, keyBytes, value);
+        }
+        return new Location(activeSegment, offset, LogSegment.recordSize(keyBytes, value), timestamp);
+    }
+
+    private LogSegment newSegment(int capacity) throws IOException {
+        long id = nextSegmentId++;
+        LogSegment segment = LogSegment.create(baseDir, id, capacity);
+        segments.put(id, segment);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Created segment " + segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Rebuilds the index from the segments in the working directory.
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, File> files = new TreeMap<>();
+        String[] fileNames = baseDir.list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                long id = LogSegment.parseId(fileName);
+                if (id < 0) {
+                    continue;
+                }
+                nextSegmentId = Math.max(nextSegmentId, id + 1);
+                File file = new File(baseDir, fileName);
+                if (LogSegment.isObsolete(file)) {
+                    // compacted or destroyed while mapped, its records must not be replayed
+                    if (!file.delete()) {
+                        logger.log(Level.FINE, debugStr + "Couldn't remove obsolete segment yet: " + file);
+                    }
+                } else {
+                    files.put(id, file);
+                }
+            }
+        }
+        for (Map.Entry<Long, File> file : files.entrySet()) {
+            LogSegment segment = LogSegment.open(file.getValue(), file.getKey());
+            if (segment == null) {
+                logger.log(Level.WARNING, debugStr + "Ignoring invalid segment " + file.getValue());
+                continue;
+            }
+            segments.put(segment.getId(), segment);
+            int position = LogSegment.HEADER_SIZE;
+            for (LogSegment.Record record = segment.read(position); record != null; record = segment.read(position)) {
+                position += record.size;
+                Location old;
+                if (record.type == LogSegment.PUT) {
+                    old = index.put(record.key, new Location(segment, record.offset, record.size, record.timestamp));
+                } else {
+                    old = index.remove(record.key);
+                    segment.markDead(record.size);
+                }
+                if (old != null) {
+                    old.segment.markDead(old.size);
+                }
+            }
+        }
+        activeSegment = segments.isEmpty() ? newSegment(segmentSize) : segments.lastEntry().getValue();
+    }
+
+    private void scheduleCompaction() {
+        if (!shutdown && findCompactionCandidate() != null && compacting.compareAndSet(false, true)) {
+            COMPACTOR.execute(() -> {
+                try {
+                    for (LogSegment segment = findCompactionCandidate(); segment != null && !shutdown;
+                            segment = findCompactionCandidate()) {
+                        compact(segment);
+                    }
+                } catch (Throwable th) {
+                    logger.log(Level.WARNING, debugStr + " Compaction failed", th);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the full segment with the largest fraction of superseded and removed records, if that is above
+     * the compaction threshold
+     */
+    private LogSegment findCompactionCandidate() {
+        LogSegment candidate = null;
+        LogSegment active = activeSegment;
+        for (LogSegment segment : segments.values()) {
+            if (segment != active && segment.getDeadRatio() >= compactionThreshold
+                    && (candidate == null || segment.getDeadRatio() > candidate.getDeadRatio())) {
+                candidate = segment;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Copies the records of a full segment which are still needed to the active segment, and deletes it.
+     */
+    /*package*/ void compact(LogSegment segment) throws IOException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacting segment " + segment);
+        }
+        int position = LogSegment.HEADER_SIZE;
+        for (LogSegment.Record record = segment.read(position); record != null; record = segment.read(position)) {
+            position += record.size;
+            synchronized (writeLock) {
+                if (shutdown) {
+                    return;
+                }
+                if (record.type == LogSegment.PUT) {
+                    Location location = index.get(record.key);
+                    if (location != null && location.segment == segment && location.offset == record.offset) {
+                        index.put(record.key, append(LogSegment.PUT, location.timestamp, record.key, record.value));
+                    }
+                } else if (segments.firstKey() < segment.getId() && !index.containsKey(record.key)) {
+                    Location tombstone = append(LogSegment.REMOVE, record.timestamp, record.key, null);
+                    tombstone.segment.markDead(tombstone.size);
+                }
+            }
+        }
+        synchronized (writeLock) {
+            if (shutdown) {
+                return;
+            }
+            // the copies have to be on the disk before the originals are gone
+            activeSegment.force();
+            segments.remove(segment.getId());
+        }
+        closeSegment(segment, true);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacted segment " + segment);
+        }
+    }
+
+    private void closeSegment(LogSegment segment, boolean delete) {
+        if (delete) {
+            segment.markObsolete();
+        }
+        try {
+            segment.close();
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + " Couldn't close segment: " + segment, ex);
+        }
+        if (delete && !segment.delete()) {
+            // the file of a segment which is still mapped cannot be deleted on Windows, it is deleted on recovery
+            logger.log(Level.FINE, debugStr + " Couldn't remove segment yet: " + segment);
+        }
+    }
+
+    /*package*/ int getSegmentCount() {
+        return segments.size();
+    }
+
+    private byte[] getSerializedState(V value)
+            throws BackingStoreException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+            oos.flush();
+            return bos.toByteArray();
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+    }
+
+    /**
+     * Where the current record of a key is
+     */
+    private static final class Location {
+
+        final LogSegment segment;
+
+        final int offset;
+
+        final int size;
+
+        volatile long timestamp;
+
+        Location(LogSegment segment, int offset, int size, long timestamp) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+            this.timestamp = timestamp;
+        }
+    }
+}
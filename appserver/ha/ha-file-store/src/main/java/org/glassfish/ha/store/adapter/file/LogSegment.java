@@ -0,0 +1,373 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped segment file of a {@link LogFileBackingStore}, which records are only ever appended to.
+ * <p>
+ * The segment starts with a header holding {@link #MAGIC} and the flags of the segment, followed by the records.
+ * A record is laid out as
+ * <pre>
+ *   int    size of the whole record
+ *   int    CRC32 checksum of everything from the type on
+ *   long   last access time
+ *   byte   type, {@link #PUT} or {@link #REMOVE}
+ *   int    key length, key in UTF-8
+ *   int    value length, value
+ * </pre>
+ * The last access time is left out of the checksum so that it can be updated in place. The unused rest of the
+ * segment is zero, so reading stops at the first record with a size of zero, and at the first record which is
+ * truncated or fails its checksum, which is what a crash in the middle of an append leaves behind.
+ * <p>
+ * Appends are not thread safe, they are serialized by the store. Reads do not need any locking.
+ * <p>
+ * A segment which is no longer needed is flagged {@link #OBSOLETE} before its file is deleted. The mapping of a
+ * segment is only released when the segment is garbage collected, and on Windows a file cannot be deleted while it
+ * is mapped, so there the file usually stays behind until the store is opened again and skips and deletes it.
+ */
+final class LogSegment {
+
+    static final int MAGIC = 0x474C4F47;
+
+    static final int HEADER_SIZE = 8;
+
+    /**
+     * Flag of a segment whose records have been compacted or destroyed, and which is only waiting to be deleted
+     */
+    static final int OBSOLETE = 1;
+
+    private static final int FLAGS_OFFSET = 4;
+
+    static final byte PUT = 1;
+
+    static final byte REMOVE = 2;
+
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 1 + 4 + 4;
+
+    private static final int TIMESTAMP_OFFSET = 8;
+
+    private static final int CHECKED_OFFSET = 16;
+
+    private final long id;
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    private final AtomicInteger deadBytes = new AtomicInteger();
+
+    private LogSegment(long id, File file, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a new, empty segment.
+     */
+    static LogSegment create(File dir, long id, int capacity) throws IOException {
+        File file = new File(dir, fileName(id));
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LogSegment segment = new LogSegment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        segment.buffer.putInt(0, MAGIC);
+        segment.writePosition = HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * Checks if the given segment file is flagged {@link #OBSOLETE}, without mapping it, so that it can still be
+     * deleted on any platform.
+     */
+    static boolean isObsolete(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            return !header.hasRemaining() && header.getInt(0) == MAGIC
+                    && (header.getInt(FLAGS_OFFSET) & OBSOLETE) != 0;
+        }
+    }
+
+    /**
+     * Opens an existing segment, positioned after its last intact record.
+     *
+     * @return the segment, or null if the file is not a segment
+     */
+    static LogSegment open(File file, long id) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            channel.close();
+            return null;
+        }
+        LogSegment segment = new LogSegment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        if (segment.buffer.getInt(0) != MAGIC) {
+            channel.close();
+            return null;
+        }
+        int position = HEADER_SIZE;
+        for (Record record = segment.read(position); record != null; record = segment.read(position)) {
+            position += record.size;
+        }
+        segment.writePosition = position;
+        if (position + 4 <= size && segment.buffer.getInt(position) != 0) {
+            // clear what a crash left behind, so it cannot be mistaken for records appended later
+            ByteBuffer tail = segment.buffer.duplicate();
+            tail.position(position);
+            byte[] zeros = new byte[8192];
+            while (tail.hasRemaining()) {
+                tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+            }
+        }
+        return segment;
+    }
+
+    static String fileName(long id) {
+        return String.format("segment-%016d.log", id);
+    }
+
+    /**
+     * Returns the id of the segment encoded in the given file name, or -1 if it is not the name of a segment
+     */
+    static long parseId(String fileName) {
+        if (!fileName.startsWith("segment-") || !fileName.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring("segment-".length(), fileName.length() - ".log".length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the size of a record with the given key and value
+     */
+    static int recordSize(byte[] key, byte[] value) {
+        return RECORD_HEADER_SIZE + key.length + (value == null ? 0 : value.length);
+    }
+
+    static byte[] encodeKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @return the offset of the record, or -1 if it does not fit into this segment
+     */
+    int append(byte type, long timestamp, byte[] key, byte[] value) {
+        int size = recordSize(key, value);
+        if (size > buffer.capacity() - writePosition) {
+            return -1;
+        }
+        ByteBuffer out = buffer.duplicate();
+        out.position(writePosition + CHECKED_OFFSET);
+        out.put(type);
+        out.putInt(key.length);
+        out.put(key);
+        if (value == null) {
+            out.putInt(0);
+        } else {
+            out.putInt(value.length);
+            out.put(value);
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer checked = buffer.duplicate();
+        checked.position(writePosition + CHECKED_OFFSET).limit(writePosition + size);
+        crc.update(checked);
+        out.putInt(writePosition + 4, (int) crc.getValue());
+        out.putLong(writePosition + TIMESTAMP_OFFSET, timestamp);
+        // the size goes last, until it is written the record does not exist
+        out.putInt(writePosition, size);
+        int offset = writePosition;
+        writePosition += size;
+        return offset;
+    }
+
+    /**
+     * Reads the record at the given offset.
+     *
+     * @return the record, or null if there is no intact record at the offset
+     */
+    Record read(int offset) {
+        ByteBuffer in = buffer.duplicate();
+        if (offset + RECORD_HEADER_SIZE > in.capacity()) {
+            return null;
+        }
+        int size = in.getInt(offset);
+        if (size < RECORD_HEADER_SIZE || size > in.capacity() - offset) {
+            return null;
+        }
+        ByteBuffer checked = buffer.duplicate();
+        checked.position(offset + CHECKED_OFFSET).limit(offset + size);
+        CRC32 crc = new CRC32();
+        crc.update(checked);
+        if (in.getInt(offset + 4) != (int) crc.getValue()) {
+            return null;
+        }
+        in.position(offset + CHECKED_OFFSET);
+        byte type = in.get();
+        int keyLength = in.getInt();
+        if (keyLength < 0 || keyLength > size - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        byte[] key = new byte[keyLength];
+        in.get(key);
+        int valueLength = in.getInt();
+        if (valueLength != size - RECORD_HEADER_SIZE - keyLength) {
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        in.get(value);
+        return new Record(offset, size, type, in.getLong(offset + TIMESTAMP_OFFSET),
+                new String(key, StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * Updates the last access time of the record at the given offset in place.
+     */
+    void touch(int offset, long timestamp) {
+        buffer.duplicate().putLong(offset + TIMESTAMP_OFFSET, timestamp);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    /**
+     * Records that the given number of bytes of this segment are no longer needed.
+     */
+    void markDead(int bytes) {
+        deadBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Returns the fraction of the records of this segment which are no longer needed
+     */
+    double getDeadRatio() {
+        int used = writePosition - HEADER_SIZE;
+        return used <= 0 ? 0 : (double) deadBytes.get() / used;
+    }
+
+    /**
+     * Writes the changes made to this segment to the disk.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Flags this segment {@link #OBSOLETE} on the disk, so it is skipped when the store is opened again even if its
+     * file cannot be deleted. Must be called before the segment is closed.
+     */
+    void markObsolete() {
+        buffer.putInt(FLAGS_OFFSET, OBSOLETE);
+        buffer.force();
+    }
+
+    /**
+     * Closes the segment file. The mapped records stay readable until the segment is garbage collected, so
+     * concurrent readers holding on to the segment are not affected.
+     */
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Deletes the segment file, which fails on Windows as long as the segment is still mapped.
+     */
+    boolean delete() {
+        return file.delete();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + "[" + writePosition + "/" + buffer.capacity() + ", dead=" + deadBytes.get() + "]";
+    }
+
+    /**
+     * A record read from a segment.
+     */
+    static final class Record {
+
+        final int offset;
+
+        final int size;
+
+        final byte type;
+
+        final long timestamp;
+
+        final String key;
+
+        final byte[] value;
+
+        Record(int offset, int size, byte type, long timestamp, String key, byte[] value) {
+            this.offset = offset;
+            this.size = size;
+            this.type = type;
+            this.timestamp = timestamp;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link LogFileBackingStore} keeps its entries across saves, removes and reopening, and compacts
+ * segments whose entries were replaced.
+ */
+public class LogFileBackingStoreTest {
+
+    private static final int KEYS = 1_000;
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private File baseDir;
+
+    @Before
+    public void createBaseDir() throws IOException {
+        baseDir = Files.createTempDirectory("log-file-store").toFile();
+    }
+
+    @After
+    public void deleteBaseDir() throws IOException {
+        try (Stream<Path> files = Files.walk(baseDir.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void savesLoadsAndRemovesEntries() throws Exception {
+        LogFileBackingStore<String, byte[]> store = createLogStore();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < KEYS; i++) {
+                store.save("key-" + i, value(i, round), round == 0);
+            }
+        }
+        assertEquals(KEYS, store.size());
+        for (int i = 0; i < KEYS; i++) {
+            assertArrayEquals(value(i, 1), store.load("key-" + i, null));
+        }
+        for (int i = 0; i < KEYS; i++) {
+            store.remove("key-" + i);
+        }
+        assertEquals(0, store.size());
+        assertNull(store.load("key-0", null));
+        store.destroy();
+    }
+
+    @Test
+    public void recoversEntriesWhenReopened() throws Exception {
+        LogFileBackingStore<String, byte[]> store = createLogStore();
+        for (int i = 0; i < KEYS; i++) {
+            store.save("key-" + i, value(i, 0), true);
+        }
+        for (int i = 0; i < KEYS; i += 2) {
+            store.remove("key-" + i);
+        }
+        for (int i = 1; i < KEYS; i += 4) {
+            store.save("key-" + i, value(i, 1), false);
+        }
+        store.updateTimestamp("key-3", 42L);
+        store.shutdown();
+
+        LogFileBackingStore<String, byte[]> reopened = createLogStore();
+        assertEquals(KEYS / 2, reopened.size());
+        for (int i = 0; i < KEYS; i++) {
+            byte[] value = reopened.load("key-" + i, null);
+            if (i % 2 == 0) {
+                assertNull(value);
+            } else {
+                assertArrayEquals(value(i, i % 4 == 1 ? 1 : 0), value);
+            }
+        }
+        assertEquals(1, reopened.removeExpired(System.currentTimeMillis() - 1000L));
+        assertNull(reopened.load("key-3", null));
+        reopened.destroy();
+    }
+
+    @Test
+    public void compactsReplacedEntries() throws Exception {
+        LogFileBackingStore<String, byte[]> store = createLogStore();
+        int rounds = 16;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < 500; i++) {
+                store.save("key-" + i, value(i, round), round == 0);
+            }
+        }
+        // the live entries fill about five segments, twice that leaves room for segments below the threshold
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (store.getSegmentCount() > 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        int segments = store.getSegmentCount();
+        assertTrue("Expected the replaced entries to be compacted, got " + segments + " segments", segments <= 10);
+        store.shutdown();
+
+        LogFileBackingStore<String, byte[]> reopened = createLogStore();
+        assertEquals(500, reopened.size());
+        for (int i = 0; i < 500; i++) {
+            assertArrayEquals(value(i, rounds - 1), reopened.load("key-" + i, null));
+        }
+        reopened.destroy();
+    }
+
+    /**
+     * A compacted segment whose file could not be deleted, as on Windows while it is mapped, must not be replayed.
+     */
+    @Test
+    public void skipsAndDeletesObsoleteSegmentWhenReopened() throws Exception {
+        File dir = new File(baseDir, "log-file");
+        dir.mkdirs();
+        LogSegment obsolete = LogSegment.create(dir, 7, SEGMENT_SIZE);
+        obsolete.append(LogSegment.PUT, System.currentTimeMillis(), LogSegment.encodeKey("stale"), new byte[16]);
+        obsolete.markObsolete();
+        obsolete.close();
+        File file = new File(dir, LogSegment.fileName(7));
+        assertTrue(LogSegment.isObsolete(file));
+
+        LogFileBackingStore<String, byte[]> store = createLogStore();
+        assertFalse(file.exists());
+        assertEquals(0, store.size());
+        assertNull(store.load("stale", null));
+        // new segments are numbered after the obsolete one
+        assertTrue(new File(dir, LogSegment.fileName(8)).exists());
+        store.save("key", value(0, 0), true);
+        store.shutdown();
+
+        LogFileBackingStore<String, byte[]> reopened = createLogStore();
+        assertArrayEquals(value(0, 0), reopened.load("key", null));
+        reopened.destroy();
+    }
+
+    @Test
+    public void destroyedSegmentsAreNotRecovered() throws Exception {
+        LogFileBackingStore<String, byte[]> store = createLogStore();
+        store.save("key", value(0, 0), true);
+        store.destroy();
+
+        LogFileBackingStore<String, byte[]> reopened = createLogStore();
+        assertEquals(0, reopened.size());
+        assertNull(reopened.load("key", null));
+        reopened.destroy();
+    }
+
+    private LogFileBackingStore<String, byte[]> createLogStore() throws BackingStoreException {
+        return (LogFileBackingStore<String, byte[]>) new LogFileBackingStoreFactory()
+                .createBackingStore(configuration());
+    }
+
+    private BackingStoreConfiguration<String, byte[]> configuration() {
+        BackingStoreConfiguration<String, byte[]> conf = new BackingStoreConfiguration<String, byte[]>();
+        conf.setStoreName("log-file-test").setStoreType("log-file").setInstanceName("instance")
+                .setBaseDirectory(new File(baseDir, "log-file"))
+                .setKeyClazz(String.class).setValueClazz(byte[].class);
+        conf.getVendorSpecificSettings().put(LogFileBackingStore.SEGMENT_SIZE_PROPERTY, String.valueOf(SEGMENT_SIZE));
+        return conf;
+    }
+
+    private static byte[] value(int key, int round) {
+        byte[] value = new byte[512];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) (key * 31 + round * 7 + i);
+        }
+        return value;
+    }
+}
@@ -103,7 +103,7 @@ public class HazelcastBackingStore<K extends Serializable, V extends Serializabl
         return clusteredStore.getMap(storeName).size();
     }
 
-    private void init() throws BackingStoreException {
+    void init() throws BackingStoreException {
         if(instanceName != null) {
             return;
         }
@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.ha.hazelcast.store;
+
+import fish.payara.nucleus.store.ClusteredStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.web.ha.session.management.DeltaBackingStore;
+import org.glassfish.web.ha.session.management.SessionDeltaMetadata;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A store of web sessions replicated as {@link SessionDeltaMetadata} snapshots and deltas.
+ * <p>
+ * The deltas are kept apart from the snapshots, in the store named after the snapshot store with a
+ * {@value #DELTA_STORE_SUFFIX} suffix, under the session id and the sequence number of the delta since the
+ * snapshot. Saving a delta therefore only sends the delta, and no member has to deserialize the stored values, which
+ * the Hazelcast members could not do as they do not see the web container classes. The deltas are applied to the
+ * snapshot when it is loaded, in sequence up to the first one that was not made against the version the deltas
+ * before it left the snapshot at. Any deltas after it were saved for an earlier snapshot.
+ */
+public class HazelcastDeltaBackingStore<K extends Serializable, V extends Serializable>
+        extends HazelcastBackingStore<K, V> implements DeltaBackingStore {
+
+    static final String DELTA_STORE_SUFFIX = "-deltas";
+
+    private final String deltaStoreName;
+    private final ClusteredStore clusteredStore;
+
+    public HazelcastDeltaBackingStore(BackingStoreFactory factory, String storeName, ClusteredStore clusteredStore) {
+        super(factory, storeName, clusteredStore);
+        this.deltaStoreName = storeName + DELTA_STORE_SUFFIX;
+        this.clusteredStore = clusteredStore;
+    }
+
+    @Override
+    public V load(K k, String string) throws BackingStoreException {
+        V value = super.load(k, string);
+        if (value instanceof SessionDeltaMetadata) {
+            List<String> keys = getDeltaKeys(k);
+            Map<Serializable, Serializable> deltas = clusteredStore.getAll(deltaStoreName, keys);
+            SessionDeltaMetadata snapshot = (SessionDeltaMetadata) value;
+            for (String key : keys) {
+                Serializable delta = deltas.get(key);
+                if (!(delta instanceof SessionDeltaMetadata) || snapshot.apply((SessionDeltaMetadata) delta) == null) {
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean saveDelta(String id, int sequence, SessionDeltaMetadata delta) throws BackingStoreException {
+        init();
+        return clusteredStore.set(deltaStoreName, getDeltaKey(id, sequence), delta);
+    }
+
+    @Override
+    public void remove(K k) throws BackingStoreException {
+        super.remove(k);
+        clusteredStore.removeAll(deltaStoreName, getDeltaKeys(k));
+    }
+
+    private static List<String> getDeltaKeys(Serializable id) {
+        List<String> keys = new ArrayList<>(SessionDeltaMetadata.MAX_DELTAS);
+        for (int sequence = 1; sequence <= SessionDeltaMetadata.MAX_DELTAS; sequence++) {
+            keys.add(getDeltaKey(id, sequence));
+        }
+        return keys;
+    }
+
+    private static String getDeltaKey(Serializable id, int sequence) {
+        return id + "#" + sequence;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.ha.hazelcast.store;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JavaSerializationFilterConfig;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.properties.ClusterProperty;
+import fish.payara.nucleus.hazelcast.HazelcastCore;
+import fish.payara.nucleus.store.ClusteredStore;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.internal.api.JavaEEContextUtil;
+import org.glassfish.web.ha.session.management.SessionDeltaMetadata;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saves and loads sessions owned by a second member, which like the members of a Payara cluster cannot deserialize
+ * the classes of the Payara modules.
+ */
+public class HazelcastDeltaBackingStoreTest {
+
+    private static final String STORE = "delta-sessions";
+
+    private static HazelcastInstance member;
+    private static HazelcastInstance owner;
+    private static HazelcastDeltaBackingStore<String, SessionDeltaMetadata> store;
+
+    @BeforeClass
+    public static void startMembers() throws Exception {
+        String clusterName = "delta-backing-store-test-" + UUID.randomUUID();
+        member = Hazelcast.newHazelcastInstance(createConfig(clusterName));
+        Config ownerConfig = createConfig(clusterName);
+        ownerConfig.getSerializationConfig().setJavaSerializationFilterConfig(new JavaSerializationFilterConfig());
+        ownerConfig.getSerializationConfig().getJavaSerializationFilterConfig().getBlacklist()
+                .addPackages("fish.payara", "org.glassfish");
+        owner = Hazelcast.newHazelcastInstance(ownerConfig);
+        assertEquals(2, member.getCluster().getMembers().size());
+        store = new HazelcastDeltaBackingStore<>(mock(BackingStoreFactory.class), STORE, createClusteredStore(member));
+    }
+
+    @AfterClass
+    public static void stopMembers() {
+        if (owner != null) {
+            owner.shutdown();
+        }
+        if (member != null) {
+            member.shutdown();
+        }
+    }
+
+    @Test
+    public void ownerCannotDeserializeSessions() throws Exception {
+        String id = keyOwnedBy(owner, "filtered");
+        store.save(id, snapshot(1), true);
+        try {
+            owner.getMap(STORE).get(id);
+            fail("the owning member should not be able to deserialize the session");
+        } catch (RuntimeException expected) {
+            // the session classes are filtered on the owning member
+        }
+    }
+
+    @Test
+    public void deltasAreLoadedWithTheirSnapshot() throws Exception {
+        String id = keyOwnedBy(owner, "session");
+        store.save(id, snapshot(1), true);
+        assertTrue(store.saveDelta(id, 1, delta(1, 2)));
+        assertTrue(store.saveDelta(id, 2, delta(2, 3)));
+
+        SessionDeltaMetadata loaded = store.load(id, null);
+        assertEquals(3, loaded.getVersion());
+        assertEquals(2, loaded.getDeltas().size());
+
+        // the second delta of the earlier snapshot does not follow on from the first delta of this one
+        store.save(id, snapshot(4), false);
+        assertTrue(store.saveDelta(id, 1, delta(4, 5)));
+        loaded = store.load(id, null);
+        assertEquals(5, loaded.getVersion());
+        assertEquals(1, loaded.getDeltas().size());
+
+        store.remove(id);
+        assertNull(store.load(id, null));
+        assertTrue(member.getMap(STORE + HazelcastDeltaBackingStore.DELTA_STORE_SUFFIX).isEmpty());
+    }
+
+    private static SessionDeltaMetadata snapshot(long version) {
+        return SessionDeltaMetadata.createSnapshot(version, System.currentTimeMillis(), 1800_000L, "",
+                new byte[] { 1, 2, 3 });
+    }
+
+    private static SessionDeltaMetadata delta(long baseVersion, long version) {
+        return SessionDeltaMetadata.createDelta(baseVersion, version, System.currentTimeMillis(), 1800_000L, "",
+                Collections.<String>emptyList(), null, Arrays.asList("attribute" + version));
+    }
+
+    private static Config createConfig(String clusterName) {
+        Config config = new Config()
+                .setClusterName(clusterName)
+                .setProperty(ClusterProperty.WAIT_SECONDS_BEFORE_JOIN.getName(), "1")
+                .setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5811).setPortAutoIncrement(true);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1:5811-5820");
+        return config;
+    }
+
+    private static ClusteredStore createClusteredStore(HazelcastInstance instance) throws Exception {
+        HazelcastCore hzCore = mock(HazelcastCore.class);
+        when(hzCore.isEnabled()).thenReturn(true);
+        when(hzCore.getInstance()).thenReturn(instance);
+        when(hzCore.getUUID()).thenReturn(instance.getCluster().getLocalMember().getUuid());
+        JavaEEContextUtil ctxUtil = mock(JavaEEContextUtil.class);
+        JavaEEContextUtil.Instance empty = mock(JavaEEContextUtil.Instance.class);
+        when(ctxUtil.empty()).thenReturn(empty);
+        when(empty.pushContext()).thenReturn(mock(JavaEEContextUtil.Context.class));
+        ClusteredStore clusteredStore = new ClusteredStore();
+        setField(clusteredStore, "hzCore", hzCore);
+        setField(clusteredStore, "ctxUtil", ctxUtil);
+        return clusteredStore;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static String keyOwnedBy(HazelcastInstance instance, String prefix) {
+        for (int i = 0; ; i++) {
+            String key = prefix + "-" + i;
+            if (instance.getCluster().getLocalMember().equals(instance.getPartitionService().getPartition(key).getOwner())) {
+                return key;
+            }
+        }
+    }
+}
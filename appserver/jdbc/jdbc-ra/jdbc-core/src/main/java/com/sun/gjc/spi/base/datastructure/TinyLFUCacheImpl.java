@@ -0,0 +1,351 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Statement cache that decides what to keep by how often a statement is used rather than only how recently.
+ * <p>
+ * New statements enter a small window region. When the window overflows, its oldest entry becomes a candidate for
+ * the main region and is only admitted if the {@link FrequencySketch} estimates it is used more often than the entry
+ * main would otherwise evict. Main evicts with second chance: entries hit since the last sweep are skipped once. This
+ * keeps the working set of frequently used statements from being flushed by a burst of one-off queries, which is what
+ * happens to {@link LRUCacheImpl}.
+ * <p>
+ * Lookups do not take any lock, so unlike the other implementations this cache is not wrapped in a
+ * {@link SynchronizedCache}. Only adding and removing entries is serialized.
+ * <p>
+ * Selected with the statement cache type {@code TINYLFU}.
+ */
+public class TinyLFUCacheImpl implements Cache {
+
+    private static final Logger _logger = LogDomains.getLogger(TinyLFUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    private final Map<CacheObjectKey, Node> entries = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // guarded by evictionLock, may contain removed nodes which are skipped when polled
+    private final ArrayDeque<Node> window = new ArrayDeque<>();
+    private final ArrayDeque<Node> main = new ArrayDeque<>();
+    private int windowSize;
+    private int mainSize;
+
+    private final int maxSize;
+    private final int windowMaxSize;
+    private final PoolInfo poolInfo;
+    private StatementCacheProbeProvider probeProvider;
+
+    public TinyLFUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this.poolInfo = poolInfo;
+        this.maxSize = maxSize;
+        this.windowMaxSize = Math.max(1, maxSize / 100);
+        this.sketch = new FrequencySketch(maxSize);
+        try {
+            probeProvider = new StatementCacheProbeProvider();
+        } catch (Exception ex) {
+            _logger.log(Level.FINE, "Unable to create statement cache probe provider", ex);
+        }
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        recordAccess(key);
+        Node node = entries.get(key);
+        if (node != null) {
+            node.referenced = true;
+            if (_logger.isLoggable(Level.FINEST)) {
+                _logger.finest("Cache Hit");
+            }
+            if (probeProvider != null) {
+                probeProvider.statementCacheHitEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+            }
+            return node.value;
+        }
+        if (_logger.isLoggable(Level.FINEST)) {
+            _logger.finest("Cache Miss");
+        }
+        if (probeProvider != null) {
+            probeProvider.statementCacheMissEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+        }
+        return null;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object o, boolean force) {
+        evictionLock.lock();
+        try {
+            Node existing = entries.get(key);
+            if (existing != null) {
+                if (force) {
+                    Object previous = existing.value;
+                    existing.value = o;
+                    release(previous);
+                } else {
+                    // the caller keeps a statement that will never be returned by the cache, so let it really close
+                    uncache(o);
+                }
+                return;
+            }
+            Node node = new Node(key, o);
+            entries.put(key, node);
+            window.addLast(node);
+            windowSize++;
+            evictFromWindow();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("clearing objects in cache");
+        }
+        evictionLock.lock();
+        try {
+            entries.clear();
+            window.clear();
+            main.clear();
+            windowSize = 0;
+            mainSize = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushCache() {
+        evictionLock.lock();
+        try {
+            for (Node node : entries.values()) {
+                release(node.value);
+            }
+            clearCache();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge() {
+        evictionLock.lock();
+        try {
+            Node victim = mainSize > 0 ? pollVictim() : pollLive(window);
+            if (victim != null) {
+                if (victim.inMain) {
+                    mainSize--;
+                } else {
+                    windowSize--;
+                }
+                evict(victim);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // Used only for purging the bad statements.
+    @Override
+    public void purge(Object obj) {
+        evictionLock.lock();
+        try {
+            for (Node node : entries.values()) {
+                if (node.value.equals(obj)) {
+                    if (_logger.isLoggable(Level.FINEST)) {
+                        _logger.log(Level.FINEST, "Purging an entry from cache");
+                    }
+                    entries.remove(node.key);
+                    unlink(node);
+                    release(node.value);
+                    return;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    private void recordAccess(CacheObjectKey key) {
+        if (sketch.increment(key) && evictionLock.tryLock()) {
+            try {
+                sketch.reset();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the entries overflowing the window into main, letting each one replace the main victim only if it is
+     * used more frequently.
+     */
+    private void evictFromWindow() {
+        while (windowSize > windowMaxSize) {
+            Node candidate = pollLive(window);
+            windowSize--;
+            if (windowSize + mainSize < maxSize) {
+                admit(candidate);
+                continue;
+            }
+            Node victim = pollVictim();
+            if (victim == null) {
+                evict(candidate);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                mainSize--;
+                evict(victim);
+                admit(candidate);
+            } else {
+                main.addFirst(victim);
+                evict(candidate);
+            }
+        }
+    }
+
+    private void admit(Node node) {
+        node.inMain = true;
+        main.addLast(node);
+        mainSize++;
+    }
+
+    /**
+     * Takes the next entry main would evict off the head of its queue, giving recently referenced entries a second
+     * chance at the tail.
+     */
+    private Node pollVictim() {
+        Node node;
+        while ((node = pollLive(main)) != null && node.referenced) {
+            node.referenced = false;
+            main.addLast(node);
+        }
+        return node;
+    }
+
+    private static Node pollLive(ArrayDeque<Node> queue) {
+        Node node;
+        while ((node = queue.pollFirst()) != null && node.removed) {
+            // lazily dropped
+        }
+        return node;
+    }
+
+    private void unlink(Node node) {
+        node.removed = true;
+        if (node.inMain) {
+            mainSize--;
+        } else {
+            windowSize--;
+        }
+    }
+
+    private void evict(Node node) {
+        node.removed = true;
+        entries.remove(node.key, node);
+        release(node.value);
+        if (probeProvider != null) {
+            probeProvider.statementCacheEvictionEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+        }
+    }
+
+    /**
+     * Marks the statement as no longer cached and closes it, unless the application is still using it, in which
+     * case it will really be closed when the application closes it.
+     */
+    private static void release(Object o) {
+        if (o instanceof PreparedStatementWrapper) {
+            PreparedStatementWrapper ps = (PreparedStatementWrapper) o;
+            ps.setCached(false);
+            if (!ps.isBusy()) {
+                try {
+                    ps.close();
+                } catch (SQLException e) {
+                    _logger.log(Level.FINE, "Unable to close statement evicted from cache", e);
+                }
+            }
+        }
+    }
+
+    private static void uncache(Object o) {
+        if (o instanceof PreparedStatementWrapper) {
+            ((PreparedStatementWrapper) o).setCached(false);
+        }
+    }
+
+    private static final class Node {
+        final CacheObjectKey key;
+        volatile Object value;
+        volatile boolean referenced;
+        boolean removed;
+        boolean inMain;
+
+        Node(CacheObjectKey key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
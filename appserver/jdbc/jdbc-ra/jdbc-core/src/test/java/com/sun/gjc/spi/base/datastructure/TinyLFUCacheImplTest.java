@@ -0,0 +1,179 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TinyLFUCacheImplTest {
+
+    private final TinyLFUCacheImpl cache = new TinyLFUCacheImpl(new PoolInfo("pool"), 100);
+
+    @Test
+    public void returnsCachedStatementOnHit() {
+        Object statement = new Object();
+        assertNull(cache.checkAndUpdateCache(key(1)));
+        cache.addToCache(key(1), statement, false);
+        assertSame(statement, cache.checkAndUpdateCache(key(1)));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void existingEntryIsOnlyReplacedWhenForced() {
+        Object first = new Object();
+        Object second = new Object();
+        cache.addToCache(key(1), first, false);
+        cache.addToCache(key(1), second, false);
+        assertSame(first, cache.checkAndUpdateCache(key(1)));
+        cache.addToCache(key(1), second, true);
+        assertSame(second, cache.checkAndUpdateCache(key(1)));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        for (int i = 0; i < 1000; i++) {
+            cache.checkAndUpdateCache(key(i));
+            cache.addToCache(key(i), new Object(), false);
+            assertTrue(cache.getSize() <= cache.getMaxSize());
+        }
+        assertEquals(cache.getMaxSize(), cache.getSize());
+    }
+
+    @Test
+    public void frequentlyUsedStatementsSurviveScan() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                use(i);
+            }
+        }
+        for (int i = 1000; i < 1500; i++) {
+            use(i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertNotNull("hot statement " + i + " was evicted by the scan", cache.checkAndUpdateCache(key(i)));
+        }
+    }
+
+    @Test
+    public void purgeRemovesEntries() {
+        Object statement = new Object();
+        cache.addToCache(key(1), statement, false);
+        cache.addToCache(key(2), new Object(), false);
+        cache.purge(statement);
+        assertNull(cache.checkAndUpdateCache(key(1)));
+        assertEquals(1, cache.getSize());
+        cache.purge();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void flushEmptiesCache() {
+        for (int i = 0; i < 150; i++) {
+            use(i);
+        }
+        cache.flushCache();
+        assertEquals(0, cache.getSize());
+        use(1);
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void concurrentUseKeepsCacheBounded() throws InterruptedException {
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int id = random.nextInt(10) < 8 ? random.nextInt(50) : random.nextInt(10_000);
+                        if (cache.checkAndUpdateCache(key(id)) == null) {
+                            cache.addToCache(key(id), new Object(), false);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertNull(failure.get());
+        assertTrue(cache.getSize() <= cache.getMaxSize());
+        List<Object> hits = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Object statement = cache.checkAndUpdateCache(key(i));
+            if (statement != null) {
+                hits.add(statement);
+            }
+        }
+        assertTrue("only " + hits.size() + " of the hot statements are cached", hits.size() >= 40);
+    }
+
+    private void use(int id) {
+        if (cache.checkAndUpdateCache(key(id)) == null) {
+            cache.addToCache(key(id), new Object(), false);
+        }
+    }
+
+    private static CacheObjectKey key(int id) {
+        return new CacheObjectKey("SELECT * FROM T WHERE ID = " + id, CacheObjectKey.PREPARED_STATEMENT,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
@@ -39,9 +39,14 @@
  */
 package fish.payara.ejb.timer.hazelcast;
 
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.map.IMap;
 import com.hazelcast.cp.lock.FencedLock;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.sun.ejb.containers.BaseContainer;
 import com.sun.ejb.containers.EJBTimerSchedule;
 import com.sun.ejb.containers.EJBTimerService;
@@ -62,6 +67,7 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -89,12 +95,14 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         MessageReceiver<EjbTimerEvent> {
 
     private static final String EJB_TIMER_CACHE_NAME = "HZEjbTmerCache";
-    private static final String EJB_TIMER_CONTAINER_CACHE_NAME = "HZEjbTmerContainerCache";
-    private static final String EJB_TIMER_APPLICAION_CACHE_NAME = "HZEjbTmerApplicationCache";
+    private static final String EJB_TIMER_INDEX_CACHE_NAME = "HZEjbTmerIndexCache";
+    private static final String EJB_TIMER_CONTAINER_MARKER_CACHE_NAME = "HZEjbTmerContainerMarkerCache";
 
     private final IMap<String, HZTimer> pkCache;
-    private final IMap<Long, Set<TimerPrimaryKey>> containerCache;
-    private final IMap<Long, Set<TimerPrimaryKey>> applicationCache;
+    // one indexed TimerIndexEntry per timer in pkCache, used to find timers by owner, container or application
+    private final IMap<String, HazelcastJsonValue> timerIndex;
+    // containers that created persistent timers, used to detect that the data grid storage was lost
+    private final IMap<Long, Boolean> containerMarkers;
     private final String serverName;
     private final HazelcastInstance hazelcast;
 
@@ -119,8 +127,9 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         }
         hazelcast = core.getInstance();
         pkCache = hazelcast.getMap(EJB_TIMER_CACHE_NAME);
-        containerCache = hazelcast.getMap(EJB_TIMER_CONTAINER_CACHE_NAME);
-        applicationCache = hazelcast.getMap(EJB_TIMER_APPLICAION_CACHE_NAME);
+        timerIndex = hazelcast.getMap(EJB_TIMER_INDEX_CACHE_NAME);
+        TimerIndexEntry.addIndexes(timerIndex);
+        containerMarkers = hazelcast.getMap(EJB_TIMER_CONTAINER_MARKER_CACHE_NAME);
         serverName = core.getAttribute(core.getInstance().getCluster().getLocalMember().getUuid(), HazelcastCore.INSTANCE_ATTRIBUTE);
         this.ownerIdOfThisServer_ = serverName;
         this.domainName_ = core.getInstance().getConfig().getClusterName();
@@ -129,7 +138,8 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
     private void removeTimers(Set<TimerPrimaryKey> timerIdsToRemove) {
         for (TimerPrimaryKey timerPrimaryKey : timerIdsToRemove) {
-            removeTimer(pkCache.get(timerPrimaryKey.timerId));
+            pkCache.delete(timerPrimaryKey.timerId);
+            timerIndex.delete(timerPrimaryKey.timerId);
         }
     }
 
@@ -137,23 +147,8 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     protected void _createTimer(TimerPrimaryKey timerId, long containerId, long applicationId, Object timedObjectPrimaryKey, String server_name, Date initialExpiration, long intervalDuration, EJBTimerSchedule schedule, TimerConfig timerConfig) throws Exception {
         if (timerConfig.isPersistent()) {
 
-            pkCache.put(timerId.timerId, new HZTimer(timerId, containerId, applicationId, timedObjectPrimaryKey, server_name, server_name, initialExpiration, intervalDuration, schedule, timerConfig));
-
-            // add to container cache
-            Set<TimerPrimaryKey> keysForContainer = containerCache.get(containerId);
-            if (keysForContainer == null) {
-                keysForContainer = new HashSet<>();
-            }
-            keysForContainer.add(timerId);
-            containerCache.put(containerId, keysForContainer);
-
-            // add to application cache
-            Set<TimerPrimaryKey> keysForApp = applicationCache.get(applicationId);
-            if (keysForApp == null) {
-                keysForApp = new HashSet<>();
-            }
-            keysForApp.add(timerId);
-            applicationCache.put(applicationId, keysForApp);
+            putTimer(new HZTimer(timerId, containerId, applicationId, timedObjectPrimaryKey, server_name, server_name, initialExpiration, intervalDuration, schedule, timerConfig));
+            containerMarkers.set(containerId, Boolean.TRUE);
 
             TransactionManager tm = ejbContainerUtil.getTransactionManager();
             boolean localTx = tm.getTransaction() == null;
@@ -180,38 +175,32 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     public void destroyAllTimers(long applicationId) {
 
         // remove all timers
-        Set<TimerPrimaryKey> timerIds = applicationCache.get(applicationId);
+        Set<String> timerIds = timerIndex.keySet(TimerIndexEntry.byApplicationId(applicationId));
 
-        if (timerIds == null || timerIds.isEmpty()) {
+        if (timerIds.isEmpty()) {
             if (logger.isLoggable(Level.INFO)) {
                 logger.log(Level.INFO, "No timers to be deleted for id: {0}", applicationId);
             }
             return;
         }
 
-        for (TimerPrimaryKey timerId : timerIds) {
-            pkCache.remove(timerId.timerId);
-        }
+        removeTimersById(timerIds);
         logger.log(Level.INFO, "Destroyed {0} timers for application {1}", new Object[]{timerIds.size(), applicationId});
-        timerIds.clear();
-        applicationCache.remove(applicationId);
-
     }
 
     @Override
     public void destroyTimers(long containerId) {
-        Set<TimerPrimaryKey> timerIds = containerCache.get(containerId);
+        Set<String> timerIds = timerIndex.keySet(TimerIndexEntry.byContainerId(containerId));
 
-        if (timerIds == null || timerIds.isEmpty()) {
+        if (timerIds.isEmpty()) {
             if (logger.isLoggable(Level.INFO)) {
                 logger.log(Level.INFO, "No timers to be deleted for id: {0}", containerId);
             }
             return;
         }
 
+        removeTimersById(timerIds);
         logger.log(Level.INFO, "Destroyed {0} timers for container {1}", new Object[]{timerIds.size(), containerId});
-        timerIds.clear();
-        applicationCache.put(containerId, timerIds);
     }
 
     @Override
@@ -288,20 +277,15 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         // Get *all* timers for this entity bean identity.  This includes
         // even timers *not* owned by this server instance, but that
         // are associated with the same entity bean and primary key.
-        Set<TimerPrimaryKey> timers = containerCache.get(containerId);
-
-        if (timers != null) {
-            HashSet<HZTimer> timersToCancel = new HashSet<>();
-            for (TimerPrimaryKey timer : timers) {
-                HZTimer hzTimer = pkCache.get(timer.timerId);
-                if (hzTimer != null && hzTimer.getTimedObjectPk().equals(primaryKey)) {
-                    timersToCancel.add(hzTimer);
-                }
+        HashSet<HZTimer> timersToCancel = new HashSet<>();
+        for (HZTimer hzTimer : findTimers(TimerIndexEntry.byContainerId(containerId))) {
+            if (hzTimer.getTimedObjectPk().equals(primaryKey)) {
+                timersToCancel.add(hzTimer);
             }
+        }
 
-            for (HZTimer hZTimer : timersToCancel) {
-                removeTimer(hZTimer);
-            }
+        for (HZTimer hZTimer : timersToCancel) {
+            removeTimer(hZTimer);
         }
     }
 
@@ -310,9 +294,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
         try {
             tm.begin();
-            Set<TimerPrimaryKey> keys = containerCache.get(containerId);
-
-            if (keys == null || keys.isEmpty()) {
+            if (countTimers(TimerIndexEntry.byContainerId(containerId)) == 0) {
                 // No timers owned by this EJB
                 createSchedules(containerId, applicationId, methodDescriptorSchedules, null, server_name, false, true);
             }
@@ -368,11 +350,8 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     @Override
     protected Collection<TimerPrimaryKey> getTimerIds(Collection<Long> containerIds) {
         Collection<TimerPrimaryKey> result = super.getTimerIds(containerIds);
-        for (Long containerId : containerIds) {
-            Set<TimerPrimaryKey> colKeys = containerCache.get(containerId);
-            if (colKeys != null) {
-                result.addAll(colKeys);
-            }
+        if (!containerIds.isEmpty()) {
+            result.addAll(findTimerIds(TimerIndexEntry.byContainerIds(containerIds)));
         }
         return result;
     }
@@ -388,20 +367,11 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         Collection<TimerPrimaryKey> timerIdsForTimedObject = new HashSet<>();
 
         if (timedObjectPrimaryKey == null) {
-            Set<TimerPrimaryKey> contKeys = containerCache.get(containerId);
-            if (contKeys != null) {
-                timerIdsForTimedObject.addAll(contKeys);
-            }
+            timerIdsForTimedObject.addAll(findTimerIds(TimerIndexEntry.byContainerId(containerId)));
         } else {
-
-            Collection<TimerPrimaryKey> timersForTimedObject = containerCache.get(containerId);
-            if (timersForTimedObject != null) {
-                for (TimerPrimaryKey timer : timersForTimedObject) {
-                    HZTimer hzTimer = pkCache.get(timer.timerId);
-                    if (hzTimer != null && hzTimer.getTimedObjectPk().equals(timedObjectPrimaryKey)) {
-                        timerIdsForTimedObject.add(timer);
-                    }
-
+            for (HZTimer hzTimer : findTimers(TimerIndexEntry.byContainerId(containerId))) {
+                if (hzTimer.getTimedObjectPk().equals(timedObjectPrimaryKey)) {
+                    timerIdsForTimedObject.add(hzTimer.getKey());
                 }
             }
         }
@@ -489,12 +459,19 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     }
 
     static String [] listTimers(Collection<HZTimer> timers, String[] serverIds) {
+        List<String> memberNames = new ArrayList<>(timers.size());
+        for (HZTimer timer : timers) {
+            memberNames.add(timer.getMemberName());
+        }
+        return countTimersByMemberName(memberNames, serverIds);
+    }
+
+    private static String[] countTimersByMemberName(Collection<String> memberNames, String[] serverIds) {
         String result[] = new String[serverIds.length];
 
         // count all server ids
         HashMap<String, Long> counts = new HashMap<>();
-        for (HZTimer timer : timers) {
-            String serverName = timer.getMemberName();
+        for (String serverName : memberNames) {
             Long val = counts.get(serverName);
             if (val == null) {
                 val = new Long(0);
@@ -516,7 +493,10 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
     @Override
     public String[] listTimers(String[] serverIds) {
-        return listTimers(pkCache.values(), serverIds);
+        // only the member names of the matching timers are transferred
+        Collection<String> memberNames = timerIndex.project(
+                Projections.singleAttribute(TimerIndexEntry.MEMBER_NAME), TimerIndexEntry.byMemberNames(serverIds));
+        return countTimersByMemberName(memberNames, serverIds);
     }
 
     @Override
@@ -536,17 +516,14 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         HashMap<String, HZTimer> toRestore = new HashMap<>();
         int totalTimersMigrated = 0;
 
-        for (String pk : pkCache.keySet()) {
-            HZTimer hZTimer = pkCache.get(pk);
-            if (hZTimer.getOwnerId().equals(fromOwnerId)) {
-                toRestore.put(pk, hZTimer);
-                hZTimer.setOwnerId(ownerIdOfThisServer);
-                hZTimer.setMemberName(serverName);
-            }
+        for (HZTimer hZTimer : findTimers(TimerIndexEntry.byOwnerId(fromOwnerId))) {
+            toRestore.put(hZTimer.getKey().timerId, hZTimer);
+            hZTimer.setOwnerId(ownerIdOfThisServer);
+            hZTimer.setMemberName(serverName);
         }
 
         for (Entry<String, HZTimer> entry : toRestore.entrySet()) {
-            pkCache.put(entry.getKey(), entry.getValue());
+            putTimer(entry.getValue());
             totalTimersMigrated++;
         }
 
@@ -603,12 +580,13 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         Set<HZTimer> activeTimers = new HashSet<>();
 
         // get all timers for this container
-        Set<TimerPrimaryKey> containerKeys = containerCache.get(containerId);
-        Set<TimerPrimaryKey> deadKeys = new HashSet<>();
+        Set<String> containerKeys = timerIndex.keySet(TimerIndexEntry.byContainerId(containerId));
+        Set<String> deadKeys = new HashSet<>();
         Set<HZTimer> timers = new HashSet<>();
-        if (containerKeys != null) {
-            for (TimerPrimaryKey containerKey : containerKeys) {
-                HZTimer timer = pkCache.get(containerKey.timerId);
+        if (!containerKeys.isEmpty() || containerMarkers.containsKey(containerId)) {
+            Map<String, HZTimer> containerTimers = getTimers(containerKeys);
+            for (String containerKey : containerKeys) {
+                HZTimer timer = containerTimers.get(containerKey);
                 if (timer != null) {
                     if (timer.getMemberName().equals(this.serverName)) {
                         activeTimers.add(timer);
@@ -621,13 +599,12 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
             }
             if (!deadKeys.isEmpty()) {
                 // clean out dead keys
-                logger.log(Level.INFO, "Cleaning out {0} dead timer ids from Container Cache ", deadKeys.size());
-                for (TimerPrimaryKey deadKey : deadKeys) {
-                    containerKeys.remove(deadKey);
+                logger.log(Level.INFO, "Cleaning out {0} dead timer ids from Timer Index Cache ", deadKeys.size());
+                for (String deadKey : deadKeys) {
+                    timerIndex.delete(deadKey);
                 }
-                containerCache.put(containerId, containerKeys);
             }
-        } else if (containerKeys == null && deploy == false) {
+        } else if (deploy == false) {
             // we are in trouble as we are not deploying but our keys are null
             // looks like we lost the whole cluster storage
             // recreate timers
@@ -747,7 +724,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     @Override
     protected void stopTimers(long containerId) {
         super.stopTimers(containerId);
-        stopTimers(containerCache.get(containerId));
+        stopTimers(findTimerIds(TimerIndexEntry.byContainerId(containerId)));
     }
 
     private HZTimer getPersistentTimer(TimerPrimaryKey timerId) throws FinderException {
@@ -759,19 +736,40 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     }
 
     private void removeTimer(HZTimer timer) {
-        pkCache.remove(timer.getKey().timerId);
+        pkCache.delete(timer.getKey().timerId);
+        timerIndex.delete(timer.getKey().timerId);
+    }
 
-        Set<TimerPrimaryKey> keys = applicationCache.get(timer.getApplicationId());
-        if (keys != null) {
-            keys.remove(timer.getKey());
-            applicationCache.put(timer.getApplicationId(), keys);
-        }
+    private void removeTimersById(Set<String> timerIds) {
+        String[] keys = timerIds.toArray(new String[0]);
+        pkCache.removeAll(Predicates.in("__key", keys));
+        timerIndex.removeAll(Predicates.in("__key", keys));
+    }
+
+    private void putTimer(HZTimer timer) {
+        String timerId = timer.getKey().timerId;
+        pkCache.set(timerId, timer);
+        timerIndex.set(timerId, TimerIndexEntry.of(timer));
+    }
 
-        keys = containerCache.get(timer.getContainerId());
-        if (keys != null) {
-            keys.remove(timer.getKey());
-            containerCache.put(timer.getContainerId(), keys);
+    private Map<String, HZTimer> getTimers(Set<String> timerIds) {
+        return timerIds.isEmpty() ? Collections.emptyMap() : pkCache.getAll(timerIds);
+    }
+
+    private Collection<HZTimer> findTimers(Predicate<String, HazelcastJsonValue> predicate) {
+        return getTimers(timerIndex.keySet(predicate)).values();
+    }
+
+    private Set<TimerPrimaryKey> findTimerIds(Predicate<String, HazelcastJsonValue> predicate) {
+        Set<TimerPrimaryKey> result = new HashSet<>();
+        for (String timerId : timerIndex.keySet(predicate)) {
+            result.add(new TimerPrimaryKey(timerId));
         }
+        return result;
+    }
+
+    private long countTimers(Predicate<String, HazelcastJsonValue> predicate) {
+        return timerIndex.aggregate(Aggregators.count(), predicate);
     }
 
     /**
@@ -1135,13 +1133,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     }
 
     private Collection<HZTimer> findActiveTimersOwnedByThisServer() {
-        HashSet<HZTimer> result = new HashSet<>();
-        for (HZTimer timer : pkCache.values()) {
-            if (timer.getMemberName().equals(this.serverName)) {
-                result.add(timer);
-            }
-        }
-        return result;
+        return new HashSet<>(findTimers(TimerIndexEntry.byMemberName(this.serverName)));
     }
 
     private boolean restoreEJBTimers() {
@@ -1179,21 +1171,13 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         FencedLock hazelcastLock = hazelcast.getCPSubsystem().getLock("EJB-TIMER-LOCK");
         hazelcastLock.lock();
         try {
-            Collection<HZTimer> allTimers = pkCache.values();
-            Collection<HZTimer> removedTimers = new HashSet<>();
-            for (HZTimer timer : allTimers) {
-                if (timer.getMemberName().equals(event.getServer())) {
-                    removedTimers.add(timer);
-                }
-            }
-
-
+            Collection<HZTimer> removedTimers = new HashSet<>(findTimers(TimerIndexEntry.byMemberName(event.getServer())));
 
             if (!removedTimers.isEmpty()) {
                 logger.log(Level.INFO, "==> Restoring Timers ... ");
                 Collection<HZTimer> restored = _restoreTimers(removedTimers);
                 for (HZTimer timer : restored) {
-                    pkCache.put(timer.getKey().getTimerId(), timer);
+                    putTimer(timer);
                 }
                 logger.log(Level.INFO, "<== ... Timers Restored.");
             }
@@ -1206,8 +1190,8 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
      * Remove all local timers that are no longer owned by this instance.
      */
     private void removeLocalTimers() {
-        Collection<HZTimer> allTimers = pkCache.values();
-        for (HZTimer timer : allTimers) {
+        Collection<HZTimer> timersOfOtherOwners = findTimers(TimerIndexEntry.notByOwnerId(getOwnerIdOfThisServer()));
+        for (HZTimer timer : timersOfOtherOwners) {
             removeLocalTimer(timer);
         }
     }
@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.ejb.timer.hazelcast;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import java.util.Collection;
+
+/**
+ * Queryable entry kept for every persistent timer next to the {@link HZTimer} itself.
+ * <p>
+ * The entry only holds the attributes timers are looked up by, as JSON, so members can index and evaluate
+ * predicates on it without deserializing an {@link HZTimer}, whose class is not visible to the class loader used by
+ * Hazelcast. Lookups by owner, container or application query the index entries and then fetch only the matching
+ * timers by key.
+ */
+final class TimerIndexEntry {
+
+    static final String MEMBER_NAME = "memberName";
+    static final String OWNER_ID = "ownerId";
+    static final String CONTAINER_ID = "containerId";
+    static final String APPLICATION_ID = "applicationId";
+
+    private TimerIndexEntry() {
+    }
+
+    static void addIndexes(IMap<String, HazelcastJsonValue> index) {
+        index.addIndex(IndexType.HASH, MEMBER_NAME);
+        index.addIndex(IndexType.HASH, OWNER_ID);
+        index.addIndex(IndexType.HASH, CONTAINER_ID);
+        index.addIndex(IndexType.HASH, APPLICATION_ID);
+    }
+
+    static HazelcastJsonValue of(HZTimer timer) {
+        // ids are stored as strings so that they compare exactly, whatever number type the JSON parser picks
+        StringBuilder json = new StringBuilder(128).append('{');
+        appendAttribute(json, MEMBER_NAME, timer.getMemberName()).append(',');
+        appendAttribute(json, OWNER_ID, timer.getOwnerId()).append(',');
+        appendAttribute(json, CONTAINER_ID, Long.toString(timer.getContainerId())).append(',');
+        appendAttribute(json, APPLICATION_ID, Long.toString(timer.getApplicationId()));
+        return new HazelcastJsonValue(json.append('}').toString());
+    }
+
+    static Predicate<String, HazelcastJsonValue> byMemberName(String memberName) {
+        return Predicates.equal(MEMBER_NAME, memberName);
+    }
+
+    static Predicate<String, HazelcastJsonValue> byMemberNames(String... memberNames) {
+        return Predicates.in(MEMBER_NAME, memberNames);
+    }
+
+    static Predicate<String, HazelcastJsonValue> byOwnerId(String ownerId) {
+        return Predicates.equal(OWNER_ID, ownerId);
+    }
+
+    static Predicate<String, HazelcastJsonValue> notByOwnerId(String ownerId) {
+        return Predicates.notEqual(OWNER_ID, ownerId);
+    }
+
+    static Predicate<String, HazelcastJsonValue> byContainerId(long containerId) {
+        return Predicates.equal(CONTAINER_ID, Long.toString(containerId));
+    }
+
+    static Predicate<String, HazelcastJsonValue> byContainerIds(Collection<Long> containerIds) {
+        return Predicates.in(CONTAINER_ID, containerIds.stream().map(String::valueOf).toArray(String[]::new));
+    }
+
+    static Predicate<String, HazelcastJsonValue> byApplicationId(long applicationId) {
+        return Predicates.equal(APPLICATION_ID, Long.toString(applicationId));
+    }
+
+    private static StringBuilder appendAttribute(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":");
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.ejb.timer.hazelcast;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projections;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimerIndexEntryTest {
+
+    private static HazelcastInstance hazelcast;
+    private IMap<String, HazelcastJsonValue> index;
+
+    @BeforeClass
+    public static void startMember() {
+        Config config = new Config();
+        config.setClusterName("timer-index-test");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcast = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void stopMember() {
+        hazelcast.shutdown();
+    }
+
+    @Before
+    public void fillIndex() {
+        index = hazelcast.getMap("timer-index");
+        index.clear();
+        TimerIndexEntry.addIndexes(index);
+        index.set("t1", TimerIndexEntry.of(timer("jb", "jb", 1, 10)));
+        index.set("t2", TimerIndexEntry.of(timer("hz", "hz", 1, 10)));
+        index.set("t3", TimerIndexEntry.of(timer("jb", "hz", 2, 20)));
+        index.set("t4", TimerIndexEntry.of(timer("odd \"name\" \\", "odd", 3, 20)));
+    }
+
+    @Test
+    public void findsTimersByMemberName() {
+        assertEquals(new HashSet<>(asList("t1", "t3")), index.keySet(TimerIndexEntry.byMemberName("jb")));
+        assertEquals(new HashSet<>(asList("t4")), index.keySet(TimerIndexEntry.byMemberName("odd \"name\" \\")));
+    }
+
+    @Test
+    public void findsTimersByOwner() {
+        assertEquals(new HashSet<>(asList("t2", "t3")), index.keySet(TimerIndexEntry.byOwnerId("hz")));
+        assertEquals(new HashSet<>(asList("t1", "t4")), index.keySet(TimerIndexEntry.notByOwnerId("hz")));
+    }
+
+    @Test
+    public void findsTimersByContainerAndApplication() {
+        assertEquals(new HashSet<>(asList("t1", "t2")), index.keySet(TimerIndexEntry.byContainerId(1)));
+        assertEquals(new HashSet<>(asList("t1", "t2", "t4")),
+                index.keySet(TimerIndexEntry.byContainerIds(Arrays.asList(1L, 3L))));
+        assertEquals(new HashSet<>(asList("t3", "t4")), index.keySet(TimerIndexEntry.byApplicationId(20)));
+        assertEquals(0, index.keySet(TimerIndexEntry.byApplicationId(30)).size());
+    }
+
+    @Test
+    public void countsAndProjectsWithoutFetchingTimers() {
+        long count = index.aggregate(Aggregators.count(), TimerIndexEntry.byContainerId(1));
+        assertEquals(2, count);
+        Collection<String> memberNames = index.project(
+                Projections.singleAttribute(TimerIndexEntry.MEMBER_NAME), TimerIndexEntry.byMemberNames("jb", "hz"));
+        assertEquals(3, memberNames.size());
+        assertEquals(new HashSet<>(asList("jb", "hz")), new HashSet<>(memberNames));
+    }
+
+    private static HZTimer timer(String memberName, String ownerId, long containerId, long applicationId) {
+        HZTimer timer = mock(HZTimer.class);
+        when(timer.getMemberName()).thenReturn(memberName);
+        when(timer.getOwnerId()).thenReturn(ownerId);
+        when(timer.getContainerId()).thenReturn(containerId);
+        when(timer.getApplicationId()).thenReturn(applicationId);
+        return timer;
+    }
+}
@@ -40,7 +40,6 @@
 package fish.payara.microprofile.faulttolerance;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -53,6 +52,7 @@ import jakarta.interceptor.InvocationContext;
 import org.eclipse.microprofile.faulttolerance.FallbackHandler;
 
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 
 public interface FaultToleranceMethodContext {
@@ -91,11 +91,11 @@ public interface FaultToleranceMethodContext {
     CircuitBreakerState getState();
 
     /**
-     * Get or create the {@link BlockingQueue} for bulkhead.
+     * Get or create the {@link BulkheadSemaphore} for bulkhead.
      *
-     * @return the created or existing queue, or null if non existed and requestVolumeThreshold was null
+     * @return the created or existing permits, or null if non existed and bulkhead value was negative
      */
-    BlockingQueue<Thread> getConcurrentExecutions();
+    BulkheadSemaphore getConcurrentExecutions();
 
     /**
      * Get the bulkhead thread count.
@@ -43,13 +43,13 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.LongSupplier;
 
 import org.eclipse.microprofile.faulttolerance.Asynchronous;
 
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Histogram;
@@ -122,7 +122,7 @@ public interface FaultToleranceMetrics {
                     {"bulkheadResult", "accepted", "rejected"}});
                 register(Histogram.class.getTypeName(), "ft.bulkhead.runningDuration");
                 if (policy.isAsynchronous()) {
-                    BlockingQueue<Thread> running = context.getConcurrentExecutions();
+                    BulkheadSemaphore running = context.getConcurrentExecutions();
                     register("ft.bulkhead.executionsRunning", null, running::size);
                     AtomicInteger queuingOrRunning = context.getQueuingOrRunningPopulation();
                     register("ft.bulkhead.executionsWaiting", null, () -> Math.max(0, queuingOrRunning.get() - policy.bulkhead.value));
@@ -44,7 +44,6 @@ import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -70,6 +69,7 @@ import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext.AsyncFuture;
 import fish.payara.microprofile.faulttolerance.FaultToleranceService;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMetrics;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 
 /**
@@ -590,14 +590,13 @@ public final class FaultTolerancePolicy implements Serializable {
                 try {
                     logger.log(Level.FINE, "Entered bulkhead.");
                     invocation.metrics.incrementBulkheadCallsAcceptedTotal();
-                    BlockingQueue<Thread> running = invocation.context.getConcurrentExecutions();
+                    BulkheadSemaphore running = invocation.context.getConcurrentExecutions();
                     logger.log(Level.FINER, "Attempting to enter bulkhead execution.");
-                    final Thread currentThread = Thread.currentThread();
                     if (isAsync) {
                         long waitingSince = System.nanoTime();
                         try {
                             // wait until we can run...
-                            running.put(currentThread);
+                            running.acquire();
                         } finally {
                             invocation.metrics.addBulkheadWaitingDuration(Math.max(1, System.nanoTime() - waitingSince));
                         }
@@ -618,7 +617,7 @@ public final class FaultTolerancePolicy implements Serializable {
                             logger.log(Level.FINER, () -> "Bulkhead invocation "+invocation+ " finished " + (exception != null ? "with exception "+exception.getMessage() : "sucessfully"));
                             invocation.metrics.addBulkheadExecutionDuration(Math.max(1, System.nanoTime() - executionSince));
                             // successful or not, we are out...
-                            running.remove(currentThread);
+                            running.release();
                             queuingOrRunning.decrementAndGet();
                         });
                         return asyncResult; //OBS! we do not want to return the result of 'whenComplete' call because this gobbles cancel
@@ -626,7 +625,7 @@ public final class FaultTolerancePolicy implements Serializable {
                         if (directExit) {
                             invocation.metrics.addBulkheadExecutionDuration(Math.max(1, System.nanoTime() - executionSince));
                             if (isAsync) {
-                                running.remove(currentThread);
+                                running.release();
                             }
                         }
                     }
@@ -43,8 +43,6 @@ import static java.lang.System.currentTimeMillis;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -69,6 +67,7 @@ import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMetrics;
 import fish.payara.microprofile.faulttolerance.policy.AsynchronousPolicy;
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import fish.payara.notification.requesttracing.RequestTraceSpan;
 
@@ -99,7 +98,7 @@ public final class FaultToleranceMethodContextImpl implements FaultToleranceMeth
         final ExecutorService asyncExecution;
         final ScheduledExecutorService delayedExecution;
         final AtomicReference<CircuitBreakerState> circuitBreakerState = new AtomicReference<>();
-        final AtomicReference<BlockingQueue<Thread>> concurrentExecutions = new AtomicReference<>();
+        final AtomicReference<BulkheadSemaphore> concurrentExecutions = new AtomicReference<>();
         final AtomicInteger queuingOrRunningPopulation = new AtomicInteger();
         final AtomicInteger executingThreadCount = new AtomicInteger();
         final AtomicLong lastUsed = new AtomicLong(currentTimeMillis());
@@ -182,11 +181,11 @@ public final class FaultToleranceMethodContextImpl implements FaultToleranceMeth
     }
 
     @Override
-    public BlockingQueue<Thread> getConcurrentExecutions() {
+    public BulkheadSemaphore getConcurrentExecutions() {
         int maxConcurrentThreads = policy.bulkhead.value;
         return maxConcurrentThreads < 0
                 ? shared.concurrentExecutions.get()
-                : shared.concurrentExecutions.updateAndGet(value -> value != null ? value : new ArrayBlockingQueue<>(maxConcurrentThreads));
+                : shared.concurrentExecutions.updateAndGet(value -> value != null ? value : new BulkheadSemaphore(maxConcurrentThreads));
     }
 
     @Override
@@ -41,6 +41,7 @@ package fish.payara.microprofile.faulttolerance.service;
 
 import fish.payara.microprofile.faulttolerance.*;
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import fish.payara.microprofile.metrics.MetricsService;
 import fish.payara.monitoring.collect.MonitoringData;
@@ -49,7 +50,6 @@ import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.notification.requesttracing.RequestTraceSpan;
 import fish.payara.nucleus.requesttracing.RequestTracingService;
 
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -147,7 +147,7 @@ public class FaultToleranceServiceImpl
             MonitoringDataCollector methodCollector = collector.group(methodEntry.getKey().getMethodId())
                     .tag("app", methodEntry.getValue().getAppName());
             FaultToleranceMethodContext context = methodEntry.getValue();
-            BlockingQueue<Thread> concurrentExecutions = context.getConcurrentExecutions();
+            BulkheadSemaphore concurrentExecutions = context.getConcurrentExecutions();
             if (concurrentExecutions != null) {
                 collectBulkheadSemaphores(methodCollector, concurrentExecutions);
                 collectBulkheadSemaphores(methodCollector, concurrentExecutions, context.getQueuingOrRunningPopulation());
@@ -157,14 +157,14 @@ public class FaultToleranceServiceImpl
     }
 
     private static void collectBulkheadSemaphores(MonitoringDataCollector collector,
-            BlockingQueue<Thread> concurrentExecutions) {
+            BulkheadSemaphore concurrentExecutions) {
         collector
                 .collect("RemainingConcurrentExecutionsCapacity", concurrentExecutions.remainingCapacity())
                 .collect("ConcurrentExecutions", concurrentExecutions.size());
     }
 
     private static void collectBulkheadSemaphores(MonitoringDataCollector collector,
-            BlockingQueue<Thread> concurrentExecutions, AtomicInteger queuingOrRunningPopulation) {
+            BulkheadSemaphore concurrentExecutions, AtomicInteger queuingOrRunningPopulation) {
         collector
                 .collect("WaitingQueuePopulation", queuingOrRunningPopulation.get() - concurrentExecutions.size());
     }
@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.faulttolerance.state;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A permit counter guarding the concurrent executions of a bulkhead.
+ *
+ * Acquiring and releasing a permit is a single CAS on an {@link AtomicInteger} as long as there is capacity left. Only
+ * callers that actually have to wait for a permit (asynchronous bulkheads with a waiting queue) park on a monitor.
+ * Unlike a {@link java.util.concurrent.BlockingQueue} of threads no per-invocation objects are enqueued and no lock is
+ * taken on the uncontended path.
+ */
+public final class BulkheadSemaphore {
+
+    private final int capacity;
+    private final AtomicInteger acquired = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Object monitor = new Object();
+
+    public BulkheadSemaphore(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Attempts to take a permit without waiting.
+     *
+     * @return true if a permit was taken, false if all permits are in use
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = acquired.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (acquired.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit, waiting until one becomes available.
+     *
+     * @throws InterruptedException In case waiting is interrupted, no permit is taken in that case
+     */
+    public void acquire() throws InterruptedException {
+        if (tryAcquire()) {
+            return;
+        }
+        waiting.incrementAndGet();
+        try {
+            synchronized (monitor) {
+                while (!tryAcquire()) {
+                    monitor.wait();
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a permit previously taken by {@link #tryAcquire()} or {@link #acquire()}.
+     */
+    public void release() {
+        acquired.decrementAndGet();
+        if (waiting.get() > 0) {
+            synchronized (monitor) {
+                monitor.notify();
+            }
+        }
+    }
+
+    /**
+     * @return number of permits currently in use
+     */
+    public int size() {
+        return acquired.get();
+    }
+
+    /**
+     * @return number of permits currently available
+     */
+    public int remainingCapacity() {
+        return Math.max(0, capacity - acquired.get());
+    }
+
+    /**
+     * @return total number of permits
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -42,11 +42,18 @@ package fish.payara.microprofile.faulttolerance.state;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Class that represents the state of a CircuitBreaker.
+ *
+ * The rolling window of closed outcomes is a ring of failure bits packed into an {@link AtomicLongArray}. Each outcome
+ * claims its slot by incrementing the update counter and flips the slot bit with CAS, maintaining the number of
+ * failures in the window as it goes. Recording an outcome and checking the threshold therefore never block and the
+ * threshold check is O(1) instead of a scan of the window.
  * @author Andrew Pielage
  * @author Jan Bernitt (2.0)
  */
@@ -62,12 +69,14 @@ public class CircuitBreakerState {
     private final AtomicInteger halfOpenSuccessfulResultsCounter = new AtomicInteger(0);
     private final Map<CircuitState, StateTime> allStateTimes = new ConcurrentHashMap<>(CircuitState.values().length);
     private volatile StateTime currentStateTime;
-    private final boolean[] failureBuffer;
-    private int failureIndex = 0;
-    private long outcomeUpdates = 0L;
+    private final int windowSize;
+    private final AtomicLongArray failureBits;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLong outcomeUpdates = new AtomicLong();
 
     public CircuitBreakerState(int requestVolumeThreshold, double failureRatio) {
-        this.failureBuffer = new boolean[Math.max(0, requestVolumeThreshold)];
+        this.windowSize = Math.max(0, requestVolumeThreshold);
+        this.failureBits = new AtomicLongArray((windowSize + 63) >>> 6);
         this.failureThreshold = (int) Math.round(requestVolumeThreshold * failureRatio);
         for(CircuitState state : CircuitState.values()) {
             this.allStateTimes.put(state, new StateTime(state));
@@ -100,29 +109,35 @@ public class CircuitBreakerState {
      * Records a success or failure result to the CircuitBreaker.
      * @param success True for a success, false for a failure
      */
-    public synchronized void recordClosedOutcome(boolean success) {
-        failureBuffer[failureIndex] = !success;
-        failureIndex = (failureIndex + 1) % failureBuffer.length;
-        outcomeUpdates++;
-    }
-
-    public synchronized boolean isClosedOutcomeSuccessOnly() {
-        if (failureBuffer.length == 0 || outcomeUpdates < failureBuffer.length) {
-            return false;
+    public void recordClosedOutcome(boolean success) {
+        if (windowSize == 0) {
+            return;
         }
-        for (boolean failure : failureBuffer) {
-            if (failure)
-                return false;
+        int index = (int) (outcomeUpdates.getAndIncrement() % windowSize);
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long bits = failureBits.get(word);
+            boolean wasFailure = (bits & mask) != 0;
+            if (wasFailure != success) {
+                return; // slot already holds this outcome
+            }
+            if (failureBits.compareAndSet(word, bits, bits ^ mask)) {
+                failures.addAndGet(success ? -1 : 1);
+                return;
+            }
         }
-        return true;
+    }
+
+    public boolean isClosedOutcomeSuccessOnly() {
+        return windowSize > 0 && outcomeUpdates.get() >= windowSize && failures.get() == 0;
     }
 
     /**
      * Clears the results queue.
      */
-    public synchronized void resetResults() {
-        failureIndex = 0;
-        outcomeUpdates = 0L;
+    public void resetResults() {
+        outcomeUpdates.set(0L);
     }
 
     /**
@@ -150,22 +165,14 @@ public class CircuitBreakerState {
     /**
      * Checks to see if the CircuitBreaker is over the given failure threshold.
      */
-    public synchronized boolean isOverFailureThreshold() {
+    public boolean isOverFailureThreshold() {
         // Only check if the queue is full
-        if (outcomeUpdates < failureBuffer.length) {
+        if (outcomeUpdates.get() < windowSize) {
             logger.log(Level.FINE, "CircuitBreaker results queue isn't full yet.");
             return false;
         }
-        int failures = 0;
-        for (boolean failure : failureBuffer) {
-            if (failure) {
-                failures++;
-                if (failures >= failureThreshold) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        int failureCount = failures.get();
+        return failureCount > 0 && failureCount >= failureThreshold;
     }
 
     /**
@@ -41,7 +41,6 @@ package fish.payara.microprofile.faulttolerance.policy;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -56,6 +55,7 @@ import fish.payara.microprofile.faulttolerance.service.FaultToleranceMethodConte
 import fish.payara.microprofile.faulttolerance.service.FaultToleranceServiceStub;
 import fish.payara.microprofile.faulttolerance.service.FaultToleranceUtils;
 import fish.payara.microprofile.faulttolerance.service.MethodFaultToleranceMetrics;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.metrics.impl.MetricRegistryImpl;
 import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.metrics.MetricRegistry;
@@ -83,7 +83,7 @@ public class BulkheadLifecycleTckTest extends AbstractRecordingTest {
     protected FaultToleranceServiceStub createService() {
         // this test needs to use more advanced state per method as multiple methods are involved
         // therefore the below special setup where we have state per method as in the actual implementation
-        final Map<Object, AtomicReference<BlockingQueue<Thread>>> concurrentExecutionByMethodId = new ConcurrentHashMap<>();
+        final Map<Object, AtomicReference<BulkheadSemaphore>> concurrentExecutionByMethodId = new ConcurrentHashMap<>();
         final Map<Object, AtomicInteger> waitingQueuePopulationByMethodId = new ConcurrentHashMap<>();
 
         registry = new MetricRegistryImpl(MetricRegistry.BASE_SCOPE);
@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.faulttolerance.policy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.faulttolerance.Asynchronous;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.junit.Test;
+
+import fish.payara.microprofile.faulttolerance.service.FaultToleranceServiceStub;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
+import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
+import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState.CircuitState;
+import fish.payara.microprofile.faulttolerance.test.TestUtils;
+
+/**
+ * Tests that bulkhead and circuit breaker state stays consistent when the same method is called by many threads
+ * concurrently.
+ */
+public class FaultTolerancePolicyConcurrencyTest {
+
+    private static final int CALLERS = 16;
+    private static final int CALLS_PER_CALLER = 1000;
+    private static final int TOTAL_CALLS = CALLERS * CALLS_PER_CALLER;
+
+    private final FaultToleranceServiceStub service = new FaultToleranceServiceStub();
+    private final AtomicReference<CircuitBreakerState> state = service.getStateReference();
+    private final AtomicReference<BulkheadSemaphore> concurrentExecutions = service.getConcurrentExecutionsReference();
+    private final AtomicInteger waitingQueuePopulation = service.getWaitingQueuePopulationReference();
+    private final AtomicInteger methodInvocationCount = new AtomicInteger();
+
+    @Test
+    public void synchronousBulkheadAndCircuitBreaker() throws Exception {
+        assertConsistentAfterConcurrentCalls(TestUtils.getAnnotatedMethod());
+    }
+
+    @Bulkhead(64)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 0)
+    public String synchronousBulkheadAndCircuitBreaker_Method() throws IOException {
+        return bodyOccasionallyFailing();
+    }
+
+    @Test
+    public void asynchronousBulkheadAndCircuitBreaker() throws Exception {
+        assertConsistentAfterConcurrentCalls(TestUtils.getAnnotatedMethod());
+    }
+
+    @Asynchronous
+    @Bulkhead(value = 4, waitingTaskQueue = 64)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 0)
+    public Future<String> asynchronousBulkheadAndCircuitBreaker_Method() throws IOException {
+        return CompletableFuture.completedFuture(bodyOccasionallyFailing());
+    }
+
+    /**
+     * Fails every 16th call which is recorded by the circuit breaker but never opens the circuit.
+     */
+    private String bodyOccasionallyFailing() throws IOException {
+        if (methodInvocationCount.incrementAndGet() % 16 == 0) {
+            throw new IOException("Failed");
+        }
+        return "Success";
+    }
+
+    private void assertConsistentAfterConcurrentCalls(Method annotatedMethod) throws Exception {
+        FaultTolerancePolicy policy = FaultTolerancePolicy.asAnnotated(getClass(), annotatedMethod);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        int failures = 0;
+        try {
+            List<Future<Integer>> callers = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                callers.add(executor.submit(() -> {
+                    int failed = 0;
+                    for (int j = 0; j < CALLS_PER_CALLER; j++) {
+                        if (!callOnce(policy, annotatedMethod)) {
+                            failed++;
+                        }
+                    }
+                    return failed;
+                }));
+            }
+            for (Future<Integer> caller : callers) {
+                failures += caller.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Every call should enter the method", TOTAL_CALLS, methodInvocationCount.get());
+        assertEquals("Every 16th call should fail", TOTAL_CALLS / 16, failures);
+        assertEquals("No queueing should ongo", 0, waitingQueuePopulation.get());
+        assertEquals("Circuit should stay closed", CircuitState.CLOSED, state.get().getCircuitState());
+        BulkheadSemaphore executions = concurrentExecutions.get();
+        if (executions != null) {
+            assertEquals("No execution should ongo", 0, executions.size());
+        }
+    }
+
+    /**
+     * @return true if the call succeeded, false if it failed with the expected {@link IOException}
+     * @throws Exception any other failure of the call
+     */
+    private boolean callOnce(FaultTolerancePolicy policy, Method annotatedMethod) throws Exception {
+        StaticAnalysisContext context = new StaticAnalysisContext(this, annotatedMethod);
+        try {
+            Object resultValue = policy.proceed(context, () -> service.getMethodContext(context, policy));
+            if (resultValue instanceof Future) {
+                resultValue = ((Future<?>) resultValue).get();
+            }
+            assertEquals("Success", resultValue);
+            return true;
+        } catch (IOException ex) {
+            return false;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+}
@@ -54,7 +54,6 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -79,6 +78,7 @@ import org.junit.Test;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext;
 import fish.payara.microprofile.faulttolerance.service.FaultToleranceMethodContextStub;
 import fish.payara.microprofile.faulttolerance.service.FaultToleranceServiceStub;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState.CircuitState;
 import fish.payara.microprofile.faulttolerance.test.TestUtils;
@@ -127,7 +127,7 @@ public class FaultToleranceStressTest implements FallbackHandler<Future<String>>
                 }
 
                 @Override
-                public BlockingQueue<Thread> getConcurrentExecutions() {
+                public BulkheadSemaphore getConcurrentExecutions() {
                     concurrentExecutionsAccessCount.incrementAndGet();
                     return super.getConcurrentExecutions();
                 }
@@ -179,7 +179,7 @@ public class FaultToleranceStressTest implements FallbackHandler<Future<String>>
         }
     };
     final AtomicReference<CircuitBreakerState> state = service.getStateReference();
-    final AtomicReference<BlockingQueue<Thread>> concurrentExecutions = service.getConcurrentExecutionsReference();
+    final AtomicReference<BulkheadSemaphore> concurrentExecutions = service.getConcurrentExecutionsReference();
     final AtomicInteger waitingQueuePopulation = service.getWaitingQueuePopulationReference();
 
     @Test
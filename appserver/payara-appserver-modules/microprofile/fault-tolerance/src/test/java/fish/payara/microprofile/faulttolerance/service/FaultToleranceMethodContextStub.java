@@ -41,8 +41,6 @@ package fish.payara.microprofile.faulttolerance.service;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -60,6 +58,7 @@ import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMetrics;
 import fish.payara.microprofile.faulttolerance.policy.AsynchronousPolicy;
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 
 public class FaultToleranceMethodContextStub implements FaultToleranceMethodContext {
@@ -67,13 +66,13 @@ public class FaultToleranceMethodContextStub implements FaultToleranceMethodCont
     private final InvocationContext context;
     private final FaultTolerancePolicy policy;
     private final AtomicReference<CircuitBreakerState> state;
-    private final AtomicReference<BlockingQueue<Thread>> concurrentExecutions;
+    private final AtomicReference<BulkheadSemaphore> concurrentExecutions;
     private final AtomicInteger queuingOrRunningPopulation;
     private final BiFunction<InvocationContext, FaultTolerancePolicy, FaultToleranceMethodContext> binder;
 
     public FaultToleranceMethodContextStub(FaultToleranceServiceStub.StubContext ctx,
                                            AtomicReference<CircuitBreakerState> state,
-                                           AtomicReference<BlockingQueue<Thread>> concurrentExecutions,
+                                           AtomicReference<BulkheadSemaphore> concurrentExecutions,
                                            AtomicInteger queuingOrRunningPopulation) {
         this.context = ctx.context;
         this.policy = ctx.policy;
@@ -111,7 +110,7 @@ public class FaultToleranceMethodContextStub implements FaultToleranceMethodCont
     }
 
     @Override
-    public BlockingQueue<Thread> getConcurrentExecutions() {
+    public BulkheadSemaphore getConcurrentExecutions() {
         if (concurrentExecutions == null) {
             throw new UnsupportedOperationException();
         }
@@ -119,7 +118,7 @@ public class FaultToleranceMethodContextStub implements FaultToleranceMethodCont
         return maxConcurrentThreads < 0
                 ? concurrentExecutions.get()
                 : concurrentExecutions.updateAndGet(
-                    value -> value != null ? value : new ArrayBlockingQueue<>(maxConcurrentThreads));
+                    value -> value != null ? value : new BulkheadSemaphore(maxConcurrentThreads));
     }
 
     @Override
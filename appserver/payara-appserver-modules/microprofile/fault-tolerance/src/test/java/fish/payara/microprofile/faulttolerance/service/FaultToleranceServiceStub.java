@@ -39,7 +39,6 @@
  */
 package fish.payara.microprofile.faulttolerance.service;
 
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +54,7 @@ import fish.payara.microprofile.faulttolerance.FaultToleranceConfig;
 import fish.payara.microprofile.faulttolerance.FaultToleranceMethodContext;
 import fish.payara.microprofile.faulttolerance.FaultToleranceService;
 import fish.payara.microprofile.faulttolerance.policy.FaultTolerancePolicy;
+import fish.payara.microprofile.faulttolerance.state.BulkheadSemaphore;
 import fish.payara.microprofile.faulttolerance.state.CircuitBreakerState;
 
 /**
@@ -73,7 +73,7 @@ public class FaultToleranceServiceStub implements FaultToleranceService {
     private final ConcurrentMap<MethodKey, FaultToleranceMethodContext> contextByMethodId = new ConcurrentHashMap<>();
 
     protected final AtomicReference<CircuitBreakerState> state = new AtomicReference<>();
-    protected final AtomicReference<BlockingQueue<Thread>> concurrentExecutions = new AtomicReference<>();
+    protected final AtomicReference<BulkheadSemaphore> concurrentExecutions = new AtomicReference<>();
     protected final AtomicInteger waitingQueuePopulation = new AtomicInteger();
 
     protected class StubContext {
@@ -124,7 +124,7 @@ public class FaultToleranceServiceStub implements FaultToleranceService {
         return state;
     }
 
-    public AtomicReference<BlockingQueue<Thread>> getConcurrentExecutionsReference() {
+    public AtomicReference<BulkheadSemaphore> getConcurrentExecutionsReference() {
         return concurrentExecutions;
     }
 
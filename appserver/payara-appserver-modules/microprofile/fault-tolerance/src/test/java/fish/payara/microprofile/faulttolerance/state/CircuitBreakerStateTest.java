@@ -74,4 +74,72 @@ public class CircuitBreakerStateTest {
         assertEquals("Unexpected nanos for unused state.", 0, state.updateAndGet(CircuitBreakerState.CircuitState.HALF_OPEN));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFailureThresholdOnlyCheckedWhenWindowIsFull() {
+        CircuitBreakerState state = new CircuitBreakerState(4, 0.5d);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(true);
+        assertFalse("Window not full yet.", state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        assertTrue("2 of 4 failed.", state.isOverFailureThreshold());
+        assertFalse(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testFailuresRollOutOfWindow() {
+        CircuitBreakerState state = new CircuitBreakerState(4, 0.5d);
+        state.recordClosedOutcome(false);
+        for (int i = 0; i < 4; i++) {
+            state.recordClosedOutcome(true);
+        }
+        assertFalse("Failure should have been overwritten.", state.isOverFailureThreshold());
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testResetResultsRequiresFullWindowAgain() {
+        CircuitBreakerState state = new CircuitBreakerState(2, 1d);
+        state.recordClosedOutcome(false);
+        state.recordClosedOutcome(false);
+        assertTrue(state.isOverFailureThreshold());
+        state.resetResults();
+        assertFalse(state.isOverFailureThreshold());
+        state.recordClosedOutcome(true);
+        state.recordClosedOutcome(true);
+        assertFalse(state.isOverFailureThreshold());
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testZeroRequestVolumeThresholdNeverTrips() {
+        CircuitBreakerState state = new CircuitBreakerState(0, 0.5d);
+        state.recordClosedOutcome(false);
+        assertFalse(state.isOverFailureThreshold());
+        assertFalse(state.isClosedOutcomeSuccessOnly());
+    }
+
+    @Test
+    public void testWindowLargerThanOneWordConcurrently() throws Exception {
+        CircuitBreakerState state = new CircuitBreakerState(100, 0.5d);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    state.recordClosedOutcome(false);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(state.isOverFailureThreshold());
+        for (int i = 0; i < 100; i++) {
+            state.recordClosedOutcome(true);
+        }
+        assertFalse(state.isOverFailureThreshold());
+        assertTrue(state.isClosedOutcomeSuccessOnly());
+    }
+
+}
@@ -90,6 +90,13 @@ public class JwtPrivateKeyStore {
         return privateKey;
     }
 
+    /**
+     * @return the private key or key set as currently loaded, a different value means the keys were rotated
+     */
+    public Optional<String> getRawPrivateKey() {
+        return cacheSupplier.get();
+    }
+
     public PrivateKey getPrivateKey(String keyId) {
         return cacheSupplier.get()
                 .map(key -> createPrivateKey(key, keyId))
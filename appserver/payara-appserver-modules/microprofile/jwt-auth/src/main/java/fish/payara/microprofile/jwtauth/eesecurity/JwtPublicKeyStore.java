@@ -105,6 +105,13 @@ public class JwtPublicKeyStore {
             .orElseThrow(() -> new IllegalStateException("No PublicKey found"));
     }
     
+    /**
+     * @return the public key or key set as currently loaded, a different value means the keys were rotated
+     */
+    public Optional<String> getRawPublicKey() {
+        return cacheSupplier.get();
+    }
+
     private CacheableString readRawPublicKey() {
         CacheableString publicKey = JwtKeyStoreUtils.readKeyFromLocation(keyLocation, defaultCacheTTL);
         
@@ -76,6 +76,8 @@ public class SignedJWTIdentityStore implements IdentityStore {
 
     private static final Logger LOGGER = Logger.getLogger(SignedJWTIdentityStore.class.getName());
 
+    private static final int DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 1000;
+
     private final String acceptedIssuer;
     private final Optional<List<String>> allowedAudience;
     private final Optional<Boolean> enabledNamespace;
@@ -88,6 +90,8 @@ public class SignedJWTIdentityStore implements IdentityStore {
 
     private final boolean isEncryptionRequired;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     private Map<String, Optional<String>> optionalConfigProperty;
 
     public SignedJWTIdentityStore() {
@@ -115,13 +119,15 @@ public class SignedJWTIdentityStore implements IdentityStore {
         // Signing is required by default, it doesn't parse if not signed
         isEncryptionRequired = decryptKeyLocation.isPresent();
         setOptionalConfigProperty(properties);
+        int verifiedTokenCacheSize = readVerifiedTokenCacheSize(properties);
+        verifiedTokenCache = verifiedTokenCacheSize > 0 ? new VerifiedTokenCache(verifiedTokenCacheSize) : null;
     }
 
     public CredentialValidationResult validate(SignedJWTCredential signedJWTCredential) {
-        final JwtTokenParser jwtTokenParser = new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification);
         try {
-            JsonWebTokenImpl jsonWebToken = jwtTokenParser.parse(signedJWTCredential.getSignedJWT(),
-                    isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore, optionalConfigProperty);
+            JsonWebTokenImpl jsonWebToken = verifiedTokenCache == null
+                    ? parse(signedJWTCredential.getSignedJWT())
+                    : parseCached(signedJWTCredential.getSignedJWT());
 
             // verifyAndParseEncryptedJWT audience
             final Set<String> recipientsOfThisJWT = jsonWebToken.getAudience();
@@ -148,6 +154,26 @@ public class SignedJWTIdentityStore implements IdentityStore {
         return INVALID_RESULT;
     }
 
+    private JsonWebTokenImpl parse(String signedJWT) throws Exception {
+        final JwtTokenParser jwtTokenParser = new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification);
+        return jwtTokenParser.parse(signedJWT,
+                isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore, optionalConfigProperty);
+    }
+
+    private JsonWebTokenImpl parseCached(String signedJWT) throws Exception {
+        // the decryption key only matters for the cache when every token has to be decrypted with it
+        Object keys = isEncryptionRequired
+                ? Arrays.asList(publicKeyStore.getRawPublicKey(), privateKeyStore.getRawPrivateKey())
+                : publicKeyStore.getRawPublicKey();
+        JsonWebTokenImpl jsonWebToken = verifiedTokenCache.get(signedJWT, keys);
+        if (jsonWebToken == null) {
+            jsonWebToken = parse(signedJWT);
+            Optional<Long> tokenAge = optionalConfigProperty.get(Names.TOKEN_AGE).map(Long::valueOf);
+            verifiedTokenCache.put(signedJWT, jsonWebToken, VerifiedTokenCache.getExpiryTime(jsonWebToken, tokenAge), keys);
+        }
+        return jsonWebToken;
+    }
+
     public static Optional<Properties> readVendorProperties() {
         URL mpJwtResource = currentThread().getContextClassLoader().getResource("/payara-mp-jwt.properties");
         Properties properties = null;
@@ -186,6 +212,13 @@ public class SignedJWTIdentityStore implements IdentityStore {
         		.orElseGet( () -> Duration.ofMinutes(5));
     }
     
+    private int readVerifiedTokenCacheSize(Optional<Properties> properties) {
+        return properties
+                .map(props -> props.getProperty("verified.token.cache.size"))
+                .map(Integer::valueOf)
+                .orElse(DEFAULT_VERIFIED_TOKEN_CACHE_SIZE);
+    }
+
     private Optional<String> readAudience(Optional<Properties> properties) {
         return properties.isPresent() ? Optional.ofNullable(properties.get().getProperty(Names.AUDIENCES)) : Optional.empty();
     }
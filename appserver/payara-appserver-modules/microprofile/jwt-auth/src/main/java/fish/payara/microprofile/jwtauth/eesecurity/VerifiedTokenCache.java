@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.jwtauth.eesecurity;
+
+import fish.payara.microprofile.jwtauth.jwt.JsonWebTokenImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static org.eclipse.microprofile.jwt.Claims.exp;
+import static org.eclipse.microprofile.jwt.Claims.iat;
+
+/**
+ * Bounded cache of tokens which passed signature verification (and decryption), keyed by a digest of the raw token.
+ * <p>
+ * An entry is never returned after the expiry passed to {@link #put(String, JsonWebTokenImpl, long, Object)}, which
+ * the caller derives from the {@code exp} claim, and never for other keys than the ones the token was verified with.
+ * All entries are dropped as soon as the keys change. When the cache is full, expired entries are removed first and an
+ * arbitrary entry is evicted if that does not free any space.
+ */
+public class VerifiedTokenCache {
+
+    // the caches of all applications, for monitoring
+    private static final Set<VerifiedTokenCache> CACHES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Object keys;
+
+    /**
+     * @param maxSize maximum number of cached tokens, a cache of size 0 caches nothing
+     */
+    public VerifiedTokenCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        synchronized (CACHES) {
+            CACHES.add(this);
+        }
+    }
+
+    /**
+     * @return the caches which are still in use
+     */
+    public static Collection<VerifiedTokenCache> getCaches() {
+        synchronized (CACHES) {
+            return new ArrayList<>(CACHES);
+        }
+    }
+
+    /**
+     * Returns the time in milliseconds from which a token must no longer be accepted, without allowing for clock
+     * skew: the {@code exp} claim, or the {@code iat} claim plus the maximum token age if that is earlier.
+     *
+     * @param token the verified token
+     * @param tokenAge maximum age of a token in seconds, if configured
+     */
+    static long getExpiryTime(JsonWebTokenImpl token, Optional<Long> tokenAge) {
+        long expiryTime = token.<Long>getClaim(exp.name());
+        if (tokenAge.isPresent()) {
+            expiryTime = Math.min(expiryTime, token.<Long>getClaim(iat.name()) + tokenAge.get());
+        }
+        return expiryTime * 1000;
+    }
+
+    /**
+     * @param rawToken the bearer token as sent by the client
+     * @param keys the keys currently used to verify tokens, compared with {@link Object#equals(Object)}
+     * @return the verified token, or {@code null} if the token is not cached, expired or was verified with other keys
+     */
+    public JsonWebTokenImpl get(String rawToken, Object keys) {
+        checkKeys(keys);
+        String digest = digest(rawToken);
+        Entry entry = entries.get(digest);
+        if (entry != null && (entry.expiresAt <= clock.getAsLong() || !entry.isVerifiedWith(keys))) {
+            entries.remove(digest, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.token;
+    }
+
+    /**
+     * @param rawToken the bearer token as sent by the client
+     * @param token the token parsed and verified from the raw token
+     * @param expiresAt time in milliseconds from which the token must no longer be accepted
+     * @param keys the keys the token was verified with
+     */
+    public void put(String rawToken, JsonWebTokenImpl token, long expiresAt, Object keys) {
+        long now = clock.getAsLong();
+        if (expiresAt <= now || maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest(rawToken), new Entry(token, expiresAt, keys));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void checkKeys(Object current) {
+        Object known = keys;
+        if (known == current) {
+            return;
+        }
+        if (Objects.equals(known, current)) {
+            // the keys were reloaded without change
+            keys = current;
+            return;
+        }
+        synchronized (this) {
+            if (!Objects.equals(keys, current)) {
+                entries.clear();
+            }
+            keys = current;
+        }
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String digest(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        final JsonWebTokenImpl token;
+        final long expiresAt;
+        final Object keys;
+
+        Entry(JsonWebTokenImpl token, long expiresAt, Object keys) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.keys = keys;
+        }
+
+        boolean isVerifiedWith(Object currentKeys) {
+            // a token put while the keys were rotated must not survive the rotation
+            return keys == currentKeys || Objects.equals(keys, currentKeys);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.jwtauth.eesecurity;
+
+import fish.payara.microprofile.jwtauth.jwt.JsonWebTokenImpl;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class VerifiedTokenCacheTest {
+
+    private static final Object KEYS = "keys";
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final JsonWebTokenImpl token = new JsonWebTokenImpl("caller", Collections.emptyMap());
+
+    @Test
+    public void cachedTokenIsReturnedUntilItExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        cache.put("token", token, now.get() + 1000, KEYS);
+        now.addAndGet(999);
+        assertSame(token, cache.get("token", KEYS));
+        now.addAndGet(1);
+        assertNull(cache.get("token", KEYS));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void expiredTokenIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        cache.put("token", token, now.get(), KEYS);
+        assertEquals(0, cache.size());
+        assertNull(cache.get("token", KEYS));
+    }
+
+    @Test
+    public void expiryTimeIsTheExpClaim() {
+        JsonWebTokenImpl jwt = mockToken(2000L, 1000L);
+        assertEquals(2_000_000L, VerifiedTokenCache.getExpiryTime(jwt, Optional.empty()));
+        assertEquals(2_000_000L, VerifiedTokenCache.getExpiryTime(jwt, Optional.of(5000L)));
+    }
+
+    @Test
+    public void expiryTimeIsBoundedByTheTokenAge() {
+        JsonWebTokenImpl jwt = mockToken(2000L, 1000L);
+        assertEquals(1_300_000L, VerifiedTokenCache.getExpiryTime(jwt, Optional.of(300L)));
+    }
+
+    @Test
+    public void rotatedKeysClearTheCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        cache.put("token", token, now.get() + 1000, KEYS);
+        cache.put("other", token, now.get() + 1000, KEYS);
+        assertNull(cache.get("token", "rotated keys"));
+        assertEquals(0, cache.size());
+        assertNull(cache.get("other", KEYS));
+    }
+
+    @Test
+    public void reloadedEqualKeysKeepTheCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        assertNull(cache.get("token", KEYS));
+        cache.put("token", token, now.get() + 1000, KEYS);
+        assertSame(token, cache.get("token", new String("keys")));
+    }
+
+    @Test
+    public void tokenVerifiedWithOtherKeysIsNotReturned() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        assertNull(cache.get("token", KEYS));
+        // put by a request which verified the token before the keys were rotated
+        cache.put("token", token, now.get() + 1000, "old keys");
+        assertNull(cache.get("token", KEYS));
+    }
+
+    @Test
+    public void sizeIsCapped() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3, now::get);
+        for (int i = 0; i < 10; i++) {
+            cache.put("token" + i, token, now.get() + 1000, KEYS);
+            assertTrue(cache.size() <= 3);
+        }
+        assertSame(token, cache.get("token9", KEYS));
+    }
+
+    @Test
+    public void expiredTokensAreEvictedFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, now::get);
+        cache.put("expiring", token, now.get() + 10, KEYS);
+        cache.put("valid", token, now.get() + 1000, KEYS);
+        now.addAndGet(10);
+        cache.put("new", token, now.get() + 1000, KEYS);
+        assertSame(token, cache.get("valid", KEYS));
+        assertSame(token, cache.get("new", KEYS));
+    }
+
+    @Test
+    public void sizeZeroCachesNothing() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, now::get);
+        cache.put("token", token, now.get() + 1000, KEYS);
+        assertEquals(0, cache.size());
+        assertNull(cache.get("token", KEYS));
+    }
+
+    @Test
+    public void hitsAndMissesAreCountedPerCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        VerifiedTokenCache otherCache = new VerifiedTokenCache(10, now::get);
+        cache.get("token", KEYS);
+        cache.put("token", token, now.get() + 1000, KEYS);
+        cache.get("token", KEYS);
+        cache.get("token", KEYS);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, otherCache.getHitCount());
+        assertEquals(0, otherCache.getMissCount());
+        assertTrue(VerifiedTokenCache.getCaches().contains(cache));
+    }
+
+    private static JsonWebTokenImpl mockToken(long exp, long iat) {
+        JsonWebTokenImpl jwt = mock(JsonWebTokenImpl.class);
+        doReturn(exp).when(jwt).getClaim("exp");
+        doReturn(iat).when(jwt).getClaim("iat");
+        return jwt;
+    }
+}
@@ -82,7 +82,8 @@ import org.jvnet.hk2.annotations.Service;
 })
 public class GetMetricsConfigurationCommand implements AdminCommand {
 
-    private final String[] OUTPUT_HEADERS = {"Enabled", "Dynamic", "EndPoint", "VirtualServers", "Security Enabled", "Roles"};
+    private final String[] OUTPUT_HEADERS = {"Enabled", "Dynamic", "EndPoint", "VirtualServers", "Security Enabled", "Roles", "Reservoir Type", "Registry Reservoir Types",
+        "Streaming Export", "Scrape Reuse Window"};
     
     @Inject
     private Target targetUtil;
@@ -110,7 +111,11 @@ public class GetMetricsConfigurationCommand implements AdminCommand {
             metricsConfiguration.getEndpoint(),
             metricsConfiguration.getVirtualServers(),
             metricsConfiguration.getSecurityEnabled(),
-            metricsConfiguration.getRoles()
+            metricsConfiguration.getRoles(),
+            metricsConfiguration.getReservoirType(),
+            metricsConfiguration.getRegistryReservoirTypes(),
+            metricsConfiguration.getStreamingExport(),
+            metricsConfiguration.getScrapeReuseWindow()
         };        
         columnFormatter.addRow(outputValues);
         
@@ -123,6 +128,10 @@ public class GetMetricsConfigurationCommand implements AdminCommand {
         extraPropertiesMap.put("virtualServers", metricsConfiguration.getVirtualServers());
         extraPropertiesMap.put("securityenabled", metricsConfiguration.getSecurityEnabled());
         extraPropertiesMap.put("roles", metricsConfiguration.getRoles());
+        extraPropertiesMap.put("reservoirType", metricsConfiguration.getReservoirType());
+        extraPropertiesMap.put("registryReservoirTypes", metricsConfiguration.getRegistryReservoirTypes());
+        extraPropertiesMap.put("streamingExport", metricsConfiguration.getStreamingExport());
+        extraPropertiesMap.put("scrapeReuseWindow", metricsConfiguration.getScrapeReuseWindow());
 
         Properties extraProperties = new Properties();
         extraProperties.put("metricsConfiguration", extraPropertiesMap);
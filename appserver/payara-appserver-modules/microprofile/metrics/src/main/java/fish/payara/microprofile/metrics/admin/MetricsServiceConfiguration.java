@@ -107,4 +107,36 @@ public interface MetricsServiceConfiguration extends ConfigBeanProxy, ConfigExte
     String getRoles();
     void setRoles(String value) throws PropertyVetoException;
 
+    /**
+     * @return a String value naming the reservoir used by histograms and timers, either
+     * {@code exponentially-decaying} or {@code striped-histogram}.
+     */
+    @Attribute(defaultValue = "exponentially-decaying", dataType = String.class)
+    String getReservoirType();
+    void setReservoirType(String value) throws PropertyVetoException;
+
+    /**
+     * @return a comma separated list of {@code scope=reservoir-type} pairs overriding the reservoir type for the
+     * registry of the given scope, e.g. {@code application=striped-histogram}.
+     */
+    @Attribute(defaultValue = "", dataType = String.class)
+    String getRegistryReservoirTypes();
+    void setRegistryReservoirTypes(String value) throws PropertyVetoException;
+
+    /**
+     * @return a Boolean value determining if the OpenMetrics output is written as bytes using pre-encoded names and
+     * tags instead of being formatted through a character writer for each scrape.
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getStreamingExport();
+    void setStreamingExport(String value) throws PropertyVetoException;
+
+    /**
+     * @return an Integer value defining the time in milliseconds an OpenMetrics output is reused for other scrapers
+     * asking for the same output when {@link #getStreamingExport()} is enabled, 0 to never reuse an output.
+     */
+    @Attribute(defaultValue = "0", dataType = Integer.class)
+    String getScrapeReuseWindow();
+    void setScrapeReuseWindow(String value) throws PropertyVetoException;
+
 }
@@ -110,6 +110,18 @@ public class SetMetricsConfigurationCommand extends SetSecureMicroprofileConfigu
     @Param(name = "virtualServers", optional = true)
     private String virtualServers;
 
+    @Param(name = "reservoirType", optional = true, acceptableValues = "exponentially-decaying,striped-histogram")
+    private String reservoirType;
+
+    @Param(name = "registryReservoirTypes", optional = true)
+    private String registryReservoirTypes;
+
+    @Param(name = "streamingExport", optional = true)
+    private Boolean streamingExport;
+
+    @Param(name = "scrapeReuseWindow", optional = true)
+    private Integer scrapeReuseWindow;
+
     @Inject
     private Domain domain;
 
@@ -141,6 +153,19 @@ public class SetMetricsConfigurationCommand extends SetSecureMicroprofileConfigu
             }
         }
 
+        if (scrapeReuseWindow != null && scrapeReuseWindow < 0) {
+            actionReport.failure(LOGGER, "Scrape reuse window must be 0 or more milliseconds");
+            return;
+        }
+        if (registryReservoirTypes != null) {
+            try {
+                MetricsServiceImpl.parseRegistryReservoirTypes(registryReservoirTypes);
+            } catch (IllegalArgumentException ex) {
+                actionReport.failure(LOGGER, "Invalid registryReservoirTypes: " + ex.getMessage());
+                return;
+            }
+        }
+
         try {
             ConfigSupport.apply(configProxy -> {
                 if (dynamic != null) {
@@ -165,6 +190,18 @@ public class SetMetricsConfigurationCommand extends SetSecureMicroprofileConfigu
                 if (virtualServers != null) {
                     configProxy.setVirtualServers(virtualServers);
                 }
+                if (reservoirType != null) {
+                    configProxy.setReservoirType(reservoirType);
+                }
+                if (registryReservoirTypes != null) {
+                    configProxy.setRegistryReservoirTypes(registryReservoirTypes);
+                }
+                if (streamingExport != null) {
+                    configProxy.setStreamingExport(streamingExport.toString());
+                }
+                if (scrapeReuseWindow != null) {
+                    configProxy.setScrapeReuseWindow(scrapeReuseWindow.toString());
+                }
                 if (securityEnabled != null) {
                     configProxy.setSecurityEnabled(securityEnabled.toString());
                 }
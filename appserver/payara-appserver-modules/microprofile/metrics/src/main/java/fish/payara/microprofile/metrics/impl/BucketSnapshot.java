@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.bucketLowerBound;
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.bucketUpperBound;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * A statistical snapshot of a {@link StripedHistogramReservoir}.
+ *
+ * Percentiles are reported as the middle of the bucket the percentile falls into, bounded by the actual minimum and
+ * maximum value recorded.
+ */
+public class BucketSnapshot extends Snapshot {
+
+    private static final double[] PERCENTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    /**
+     * Create a new {@link Snapshot} from the merged bucket counts.
+     *
+     * @param counts the number of values in each bucket, indexed as by {@link StripedHistogramReservoir#bucketIndex(long)}
+     * @param count the total number of values
+     * @param sum the sum of all values
+     * @param min the smallest value
+     * @param max the largest value
+     */
+    public BucketSnapshot(long[] counts, long count, long sum, long min, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of values in the snapshot.
+     *
+     * @return the number of values
+     */
+    @Override
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Returns the highest value in the snapshot.
+     *
+     * @return the highest value
+     */
+    @Override
+    public double getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values in the snapshot.
+     *
+     * @return the arithmetic mean
+     */
+    @Override
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public PercentileValue[] percentileValues() {
+        PercentileValue[] percentileValues = new PercentileValue[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentileValues[i] = new PercentileValue(PERCENTILES[i], getValue(PERCENTILES[i]));
+        }
+        return percentileValues;
+    }
+
+    double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = bucketLowerBound(i);
+                long middle = lower + (bucketUpperBound(i) - lower) / 2;
+                return Math.max(min, Math.min(max, middle));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Writes the buckets of the snapshot to the given stream. Each non-empty bucket is written as a line containing
+     * the lower bound of the bucket and the number of values in the bucket separated by a space.
+     *
+     * @param output an output stream
+     */
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    out.printf("%d %d%n", bucketLowerBound(i), counts[i]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot[" + size() + "]";
+    }
+}
@@ -109,11 +109,11 @@ public class MetricRegistryImpl implements MetricRegistry {
     private final String scope;
     private final ConcurrentMap<String, MetricFamily<?>> metricsFamiliesByName = new ConcurrentHashMap<>();
     private final Clock clock;
+    private final ReservoirType reservoirType;
     private final List<MetricRegistrationListener> listeners = new ArrayList<>();
 
     public MetricRegistryImpl() {
-        this.scope = null;
-        this.clock = Clock.defaultClock();
+        this(null, Clock.defaultClock());
     }
 
     public MetricRegistryImpl(String registryScope) {
@@ -121,8 +121,18 @@ public class MetricRegistryImpl implements MetricRegistry {
     }
 
     public MetricRegistryImpl(String type, Clock clock) {
+        this(type, clock, ReservoirType.EXPONENTIALLY_DECAYING);
+    }
+
+    /**
+     * @param type the scope of the registry
+     * @param clock the clock used by timers and reservoirs
+     * @param reservoirType the kind of {@link Reservoir} used by histograms and timers created by this registry
+     */
+    public MetricRegistryImpl(String type, Clock clock, ReservoirType reservoirType) {
         this.scope = type;
         this.clock = clock;
+        this.reservoirType = reservoirType;
     }
 
     public MetricRegistryImpl addListener(MetricRegistrationListener listener) {
@@ -197,17 +207,17 @@ public class MetricRegistryImpl implements MetricRegistry {
 
     @Override
     public Histogram histogram(String name, Tag... tags) {
-        return findMetricOrCreate(name, Histogram.class.getTypeName(), new HistogramImpl(), tags);
+        return findMetricOrCreate(name, Histogram.class.getTypeName(), null, tags);
     }
 
     @Override
     public Histogram histogram(Metadata metadata, Tag... tags) {
-        return findMetricOrCreate(metadata, Histogram.class.getTypeName(),new HistogramImpl(), tags);
+        return findMetricOrCreate(metadata, Histogram.class.getTypeName(),null, tags);
     }
 
     @Override
     public Histogram histogram(String name) {
-        return findMetricOrCreate(name, Histogram.class.getTypeName(), new HistogramImpl(), new Tag[0]);
+        return findMetricOrCreate(name, Histogram.class.getTypeName(), null, new Tag[0]);
     }
 
     @Override
@@ -217,7 +227,7 @@ public class MetricRegistryImpl implements MetricRegistry {
 
     @Override
     public Histogram histogram(MetricID metricID) {
-        return findMetricOrCreate(metricID.getName(), Histogram.class.getTypeName(), new HistogramImpl(), metricID.getTagsAsArray());
+        return findMetricOrCreate(metricID.getName(), Histogram.class.getTypeName(), null, metricID.getTagsAsArray());
     }
 
     @Override
@@ -342,6 +352,10 @@ public class MetricRegistryImpl implements MetricRegistry {
         return scope;
     }
 
+    public ReservoirType getReservoirType() {
+        return reservoirType;
+    }
+
     @Override
     public boolean remove(String name) {
         return metricsFamiliesByName.remove(name) != null;
@@ -569,11 +583,11 @@ public class MetricRegistryImpl implements MetricRegistry {
         }
 
         if(Histogram.class.getName().equals(metricType)) {
-            return new HistogramImpl();
+            return new HistogramImpl(reservoirType.newReservoir(clock));
         }
 
         if(Timer.class.getName().equals(metricType)) {
-            return new TimerImpl(clock);
+            return new TimerImpl(reservoirType.newReservoir(clock), clock);
         }
 
         throw new IllegalArgumentException("Invalid metric type : "+metricType);
@@ -48,6 +48,7 @@ import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -57,6 +58,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import jakarta.annotation.PostConstruct;
@@ -90,6 +92,8 @@ import fish.payara.microprofile.metrics.exception.NoSuchRegistryException;
 import fish.payara.microprofile.metrics.jmx.MetricsMetadata;
 import fish.payara.microprofile.metrics.jmx.MetricsMetadataConfig;
 import fish.payara.microprofile.metrics.jmx.MetricsMetadataHelper;
+import fish.payara.microprofile.metrics.writer.OpenMetricsEncodingCache;
+import fish.payara.microprofile.metrics.writer.ScrapeCache;
 import fish.payara.monitoring.collect.MonitoringDataCollector;
 import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.nucleus.executorservice.PayaraExecutorService;
@@ -152,9 +156,11 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
 
         private final ConcurrentMap<String, MetricRegistry> registries = new ConcurrentHashMap<>();
         private final Queue<RegisteredMetric> newlyRegistered = new ConcurrentLinkedQueue<>();
+        private final Function<String, ReservoirType> reservoirTypeByScope;
 
-        public MetricsContextImpl(String name) {
+        public MetricsContextImpl(String name, Function<String, ReservoirType> reservoirTypeByScope) {
             this.name = name;
+            this.reservoirTypeByScope = reservoirTypeByScope;
             this.base = (MetricRegistryImpl) getOrCreateRegistry(MetricRegistry.BASE_SCOPE);
             this.vendor = (MetricRegistryImpl)getOrCreateRegistry(MetricRegistry.VENDOR_SCOPE);
             this.application = isServerContext() ? null : (MetricRegistryImpl)getOrCreateRegistry(MetricRegistry.APPLICATION_SCOPE);
@@ -177,7 +183,8 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
         public MetricRegistry getOrCreateRegistry(String registryName) throws NoSuchRegistryException {
             MetricRegistry registry = registries.get(registryName);
             if(registry == null) {
-                MetricRegistry created = new MetricRegistryImpl(registryName);
+                MetricRegistry created = new MetricRegistryImpl(registryName, Clock.defaultClock(),
+                        reservoirTypeByScope.apply(registryName));
                 MetricRegistry referenced = add(registryName, created);
                 if(referenced == null) {
                     return created;
@@ -217,6 +224,10 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
 
     private final Map<String, MetricsContextImpl> contextByName = new ConcurrentHashMap<>();
 
+    private final OpenMetricsEncodingCache encodingCache = new OpenMetricsEncodingCache();
+
+    private final ScrapeCache scrapeCache = new ScrapeCache();
+
     @PostConstruct
     public void init() {
         metricsServiceConfiguration = serviceLocator.getService(MetricsServiceConfiguration.class);
@@ -241,7 +252,7 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
         if (!createIfNotExists) {
             return contextByName.get(name);
         }
-        return contextByName.computeIfAbsent(name, key -> new MetricsContextImpl(key));
+        return contextByName.computeIfAbsent(name, key -> new MetricsContextImpl(key, this::getReservoirType));
     }
 
     @Override
@@ -251,7 +262,7 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
         }
         name = appKeyOf(name);
         if (MetricsContext.SERVER_CONTEXT_NAME.equals(name)) {
-            return contextByName.computeIfAbsent(name, key -> new MetricsContextImpl(key));
+            return contextByName.computeIfAbsent(name, key -> new MetricsContextImpl(key, this::getReservoirType));
         }
         return contextByName.get(name);
     }
@@ -502,6 +513,70 @@ public class MetricsServiceImpl implements MetricsService, ConfigListener, Monit
         return Boolean.parseBoolean(metricsServiceConfiguration.getSecurityEnabled());
     }
 
+    public boolean isStreamingExport() {
+        return Boolean.parseBoolean(metricsServiceConfiguration.getStreamingExport());
+    }
+
+    /**
+     * @return the time in milliseconds a scrape output is shared with other scrapers, 0 if outputs are not shared
+     */
+    public long getScrapeReuseWindow() {
+        try {
+            return Math.max(0L, Long.parseLong(metricsServiceConfiguration.getScrapeReuseWindow()));
+        } catch (NumberFormatException ex) {
+            return 0L;
+        }
+    }
+
+    public OpenMetricsEncodingCache getEncodingCache() {
+        return encodingCache;
+    }
+
+    public ScrapeCache getScrapeCache() {
+        return scrapeCache;
+    }
+
+    /**
+     * Resolves the {@link ReservoirType} for registries of the given scope. A type configured for the scope in
+     * {@link MetricsServiceConfiguration#getRegistryReservoirTypes()} takes precedence over the global
+     * {@link MetricsServiceConfiguration#getReservoirType()}.
+     *
+     * @param scope the scope of the registry
+     * @return the type of reservoir used by the histograms and timers of the registry
+     */
+    public ReservoirType getReservoirType(String scope) {
+        try {
+            ReservoirType type = parseRegistryReservoirTypes(metricsServiceConfiguration.getRegistryReservoirTypes())
+                    .get(scope);
+            return type != null ? type : ReservoirType.parse(metricsServiceConfiguration.getReservoirType());
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.WARNING, "Invalid metrics reservoir type configured, using default.", ex);
+            return ReservoirType.EXPONENTIALLY_DECAYING;
+        }
+    }
+
+    /**
+     * Parses a comma separated list of {@code scope=reservoir-type} pairs.
+     *
+     * @param registryReservoirTypes the value to parse, may be null or empty
+     * @return the {@link ReservoirType} by registry scope
+     * @throws IllegalArgumentException in case a pair is malformed or names an unknown {@link ReservoirType}
+     */
+    public static Map<String, ReservoirType> parseRegistryReservoirTypes(String registryReservoirTypes) {
+        Map<String, ReservoirType> typeByScope = new HashMap<>();
+        if (registryReservoirTypes == null || registryReservoirTypes.trim().isEmpty()) {
+            return typeByScope;
+        }
+        for (String pair : registryReservoirTypes.split(",")) {
+            int eqIndex = pair.indexOf('=');
+            if (eqIndex <= 0) {
+                throw new IllegalArgumentException("Expected scope=reservoir-type but got: " + pair.trim());
+            }
+            typeByScope.put(pair.substring(0, eqIndex).trim(), ReservoirType.parse(pair.substring(eqIndex + 1)));
+        }
+        return typeByScope;
+    }
+
     /**
      * Adds an application to the enabled map
      *
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import java.util.Locale;
+
+/**
+ * The kinds of {@link Reservoir} that can back {@link HistogramImpl}s and {@link TimerImpl}s created by a
+ * {@link MetricRegistryImpl}.
+ */
+public enum ReservoirType {
+
+    /**
+     * Uses the {@link ExponentiallyDecayingReservoir} which samples values biased towards the last 5 minutes.
+     */
+    EXPONENTIALLY_DECAYING {
+        @Override
+        public Reservoir newReservoir(Clock clock) {
+            return new ExponentiallyDecayingReservoir(1028, 0.015, clock);
+        }
+    },
+
+    /**
+     * Uses the {@link StripedHistogramReservoir} which counts every value in fixed-size log-linear buckets.
+     */
+    STRIPED_HISTOGRAM {
+        @Override
+        public Reservoir newReservoir(Clock clock) {
+            return new StripedHistogramReservoir(clock);
+        }
+    };
+
+    /**
+     * Creates a new {@link Reservoir} of this type.
+     *
+     * @param clock the clock used to track time based state of the reservoir
+     * @return a new and empty {@link Reservoir} instance
+     */
+    public abstract Reservoir newReservoir(Clock clock);
+
+    /**
+     * @return the name of this type as used in the configuration, e.g. {@code striped-histogram}
+     */
+    public String getConfigName() {
+        return name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+    }
+
+    /**
+     * Resolves the {@link ReservoirType} for a configuration value.
+     *
+     * @param value the configured name, either as used in the configuration or as the enum constant name
+     * @return the matching {@link ReservoirType}, {@link #EXPONENTIALLY_DECAYING} if the value is null or empty
+     * @throws IllegalArgumentException in case the value does not name any {@link ReservoirType}
+     */
+    public static ReservoirType parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return EXPONENTIALLY_DECAYING;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import static java.lang.Math.min;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * A {@link Reservoir} that counts every recorded value in a fixed set of log-linear buckets, similar to a HDR
+ * histogram, instead of sampling values.
+ *
+ * Values below {@value #SUB_BUCKETS} are counted exactly, larger values are counted in buckets whose width is at most
+ * {@code 1/}{@value #SUB_BUCKETS} of their lower bound, which limits the relative error of any reported percentile to
+ * about 3%.
+ *
+ * Recording a value only increments primitive counters, it neither allocates nor locks. Counters are kept in
+ * stripes. A reservoir starts with a single stripe and doubles the number of stripes (up to the number of CPUs) each
+ * time recording threads collide on a stripe, so an uncontended reservoir stays small. The stripes are only merged
+ * when a {@link Snapshot} is taken.
+ *
+ * To bias the snapshot towards recent values the buckets are organised in windows. Each {@link #update(long)} or
+ * {@link #getSnapshot()} call rotates to a fresh window once the current window is older than the window length. A
+ * snapshot contains the values of the current and the previous window.
+ */
+public class StripedHistogramReservoir implements Reservoir {
+
+    /**
+     * Number of bits of a value that are kept exactly
+     */
+    static final int PRECISION_BITS = 5;
+    static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+    static final int BUCKETS = (Long.SIZE - PRECISION_BITS) * SUB_BUCKETS;
+
+    private static final long DEFAULT_WINDOW_LENGTH = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_STRIPES = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+    private static final int FIRST_BUCKET = 4;
+    private static final int STRIPE_LENGTH = FIRST_BUCKET + BUCKETS;
+
+    private final Clock clock;
+    private final long windowLength;
+    private final AtomicLong nextRotation;
+    private volatile Window current;
+    private volatile Window previous;
+
+    /**
+     * Creates a new {@link StripedHistogramReservoir} with a window length of one minute using the default
+     * {@link Clock}.
+     */
+    public StripedHistogramReservoir() {
+        this(Clock.defaultClock());
+    }
+
+    /**
+     * Creates a new {@link StripedHistogramReservoir} with a window length of one minute.
+     *
+     * @param clock the clock used to track the windows
+     */
+    public StripedHistogramReservoir(Clock clock) {
+        this(DEFAULT_WINDOW_LENGTH, TimeUnit.NANOSECONDS, clock);
+    }
+
+    /**
+     * Creates a new {@link StripedHistogramReservoir}.
+     *
+     * @param windowLength the length of a window, a snapshot contains the values of the last one to two windows
+     * @param unit the unit of the window length
+     * @param clock the clock used to track the windows
+     */
+    public StripedHistogramReservoir(long windowLength, TimeUnit unit, Clock clock) {
+        if (windowLength <= 0) {
+            throw new IllegalArgumentException("Window length must be positive but was: " + windowLength);
+        }
+        this.clock = clock;
+        this.windowLength = unit.toNanos(windowLength);
+        this.nextRotation = new AtomicLong(clock.getTick() + this.windowLength);
+        this.current = new Window(1);
+    }
+
+    @Override
+    public int size() {
+        rotateIfNeeded();
+        Window prev = previous;
+        long count = current.count() + (prev == null ? 0L : prev.count());
+        return (int) min(Integer.MAX_VALUE, count);
+    }
+
+    @Override
+    public void update(long value) {
+        rotateIfNeeded();
+        current.update(value);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        rotateIfNeeded();
+        long[] counts = new long[BUCKETS];
+        long[] totals = { 0L, 0L, Long.MAX_VALUE, Long.MIN_VALUE };
+        current.mergeInto(counts, totals);
+        Window prev = previous;
+        if (prev != null) {
+            prev.mergeInto(counts, totals);
+        }
+        return new BucketSnapshot(counts, totals[COUNT], totals[SUM], totals[MIN], totals[MAX]);
+    }
+
+    private void rotateIfNeeded() {
+        final long now = clock.getTick();
+        final long next = nextRotation.get();
+        if (now - next >= 0 && nextRotation.compareAndSet(next, now + windowLength)) {
+            Window rotated = current;
+            // if no value was recorded for more than a whole window the current window is already outdated
+            previous = now - next < windowLength ? rotated : null;
+            current = new Window(rotated.stripeCount());
+        }
+    }
+
+    /**
+     * @param value any value
+     * @return the index of the bucket the value is counted in, negative values are counted as zero
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index a bucket index as returned by {@link #bucketIndex(long)}
+     * @return the smallest value counted in the bucket with the given index
+     */
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index - shift * SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @param index a bucket index as returned by {@link #bucketIndex(long)}
+     * @return the largest value counted in the bucket with the given index
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return bucketLowerBound(index) + (1L << shift) - 1L;
+    }
+
+    private static int ceilingPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static int stripeIndex(Thread thread, int stripeCount) {
+        long h = thread.getId() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (stripeCount - 1);
+    }
+
+    /**
+     * The counters for a single window. Each stripe is an array of {@link #STRIPE_LENGTH} counters that is created
+     * lazily when a thread first records a value into it.
+     */
+    private static final class Window {
+
+        private volatile AtomicReferenceArray<AtomicLongArray> stripes;
+        private final AtomicBoolean resizing = new AtomicBoolean();
+
+        Window(int stripeCount) {
+            this.stripes = new AtomicReferenceArray<>(stripeCount);
+        }
+
+        int stripeCount() {
+            return stripes.length();
+        }
+
+        void update(long value) {
+            AtomicReferenceArray<AtomicLongArray> table = stripes;
+            AtomicLongArray stripe = stripe(table, stripeIndex(Thread.currentThread(), table.length()));
+            long count = stripe.get(COUNT);
+            if (!stripe.compareAndSet(COUNT, count, count + 1)) {
+                stripe.getAndIncrement(COUNT);
+                grow(table);
+            }
+            stripe.getAndIncrement(FIRST_BUCKET + bucketIndex(value));
+            stripe.getAndAdd(SUM, value);
+            long min = stripe.get(MIN);
+            while (value < min && !stripe.compareAndSet(MIN, min, value)) {
+                min = stripe.get(MIN);
+            }
+            long max = stripe.get(MAX);
+            while (value > max && !stripe.compareAndSet(MAX, max, value)) {
+                max = stripe.get(MAX);
+            }
+        }
+
+        long count() {
+            AtomicReferenceArray<AtomicLongArray> table = stripes;
+            long count = 0L;
+            for (int i = 0; i < table.length(); i++) {
+                AtomicLongArray stripe = table.get(i);
+                if (stripe != null) {
+                    count += stripe.get(COUNT);
+                }
+            }
+            return count;
+        }
+
+        void mergeInto(long[] counts, long[] totals) {
+            AtomicReferenceArray<AtomicLongArray> table = stripes;
+            for (int i = 0; i < table.length(); i++) {
+                AtomicLongArray stripe = table.get(i);
+                if (stripe != null) {
+                    totals[COUNT] += stripe.get(COUNT);
+                    totals[SUM] += stripe.get(SUM);
+                    totals[MIN] = Math.min(totals[MIN], stripe.get(MIN));
+                    totals[MAX] = Math.max(totals[MAX], stripe.get(MAX));
+                    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                        counts[bucket] += stripe.get(FIRST_BUCKET + bucket);
+                    }
+                }
+            }
+        }
+
+        private static AtomicLongArray stripe(AtomicReferenceArray<AtomicLongArray> table, int index) {
+            AtomicLongArray stripe = table.get(index);
+            if (stripe != null) {
+                return stripe;
+            }
+            AtomicLongArray created = new AtomicLongArray(STRIPE_LENGTH);
+            created.set(MIN, Long.MAX_VALUE);
+            created.set(MAX, Long.MIN_VALUE);
+            return table.compareAndSet(index, null, created) ? created : table.get(index);
+        }
+
+        /**
+         * Doubles the number of stripes unless the maximum is reached or another thread is already resizing. Existing
+         * stripes keep their index, new stripes are created lazily. All stripes of the old table are created before it
+         * is copied so that threads still using the old table cannot record into a stripe missing in the new table.
+         */
+        private void grow(AtomicReferenceArray<AtomicLongArray> table) {
+            int length = table.length();
+            if (length >= MAX_STRIPES || table != stripes || !resizing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (table == stripes) {
+                    AtomicReferenceArray<AtomicLongArray> grown = new AtomicReferenceArray<>(length * 2);
+                    for (int i = 0; i < length; i++) {
+                        grown.set(i, stripe(table, i));
+                    }
+                    stripes = grown;
+                }
+            } finally {
+                resizing.set(false);
+            }
+        }
+    }
+}
@@ -43,6 +43,8 @@ package fish.payara.microprofile.metrics.rest;
 import fish.payara.microprofile.metrics.MetricsService;
 import fish.payara.microprofile.metrics.exception.NoSuchMetricException;
 import fish.payara.microprofile.metrics.exception.NoSuchRegistryException;
+import fish.payara.microprofile.metrics.impl.MetricsServiceImpl;
+import fish.payara.microprofile.metrics.writer.CachedMetricsWriter;
 import fish.payara.microprofile.metrics.writer.MetricsWriter;
 import fish.payara.microprofile.metrics.writer.MetricsWriterImpl;
 import fish.payara.microprofile.metrics.writer.OpenMetricsExporter;
@@ -177,12 +179,19 @@ public class MetricsResource extends HttpServlet {
     @SuppressWarnings("resource")
     private static MetricsWriter getOutputWriter(HttpServletRequest request,
             HttpServletResponse response, MetricsService service, String contentType) throws IOException {
-        Writer writer = response.getWriter();
         String method = request.getMethod();
         if (GET.equalsIgnoreCase(method)) {
             if (TEXT_PLAIN.equals(contentType)) {
+                Tag[] globalTags = getGlobalTags();
+                MetricsServiceImpl serviceImpl = service instanceof MetricsServiceImpl ? (MetricsServiceImpl) service : null;
+                if (serviceImpl != null && serviceImpl.isStreamingExport()) {
+                    return new CachedMetricsWriter(response.getOutputStream(),
+                            exporter -> new MetricsWriterImpl(exporter, service.getContextNames(), service::getContext, globalTags),
+                            serviceImpl.getEncodingCache(), serviceImpl.getScrapeCache(), serviceImpl.getScrapeReuseWindow());
+                }
+                Writer writer = response.getWriter();
                 return new MetricsWriterImpl(new OpenMetricsExporter(writer),
-                    service.getContextNames(), service::getContext, getGlobalTags());
+                    service.getContextNames(), service::getContext, globalTags);
             }
         }
         return null;
@@ -0,0 +1,114 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import fish.payara.microprofile.metrics.exception.NoSuchMetricException;
+import fish.payara.microprofile.metrics.exception.NoSuchRegistryException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * A {@link MetricsWriter} that writes the OpenMetrics output using an {@link EncodedOpenMetricsExporter} directly to
+ * an {@link OutputStream}. Outputs are shared between scrapers arriving within the window of the {@link ScrapeCache}.
+ */
+public class CachedMetricsWriter implements MetricsWriter {
+
+    @FunctionalInterface
+    private interface WriteAction {
+        void write(MetricsWriter writer) throws NoSuchMetricException, IOException;
+    }
+
+    private final OutputStream out;
+    private final Function<MetricExporter, MetricsWriter> writerFactory;
+    private final OpenMetricsEncodingCache encodingCache;
+    private final ScrapeCache scrapeCache;
+    private final long windowMillis;
+
+    /**
+     * @param out the stream to write the output to
+     * @param writerFactory creates the {@link MetricsWriter} that produces the output using the given exporter
+     * @param encodingCache the cache of pre-encoded names and lines
+     * @param scrapeCache the cache of shared outputs
+     * @param windowMillis the maximum age of a shared output in milliseconds, zero to never share outputs
+     */
+    public CachedMetricsWriter(OutputStream out, Function<MetricExporter, MetricsWriter> writerFactory,
+            OpenMetricsEncodingCache encodingCache, ScrapeCache scrapeCache, long windowMillis) {
+        this.out = out;
+        this.writerFactory = writerFactory;
+        this.encodingCache = encodingCache;
+        this.scrapeCache = scrapeCache;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void write(String scope, String metricName)
+            throws NoSuchRegistryException, NoSuchMetricException, IOException {
+        try {
+            write(scope + '/' + metricName, writer -> writer.write(scope, metricName), false);
+        } catch (IOException ex) {
+            if (ex.getCause() instanceof NoSuchMetricException) {
+                throw (NoSuchMetricException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void write(String scope) throws NoSuchRegistryException, IOException {
+        write(scope + '/', writer -> writer.write(scope), false);
+    }
+
+    @Override
+    public void write() throws IOException {
+        write("/", MetricsWriter::write, true);
+    }
+
+    private void write(String key, WriteAction action, boolean complete) throws IOException {
+        out.write(scrapeCache.get(key, windowMillis, () -> {
+            EncodedOpenMetricsExporter exporter = new EncodedOpenMetricsExporter(encodingCache);
+            action.write(writerFactory.apply(exporter));
+            if (complete) {
+                encodingCache.evictUnused();
+            }
+            return exporter.toByteArray();
+        }));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import fish.payara.microprofile.metrics.writer.OpenMetricsEncodingCache.Kind;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * An {@link OpenMetricsExporter} that writes UTF-8 bytes into a buffer instead of characters into a {@link java.io.Writer}.
+ *
+ * The output is identical to the output of the {@link OpenMetricsExporter}, but names, {@code # TYPE} and
+ * {@code # HELP} lines as well as the {@code name{tags}} prefix of each value line are taken pre-encoded from the
+ * shared {@link OpenMetricsEncodingCache} so that only the values need to be formatted for each scrape.
+ */
+public class EncodedOpenMetricsExporter extends OpenMetricsExporter {
+
+    private final Buffer buffer;
+    private final OpenMetricsEncodingCache cache;
+
+    public EncodedOpenMetricsExporter(OpenMetricsEncodingCache cache) {
+        this(null, new Buffer(), cache, new HashSet<>(), new HashSet<>());
+    }
+
+    private EncodedOpenMetricsExporter(String scope, Buffer buffer, OpenMetricsEncodingCache cache,
+            Set<String> typeWrittenByGlobalName, Set<String> helpWrittenByGlobalName) {
+        super(scope, new PrintWriter(new OutputStreamWriter(buffer, UTF_8)), typeWrittenByGlobalName,
+                helpWrittenByGlobalName);
+        this.buffer = buffer;
+        this.cache = cache;
+    }
+
+    @Override
+    public MetricExporter in(String scope, boolean asNode) {
+        return new EncodedOpenMetricsExporter(scope, buffer, cache, typeWrittenByGlobalName, helpWrittenByGlobalName);
+    }
+
+    @Override
+    protected String globalName(MetricID metricID, String suffix) {
+        return cache.globalName(metricID.getName(), suffix, () -> super.globalName(metricID, suffix));
+    }
+
+    @Override
+    protected void appendTYPE(String globalName, OpenMetricsType type) {
+        if (typeWrittenByGlobalName.add(globalName)) {
+            buffer.append(cache.encoded(Kind.TYPE, globalName, type,
+                    () -> "# TYPE " + globalName + ' ' + type.name() + '\n'));
+        }
+    }
+
+    @Override
+    protected void appendHELP(String globalName, Metadata metadata) {
+        helpWrittenByGlobalName.add(globalName);
+        Optional<String> description = metadata.description();
+        String help = description.isPresent() ? description.get() : "";
+        buffer.append(cache.encoded(Kind.HELP, globalName, help, () -> "# HELP " + globalName + ' ' + help + '\n'));
+    }
+
+    @Override
+    protected void appendValue(String globalName, Tag[] tags, Number value) {
+        buffer.append(cache.encoded(Kind.PREFIX, globalName, tags, () -> globalName + tagsToString(tags) + ' '));
+        buffer.writeAscii(valueToString(globalName, value));
+        buffer.write('\n');
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * @return a copy of the bytes written so far
+     */
+    public byte[] toByteArray() {
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes the bytes written so far to the given stream without copying them.
+     *
+     * @param out the target stream
+     * @throws IOException if writing to the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        buffer.writeTo(out);
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that can append the characters of numbers without encoding them first.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(8192);
+        }
+
+        void append(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeAscii(String text) {
+            int length = text.length();
+            ensureCapacity(count + length);
+            for (int i = 0; i < length; i++) {
+                buf[count++] = (byte) text.charAt(i);
+            }
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, minCapacity));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the parts of the OpenMetrics output that do not change between scrapes: the sanitised global names as
+ * well as the UTF-8 encoded {@code # TYPE} and {@code # HELP} lines and the {@code name{tags}} prefixes of value lines.
+ *
+ * Each part is encoded when it is first exported and reused by all later scrapes. Parts that were not used by the
+ * last complete scrape belong to metrics that were removed and are dropped by {@link #evictUnused()}.
+ *
+ * @see EncodedOpenMetricsExporter
+ */
+public final class OpenMetricsEncodingCache {
+
+    enum Kind {
+        NAME, TYPE, HELP, PREFIX
+    }
+
+    private static final class Key {
+
+        final Kind kind;
+        final String name;
+        final Object detail;
+
+        Key(Kind kind, String name, Object detail) {
+            this.kind = kind;
+            this.name = name;
+            this.detail = detail;
+        }
+
+        @Override
+        public int hashCode() {
+            return (kind.hashCode() * 31 + name.hashCode()) * 31 + Arrays.deepHashCode(new Object[] { detail });
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && name.equals(other.name) && Objects.deepEquals(detail, other.detail);
+        }
+    }
+
+    private static final class Entry {
+
+        final Object value;
+        volatile long generation;
+
+        Entry(Object value, long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long generation;
+
+    /**
+     * @param name the metric name
+     * @param suffix the suffix added to the name
+     * @param sanitise computes the global name if it is not cached yet
+     * @return the cached global name
+     */
+    String globalName(String name, String suffix, Supplier<String> sanitise) {
+        return (String) get(new Key(Kind.NAME, name, suffix), () -> sanitise.get());
+    }
+
+    /**
+     * @param kind the kind of line or line prefix
+     * @param globalName the global name of the metric the line is for
+     * @param detail any further state that the text depends upon, e.g. the tags of a value line
+     * @param text computes the text if it is not cached yet
+     * @return the UTF-8 encoded text
+     */
+    byte[] encoded(Kind kind, String globalName, Object detail, Supplier<String> text) {
+        return (byte[]) get(new Key(kind, globalName, detail), () -> text.get().getBytes(UTF_8));
+    }
+
+    private Object get(Key key, Supplier<Object> value) {
+        long current = generation;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, k -> new Entry(value.get(), current));
+        }
+        if (entry.generation != current) {
+            entry.generation = current;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Removes all parts that were not used since the last call to this method. This should only be called after a
+     * complete scrape which used the parts of all existing metrics.
+     */
+    public void evictUnused() {
+        long current = generation;
+        entries.values().removeIf(entry -> entry.generation != current);
+        generation = current + 1;
+    }
+
+    /**
+     * @return the number of cached parts
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -232,11 +232,14 @@ public class OpenMetricsExporter implements MetricExporter {
     protected void appendValue(String globalName, Tag[] tags, Number value) {
         out.append(globalName);
         out.append(tagsToString(tags));
-        if(globalName.equals(GC_TOTAL_ID) || globalName.equals(GC_TIME_SECONDS_TOTAL_ID)) {
-            out.append(' ').append(value.toString()).append('\n');
-        } else {
-            out.append(' ').append(value == null ? "NaN" : roundValue(value)).append('\n');
+        out.append(' ').append(valueToString(globalName, value)).append('\n');
+    }
+
+    protected String valueToString(String globalName, Number value) {
+        if (globalName.equals(GC_TOTAL_ID) || globalName.equals(GC_TIME_SECONDS_TOTAL_ID)) {
+            return value.toString();
         }
+        return value == null ? "NaN" : roundValue(value);
     }
 
     private void appendValue(String globalName, Tag[] tags, long value) {
@@ -329,7 +332,7 @@ public class OpenMetricsExporter implements MetricExporter {
         }
     }
 
-    private String globalName(MetricID metricID, String suffix) {
+    protected String globalName(MetricID metricID, String suffix) {
         String name = metricID.getName();
         return sanitizeMetricName(!suffix.isEmpty() && (name.endsWith(suffix) || name.contains(".total"))
                 ? name
@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the output of a scrape with all scrapers asking for the same output within a time window.
+ *
+ * When several scrapers arrive at the same time only the first one produces the output, the others wait for it and
+ * then use the same bytes.
+ */
+public final class ScrapeCache {
+
+    private static final class Scrape {
+
+        final long createdNanos;
+        final CompletableFuture<byte[]> output = new CompletableFuture<>();
+
+        Scrape(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private final ConcurrentMap<String, Scrape> scrapesByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the output of a scrape for the given key that was started no longer than the given window ago or
+     * produces the output should no such scrape exist.
+     *
+     * @param key identifies the requested output, e.g. by scope and metric name
+     * @param windowMillis the maximum age of a scrape to reuse, zero or less to always produce a fresh output
+     * @param scrape produces the output
+     * @return the output of the shared or the fresh scrape
+     * @throws IOException in case producing the output failed
+     */
+    public byte[] get(String key, long windowMillis, Callable<byte[]> scrape) throws IOException {
+        if (windowMillis <= 0) {
+            return call(scrape);
+        }
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        while (true) {
+            long now = System.nanoTime();
+            Scrape current = scrapesByKey.get(key);
+            if (current != null && now - current.createdNanos <= windowNanos) {
+                return await(current);
+            }
+            Scrape fresh = new Scrape(now);
+            boolean owner = current == null
+                    ? scrapesByKey.putIfAbsent(key, fresh) == null
+                    : scrapesByKey.replace(key, current, fresh);
+            if (owner) {
+                try {
+                    byte[] output = call(scrape);
+                    fresh.output.complete(output);
+                    return output;
+                } catch (IOException | RuntimeException ex) {
+                    scrapesByKey.remove(key, fresh);
+                    fresh.output.completeExceptionally(ex);
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static byte[] call(Callable<byte[]> scrape) throws IOException {
+        try {
+            return scrape.call();
+        } catch (IOException | RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static byte[] await(Scrape scrape) throws IOException {
+        try {
+            return scrape.output.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
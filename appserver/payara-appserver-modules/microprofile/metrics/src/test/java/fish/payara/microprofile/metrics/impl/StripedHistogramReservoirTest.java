@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.BUCKETS;
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.bucketIndex;
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.bucketLowerBound;
+import static fish.payara.microprofile.metrics.impl.StripedHistogramReservoir.bucketUpperBound;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.eclipse.microprofile.metrics.Snapshot.PercentileValue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StripedHistogramReservoir} and its {@link BucketSnapshot}.
+ */
+public class StripedHistogramReservoirTest {
+
+    private final AtomicLong tick = new AtomicLong();
+    private final StripedHistogramReservoir reservoir = new StripedHistogramReservoir(1, TimeUnit.MINUTES, tick::get);
+
+    @Test
+    public void bucketsCoverAllValuesWithoutGaps() {
+        assertEquals(0, bucketIndex(-42L));
+        assertEquals(BUCKETS - 1, bucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, bucketUpperBound(BUCKETS - 1));
+        for (int i = 1; i < BUCKETS; i++) {
+            assertEquals(bucketUpperBound(i - 1) + 1, bucketLowerBound(i));
+            assertEquals(i, bucketIndex(bucketLowerBound(i)));
+            assertEquals(i, bucketIndex(bucketUpperBound(i)));
+        }
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (int i = 1; i <= 10; i++) {
+            reservoir.update(i);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(10, snapshot.size());
+        assertEquals(10, reservoir.size());
+        assertEquals(10d, snapshot.getMax(), 0d);
+        assertEquals(5.5d, snapshot.getMean(), 0d);
+        PercentileValue[] percentiles = snapshot.percentileValues();
+        assertEquals(0.5d, percentiles[0].getPercentile(), 0d);
+        assertEquals(5d, percentiles[0].getValue(), 0d);
+        assertEquals(8d, percentiles[1].getValue(), 0d);
+        assertEquals(10d, percentiles[5].getValue(), 0d);
+    }
+
+    @Test
+    public void largeValuesHaveBoundedRelativeError() {
+        for (long i = 1; i <= 100_000; i++) {
+            reservoir.update(i * 1000L);
+        }
+        PercentileValue[] percentiles = reservoir.getSnapshot().percentileValues();
+        for (PercentileValue percentile : percentiles) {
+            double expected = percentile.getPercentile() * 100_000_000d;
+            double error = Math.abs(percentile.getValue() - expected) / expected;
+            assertTrue("Error for " + percentile + " too large: " + error, error < 0.035d);
+        }
+    }
+
+    @Test
+    public void emptySnapshotReportsZero() {
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0d, snapshot.getMax(), 0d);
+        assertEquals(0d, snapshot.getMean(), 0d);
+        for (PercentileValue percentile : snapshot.percentileValues()) {
+            assertEquals(0d, percentile.getValue(), 0d);
+        }
+    }
+
+    @Test
+    public void snapshotContainsCurrentAndPreviousWindow() {
+        reservoir.update(100);
+        tick.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        reservoir.update(200);
+        assertEquals(2, reservoir.getSnapshot().size());
+        tick.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(200d, snapshot.getMax(), 0d);
+    }
+
+    @Test
+    public void idleReservoirForgetsOutdatedWindows() {
+        reservoir.update(100);
+        tick.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertEquals(0, reservoir.getSnapshot().size());
+    }
+
+    @Test
+    public void concurrentUpdatesAreAllCounted() throws InterruptedException {
+        StripedHistogramReservoir reservoir = new StripedHistogramReservoir();
+        int threads = 8;
+        int updatesPerThread = 50_000;
+        Thread[] updaters = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            updaters[t] = new Thread(() -> {
+                for (int i = 0; i < updatesPerThread; i++) {
+                    reservoir.update(i);
+                }
+            });
+            updaters[t].start();
+        }
+        for (Thread updater : updaters) {
+            updater.join();
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(threads * updatesPerThread, snapshot.size());
+        assertEquals(updatesPerThread - 1, snapshot.getMax(), 0d);
+        assertEquals((updatesPerThread - 1) / 2d, snapshot.getMean(), 0.0001d);
+    }
+
+    @Test
+    public void snapshotsTakenWhileUpdatingAreConsistent() throws Exception {
+        StripedHistogramReservoir reservoir = new StripedHistogramReservoir();
+        int threads = 4;
+        int updatesPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> updaters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                updaters.add(executor.submit(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        reservoir.update(i % 1000);
+                    }
+                }));
+            }
+            long previousSize = 0;
+            while (!allDone(updaters)) {
+                Snapshot snapshot = reservoir.getSnapshot();
+                assertTrue(snapshot.size() >= previousSize);
+                assertTrue(snapshot.getMax() < 1000);
+                for (PercentileValue percentile : snapshot.percentileValues()) {
+                    assertTrue(percentile.getValue() <= snapshot.getMax());
+                }
+                previousSize = snapshot.size();
+            }
+            for (Future<?> updater : updaters) {
+                updater.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * updatesPerThread, reservoir.getSnapshot().size());
+    }
+
+    private static boolean allDone(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void reservoirTypeIsResolvedFromConfigName() {
+        assertSame(ReservoirType.STRIPED_HISTOGRAM, ReservoirType.parse("striped-histogram"));
+        assertSame(ReservoirType.STRIPED_HISTOGRAM, ReservoirType.parse("STRIPED_HISTOGRAM"));
+        assertSame(ReservoirType.EXPONENTIALLY_DECAYING, ReservoirType.parse(""));
+        assertSame(ReservoirType.EXPONENTIALLY_DECAYING, ReservoirType.parse(null));
+        assertEquals("striped-histogram", ReservoirType.STRIPED_HISTOGRAM.getConfigName());
+    }
+
+    @Test
+    public void registryUsesConfiguredReservoirType() {
+        MetricRegistryImpl registry = new MetricRegistryImpl("application", Clock.defaultClock(),
+                ReservoirType.STRIPED_HISTOGRAM);
+        registry.histogram("h").update(42);
+        registry.timer("t").update(Duration.ofMillis(5));
+        assertEquals(42d, registry.histogram("h").getSnapshot().getMax(), 0d);
+        assertEquals(1, registry.timer("t").getSnapshot().size());
+    }
+}
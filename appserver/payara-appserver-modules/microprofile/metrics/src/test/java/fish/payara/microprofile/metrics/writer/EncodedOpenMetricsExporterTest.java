@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link EncodedOpenMetricsExporter} produces the same output as the {@link OpenMetricsExporter} while
+ * reusing the pre-encoded parts of the output from its {@link OpenMetricsEncodingCache}.
+ */
+public class EncodedOpenMetricsExporterTest {
+
+    private final OpenMetricsEncodingCache cache = new OpenMetricsEncodingCache();
+
+    @Test
+    public void outputIsIdenticalToOpenMetricsExporter() {
+        StringWriter expected = new StringWriter();
+        exportExamples(new OpenMetricsExporter(expected).in(MetricRegistry.APPLICATION_SCOPE));
+        EncodedOpenMetricsExporter encoded = new EncodedOpenMetricsExporter(cache);
+        exportExamples(encoded.in(MetricRegistry.APPLICATION_SCOPE));
+        assertEquals(expected.toString(), new String(encoded.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void timerOutputMatchesSpecificationExample() throws Exception {
+        EncodedOpenMetricsExporter encoded = new EncodedOpenMetricsExporter(cache);
+        exportTimer(encoded.in(MetricRegistry.APPLICATION_SCOPE));
+        String expected = new String(readAllBytes(Paths.get(getClass().getResource("/examples/Timer.txt").toURI())));
+        assertEquals(expected, new String(encoded.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void encodedPartsAreReusedBetweenScrapes() throws IOException {
+        EncodedOpenMetricsExporter first = new EncodedOpenMetricsExporter(cache);
+        exportExamples(first.in(MetricRegistry.APPLICATION_SCOPE));
+        int cached = cache.size();
+        cache.evictUnused();
+        EncodedOpenMetricsExporter second = new EncodedOpenMetricsExporter(cache);
+        exportExamples(second.in(MetricRegistry.APPLICATION_SCOPE));
+        assertEquals(cached, cache.size());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        second.writeTo(out);
+        assertEquals(new String(first.toByteArray(), UTF_8), out.toString(UTF_8.name()));
+    }
+
+    @Test
+    public void partsOfRemovedMetricsAreEvicted() {
+        exportExamples(new EncodedOpenMetricsExporter(cache).in(MetricRegistry.APPLICATION_SCOPE));
+        cache.evictUnused();
+        EncodedOpenMetricsExporter exporter = new EncodedOpenMetricsExporter(cache);
+        exportCounter(exporter.in(MetricRegistry.APPLICATION_SCOPE));
+        cache.evictUnused();
+        int counterParts = cache.size();
+        cache.evictUnused();
+        assertEquals(0, cache.size());
+        exportCounter(new EncodedOpenMetricsExporter(cache).in(MetricRegistry.APPLICATION_SCOPE));
+        assertEquals(counterParts, cache.size());
+    }
+
+    private static void exportExamples(MetricExporter exporter) {
+        exportCounter(exporter);
+        Gauge<Long> gauge = () -> 12345L;
+        MetricID gaugeID = new MetricID("fooVal", new Tag("store", "webshop"));
+        exporter.export(gaugeID, gauge, Metadata.builder()
+                .withName(gaugeID.getName())
+                .withDescription("The average duration of foo requests during last 5 minutes")
+                .withUnit(MetricUnits.MILLISECONDS)
+                .build());
+        Counter escaped = mock(Counter.class);
+        when(escaped.getCount()).thenReturn(13L);
+        MetricID escapedID = new MetricID("test5", new Tag("key", "escape\\and\"and\n"));
+        exporter.export(escapedID, escaped, Metadata.builder().withName(escapedID.getName()).build());
+        exportTimer(exporter);
+    }
+
+    private static void exportCounter(MetricExporter exporter) {
+        Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(80L);
+        MetricID metricID = new MetricID("visitors");
+        exporter.export(metricID, counter, Metadata.builder()
+                .withName(metricID.getName())
+                .withDescription("The number of unique visitors")
+                .build());
+    }
+
+    private static void exportTimer(MetricExporter exporter) {
+        Timer timer = mock(Timer.class);
+        when(timer.getElapsedTime()).thenReturn(Duration.ofMillis(23L));
+        when(timer.getCount()).thenReturn(80L);
+        Snapshot snapshot = mock(Snapshot.class);
+        when(timer.getSnapshot()).thenReturn(snapshot);
+        when(snapshot.getMean()).thenReturn(415041d);
+        double[] percentiles = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+        Snapshot.PercentileValue[] percentileValues = new Snapshot.PercentileValue[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            percentileValues[i] = new Snapshot.PercentileValue(percentiles[i], 0);
+        }
+        when(snapshot.percentileValues()).thenReturn(percentileValues);
+        MetricID metricID = new MetricID("response_time");
+        exporter.export(metricID, timer, Metadata.builder()
+                .withName(metricID.getName())
+                .withDescription("Server response time for /index.html")
+                .withUnit(MetricUnits.NANOSECONDS)
+                .build());
+    }
+}
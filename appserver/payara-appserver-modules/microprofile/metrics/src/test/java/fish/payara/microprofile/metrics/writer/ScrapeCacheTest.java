@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.microprofile.metrics.writer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests the sharing of outputs by the {@link ScrapeCache}.
+ */
+public class ScrapeCacheTest {
+
+    private final ScrapeCache cache = new ScrapeCache();
+    private final AtomicInteger scrapes = new AtomicInteger();
+
+    private byte[] scrape() {
+        return new byte[] { (byte) scrapes.incrementAndGet() };
+    }
+
+    @Test
+    public void outputIsNotSharedWithoutWindow() throws IOException {
+        assertNotSame(cache.get("/", 0, this::scrape), cache.get("/", 0, this::scrape));
+        assertEquals(2, scrapes.get());
+    }
+
+    @Test
+    public void outputIsSharedWithinWindow() throws IOException {
+        byte[] first = cache.get("/", 60_000, this::scrape);
+        assertSame(first, cache.get("/", 60_000, this::scrape));
+        assertNotSame(first, cache.get("base/", 60_000, this::scrape));
+        assertEquals(2, scrapes.get());
+    }
+
+    @Test
+    public void outputIsNotSharedAfterWindow() throws Exception {
+        byte[] first = cache.get("/", 1, this::scrape);
+        Thread.sleep(5);
+        assertNotSame(first, cache.get("/", 1, this::scrape));
+    }
+
+    @Test
+    public void failedScrapeIsNotShared() throws IOException {
+        try {
+            cache.get("/", 60_000, () -> { throw new IOException("test"); });
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            assertEquals("test", ex.getMessage());
+        }
+        assertArrayEquals(new byte[] { 1 }, cache.get("/", 60_000, this::scrape));
+    }
+
+    @Test
+    public void concurrentScrapersShareOneScrape() throws Exception {
+        CountDownLatch producing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread owner = new Thread(() -> {
+            try {
+                cache.get("/", 60_000, () -> {
+                    producing.countDown();
+                    release.await();
+                    return scrape();
+                });
+            } catch (IOException ex) {
+                throw new AssertionError(ex);
+            }
+        });
+        owner.start();
+        producing.await();
+        byte[][] shared = new byte[1][];
+        Thread waiter = new Thread(() -> {
+            try {
+                shared[0] = cache.get("/", 60_000, this::scrape);
+            } catch (IOException ex) {
+                throw new AssertionError(ex);
+            }
+        });
+        waiter.start();
+        release.countDown();
+        owner.join();
+        waiter.join();
+        assertEquals(1, scrapes.get());
+        assertArrayEquals(new byte[] { 1 }, shared[0]);
+    }
+}
@@ -133,7 +133,10 @@ public final class JDBCRealm extends DigestRealmBase {
     private Vector<String> emptyVector;
     private String passwordQuery;
     private String groupQuery;
-    private MessageDigest messageDigest;
+    /**
+     * Digest instances are not thread safe, each request thread gets its own one rather than sharing a lock
+     */
+    private ThreadLocal<MessageDigest> messageDigest;
 
     private ActiveDescriptor<ConnectorRuntime> connectorRuntimeDescriptor;
 
@@ -191,10 +194,17 @@ public final class JDBCRealm extends DigestRealmBase {
 
         if (!NONE.equalsIgnoreCase(digestAlgorithm)) {
             try {
-                messageDigest = MessageDigest.getInstance(digestAlgorithm);
+                MessageDigest.getInstance(digestAlgorithm);
             } catch (NoSuchAlgorithmException e) {
                 throw new BadRealmException(sm.getString("jdbcrealm.notsupportdigestalg", digestAlgorithm));
             }
+            messageDigest = ThreadLocal.withInitial(() -> {
+                try {
+                    return MessageDigest.getInstance(digestAlgorithm);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
         }
 
         final String encoding;
@@ -437,10 +447,9 @@ public final class JDBCRealm extends DigestRealmBase {
         bytes = Utility.convertCharArrayToByteArray(password, charSet);
 
         if (messageDigest != null) {
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                bytes = messageDigest.digest(bytes);
-            }
+            MessageDigest digest = messageDigest.get();
+            digest.reset();
+            bytes = digest.digest(bytes);
         }
 
         String encoding = getProperty(PARAM_ENCODING);
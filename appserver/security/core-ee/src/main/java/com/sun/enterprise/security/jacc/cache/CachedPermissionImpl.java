@@ -81,14 +81,22 @@ public class CachedPermissionImpl implements CachedPermission {
 
     // used to hold last result obtained from cache and cache epoch.
     // epoch is used by PermissionCache to determine when result is out of date.
+    // both are kept in one volatile field so that a result is never read with the epoch of another result.
     static class Epoch {
 
-        int epoch;
-        boolean granted;
+        private volatile long decision;
 
-        Epoch() {
-            this.epoch = 0;
-            this.granted = false;
+        // returns null when the last result is not from the given epoch
+        Boolean granted(int epoch) {
+            long current = decision;
+            if ((int) (current >>> 1) != epoch) {
+                return null;
+            }
+            return (current & 1L) != 0L;
+        }
+
+        void set(int epoch, boolean granted) {
+            decision = ((long) epoch << 1) | (granted ? 1L : 0L);
         }
     }
 
@@ -51,9 +51,10 @@ import java.security.Permissions;
 import java.security.Policy;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Logger;
 
 import jakarta.security.jacc.PolicyContext;
@@ -73,19 +74,24 @@ public class PermissionCache extends Object {
     private static Policy policy = Policy.getPolicy();
     private static AllPermission allPermission = new AllPermission();
 
-    private Permissions cache;
+    /**
+     * Upper bound of the decisions remembered per epoch, beyond it further permissions are checked against the cached
+     * permissions each time
+     */
+    private static final int MAX_DECISIONS = 1024;
+
+    private static final AtomicReferenceFieldUpdater<PermissionCache, State> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(PermissionCache.class, State.class, "state");
+
     private CodeSource codesource;
     private Permission[] protoPerms;
     private Class<? extends Permission>[] classes;
     private String name;
     private String pcID;
     private final Integer factoryKey;
-    private volatile int epoch;
-    private volatile boolean loading;
-    private ReadWriteLock rwLock;
-    private Lock rLock;
-    private Lock wLock;
-   
+    private volatile State state;
+    private final AtomicBoolean loading;
+
 
     /*
      * @param key - Integer that uniquely identifies the cache at the factory
@@ -111,7 +117,6 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = perms;
         if (perms != null && perms.length > 0) {
@@ -123,11 +128,8 @@ public class PermissionCache extends Object {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
+        this.state = new State(1, null, null);
+        this.loading = new AtomicBoolean();
     }
     
     /*
@@ -156,7 +158,6 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = null;
         if (clazz != null) {
@@ -165,81 +166,90 @@ public class PermissionCache extends Object {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
+        this.state = new State(1, null, null);
+        this.loading = new AtomicBoolean();
     }
 
     public Integer getFactoryKey() {
         return factoryKey;
     }
 
-    private boolean checkLoadedCache(Permission permission, Epoch e) {
+    private boolean checkLoadedCache(State current, Permission permission, Epoch e) {
         if (e == null) {
-            return cache.implies(permission);
+            return decide(current, permission);
         }
-        
-        if (e.epoch != epoch) {
-            e.granted = cache.implies(permission);
-            e.epoch = epoch;
+
+        Boolean granted = e.granted(current.epoch);
+        if (granted == null) {
+            granted = decide(current, permission);
+            e.set(current.epoch, granted);
         }
-        
-        return e.granted;
+
+        return granted;
+    }
+
+    /**
+     * Looks the decision up in the decisions of the current epoch, or checks the cached permissions and publishes a
+     * copy of the decisions including the new one. Readers never wait, a copy lost to a concurrent update or reset is
+     * simply dropped.
+     */
+    private boolean decide(State current, Permission permission) {
+        Boolean granted = current.decisions.get(permission);
+        if (granted != null) {
+            return granted;
+        }
+
+        granted = current.permissions.implies(permission);
+        if (current.decisions.size() < MAX_DECISIONS) {
+            Map<Permission, Boolean> decisions = new HashMap<>(current.decisions);
+            decisions.put(permission, granted);
+            STATE.compareAndSet(this, current, new State(current.epoch, current.permissions, decisions));
+        }
+
+        return granted;
     }
 
     private boolean checkCache(Permission permissionToCheck, Epoch epoch) {
+        State current = state;
+        if (current.permissions != null) {
+            // Cache is loaded, check permission and return.
+            return checkLoadedCache(current, permissionToCheck, epoch);
+        }
+
+        if (!loading.compareAndSet(false, true)) {
+            // Another thread is loading the cache, bypass it until it is loaded
+            return false;
+        }
 
-        // Test-and-set to guard critical section
-        rLock.lock();
         try {
-            if (loading) {
-                return false;
+            current = state;
+            if (current.permissions != null) {
+                // another thread loaded the cache
+                return checkLoadedCache(current, permissionToCheck, epoch);
             }
-            
-            if (cache != null) {
-                // Cache is loaded and read lock is held.
-                // Check permission and return.
-                return checkLoadedCache(permissionToCheck, epoch);
+
+            Permissions nextCache = loadPermissions(permissionToCheck);
+            if (nextCache == null) {
+                return false;
             }
-        } finally {
-            rLock.unlock();
-        }
 
-        wLock.lock();
-        if (loading) {
-            // Another thread started the load
-            // release the writelock and return
-            wLock.unlock();
-            return false;
-        }
-        
-        if (cache != null) {
-            // another thread loaded the cache
-            // get readlock inside writelock.
-            // check permission and return
-            rLock.lock();
-            wLock.unlock();
-            try {
-                // cache is loaded and readlock is held
-                // check permission and return
-                return checkLoadedCache(permissionToCheck, epoch);
-            } finally {
-                rLock.unlock();
+            // a reset while loading starts a new epoch, the permissions loaded here are then not published
+            State loaded = new State(current.epoch, nextCache, null);
+            if (!STATE.compareAndSet(this, current, loaded)) {
+                return nextCache.implies(permissionToCheck);
             }
+            return checkLoadedCache(loaded, permissionToCheck, epoch);
+        } finally {
+            loading.set(false);
         }
-        
-        // Set the load indicators so that readers will bypass the cache until it is loaded
-        // release the writelock and return
-        cache = null;
-        loading = true;
-        wLock.unlock();
-        
-
-        // cache will be null if we proceed past this point
-        // NO LOCKS ARE HELD AT THIS POINT
+    }
 
+    /**
+     * Loads the permissions managed by this cache from the policy.
+     *
+     * @return the permissions, or null if they could not be loaded
+     */
+    private Permissions loadPermissions(Permission permissionToCheck) {
         Permissions nextCache = new Permissions();
 
         boolean setPc = false;
@@ -251,7 +261,7 @@ public class PermissionCache extends Object {
             }
         } catch (Exception ex) {
             _logger.log(SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         }
 
         PermissionCollection pc = null;
@@ -263,14 +273,14 @@ public class PermissionCache extends Object {
             pc = policy.getPermissions(codesource);
         } catch (Exception ex) {
             _logger.log(SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         } finally {
             if (setPc) {
                 try {
                     setPolicyContextID(oldpcID);
                 } catch (Exception ex) {
                     _logger.log(SEVERE, "JACC: Unexpected security exception on access decision", ex);
-                    return false;
+                    return null;
                 }
             }
         }
@@ -308,20 +318,7 @@ public class PermissionCache extends Object {
             }
         }
 
-        // Get the writelock to mark cache as loaded
-        wLock.lock();
-        cache = nextCache;
-        loading = false;
-        try {
-            // Get readlock inside writelock.
-            rLock.lock();
-            wLock.unlock();
-            // cache is loaded and readlock is held
-            // check permission and return
-            return checkLoadedCache(permissionToCheck, epoch);
-        } finally {
-            rLock.unlock();
-        }
+        return nextCache;
     }
 
     boolean checkPermission(Permission permission, Epoch e) {
@@ -332,18 +329,17 @@ public class PermissionCache extends Object {
         return checkCache(permission, null);
     }
 
-    public synchronized void reset() {
-        wLock.lock();
-        try {
-            if (cache != null) {
-                // since cache is non-null, we know we are NOT loading
-                // setting cache to null will force a (re)load
-                cache = null;
-                epoch = (epoch + 1 == 0) ? 1 : epoch + 1;
-            }
-        } finally {
-            wLock.unlock();
-        }
+    public void reset() {
+        State current;
+        do {
+            // setting the permissions to null forces a (re)load,
+            // a new epoch invalidates the decisions remembered by cached permissions
+            current = state;
+        } while (!STATE.compareAndSet(this, current, new State(nextEpoch(current.epoch), null, null)));
+    }
+
+    private static int nextEpoch(int epoch) {
+        return (epoch + 1 == 0) ? 1 : epoch + 1;
     }
 
     private void setPolicyContextID(final String newID) throws PrivilegedActionException {
@@ -368,4 +364,21 @@ public class PermissionCache extends Object {
             permissionCollection.implies(permission);
         }
     }
+
+    /**
+     * Immutable state of the cache, replaced as a whole when permissions are loaded, decisions are added or the cache
+     * is reset.
+     */
+    private static final class State {
+
+        final int epoch;
+        final Permissions permissions;
+        final Map<Permission, Boolean> decisions;
+
+        State(int epoch, Permissions permissions, Map<Permission, Boolean> decisions) {
+            this.epoch = epoch;
+            this.permissions = permissions;
+            this.decisions = decisions == null ? new HashMap<>() : decisions;
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.security.jacc.cache;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PropertyPermission;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the decisions of a {@link PermissionCache} and of {@link CachedPermission}s, also when the cache is checked
+ * by many threads and reset concurrently.
+ */
+public class PermissionCacheTest {
+
+    private static final int THREADS = 8;
+    private static final int CHECKS_PER_THREAD = 2000;
+
+    // granted to all code by the default policy of the JDK
+    private static final Permission GRANTED = new PropertyPermission("java.version", "read");
+    private static final Permission DENIED = new PropertyPermission("java.version", "write");
+
+    private final PermissionCache cache = new PermissionCache(1, null, null, new Permission[] { GRANTED }, null);
+
+    @Test
+    public void checkPermission() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(cache.checkPermission(GRANTED));
+            assertFalse(cache.checkPermission(DENIED));
+        }
+    }
+
+    @Test
+    public void checkPermissionAfterReset() {
+        assertTrue(cache.checkPermission(GRANTED));
+        cache.reset();
+        assertTrue(cache.checkPermission(GRANTED));
+        assertFalse(cache.checkPermission(DENIED));
+    }
+
+    @Test
+    public void cachedPermissionAfterReset() {
+        CachedPermission granted = new CachedPermissionImpl(cache, GRANTED);
+        CachedPermission denied = new CachedPermissionImpl(cache, DENIED);
+        assertTrue(granted.checkPermission());
+        assertFalse(denied.checkPermission());
+        cache.reset();
+        assertTrue(granted.checkPermission());
+        assertFalse(denied.checkPermission());
+    }
+
+    @Test
+    public void permissionsBeyondRememberedDecisions() {
+        for (int i = 0; i < 2000; i++) {
+            assertFalse(cache.checkPermission(new PropertyPermission("property." + i, "read")));
+        }
+        assertTrue(cache.checkPermission(GRANTED));
+        assertFalse(cache.checkPermission(DENIED));
+    }
+
+    @Test
+    public void concurrentChecks() throws Exception {
+        assertTrue(cache.checkPermission(GRANTED));
+        checkConcurrently(false);
+        assertTrue(cache.checkPermission(GRANTED));
+    }
+
+    @Test
+    public void concurrentChecksWhileResetting() throws Exception {
+        assertTrue(cache.checkPermission(GRANTED));
+        checkConcurrently(true);
+        assertTrue(cache.checkPermission(GRANTED));
+    }
+
+    private void checkConcurrently(boolean resetting) throws Exception {
+        CachedPermission granted = new CachedPermissionImpl(cache, GRANTED);
+        CachedPermission denied = new CachedPermissionImpl(cache, DENIED);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int j = 0; j < CHECKS_PER_THREAD; j++) {
+                        assertFalse(cache.checkPermission(DENIED));
+                        assertFalse(denied.checkPermission());
+                        // a cache which is being reloaded is bypassed and grants nothing
+                        if (!resetting) {
+                            assertTrue(cache.checkPermission(GRANTED));
+                            assertTrue(granted.checkPermission());
+                        } else {
+                            cache.checkPermission(GRANTED);
+                            granted.checkPermission();
+                        }
+                    }
+                }));
+            }
+            if (resetting) {
+                workers.add(executor.submit(() -> {
+                    for (int j = 0; j < CHECKS_PER_THREAD; j++) {
+                        cache.reset();
+                        Thread.yield();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -55,7 +55,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -138,7 +137,7 @@ public final class JavaEETransactionImpl implements Runnable, JavaEETransaction
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    private ScheduledFuture<?> scheduledTimeoutFuture;
+    private TransactionTimeoutWheel.Timeout scheduledTimeout;
 
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
@@ -166,8 +165,8 @@ public final class JavaEETransactionImpl implements Runnable, JavaEETransaction
         imported = true;
     }
 
-    void setScheduledTimeoutFuture(ScheduledFuture<?> scheduledTimeoutFuture) {
-        this.scheduledTimeoutFuture = scheduledTimeoutFuture;
+    void setScheduledTimeout(TransactionTimeoutWheel.Timeout scheduledTimeout) {
+        this.scheduledTimeout = scheduledTimeout;
     }
 
     // START: local transaction timeout
@@ -205,11 +204,9 @@ public final class JavaEETransactionImpl implements Runnable, JavaEETransaction
     }
 
     private void cancel() {
-        if (scheduledTimeoutFuture != null) {
-            if(!scheduledTimeoutFuture.isCancelled() && !scheduledTimeoutFuture.isDone()) {
-                scheduledTimeoutFuture.cancel(false);
-            }
-            scheduledTimeoutFuture = null;
+        if (scheduledTimeout != null) {
+            scheduledTimeout.cancel();
+            scheduledTimeout = null;
         }
     }
 
@@ -90,7 +90,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -145,7 +144,7 @@ public class JavaEETransactionManagerSimplified
 
     // admin and monitoring related parameters
     private  static final Map<Integer, String> statusMap = new HashMap<>();
-    private final List<Transaction> activeTransactions = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
     private ScheduledFuture<?> statisticsMonitoringFuture;
 
@@ -156,9 +155,13 @@ public class JavaEETransactionManagerSimplified
 
     private final ScheduledThreadPoolExecutor scheduledTransactionManagerExecutor;
 
-    private final AtomicLong scheduledTransactionTimeouts = new AtomicLong(0);
-    private volatile long scheduledTransactionTimeoutsAtLastPurge = 0;
-    private ScheduledFuture<?> purgeScheduledTransactionsFuture;
+    /**
+     * Resolution of the transaction timeouts.
+     */
+    private static final long TIMEOUT_TICK_MILLIS = 100;
+
+    private final Object timeoutWheelLock = new Object();
+    private volatile TransactionTimeoutWheel timeoutWheel;
 
     static {
         statusMap.put(Status.STATUS_ACTIVE, "Active");
@@ -182,19 +185,28 @@ public class JavaEETransactionManagerSimplified
         scheduledTransactionManagerExecutor = new ScheduledThreadPoolExecutor(
             Math.min(Runtime.getRuntime().availableProcessors(), 3)
         );
-        if (getPurgeCancelledTtransactionsAfter() > 0) {
-            purgeScheduledTransactionsFuture = scheduledTransactionManagerExecutor.scheduleAtFixedRate(
-                    this::purgeCancelledTransactionTimeouts, 5, 5, TimeUnit.SECONDS
-            );
-        }
     }
 
-    private void purgeCancelledTransactionTimeouts() {
-        long currentTransactionTimeouts = scheduledTransactionTimeouts.get();
-        if(currentTransactionTimeouts - scheduledTransactionTimeoutsAtLastPurge >= getPurgeCancelledTtransactionsAfter()) {
-            scheduledTransactionTimeoutsAtLastPurge = currentTransactionTimeouts;
-            scheduledTransactionManagerExecutor.purge();
+    private TransactionTimeoutWheel getTimeoutWheel() {
+        TransactionTimeoutWheel wheel = timeoutWheel;
+        if (wheel == null) {
+            synchronized (timeoutWheelLock) {
+                wheel = timeoutWheel;
+                if (wheel == null) {
+                    wheel = new TransactionTimeoutWheel("Transaction Timeout", TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+                    timeoutWheel = wheel;
+                }
+            }
         }
+        return wheel;
+    }
+
+    /**
+     * @return the number of transaction timeouts which neither expired nor were cancelled
+     */
+    int getPendingTimeouts() {
+        TransactionTimeoutWheel wheel = timeoutWheel;
+        return wheel == null ? 0 : wheel.size();
     }
 
     @Override
@@ -354,8 +366,10 @@ public class JavaEETransactionManagerSimplified
         if (statisticsMonitoringFuture != null) {
             statisticsMonitoringFuture.cancel(false);
         }
-        if (purgeScheduledTransactionsFuture != null) {
-            purgeScheduledTransactionsFuture.cancel(false);
+        synchronized (timeoutWheelLock) {
+            if (timeoutWheel != null) {
+                timeoutWheel.stop();
+            }
         }
         scheduledTransactionManagerExecutor.shutdown();
     }
@@ -668,9 +682,7 @@ public class JavaEETransactionManagerSimplified
         // Do not need to use injection.
         if (timeout > 0) {
             tx = new JavaEETransactionImpl(timeout, this);
-            ScheduledFuture<?> scheduledFuture = scheduledTransactionManagerExecutor.schedule(tx, timeout, TimeUnit.SECONDS);
-            tx.setScheduledTimeoutFuture(scheduledFuture);
-            scheduledTransactionTimeouts.incrementAndGet();
+            tx.setScheduledTimeout(getTimeoutWheel().schedule(tx, timeout, TimeUnit.SECONDS));
         } else {
             tx = new JavaEETransactionImpl(this);
         }
@@ -1166,7 +1178,8 @@ public class JavaEETransactionManagerSimplified
 
     /**
      * Modify the value to be used to purge transaction tasks after the
-     * specified number of cancelled tasks.
+     * specified number of cancelled tasks. Cancelled transaction timeouts are
+     * removed from the timeout wheel right away, so the value is not used.
      */
     @Override
     public void setPurgeCancelledTtransactionsAfter(int num) {
@@ -0,0 +1,338 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.transaction;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel for transaction timeouts, used by both the JTA transaction manager and the JTS timeout
+ * manager.
+ * <p>
+ * Scheduling and cancelling a timeout are constant time and do not take a lock: both hand the timeout to the wheel
+ * thread through a queue, which places it in the bucket of its deadline tick or unlinks it from its bucket. Every tick
+ * the wheel thread only visits the bucket of that tick, instead of scanning all timeouts. Timeouts further away than
+ * the lowest wheel are kept in coarser wheels and cascade down as their deadline approaches.
+ * <p>
+ * Expired tasks run on the wheel thread and should be short.
+ */
+public final class TransactionTimeoutWheel {
+
+    private static final Logger LOGGER = LogDomains.getLogger(TransactionTimeoutWheel.class, LogDomains.JTA_LOGGER);
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Timeouts further away are placed at this distance and placed again when they cascade.
+     */
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * (LEVELS - 1))) * WHEEL_MASK;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final long startTime = System.nanoTime();
+    private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Thread worker;
+
+    private volatile boolean stopped;
+
+    /**
+     * Only accessed by the wheel thread.
+     */
+    private long currentTick;
+
+    /**
+     * Creates the wheel and starts its thread.
+     *
+     * @param name the name of the wheel thread
+     * @param tick the resolution of the wheel, timeouts expire up to one tick late
+     * @param unit the unit of the tick
+     */
+    public TransactionTimeoutWheel(String name, long tick, TimeUnit unit) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        tickNanos = unit.toNanos(tick);
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        // do not hold on to the class loader of whoever happens to create the wheel
+        worker.setContextClassLoader(TransactionTimeoutWheel.class.getClassLoader());
+        worker.start();
+    }
+
+    /**
+     * Schedules the task to run once the delay has passed, unless the returned timeout is cancelled before.
+     *
+     * @param task the task to run on expiry
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return the timeout which can be cancelled
+     * @throws RejectedExecutionException if the wheel has been stopped
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new RejectedExecutionException("Transaction timeout wheel is stopped");
+        }
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        Timeout timeout = new Timeout(task, (deadline + tickNanos - 1) / tickNanos);
+        size.incrementAndGet();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts which neither expired nor were cancelled
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops the wheel thread, pending timeouts do not expire anymore.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (!stopped) {
+            long targetTick = (System.nanoTime() - startTime) / tickNanos;
+            transferCancelled();
+            transferScheduled();
+            while (currentTick < targetTick && !stopped) {
+                currentTick++;
+                cascade();
+                expireBucket(wheels[0][(int) currentTick & WHEEL_MASK]);
+            }
+            long nextTickTime = startTime + (currentTick + 1) * tickNanos;
+            LockSupport.parkNanos(this, nextTickTime - System.nanoTime());
+        }
+    }
+
+    private void transferCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == PENDING) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * Places the timeout in the lowest wheel whose span from the current tick covers its deadline.
+     */
+    private void place(Timeout timeout) {
+        long ticks = timeout.deadlineTick - currentTick;
+        if (ticks <= 0) {
+            timeout.expire();
+            return;
+        }
+        long target = ticks > MAX_TICKS ? currentTick + MAX_TICKS : timeout.deadlineTick;
+        int level = 0;
+        while (level < LEVELS - 1
+                && (target >>> (WHEEL_BITS * (level + 1))) != (currentTick >>> (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) (target >>> (WHEEL_BITS * level)) & WHEEL_MASK].add(timeout);
+    }
+
+    /**
+     * Moves the timeouts of the coarser wheels whose bucket starts at the current tick down to the finer wheels,
+     * starting with the coarsest so that the timeouts can cascade through several wheels in one tick.
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                Bucket bucket = wheels[level][(int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK];
+                Timeout timeout;
+                while ((timeout = bucket.poll()) != null) {
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    private void expireBucket(Bucket bucket) {
+        Timeout timeout;
+        while ((timeout = bucket.poll()) != null) {
+            if (timeout.deadlineTick > currentTick) {
+                place(timeout);
+            } else {
+                timeout.expire();
+            }
+        }
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // bucket list, only accessed by the wheel thread
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return true if the timeout was cancelled, false if it expired or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            size.decrementAndGet();
+            cancelled.offer(this);
+            return true;
+        }
+
+        /**
+         * @return true if the task has been run
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * @return true if the timeout was cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            size.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Transaction timeout task failed", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of one tick range, for constant time removal of cancelled timeouts.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -46,8 +46,11 @@ import com.sun.enterprise.transaction.api.TransactionAdminBean;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
 import org.glassfish.external.statistics.StringStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
 import org.glassfish.external.statistics.impl.StringStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
@@ -87,6 +90,21 @@ public class TransactionServiceStatsProvider {
     private StringStatisticImpl state = new StringStatisticImpl("State", "String",
                 "Indicates if the transaction service has been frozen.");
 
+    private CountStatisticImpl logForceCount = new CountStatisticImpl("LogForceCount", "count",
+            "Provides the number of times group commit forced the transaction log.");
+
+    private RangeStatisticImpl logForceBatchSize = new RangeStatisticImpl(0, 0, 0,
+            "LogForceBatchSize", StatisticImpl.UNIT_COUNT,
+            "Provides the number of transactions committed by the last force of the transaction log "
+            + "by group commit, and the largest and smallest number.",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
+    private RangeStatisticImpl logForceTime = new RangeStatisticImpl(0, 0, 0,
+            "LogForceTime", StatisticImpl.UNIT_MICROSECOND,
+            "Provides the time the last force of the transaction log by group commit took, "
+            + "and the longest and shortest time.",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
     private boolean isFrozen = false;
 
     private JavaEETransactionManager txMgr;
@@ -116,6 +134,24 @@ public class TransactionServiceStatsProvider {
         return rolledbackCount;
     }
 
+    @ManagedAttribute(id="logforcecount")
+    @Description( "Provides the number of times group commit forced the transaction log." )
+    public CountStatistic getLogForceCount() {
+        return logForceCount;
+    }
+
+    @ManagedAttribute(id="logforcebatchsize")
+    @Description( "Provides the number of transactions committed by a force of the transaction log." )
+    public RangeStatistic getLogForceBatchSize() {
+        return logForceBatchSize;
+    }
+
+    @ManagedAttribute(id="logforcetime")
+    @Description( "Provides the time a force of the transaction log took in microseconds." )
+    public RangeStatistic getLogForceTime() {
+        return logForceTime;
+    }
+
     @ManagedAttribute(id="state")
     @Description( "Indicates if the transaction service has been frozen." )
     public StringStatistic getState() {
@@ -218,6 +254,13 @@ public class TransactionServiceStatsProvider {
         isFrozen = b;
     }
 
+    @ProbeListener("glassfish:transaction:transaction-log:logforced")
+    public void logForcedEvent(@ProbeParam("batchSize") int batchSize, @ProbeParam("forceTime") long forceTime) {
+        logForceCount.increment();
+        logForceBatchSize.setCurrent(batchSize);
+        logForceTime.setCurrent(forceTime);
+    }
+
     private void appendColumn(StringBuilder buf, String text, int length) {
         buf.append(text);
         for (int i=text.length(); i<length; i++){
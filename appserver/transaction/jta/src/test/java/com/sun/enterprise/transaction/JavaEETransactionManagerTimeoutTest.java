@@ -0,0 +1,157 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Transaction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that the transaction manager schedules transaction timeouts on its timeout wheel and cancels them on
+ * completion.
+ */
+public class JavaEETransactionManagerTimeoutTest {
+
+    private JavaEETransactionManagerSimplified tm;
+
+    @Before
+    public void setUp() {
+        tm = new JavaEETransactionManagerSimplified();
+        JavaEETransactionManagerDelegate delegate = new JavaEETransactionManagerSimplifiedDelegate();
+        tm.setDelegate(delegate);
+        delegate.setTransactionManager(tm);
+    }
+
+    @After
+    public void tearDown() {
+        tm.shutdown();
+    }
+
+    @Test
+    public void beginWithoutTimeoutSchedulesNothing() throws Exception {
+        tm.begin();
+        assertEquals(0, tm.getPendingTimeouts());
+        tm.commit();
+        assertEquals(0, tm.getPendingTimeouts());
+    }
+
+    @Test
+    public void commitCancelsTimeout() throws Exception {
+        tm.begin(30);
+        assertEquals(1, tm.getPendingTimeouts());
+        tm.commit();
+        assertEquals(0, tm.getPendingTimeouts());
+    }
+
+    @Test
+    public void rollbackCancelsTimeout() throws Exception {
+        tm.begin(30);
+        assertEquals(1, tm.getPendingTimeouts());
+        tm.rollback();
+        assertEquals(0, tm.getPendingTimeouts());
+    }
+
+    @Test
+    public void concurrentTransactionsCancelAllTimeouts() throws Exception {
+        int threads = 8;
+        int transactionsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            Callable<Void> worker = () -> {
+                for (int i = 0; i < transactionsPerThread; i++) {
+                    tm.begin(30);
+                    tm.commit();
+                }
+                return null;
+            };
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<Void> future : futures) {
+                // rethrows any failure of the worker
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, tm.getPendingTimeouts());
+    }
+
+    @Test
+    public void timedOutTransactionRollsBack() throws Exception {
+        tm.begin(1);
+        Transaction tx = tm.getTransaction();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (tm.getStatus() != Status.STATUS_MARKED_ROLLBACK && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(Status.STATUS_MARKED_ROLLBACK, tm.getStatus());
+        assertTrue(((JavaEETransactionImpl) tx).isTimedOut());
+        assertEquals(0, tm.getPendingTimeouts());
+
+        try {
+            tm.commit();
+            fail("Commit of a timed out transaction has to roll back");
+        } catch (RollbackException expected) {
+            // expected
+        }
+        assertEquals(Status.STATUS_ROLLEDBACK, tx.getStatus());
+        assertNull(tm.getTransaction());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.transaction;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionTimeoutWheelTest {
+
+    private TransactionTimeoutWheel wheel;
+
+    @Before
+    public void setUp() {
+        wheel = new TransactionTimeoutWheel("Test Timeout", 1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    public void timeoutExpiresAfterDelay() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        TransactionTimeoutWheel.Timeout timeout = wheel.schedule(expired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionTimeoutWheel.Timeout cancelled = wheel.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        CountDownLatch expired = new CountDownLatch(1);
+        wheel.schedule(expired::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, wheel.size());
+        assertTrue(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(1, wheel.size());
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * 600 ticks do not fit in the lowest wheel of 256 ticks, so the timeouts have to cascade.
+     */
+    @Test
+    public void timeoutsCascadeInOrder() throws InterruptedException {
+        int count = 10;
+        CountDownLatch expired = new CountDownLatch(count);
+        long[] expiredAt = new long[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            wheel.schedule(() -> {
+                expiredAt[index] = System.nanoTime();
+                expired.countDown();
+            }, 300 + i * 60, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(expired.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertTrue(expiredAt[i] - start >= TimeUnit.MILLISECONDS.toNanos(300 + i * 60));
+            if (i > 0) {
+                assertTrue(expiredAt[i] > expiredAt[i - 1]);
+            }
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void stoppedWheelRejectsTimeouts() {
+        wheel.stop();
+        wheel.schedule(() -> { }, 1, TimeUnit.SECONDS);
+    }
+}
@@ -208,6 +208,36 @@ public class Configuration extends Object {
      */
     public final static String KEYPOINT_COUNT = "com.sun.jts.keypointCount"/*#Frozen*/;
 
+    /**The property key used to enable group commit of the transaction log.
+     * Forced log writes of concurrently committing transactions are then
+     * synchronised with the file system by a single force of the log files,
+     * instead of one synchronisation for every transaction.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommit</b></em>.
+     * <p>
+     * The default value for this property is false.
+     */
+    public final static String GROUP_COMMIT = "com.sun.jts.groupCommit";
+
+    /**The property key used to specify the number of transactions waiting for
+     * group commit which forces the log without waiting any longer.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommitMaxBatchSize</b></em>.
+     * <p>
+     * The default value for this property is 64.
+     */
+    public final static String GROUP_COMMIT_MAX_BATCH_SIZE = "com.sun.jts.groupCommitMaxBatchSize";
+
+    /**The property key used to specify the time in microseconds group commit
+     * waits for more transactions to join a force of the log. Transactions
+     * committing while the log is forced always join the next force.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommitMaxWait</b></em>.
+     * <p>
+     * The default value for this property is 0.
+     */
+    public final static String GROUP_COMMIT_MAX_WAIT = "com.sun.jts.groupCommitMaxWait";
+
     // Property to specify the instance name
     public final static String INSTANCE_NAME = "com.sun.jts.instancename"/*#Frozen*/;
 
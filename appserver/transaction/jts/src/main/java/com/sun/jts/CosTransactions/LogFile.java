@@ -149,21 +149,27 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
         // Write the record.
         // Set the result based on return code from log write.
+        // A forced record is synchronised by group commit outside of the lock,
+        // together with the records of other transactions.
 
         try {
-            LogLSN resultLSN = handle.writeRecord(record,recordType,
-                                                  (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
-            if( recordLSN != null )
-                recordLSN.copy(resultLSN);
+            synchronized( this ) {
+                LogLSN resultLSN = handle.writeRecord(record,recordType,
+                                                      (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
+                if( recordLSN != null )
+                    recordLSN.copy(resultLSN);
+            }
+            if( writeType == LogFile.FORCED )
+                handle.awaitForced();
         } catch( LogException le ) {
 			_logger.log(Level.SEVERE,"jts.log_error",le.toString());
 			 String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
@@ -66,6 +66,7 @@ package com.sun.jts.CosTransactions;
 
 import com.sun.enterprise.util.i18n.StringManager;
 import java.io.*;
+import java.nio.channels.ClosedChannelException;
 import org.glassfish.hk2.utilities.CleanerFactory;
 import java.sql.SQLException;
 
@@ -146,6 +147,13 @@ class LogFileHandle {
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Number of writes to the file without synchronising it with the file
+     * system, see {@link #fileWriteThrough()}, and the number of those writes
+     * known to be synchronised.
+     */
+    private volatile long writesThrough = 0;
+    private volatile long writesForced  = 0;
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -410,7 +418,7 @@ class LogFileHandle {
             // If buffered, then ensure that the buffer is stored and synced with the
             // file system.
 
-            if( bufferUpdateStart != -1 )
+            if( bufferUpdateStart != -1 || writesThrough != writesForced )
                 fileSync();
 
             // Close the file.
@@ -484,25 +492,96 @@ class LogFileHandle {
      */
     void fileSync() throws LogException {
 
-        // Synchronization is only done for buffered files which have been updated.
+        // Synchronization is only done for buffered files which have been updated,
+        // or written through without a sync.
         // Non-buffered files have every write synchronized with the file system.
 
+        long written = writesThrough;
+        if( bufferUpdateStart != -1 || written != writesForced )
+            try {
+                if( bufferUpdateStart != -1 ) {
+                    fhandle.seek(bufferUpdateStart);
+                    fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+                }
+                if (dsyncProp == null) {
+                    fd.sync();
+                    writesForced = written;
+                }
+
+                bufferUpdateStart = -1;
+                bufferUpdateEnd   = -1;
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_READ_FAILURE,1,
+                        sm.getString("jts.log_file_sync_failed"), e);
+            }
+
+    }
+
+    /**Writes the updated part of the buffer to the file without synchronising
+     * the file with the file system.
+     * <p>
+     * Used by group commit, where the file is synchronised by {@link #fileForce()}
+     * once for all records written by concurrent transactions.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The write failed
+     *
+     * @see
+     */
+    void fileWriteThrough() throws LogException {
+
         if( bufferUpdateStart != -1 )
             try {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
                 if (dsyncProp == null)
-                    fd.sync();
+                    writesThrough++;
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
             } catch (Throwable e) {
-                throw new LogException(LogException.LOG_READ_FAILURE,1,
-                        sm.getString("jts.log_file_sync_failed"), e);
+                throw new LogException(LogException.LOG_WRITE_FAILURE,1,
+                        sm.getString("jts.log_write_failed"), e);
             }
 
     }
 
+    /**Forces the data written through to the file to the storage device.
+     * <p>
+     * Unlike the other operations this may be called without holding the lock
+     * of the log, while other records are written. A file closed in the meantime
+     * has been synchronised by the close.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The force failed
+     *
+     * @see
+     */
+    void fileForce() throws LogException {
+
+        RandomAccessFile file = fhandle;
+        long written = writesThrough;
+        if( file == null || written == writesForced )
+            return;
+
+        try {
+            file.getChannel().force(true);
+            writesForced = written;
+        } catch( ClosedChannelException e ) {
+            // Closing the file synchronised it.
+        } catch( Throwable e ) {
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG,1,
+                    sm.getString("jts.log_file_sync_failed"), e);
+        }
+
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
@@ -0,0 +1,245 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.jts.CosTransactions;
+
+import com.sun.enterprise.util.i18n.StringManager;
+import com.sun.logging.LogDomains;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**Forces the records of concurrently committing transactions to the log with
+ * a single synchronisation of the log files.
+ * <p>
+ * Forced writes are written through to the extent files while holding the
+ * lock of the log and the files are registered here. The writers then wait
+ * outside of the lock for a flusher thread, which forces all registered files
+ * once for every writer that was waiting when the force started. Writers
+ * arriving during a force form the next batch.
+ *
+ * @see LogHandle#writeRecord
+ */
+class LogGroupCommit implements Runnable {
+
+    private static final StringManager sm = StringManager.getManager(LogGroupCommit.class);
+
+    static Logger _logger = LogDomains.getLogger(LogGroupCommit.class, LogDomains.TRANSACTION_LOGGER);
+
+    /**Default number of waiting writers which triggers a force without waiting
+     * for more writers.
+     */
+    static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    /**Default time in microseconds to wait for more writers to join a batch
+     * before forcing the log. No wait forces as soon as the previous force completes.
+     */
+    static final long DEFAULT_MAX_WAIT_MICROS = 0;
+
+    private static final LogProbeProvider probeProvider = new LogProbeProvider();
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final Set<LogFileHandle> writtenFiles = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writersWaiting = lock.newCondition();
+    private final Condition batchForced = lock.newCondition();
+
+    private Batch currentBatch = new Batch();
+    private boolean closed;
+
+    private final Thread flusher;
+
+    /**Creates the group commit for a log and starts its flusher thread.
+     *
+     * @param logName       The name of the log, used in the thread name.
+     * @param maxBatchSize  Number of waiting writers which triggers a force.
+     * @param maxWaitMicros Time to wait for a batch to fill up.
+     */
+    LogGroupCommit(String logName, int maxBatchSize, long maxWaitMicros) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxWaitMicros));
+        flusher = new Thread(this, "JTS Log Group Commit " + logName);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**Registers a file written through by a forced write, to be forced with the
+     * next batch.
+     *
+     * @param file The written file.
+     */
+    void register(LogFileHandle file) {
+        writtenFiles.add(file);
+    }
+
+    /**Waits until all files registered before the call are forced.
+     *
+     * @return false if the group commit is closed, the files are then
+     *         synchronised by closing the log rather than forced here.
+     *
+     * @exception LogException The force failed.
+     */
+    boolean awaitForced() throws LogException {
+        Batch batch;
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            batch = currentBatch;
+            batch.size++;
+            if (batch.size == 1 || batch.size >= maxBatchSize) {
+                writersWaiting.signal();
+            }
+            while (!batch.forced) {
+                batchForced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch.failure != null) {
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1,
+                    sm.getString("jts.log_file_sync_failed"), batch.failure);
+        }
+        return true;
+    }
+
+    /**Forces the pending batch, releases its writers and stops the flusher thread.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            writersWaiting.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**Forces the log once for every batch of waiting writers until closed.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            Batch batch = nextBatch();
+            if (batch == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            LogException failure = forceWrittenFiles();
+            long forceTime = System.nanoTime() - start;
+
+            lock.lock();
+            try {
+                batch.failure = failure;
+                batch.forced = true;
+                batchForced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            probeProvider.logForcedEvent(batch.size, TimeUnit.NANOSECONDS.toMicros(forceTime));
+        }
+    }
+
+    /**Waits for writers and hands over the current batch, or returns null once
+     * closed with no writer waiting.
+     */
+    private Batch nextBatch() {
+        lock.lock();
+        try {
+            while (currentBatch.size == 0) {
+                if (closed) {
+                    return null;
+                }
+                writersWaiting.awaitUninterruptibly();
+            }
+            long remaining = maxWaitNanos;
+            while (currentBatch.size < maxBatchSize && remaining > 0 && !closed) {
+                try {
+                    remaining = writersWaiting.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            Batch batch = currentBatch;
+            currentBatch = new Batch();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LogException forceWrittenFiles() {
+        LogException failure = null;
+        for (Iterator<LogFileHandle> files = writtenFiles.iterator(); files.hasNext();) {
+            LogFileHandle file = files.next();
+            // removed before the force, so a write after it registers the file again
+            files.remove();
+            try {
+                file.fileForce();
+            } catch (LogException e) {
+                _logger.log(Level.SEVERE, "jts.log_error", e.toString());
+                failure = e;
+            }
+        }
+        return failure;
+    }
+
+    /**The writers waiting for one force of the log.
+     */
+    private static final class Batch {
+        int size;
+        boolean forced;
+        LogException failure;
+    }
+}
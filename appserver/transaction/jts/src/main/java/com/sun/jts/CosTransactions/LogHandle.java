@@ -238,6 +238,7 @@ class LogHandle {
     LogFileHandle        logFileHandle = null;
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
+    LogGroupCommit       groupCommit = null;
 
 
     /**Creates a LogHandle object for the given log instance.
@@ -270,9 +271,34 @@ class LogHandle {
         cursors = new ArrayList();
         extentTable = new Hashtable(EXTENT_TABLE_SIZE);
 
+        // Forced writes of concurrent transactions are synchronised together if
+        // group commit is enabled. Writes synchronised by the file mode gain nothing.
+
+        if( LogFileHandle.dsyncProp == null && !control.logReadOnly &&
+            Boolean.parseBoolean(Configuration.getPropertyValue(Configuration.GROUP_COMMIT)) )
+            groupCommit = new LogGroupCommit(logName,
+                    getIntProperty(Configuration.GROUP_COMMIT_MAX_BATCH_SIZE,
+                                   LogGroupCommit.DEFAULT_MAX_BATCH_SIZE),
+                    getIntProperty(Configuration.GROUP_COMMIT_MAX_WAIT,
+                                   (int)LogGroupCommit.DEFAULT_MAX_WAIT_MICROS));
+
+    }
+
+    private static int getIntProperty( String name, int defaultValue ) {
+        String value = Configuration.getPropertyValue(name);
+        if( value != null )
+            try {
+                return Integer.parseInt(value.trim());
+            } catch( NumberFormatException e ) {}
+
+        return defaultValue;
     }
 
     /**Writes a record to the log.
+     * <p>
+     * With group commit a forced record is only written through to the extent
+     * file, the caller must wait for it to be forced with {@link #awaitForced()}
+     * after releasing the lock of the log.
      *
      * @param record      The log record.
      * @param recordType  The log record type.
@@ -565,7 +591,20 @@ class LogHandle {
         //       Set 'extent written' flag to FALSE
         //   ENDLOOP
 
-        if( writeMode == FORCE ) {
+        if( writeMode == FORCE && groupCommit != null ) {
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+
+                // The flag stays set, so that a force outside group commit still
+                // synchronises the extent.
+
+                if( nextEDP.writtenSinceLastForce ) {
+                    nextEDP.fileHandle.fileWriteThrough();
+                    groupCommit.register(nextEDP.fileHandle);
+                }
+            }
+        } else if( writeMode == FORCE ) {
             Enumeration extents = extentTable.elements();
             while( extents.hasMoreElements() ) {
                 LogExtent nextEDP = (LogExtent)extents.nextElement();
@@ -614,6 +653,29 @@ class LogHandle {
         return result;
     }
 
+    /**Waits until the records forced by the caller are synchronised with the
+     * file system by group commit. Returns immediately without group commit.
+     * <p>
+     * Must not be called while holding the lock of the log.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The force failed.
+     *
+     * @see
+     */
+    void awaitForced() throws LogException {
+        LogGroupCommit commit = groupCommit;
+        if( commit != null && !commit.awaitForced() ) {
+            // The log is being closed, closeFile synchronises the files while
+            // holding the lock, so wait for it to finish.
+            synchronized( this ) {
+            }
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
@@ -949,6 +1011,11 @@ class LogHandle {
 
         blockValid = null;
 
+        // Force the records of writers waiting for group commit.
+
+        if( groupCommit != null )
+            groupCommit.close();
+
         // LOOP for each of the 16 elements in the log file's extent hash table
 
         boolean forced = false;
@@ -63,8 +63,11 @@
 package com.sun.jts.CosTransactions;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.omg.CosTransactions.*;
+import com.sun.enterprise.transaction.TransactionTimeoutWheel;
 import com.sun.jts.jtsxa.XID;
 
 
@@ -73,8 +76,8 @@ import java.util.logging.Level;
 import com.sun.logging.LogDomains;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions, and schedules the
+ * timeouts on a timing wheel which times out transactions once they expire.
  *
  * @version 0.01
  *
@@ -104,12 +107,18 @@ class TimeoutManager {
      */
     private static boolean initialised = false;
 
-    private static Hashtable     pendingTimeouts = new Hashtable();
-    private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
+    private static final Map<Long, TimeoutInfo> pendingTimeouts = new ConcurrentHashMap<>();
+    private static final Map<Long, TimeoutInfo> indoubtTimeouts = new ConcurrentHashMap<>();
+    private static volatile TransactionTimeoutWheel timeoutWheel = null;
     private static boolean       timeoutActive = false;
+
+    /**
+     * The interval in milliseconds after which an expired transaction that
+     * is still around is timed out again.
+     */
+    private static long          retryInterval = 10000;
     private static boolean       quiescing = false;
-    private static boolean       isSetTimeout = false;
+    private static volatile boolean isSetTimeout = false;
 
 	/*
 		Logger to log transaction messages
@@ -134,11 +143,9 @@ class TimeoutManager {
 
         initialised = true;
 
-        // Start the timeout thread.
+        // The timing wheel is started with the first timeout.
 
-        if (!timeoutActive && timeoutThread == null) {
-           //  timeoutThread = new TimeoutThread();
-           //  timeoutThread.start();
+        if (!timeoutActive && timeoutWheel == null) {
             timeoutActive = true;
         }
     }
@@ -147,13 +154,24 @@ class TimeoutManager {
     static synchronized void initSetTimeout() {
 	if (isSetTimeout)
 	   return;
+
+        // The timeout interval used to be the period of the timeout scan,
+        // it is now the interval between timeouts of a transaction which
+        // does not complete.
+
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                retryInterval = Math.max(Integer.parseInt(timeout_interval) * 1000L, 10000L);
+            }
+        } catch (Exception e) {
+            retryInterval = 10000;
+        }
+
+        // the wheel thread sets its own context classloader
+
+        timeoutWheel = new TransactionTimeoutWheel("JTS Timeout Thread", 1, TimeUnit.SECONDS);
         isSetTimeout = true;
-        
-        // to prevent classloader explicitly set context classloader
-        
-        timeoutThread = new TimeoutThread();
-        timeoutThread.setContextClassLoader(timeoutThread.getClass().getClassLoader());
-        timeoutThread.start();
     }
 
     /**
@@ -194,10 +212,10 @@ class TimeoutManager {
                  }
                  timeoutInfo = new TimeoutInfo();
                  timeoutInfo.expireTime  =
-                    new Date().getTime() + seconds * 1000L;
+                    System.currentTimeMillis() + seconds * 1000L;
                  timeoutInfo.localTID    = localTID;
                  timeoutInfo.timeoutType = timeoutType;
-                 pendingTimeouts.put(localTID,timeoutInfo);
+                 schedule(pendingTimeouts, timeoutInfo, seconds * 1000L);
                  break;
             case TimeoutManager.IN_DOUBT_TIMEOUT :
 		 if (!isSetTimeout) {
@@ -206,10 +224,10 @@ class TimeoutManager {
                  }
                 timeoutInfo = new TimeoutInfo();
                 timeoutInfo.expireTime  =
-                    new Date().getTime() + seconds * 1000L;
+                    System.currentTimeMillis() + seconds * 1000L;
                 timeoutInfo.localTID    = localTID;
                 timeoutInfo.timeoutType = timeoutType;
-                indoubtTimeouts.put(localTID,timeoutInfo);
+                schedule(indoubtTimeouts, timeoutInfo, seconds * 1000L);
                 break;
 
             // For any other type, remove the timeout if there is one.
@@ -217,18 +235,20 @@ class TimeoutManager {
             default:
 		if (!isSetTimeout)
 		  break;
-                   result = (pendingTimeouts.remove(localTID) != null);
-		   if (!result)
-                      result = (indoubtTimeouts.remove(localTID) != null);
+                   timeoutInfo = pendingTimeouts.remove(localTID);
+		   if (timeoutInfo == null)
+                      timeoutInfo = indoubtTimeouts.remove(localTID);
+                   result = (timeoutInfo != null);
+                   if (result)
+                      timeoutInfo.cancel();
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
                     // deactivate timeout and stop the timeout thread.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        timeoutWheel.stop();
                         timeoutActive = false;
-                        // pendingTimeouts = null;
                     }
                 break;
             }
@@ -362,99 +382,62 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
+     * Schedules the timeout of a transaction, replacing any earlier timeout
+     * of the same type.
+     *
+     * @param timeouts     The timeouts of the type.
+     * @param timeoutInfo  The timeout.
+     * @param delay        The delay in milliseconds.
+     *
+     * @return
+     *
+     * @see
+     */
+    private static void schedule(Map<Long, TimeoutInfo> timeouts,
+                                 TimeoutInfo timeoutInfo, long delay) {
+        TimeoutInfo previous = timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        if (previous != null) {
+            previous.cancel();
+        }
+        timeoutInfo.timeout = timeoutWheel.schedule(
+                () -> expired(timeouts, timeoutInfo), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Times out the transaction when its timeout expires.
      * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
+     * We rely on the Coordinator calling removeCoordinator when it has
+     * finished, which removes the timeout. A transaction which is still
+     * around after the retry interval is timed out again.
      * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
+     * This runs on the timing wheel thread without holding any lock, so it
+     * cannot get deadlocked with addCoordinator or removeCoordinator that
+     * also update the timeouts.
      *
-     * @param
+     * @param timeouts     The timeouts of the type.
+     * @param timeoutInfo  The expired timeout.
      *
-     * @return  The information for transactions which have timed out.
+     * @return
      *
      * @see
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout)
-           return null;
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && ((pendingTimeouts.size() != 0) || (indoubtTimeouts.size() != 0))) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-          
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-	    synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-                }
+    private static void expired(Map<Long, TimeoutInfo> timeouts,
+                                TimeoutInfo timeoutInfo) {
+        if (timeouts.get(timeoutInfo.localTID) != timeoutInfo) {
+            return;
+        }
 
-            }
-            // Enumerate the transactions which have timed out.
+        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID,
+                                          timeoutInfo.timeoutType);
 
-            if (timedOut != null) {
-                result = timedOut.elements();
+        if (timeouts.get(timeoutInfo.localTID) == timeoutInfo && timeoutActive) {
+            try {
+                timeoutInfo.timeout = timeoutWheel.schedule(
+                        () -> expired(timeouts, timeoutInfo), retryInterval, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // the wheel has been stopped by shutdown
             }
-           }
-
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
-
-        return result;
+        }
     }
 
     /**
@@ -462,14 +445,9 @@ class TimeoutManager {
      */
     static XID[] getInDoubtXids() {
         
-       synchronized (indoubtTimeouts) {
         Vector inDoubtList = new Vector();
-        
-        Enumeration timeouts = indoubtTimeouts.elements();
-
-        while (timeouts.hasMoreElements()) {
 
-            TimeoutInfo timeoutInfo = (TimeoutInfo) timeouts.nextElement();
+        for (TimeoutInfo timeoutInfo : indoubtTimeouts.values()) {
 
             // Look up the Coordinator for the transaction.
             // If there is none, then the transaction has already gone.
@@ -486,7 +464,6 @@ class TimeoutManager {
         }
         
         return (XID[]) inDoubtList.toArray(new XID[] {});
-       }
     }
 
     /**
@@ -532,23 +509,18 @@ class TimeoutManager {
      */
     static void shutdown(boolean immediate) {
 
-        // For immediate, kill the timeout thread and throw
+        // For immediate, stop the timing wheel and throw
         // away all information. Also, if there are no pending
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
-        if (immediate ||
-                pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
-            }
-
-            if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
+        if (immediate || pendingTimeouts.isEmpty()) {
+            if (timeoutWheel != null) {
+                timeoutWheel.stop();
             }
 
-            pendingTimeouts = null;
-            timeoutThread = null;
+            pendingTimeouts.clear();
+            indoubtTimeouts.clear();
             timeoutActive = false;
         } else {
             quiescing = true;
@@ -620,106 +592,15 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- * @see
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
-    /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     * @param
-     *
-     * @return
-     *
-     * @see
-     */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/*#Frozen*/);
-        setDaemon(true);
-        try{
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if(timeout_interval!=null){
-                TIMEOUT_INTERVAL= Integer.parseInt(timeout_interval);
-		TIMEOUT_INTERVAL*=1000;
-                if(TIMEOUT_INTERVAL<10000)
-                    TIMEOUT_INTERVAL=10000;
-            }
-            else{
-                TIMEOUT_INTERVAL=10000;
-            }
-        }catch(Exception e){
-            TIMEOUT_INTERVAL=10000;
-        }
-    }
+    volatile TransactionTimeoutWheel.Timeout timeout = null;
 
     /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     * @param
-     *
-     * @return
-     *
-     * @see
+     * Cancels the scheduled timeout, if any.
      */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo =
-                            (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from 
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.
-                            timeoutCoordinator(timeoutInfo.localTID,
-                                               timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-			_logger.log(Level.INFO,"jts.time_out_thread_stopped");
+    void cancel() {
+        TransactionTimeoutWheel.Timeout t = timeout;
+        if (t != null) {
+            t.cancel();
         }
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogGroupCommitTest {
+
+    private static final int WRITERS = 16;
+    private static final int RECORD_SIZE = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private LogFileHandle handle;
+    private LogGroupCommit groupCommit;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.newFile();
+        handle = new LogFileHandle(file, LogFileHandle.OPEN_RDWR | LogFileHandle.OPEN_CREAT);
+        groupCommit = new LogGroupCommit("test", WRITERS, 0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        groupCommit.close();
+        handle.destroy();
+    }
+
+    @Test
+    public void writeThroughWritesBufferedRecordsToFile() throws Exception {
+        byte[] record = record(1);
+        handle.fileWrite(record);
+        assertEquals(0, file.length());
+
+        handle.fileWriteThrough();
+        assertArrayEquals(record, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void concurrentWritersAreReleasedOnceForced() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                byte[] record = record(i);
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    synchronized (handle) {
+                        handle.fileWrite(record);
+                        handle.fileWriteThrough();
+                        groupCommit.register(handle);
+                    }
+                    groupCommit.awaitForced();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(WRITERS * RECORD_SIZE, file.length());
+    }
+
+    @Test
+    public void closeReleasesWaitingWriters() throws Exception {
+        LogGroupCommit waitingCommit = new LogGroupCommit("waiting", WRITERS, TimeUnit.SECONDS.toMicros(30));
+        handle.fileWrite(record(1));
+        handle.fileWriteThrough();
+        waitingCommit.register(handle);
+
+        Thread writer = new Thread(() -> {
+            try {
+                waitingCommit.awaitForced();
+            } catch (LogException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        writer.join(200);
+        assertTrue("writer waits for the batch to fill up", writer.isAlive());
+
+        waitingCommit.close();
+        writer.join(10000);
+        assertFalse(writer.isAlive());
+        // no writer can wait once closed, the log synchronises the files itself
+        assertFalse(waitingCommit.awaitForced());
+    }
+
+    private static byte[] record(int value) throws IOException {
+        byte[] record = new byte[RECORD_SIZE];
+        record[0] = (byte) value;
+        record[RECORD_SIZE - 1] = (byte) value;
+        return record;
+    }
+}
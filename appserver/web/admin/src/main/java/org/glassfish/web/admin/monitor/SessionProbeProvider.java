@@ -74,6 +74,13 @@ public class SessionProbeProvider {
         @ProbeParam("appName") String appName,
         @ProbeParam("hostName") String hostName) {}
 
+    @Probe(name="sessionRatesEvent")
+    public void sessionRatesEvent(
+        @ProbeParam("createRate") int createRate,
+        @ProbeParam("expireRate") int expireRate,
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
     @Probe(name="sessionPersistedStartEvent")
     public void sessionPersistedStartEvent(
         @ProbeParam("sessionId") String sessionId,
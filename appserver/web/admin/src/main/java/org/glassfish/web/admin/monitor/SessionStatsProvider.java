@@ -82,6 +82,10 @@ public class SessionStatsProvider{
         "Total number of sessions ever passivated";
     private static final String ACTIVATED_SESSIONS_DESCRIPTION =
         "Total number of sessions ever activated";
+    private static final String SESSION_CREATE_RATE_DESCRIPTION =
+        "Number of sessions created during the last minute";
+    private static final String SESSION_EXPIRE_RATE_DESCRIPTION =
+        "Number of sessions expired during the last minute";
 
     private String moduleName;
     private String vsName;
@@ -93,6 +97,8 @@ public class SessionStatsProvider{
     private CountStatisticImpl persistedSessionsTotal;
     private CountStatisticImpl passivatedSessionsTotal;
     private CountStatisticImpl activatedSessionsTotal;
+    private CountStatisticImpl sessionCreateRate;
+    private CountStatisticImpl sessionExpireRate;
     private ThreadLocal<String> sessionIdThreadLocal;
         
     public SessionStatsProvider(String moduleName, String vsName) {      
@@ -120,6 +126,12 @@ public class SessionStatsProvider{
         activatedSessionsTotal = new CountStatisticImpl(
                 "ActivatedSessionsTotal", StatisticImpl.UNIT_COUNT,
                 ACTIVATED_SESSIONS_DESCRIPTION);
+        sessionCreateRate = new CountStatisticImpl(
+                "SessionCreateRate", StatisticImpl.UNIT_COUNT,
+                SESSION_CREATE_RATE_DESCRIPTION);
+        sessionExpireRate = new CountStatisticImpl(
+                "SessionExpireRate", StatisticImpl.UNIT_COUNT,
+                SESSION_EXPIRE_RATE_DESCRIPTION);
     }
     
     @ManagedAttribute(id="activesessionscurrent")
@@ -164,6 +176,18 @@ public class SessionStatsProvider{
         return activatedSessionsTotal;
     }
    
+    @ManagedAttribute(id="sessioncreaterate")
+    @Description(SESSION_CREATE_RATE_DESCRIPTION)
+    public CountStatistic getSessionCreateRate() {
+        return sessionCreateRate;
+    }
+
+    @ManagedAttribute(id="sessionexpirerate")
+    @Description(SESSION_EXPIRE_RATE_DESCRIPTION)
+    public CountStatistic getSessionExpireRate() {
+        return sessionExpireRate;
+    }
+
     @ProbeListener("glassfish:web:session:sessionCreatedEvent")
     public void sessionCreatedEvent(
             @ProbeParam("sessionId") String sessionId,
@@ -234,6 +258,27 @@ public class SessionStatsProvider{
         }
     }
 
+    @ProbeListener("glassfish:web:session:sessionRatesEvent")
+    public void sessionRatesEvent(
+            @ProbeParam("createRate") int createRate,
+            @ProbeParam("expireRate") int expireRate,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("hostName") String hostName){
+
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("[TM]sessionRatesEvent received - create rate = " +
+                          createRate + ": expire rate = " + expireRate +
+                          ": appname = " + appName +
+                          ": hostName = " + hostName);
+        }
+        // the rates are per application, they cannot be summed up from
+        // the last values at the server level
+        if (moduleName != null && isValidEvent(appName, hostName)) {
+            sessionCreateRate.setCount(createRate);
+            sessionExpireRate.setCount(expireRate);
+        }
+    }
+
     @ProbeListener("glassfish:web:session:sessionPersistedStartEvent")
     public void sessionPersistedStartEvent(
             @ProbeParam("sessionId") String sessionId,
@@ -0,0 +1,143 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.admin.monitor;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Provides the monitoring data of the static resource cache of a web module
+ */
+@AMXMetadata(type="web-static-resource-cache-mon", group="monitoring")
+@ManagedObject
+@Description("Web Module Static Resource Cache Statistics")
+public class StaticResourceCacheStatsProvider {
+
+    /**
+     * Source of the statistics, the cache of a web module only exists while it is started
+     */
+    public interface CacheStatistics {
+
+        /**
+         * @return the number of lookups in the cache, 0 if there is no cache
+         */
+        long getLookupCount();
+
+        /**
+         * @return the number of lookups which found an entry, 0 if there is no cache
+         */
+        long getHitCount();
+
+        /**
+         * @return the bytes of content currently cached, 0 if there is no cache
+         */
+        long getCachedBytes();
+    }
+
+    private static final String HIT_COUNT_DESCRIPTION =
+        "Cumulative number of static resource lookups served from the cache";
+    private static final String LOOKUP_COUNT_DESCRIPTION =
+        "Cumulative number of static resource lookups in the cache";
+    private static final String HIT_RATIO_DESCRIPTION =
+        "Percentage of static resource lookups served from the cache";
+    private static final String CACHED_BYTES_DESCRIPTION =
+        "Bytes of static resource content currently cached";
+
+    private final CountStatisticImpl hitCount = new CountStatisticImpl("StaticResourceCacheHitCount",
+            StatisticImpl.UNIT_COUNT, HIT_COUNT_DESCRIPTION);
+    private final CountStatisticImpl lookupCount = new CountStatisticImpl("StaticResourceCacheLookupCount",
+            StatisticImpl.UNIT_COUNT, LOOKUP_COUNT_DESCRIPTION);
+    private final CountStatisticImpl hitRatio = new CountStatisticImpl("StaticResourceCacheHitRatio",
+            "percent", HIT_RATIO_DESCRIPTION);
+    private final CountStatisticImpl cachedBytes = new CountStatisticImpl("StaticResourceCacheBytes",
+            "bytes", CACHED_BYTES_DESCRIPTION);
+
+    private final String moduleName;
+    private final String vsName;
+    private final CacheStatistics statistics;
+
+    public StaticResourceCacheStatsProvider(String moduleName, String vsName, CacheStatistics statistics) {
+        this.moduleName = moduleName;
+        this.vsName = vsName;
+        this.statistics = statistics;
+    }
+
+    @ManagedAttribute(id="staticresourcecachehitcount")
+    @Description(HIT_COUNT_DESCRIPTION)
+    public CountStatistic getHitCount() {
+        hitCount.setCount(statistics.getHitCount());
+        return hitCount;
+    }
+
+    @ManagedAttribute(id="staticresourcecachelookupcount")
+    @Description(LOOKUP_COUNT_DESCRIPTION)
+    public CountStatistic getLookupCount() {
+        lookupCount.setCount(statistics.getLookupCount());
+        return lookupCount;
+    }
+
+    @ManagedAttribute(id="staticresourcecachehitratio")
+    @Description(HIT_RATIO_DESCRIPTION)
+    public CountStatistic getHitRatio() {
+        long lookups = statistics.getLookupCount();
+        hitRatio.setCount(lookups == 0L ? 0L : 100L * statistics.getHitCount() / lookups);
+        return hitRatio;
+    }
+
+    @ManagedAttribute(id="staticresourcecachebytes")
+    @Description(CACHED_BYTES_DESCRIPTION)
+    public CountStatistic getCachedBytes() {
+        cachedBytes.setCount(statistics.getCachedBytes());
+        return cachedBytes;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getVSName() {
+        return vsName;
+    }
+}
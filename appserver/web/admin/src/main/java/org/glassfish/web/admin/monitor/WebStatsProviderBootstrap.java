@@ -113,6 +113,12 @@ public class WebStatsProviderBootstrap implements PostConstruct, MonitoringDataS
 
     public void registerApplicationStatsProviders(String monitoringName,
             String vsName, List<String> servletNames) {
+        registerApplicationStatsProviders(monitoringName, vsName, servletNames, null);
+    }
+
+    public void registerApplicationStatsProviders(String monitoringName,
+            String vsName, List<String> servletNames,
+            StaticResourceCacheStatsProvider.CacheStatistics staticResourceCacheStatistics) {
         //create stats providers for each virtual server 'vsName'
         String node = getNodeString(monitoringName, vsName);
         ConcurrentMap<String, Queue<Object>> statsProviderMap = vsNameToStatsProviderMap.get(vsName);
@@ -171,6 +177,15 @@ public class WebStatsProviderBootstrap implements PostConstruct, MonitoringDataS
         }
 
         statspList.add(websp);
+
+        if (staticResourceCacheStatistics != null) {
+            StaticResourceCacheStatsProvider cacheStatsProvider =
+                    new StaticResourceCacheStatsProvider(monitoringName, vsName, staticResourceCacheStatistics);
+            StatsProviderManager.register(
+                    WEB_CONTAINER, PluginPoint.APPLICATIONS, node,
+                    cacheStatsProvider);
+            statspList.add(cacheStatsProvider);
+        }
     }
 
     public void unregisterApplicationStatsProviders(String monitoringName,
@@ -217,7 +232,8 @@ public class WebStatsProviderBootstrap implements PostConstruct, MonitoringDataS
             for (Entry<String, Queue<Object>> serverEntry : entry.entrySet()) {
                 String monitoringName = serverEntry.getKey();
                 for (Object provider : serverEntry.getValue()) {
-                    if (provider instanceof RequestStatsProvider) {
+                    if (provider instanceof RequestStatsProvider
+                            || provider instanceof StaticResourceCacheStatsProvider) {
                         web.group(monitoringName).collectObject(provider, MonitoringDataCollection::collectObject);
                     }
                 }
@@ -140,7 +140,7 @@ public interface WebContainerAvailability extends ConfigBeanProxy,
      *
      * The persistence scope used by the session persistence framework, when
      * persistence-type = "ha". Values may be "session", "modified-session",
-     * "modified-attribute". If it is missing, then the persistence-type will
+     * "modified-attribute", "delta-attribute". If it is missing, then the persistence-type will
      * revert to "memory".
      * 
      * @return possible object is
@@ -111,6 +111,7 @@ public class WarHandler extends AbstractArchiveHandler {
     private static final String WEBLOGIC_XML = "WEB-INF/weblogic.xml";
     private static final String WAR_CONTEXT_XML = "META-INF/context.xml";
     private static final String DEFAULT_CONTEXT_XML = "config/context.xml";
+    private static final String JAR_INDEX_SUFFIX = ".jarindex";
     private static final Logger logger = LogFacade.getLogger();
     private static final ResourceBundle rb = logger.getResourceBundle();
     private static final LocalStringManagerImpl localStrings = new LocalStringManagerImpl(WarHandler.class);
@@ -181,6 +182,8 @@ public class WarHandler extends AbstractArchiveHandler {
             }
             if (context.getScratchDir("jsp") != null) {
                 cloader.setWorkDir(context.getScratchDir("jsp"));
+                // keep the index of the WEB-INF/lib JARs for the next start
+                cloader.setJarIndexFile(new File(context.getScratchDir("jsp"), base.getName() + JAR_INDEX_SUFFIX));
             }
 
              // add libraries referenced from manifest
@@ -0,0 +1,264 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of the packages contained in the JARs of a web application class loader.
+ * <p>
+ * Maps every directory of the JARs to the positions of the JARs containing entries in it, in search order, so that
+ * finding a resource only opens the JARs that may contain it instead of all JARs in turn, and a resource whose
+ * directory is in no JAR is not found without touching any JAR.
+ * <p>
+ * The packages of each JAR can be stored in a file and are reused on the next start for the JARs whose size and
+ * last modification time did not change, instead of reading all the entries of the JAR again.
+ */
+final class JarIndex {
+
+    private static final Logger logger = LogFacade.getLogger();
+
+    private static final int VERSION = 1;
+
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    /**
+     * The positions of the JARs containing each package, only grows while JARs are added.
+     */
+    private final ConcurrentHashMap<String, int[]> packages = new ConcurrentHashMap<>();
+
+    /**
+     * The packages of the added JARs, by JAR name.
+     */
+    private final Map<String, JarPackages> jars = new LinkedHashMap<>();
+
+    /**
+     * The packages of the JARs read from the index file, by JAR name.
+     */
+    private Map<String, JarPackages> stored = new HashMap<>();
+
+    private boolean modified;
+
+    /**
+     * Reads the packages of the JARs stored by {@link #store(File)}.
+     *
+     * @param file the index file
+     */
+    synchronized void load(File file) {
+        if (!file.isFile()) {
+            return;
+        }
+        Map<String, JarPackages> result = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != VERSION) {
+                return;
+            }
+            int jarCount = in.readInt();
+            for (int i = 0; i < jarCount; i++) {
+                String name = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                String[] jarPackages = new String[in.readInt()];
+                for (int j = 0; j < jarPackages.length; j++) {
+                    jarPackages[j] = in.readUTF();
+                }
+                result.put(name, new JarPackages(length, lastModified, jarPackages));
+            }
+            stored = result;
+        } catch (IOException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Failed to read JAR index " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the packages of the added JARs, if they differ from the ones read by {@link #load(File)}.
+     *
+     * @param file the index file
+     */
+    synchronized void store(File file) {
+        if (!modified && jars.size() == stored.size()) {
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            File directory = file.getParentFile();
+            if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory " + directory);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                out.writeInt(VERSION);
+                out.writeInt(jars.size());
+                for (Map.Entry<String, JarPackages> jar : jars.entrySet()) {
+                    JarPackages jarPackages = jar.getValue();
+                    out.writeUTF(jar.getKey());
+                    out.writeLong(jarPackages.length);
+                    out.writeLong(jarPackages.lastModified);
+                    out.writeInt(jarPackages.packages.length);
+                    for (String jarPackage : jarPackages.packages) {
+                        out.writeUTF(jarPackage);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            stored = new HashMap<>(jars);
+            modified = false;
+        } catch (IOException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Failed to write JAR index " + file, e);
+            }
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Adds the packages of a JAR.
+     *
+     * @param position the position of the JAR in the search order
+     * @param file the JAR file
+     * @param jarFile the opened JAR
+     */
+    synchronized void add(int position, File file, JarFile jarFile) {
+        String name = file.getName();
+        long length = file.length();
+        long lastModified = file.lastModified();
+        JarPackages jarPackages = stored.get(name);
+        if (jarPackages == null || jarPackages.length != length || jarPackages.lastModified != lastModified) {
+            jarPackages = new JarPackages(length, lastModified, readPackages(jarFile));
+            modified = true;
+        }
+        if (jars.put(name, jarPackages) != null) {
+            modified = true;
+        }
+        for (String jarPackage : jarPackages.packages) {
+            packages.merge(jarPackage, new int[] { position }, JarIndex::append);
+        }
+    }
+
+    /**
+     * Returns the positions of the JARs which may contain the resource.
+     *
+     * @param path the path of the resource
+     * @return the positions of the JARs in search order, or <code>null</code> if no JAR contains the resource
+     */
+    int[] get(String path) {
+        return packages.get(getPackage(path));
+    }
+
+    void clear() {
+        packages.clear();
+        synchronized (this) {
+            jars.clear();
+        }
+    }
+
+    /**
+     * Reads the packages of the entries of the JAR. A directory entry also adds its parent, as looking up the
+     * directory name without trailing slash finds the directory entry, and a versioned entry of a multi-release JAR
+     * also adds the package it overrides.
+     */
+    private static String[] readPackages(JarFile jarFile) {
+        Set<String> result = new LinkedHashSet<>();
+        for (JarEntry entry : (Iterable<JarEntry>) jarFile.stream()::iterator) {
+            String name = entry.getName();
+            addPackages(result, name);
+            if (name.startsWith(VERSIONS_PREFIX)) {
+                int versionEnd = name.indexOf('/', VERSIONS_PREFIX.length());
+                if (versionEnd > 0) {
+                    addPackages(result, name.substring(versionEnd + 1));
+                }
+            }
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    private static void addPackages(Set<String> result, String name) {
+        result.add(getPackage(name));
+        if (name.endsWith("/")) {
+            result.add(getPackage(name.substring(0, name.length() - 1)));
+        }
+    }
+
+    private static String getPackage(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    private static int[] append(int[] positions, int[] added) {
+        if (positions[positions.length - 1] == added[0]) {
+            return positions;
+        }
+        int[] result = Arrays.copyOf(positions, positions.length + 1);
+        result[positions.length] = added[0];
+        return result;
+    }
+
+    private static final class JarPackages {
+
+        final long length;
+        final long lastModified;
+        final String[] packages;
+
+        JarPackages(long length, long lastModified, String[] packages) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.packages = packages;
+        }
+    }
+}
@@ -320,6 +320,17 @@ public class WebappClassLoader
      */
     protected List<String> jarNames = new ArrayList<>();
 
+    /**
+     * Index of the packages of the JARs, so that finding a resource only
+     * searches the JARs which contain its package.
+     */
+    private final JarIndex jarIndex = new JarIndex();
+
+    /**
+     * The file in which the JAR index is kept for the next start.
+     */
+    private File jarIndexFile = null;
+
     /**
      * The list of JARs last modified dates, in the order they should be
      * searched for locally loaded classes or resources.
@@ -445,6 +456,8 @@ public class WebappClassLoader
     private static final Name MULTI_RELEASE = new Name("Multi-Release");
 
     static {
+        registerAsParallelCapable();
+
         Class<?>[] constructorArgsTypes;
         Object constructorArguments;
 
@@ -632,7 +645,9 @@ public class WebappClassLoader
         Class clazz = null;
         if (!this.resourceEntries.containsKey(name)) {
             definePackage(name, entry);
-            clazz = defineLoadedClass(name, entry);
+            synchronized (getClassLoadingLock(name)) {
+                clazz = defineLoadedClass(name, entry);
+            }
             this.resourceEntries.put(name, entry);
             for (Map.Entry<String, GeneratedResourceEntry> e : entry.generatedResources.entrySet()) {
                 String generatedClassName = e.getKey();
@@ -877,6 +892,19 @@ public class WebappClassLoader
     }
 
 
+    /**
+     * Set the file in which the index of the packages of the JARs is kept
+     * between starts. The packages of JARs which did not change since the
+     * index was written are not read again from the JARs.
+     */
+    public void setJarIndexFile(File jarIndexFile) {
+        this.jarIndexFile = jarIndexFile;
+        if (jarIndexFile != null) {
+            jarIndex.load(jarIndexFile);
+        }
+    }
+
+
     /**
      * Change the work directory.
      */
@@ -1053,6 +1081,8 @@ public class WebappClassLoader
                 // Ignore
             }
 
+            jarIndex.add(jarFiles.length, file, jarFile);
+
             JarFile[] result2 = new JarFile[jarFiles.length + 1];
             for (int i = 0; i < jarFiles.length; i++) {
                 result2[i] = jarFiles[i];
@@ -1241,7 +1271,7 @@ public class WebappClassLoader
             try {
                 ResourceEntry entry = findClassInternal(name);
 
-                synchronized (this) {
+                synchronized (getClassLoadingLock(name)) {
                     if (entry.loadedClass == null) {
                         clazz = defineLoadedClass(name, entry);
                     } else {
@@ -1724,80 +1754,102 @@ public class WebappClassLoader
      * @exception ClassNotFoundException if the class was not found
      */
     @Override
-    protected synchronized Class<?> loadClass(String name, boolean resolve)
+    protected Class<?> loadClass(String name, boolean resolve)
         throws ClassNotFoundException {
 
-        if (logger.isLoggable(Level.FINER)) {
-            logger.log(Level.FINER, "loadClass({0})", name);
-        }
+        synchronized (getClassLoadingLock(name)) {
+            if (logger.isLoggable(Level.FINER)) {
+                logger.log(Level.FINER, "loadClass({0})", name);
+            }
 
-        Class<?> clazz = null;
+            Class<?> clazz = null;
 
-        // Don't load classes if class loader is stopped
-        if (!started) {
-            throw new IllegalStateException(
-                getString(LogFacade.NOT_STARTED, name));
-        }
+            // Don't load classes if class loader is stopped
+            if (!started) {
+                throw new IllegalStateException(
+                    getString(LogFacade.NOT_STARTED, name));
+            }
 
-        // (0) Check our previously loaded local class cache
-        clazz = findLoadedClass0(name);
-        if (clazz != null) {
-            if (logger.isLoggable(Level.FINER)) {
-                logger.log(Level.FINER, "  Returning class from cache");
+            // (0) Check our previously loaded local class cache
+            clazz = findLoadedClass0(name);
+            if (clazz != null) {
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "  Returning class from cache");
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
             }
-            if (resolve) {
-                resolveClass(clazz);
+
+            // (0.1) Check our previously loaded class cache
+            clazz = findLoadedClass(name);
+            if (clazz != null) {
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "  Returning class from cache");
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
             }
-            return clazz;
-        }
 
-        // (0.1) Check our previously loaded class cache
-        clazz = findLoadedClass(name);
-        if (clazz != null) {
-            if (logger.isLoggable(Level.FINER)) {
-                logger.log(Level.FINER, "  Returning class from cache");
+            // (0.5) Permission to access this class when using a SecurityManager
+            if ( securityManager != null && packageDefinitionEnabled) {
+                int i = name.lastIndexOf('.');
+                if (i >= 0) {
+                    try {
+                        securityManager.checkPackageAccess(name.substring(0,i));
+                    } catch (SecurityException se) {
+                        String error = getString(LogFacade.SECURITY_EXCEPTION, name);
+                        if (logger.isLoggable(Level.INFO)) {
+                            logger.log(Level.INFO, error, se);
+                        }
+                        throw new ClassNotFoundException(error, se);
+                    }
+                }
             }
-            if (resolve) {
-                resolveClass(clazz);
+
+            ClassLoader delegateLoader = parent;
+            if (delegateLoader == null) {
+                delegateLoader = system;
             }
-            return clazz;
-        }
 
-        // (0.5) Permission to access this class when using a SecurityManager
-        if ( securityManager != null && packageDefinitionEnabled) {
-            int i = name.lastIndexOf('.');
-            if (i >= 0) {
+            boolean isWhitelisted = application.isWhitelistEnabled() && DOLUtils.isWhiteListed(application, name);
+            boolean delegateLoad = (delegate && (application.isWhitelistEnabled() ? isWhitelisted : true)) || filter(name);
+
+            // (1) Delegate to our parent if requested
+            if (delegateLoad) {
+                // Check delegate first
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.log(Level.FINER, "  Delegating to classloader1 {0}", delegateLoader);
+                }
                 try {
-                    securityManager.checkPackageAccess(name.substring(0,i));
-                } catch (SecurityException se) {
-                    String error = getString(LogFacade.SECURITY_EXCEPTION, name);
-                    if (logger.isLoggable(Level.INFO)) {
-                        logger.log(Level.INFO, error, se);
+                    clazz = delegateLoader.loadClass(name);
+                    if (clazz != null) {
+                        if (logger.isLoggable(Level.FINER)) {
+                            logger.log(Level.FINER, "  Loading class from delegate");
+                        }
+                        if (resolve) {
+                            resolveClass(clazz);
+                        }
+                        return clazz;
                     }
-                    throw new ClassNotFoundException(error, se);
+                } catch (ClassNotFoundException e) {
+                    // Ignore
                 }
             }
-        }
-
-        ClassLoader delegateLoader = parent;
-        if (delegateLoader == null) {
-            delegateLoader = system;
-        }
 
-        boolean isWhitelisted = application.isWhitelistEnabled() && DOLUtils.isWhiteListed(application, name);
-        boolean delegateLoad = (delegate && (application.isWhitelistEnabled() ? isWhitelisted : true)) || filter(name);
 
-        // (1) Delegate to our parent if requested
-        if (delegateLoad) {
-            // Check delegate first
+            // (2) Search local repositories
             if (logger.isLoggable(Level.FINER)) {
-                logger.log(Level.FINER, "  Delegating to classloader1 {0}", delegateLoader);
+                logger.log(Level.FINER, "  Searching local repositories");
             }
             try {
-                clazz = delegateLoader.loadClass(name);
+                clazz = findClass(name);
                 if (clazz != null) {
                     if (logger.isLoggable(Level.FINER)) {
-                        logger.log(Level.FINER, "  Loading class from delegate");
+                        logger.log(Level.FINER, "  Loading class from local repository");
                     }
                     if (resolve) {
                         resolveClass(clazz);
@@ -1807,57 +1859,37 @@ public class WebappClassLoader
             } catch (ClassNotFoundException e) {
                 // Ignore
             }
-        }
 
+            // If we haven't found it locally, and we're using bundled JSF, DON'T delegate any lookup if it's a JSF class
+            if (useMyFaces && !delegateLoad && (name.startsWith("javax.faces") || name.startsWith("jakarta.faces") || name.startsWith("com.sun.faces"))) {
+                throw new ClassNotFoundException(String.format("Class [%s] could not be found in bundled JSF", name));
+            }
 
-        // (2) Search local repositories
-        if (logger.isLoggable(Level.FINER)) {
-            logger.log(Level.FINER, "  Searching local repositories");
-        }
-        try {
-            clazz = findClass(name);
-            if (clazz != null) {
+            // (3) Delegate if class was not found locally
+            if ((application.isWhitelistEnabled()? isWhitelisted : true) && !delegateLoad) {
                 if (logger.isLoggable(Level.FINER)) {
-                    logger.log(Level.FINER, "  Loading class from local repository");
+                    logger.log(Level.FINER, "  Delegating to classloader {0}", delegateLoader);
                 }
-                if (resolve) {
-                    resolveClass(clazz);
-                }
-                return clazz;
-            }
-        } catch (ClassNotFoundException e) {
-            // Ignore
-        }
-
-        // If we haven't found it locally, and we're using bundled JSF, DON'T delegate any lookup if it's a JSF class
-        if (useMyFaces && !delegateLoad && (name.startsWith("javax.faces") || name.startsWith("jakarta.faces") || name.startsWith("com.sun.faces"))) {
-            throw new ClassNotFoundException(String.format("Class [%s] could not be found in bundled JSF", name));
-        }
-
-        // (3) Delegate if class was not found locally
-        if ((application.isWhitelistEnabled()? isWhitelisted : true) && !delegateLoad) {
-            if (logger.isLoggable(Level.FINER)) {
-                logger.log(Level.FINER, "  Delegating to classloader {0}", delegateLoader);
-            }
-            try {
-                clazz = delegateLoader.loadClass(name);
-                if (clazz != null) {
-                    if (logger.isLoggable(Level.FINER)) {
-                        logger.log(Level.FINER, "  Loading class from delegate");
-                    }
-                    if (resolve) {
-                        resolveClass(clazz);
+                try {
+                    clazz = delegateLoader.loadClass(name);
+                    if (clazz != null) {
+                        if (logger.isLoggable(Level.FINER)) {
+                            logger.log(Level.FINER, "  Loading class from delegate");
+                        }
+                        if (resolve) {
+                            resolveClass(clazz);
+                        }
+                        return clazz;
                     }
-                    return clazz;
+                } catch (ClassNotFoundException e) {
+                    // Ignore
                 }
-            } catch (ClassNotFoundException e) {
-                // Ignore
             }
+            else if(application.isWhitelistEnabled() && !isWhitelisted) {
+                throw new ClassNotFoundException(String.format("Whitelist enabled, but class [%s] is not whitelisted", name));
+            }
+            throw new ClassNotFoundException(name);
         }
-        else if(application.isWhitelistEnabled() && !isWhitelisted) {
-            throw new ClassNotFoundException(String.format("Whitelist enabled, but class [%s] is not whitelisted", name));
-        }
-        throw new ClassNotFoundException(name);
     }
 
     /**
@@ -1990,6 +2022,9 @@ public class WebappClassLoader
      */
     public void start() {
         started = true;
+        if (jarIndexFile != null) {
+            jarIndex.store(jarIndexFile);
+        }
     }
 
     public boolean isStarted() {
@@ -2065,6 +2100,7 @@ public class WebappClassLoader
 
             notFoundResources.clear();
             resourceEntries.clear();
+            jarIndex.clear();
             resources = null;
             repositories = null;
             repositoryURLs = null;
@@ -2781,7 +2817,7 @@ public class WebappClassLoader
             throw new ClassNotFoundException(name);
         }
 
-        synchronized (this) {
+        synchronized (getClassLoadingLock(name)) {
             Class<?> clazz = entry.loadedClass;
             if (clazz != null) {
                 return entry;
@@ -2841,8 +2877,12 @@ public class WebappClassLoader
         entry = findResourceInternalFromRepositories(name, path);
 
         if (entry == null) {
-            synchronized (jarFilesLock) {
-                entry = findResourceInternalFromJars(name, path);
+            // Only search the JARs if one of them contains the package
+            int[] jarPositions = jarIndex.get(path);
+            if (jarPositions != null) {
+                synchronized (jarFilesLock) {
+                    entry = findResourceInternalFromJars(name, path, jarPositions);
+                }
             }
         }
 
@@ -2955,10 +2995,12 @@ public class WebappClassLoader
      * Attempts to load the requested resource from this classloader's
      * JAR files.
      *
+     * @param jarPositions the positions of the JARs to search, in order
      * @return The requested resource, or null if not found
      */
     private ResourceEntry findResourceInternalFromJars(String name,
-                                                       String path) {
+                                                       String path,
+                                                       int[] jarPositions) {
 
         ResourceEntry entry = null;
         JarEntry jarEntry = null;
@@ -2971,7 +3013,11 @@ public class WebappClassLoader
 
         int jarFilesLength = jarFiles.length;
 
-        for (int i=0; (entry == null) && (i < jarFilesLength); i++) {
+        for (int j=0; (entry == null) && (j < jarPositions.length); j++) {
+            int i = jarPositions[j];
+            if (i >= jarFilesLength) {
+                break;
+            }
             jarEntry = jarFiles[i].getJarEntry(path);
 
             if (jarEntry != null) {
@@ -3197,9 +3243,7 @@ public class WebappClassLoader
 
         ResourceEntry entry = resourceEntries.get(name);
         if (entry != null) {
-            synchronized(this) {
-                return entry.loadedClass;
-            }
+            return entry.loadedClass;
         }
         return null;  // FIXME - findLoadedResource()
 
@@ -3477,7 +3521,11 @@ public class WebappClassLoader
 
     }
 
-    private synchronized Class<?> defineLoadedClass(String name, ResourceEntry entry) {
+    /**
+     * Defines the class of the entry, the caller holds the class loading
+     * lock of the class.
+     */
+    private Class<?> defineLoadedClass(String name, ResourceEntry entry) {
         Class<?> clazz;
         // Create the code source object
         CodeSource codeSource
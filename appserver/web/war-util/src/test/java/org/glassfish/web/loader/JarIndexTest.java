@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JarIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsJarsContainingPackage() throws IOException {
+        File first = createJar("first.jar", "com/example/a/A.class", "com/example/shared/S.class", "root.properties");
+        File second = createJar("second.jar", "com/example/b/", "com/example/b/B.class", "com/example/shared/T.class",
+                "META-INF/versions/11/com/example/c/C.class");
+
+        JarIndex index = new JarIndex();
+        add(index, 0, first);
+        add(index, 1, second);
+
+        assertArrayEquals(new int[] { 0 }, index.get("com/example/a/A.class"));
+        assertArrayEquals(new int[] { 0 }, index.get("com/example/a/Missing.class"));
+        assertArrayEquals(new int[] { 0, 1 }, index.get("com/example/shared/S.class"));
+        assertArrayEquals(new int[] { 0 }, index.get("root.properties"));
+        // directory entry looked up without trailing slash
+        assertArrayEquals(new int[] { 1 }, index.get("com/example/b"));
+        // versioned entry of a multi-release JAR
+        assertArrayEquals(new int[] { 1 }, index.get("com/example/c/C.class"));
+        assertNull(index.get("org/other/O.class"));
+    }
+
+    @Test
+    public void reusesStoredPackagesOfUnchangedJars() throws IOException {
+        File jar = createJar("lib.jar", "com/example/a/A.class");
+        File indexFile = new File(folder.getRoot(), "index");
+
+        JarIndex index = new JarIndex();
+        add(index, 0, jar);
+        index.store(indexFile);
+        assertTrue(indexFile.isFile());
+
+        // an unchanged JAR is not read, reading the closed JAR would fail
+        long lastModified = indexFile.lastModified();
+        JarIndex reloaded = new JarIndex();
+        reloaded.load(indexFile);
+        JarFile closedJarFile = new JarFile(jar);
+        closedJarFile.close();
+        reloaded.add(0, jar, closedJarFile);
+        assertArrayEquals(new int[] { 0 }, reloaded.get("com/example/a/A.class"));
+        reloaded.store(indexFile);
+        assertEquals(lastModified, indexFile.lastModified());
+
+        // a changed JAR is read again
+        File changed = createJar("lib.jar", "com/example/b/B.class");
+        assertTrue(changed.setLastModified(jar.lastModified() + 2000));
+        JarIndex updated = new JarIndex();
+        updated.load(indexFile);
+        add(updated, 0, changed);
+        assertNull(updated.get("com/example/a/A.class"));
+        assertArrayEquals(new int[] { 0 }, updated.get("com/example/b/B.class"));
+    }
+
+    @Test
+    public void ignoresUnreadableIndexFile() throws IOException {
+        File indexFile = folder.newFile("index");
+        Files.write(indexFile.toPath(), new byte[] { 1, 2 });
+        File jar = createJar("lib.jar", "com/example/a/A.class");
+
+        JarIndex index = new JarIndex();
+        index.load(indexFile);
+        add(index, 0, jar);
+
+        assertArrayEquals(new int[] { 0 }, index.get("com/example/a/A.class"));
+    }
+
+    private static void add(JarIndex index, int position, File jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            index.add(position, jar, jarFile);
+        }
+    }
+
+    private File createJar(String name, String... entries) throws IOException {
+        File jar = new File(folder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (String entry : entries) {
+                out.putNextEntry(new JarEntry(entry));
+                if (!entry.endsWith("/")) {
+                    out.write(entry.getBytes());
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -64,6 +64,7 @@ import org.apache.catalina.LogFacade;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 /**
@@ -158,6 +159,21 @@ public class CoyoteOutputStream
         ob.write(b, off, len);
     }
 
+    /**
+     * Writes the remaining bytes of the buffer without copying them.
+     * The buffer must not be changed afterwards, it may still be in use
+     * after this method returns.
+     */
+    public void write(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.write(buffer);
+    }
+
 
     /**
      * Will send the buffer to the client.
@@ -353,6 +353,22 @@ final class ApplicationFilterChain implements FilterChain {
     }
 
 
+    /**
+     * Replaces the set of filters that will be executed in this chain, reusing
+     * the array of this chain if it is large enough.
+     *
+     * @param filterConfigs The FilterConfigs of the filters to be executed,
+     * the array itself is not retained
+     */
+    void setFilters(ApplicationFilterConfig[] filterConfigs) {
+        if (filters.length < filterConfigs.length) {
+            filters = new ApplicationFilterConfig[filterConfigs.length];
+        }
+        System.arraycopy(filterConfigs, 0, filters, 0, filterConfigs.length);
+        n = filterConfigs.length;
+    }
+
+
     /**
      * Release references to the filters and wrapper executed by this chain.
      */
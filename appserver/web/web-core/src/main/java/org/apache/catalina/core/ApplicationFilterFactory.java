@@ -67,6 +67,7 @@ import org.apache.catalina.deploy.FilterMap;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRequest;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -164,10 +165,57 @@ public final class ApplicationFilterFactory {
             requestPath = attribute.toString();
         }
 
-        // Acquire the information we will need to match filter mappings
-        String servletName = wrapper.getName();
+        // Look up the filters previously resolved for this request path,
+        // unless the filter mappings have changed since
+        ApplicationFilterConfig[] filters;
+        if (context.isFilterChainCacheEnabled()) {
+            FilterChainCache cache =
+                ((StandardWrapper) wrapper).getFilterChainCache();
+            int epoch = context.getFilterChainEpoch();
+            filters = cache.get(epoch, dispatcher, requestPath);
+            if (filters == null) {
+                filters = resolveFilters(context, filterMaps, dispatcher,
+                                         requestPath, wrapper.getName());
+                cache.put(epoch, dispatcher, requestPath, filters);
+            }
+        } else {
+            filters = resolveFilters(context, filterMaps, dispatcher,
+                                     requestPath, wrapper.getName());
+        }
+
+        // START IASRI 4665318
+        // Create a filter chain only when there are filters to add
+        if (filters.length > 0) {
+            filterChain = internalCreateFilterChain(request, wrapper, servlet);
+            filterChain.setFilters(filters);
+        }
+        // END IASRI 4665318
+
+        // Return the completed filter chain
+        return (filterChain);
+
+    }
+
+
+    // -------------------------------------------------------- Private Methods
+
+
+    /**
+     * Resolve the initialized filters which apply to a request, in the
+     * order in which they have to be executed.
+     *
+     * @param context The context of the servlet
+     * @param filterMaps The filter mappings of the context
+     * @param dispatcher The dispatcher type of the request
+     * @param requestPath Context-relative request path of the request
+     * @param servletName Name of the servlet
+     * @return the filters, or an empty array if no filter applies
+     */
+    private ApplicationFilterConfig[] resolveFilters(StandardContext context,
+            List<FilterMap> filterMaps, DispatcherType dispatcher,
+            String requestPath, String servletName) {
 
-        int n = 0;
+        List<ApplicationFilterConfig> filters = new ArrayList<>();
 
         // Add the relevant path-mapped filters to this filter chain
         Iterator<FilterMap> i = filterMaps.iterator(); 
@@ -176,10 +224,6 @@ public final class ApplicationFilterFactory {
             if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
                 continue;
             }
-            /* SJSWS 6324431
-            if (!matchFiltersURL(filterMaps[i], requestPath))
-                continue;
-            */
             // START SJSWS 6324431
             if (!matchFiltersURL(filterMap, requestPath, 
                                  context.isCaseSensitiveMapping()))
@@ -191,14 +235,7 @@ public final class ApplicationFilterFactory {
                 // FIXME - log configuration problem
                 continue;
             }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+            filters.add(filterConfig);
         }
 
         // Add filters that match on servlet name second
@@ -216,24 +253,17 @@ public final class ApplicationFilterFactory {
                 // FIXME - log configuration problem
                 continue;
             }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+            filters.add(filterConfig);
         }
 
-        // Return the completed filter chain
-        return (filterChain);
+        if (filters.isEmpty()) {
+            return FilterChainCache.NO_FILTERS;
+        }
+        return filters.toArray(new ApplicationFilterConfig[filters.size()]);
 
     }
 
 
-    // -------------------------------------------------------- Private Methods
-
 
     /**
      * Return <code>true</code> if the context-relative request path
@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache of the filters resolved by {@link ApplicationFilterFactory} for the servlet of one {@link StandardWrapper},
+ * keyed by dispatcher type and context relative request path.
+ * <p>
+ * Entries are tagged with the filter chain epoch of the {@link StandardContext}, which changes whenever a filter
+ * definition, mapping or configuration is added or removed. A lookup with a different epoch misses and the next
+ * store replaces all entries, so a dynamically added filter is never missed by a request that started after it was
+ * registered. The cached arrays are shared and must not be modified.
+ */
+final class FilterChainCache {
+
+    /**
+     * The maximum number of request paths remembered per dispatcher type. Servlets mapped by path prefix can be
+     * called with any number of distinct paths, further paths are resolved without being cached.
+     */
+    static final int MAX_PATHS = 512;
+
+    static final ApplicationFilterConfig[] NO_FILTERS = new ApplicationFilterConfig[0];
+
+    private static final DispatcherType[] DISPATCHER_TYPES = DispatcherType.values();
+
+    private volatile Generation generation = new Generation(-1);
+
+    /**
+     * Returns the cached filters for the given request, or <code>null</code> if they have not been resolved in the
+     * given epoch yet.
+     *
+     * @param epoch the current filter chain epoch of the context
+     * @param dispatcher the dispatcher type of the request
+     * @param requestPath the context relative request path, may be <code>null</code>
+     * @return the filters, {@link #NO_FILTERS} if no filter applies, or <code>null</code>
+     */
+    ApplicationFilterConfig[] get(int epoch, DispatcherType dispatcher, String requestPath) {
+        Generation current = generation;
+        if (current.epoch != epoch) {
+            return null;
+        }
+        int index = dispatcher.ordinal();
+        if (requestPath == null) {
+            return current.withoutPath.get(index);
+        }
+        return current.byPath[index].get(requestPath);
+    }
+
+    /**
+     * Remembers the filters resolved for the given request.
+     *
+     * @param epoch the filter chain epoch of the context read before the filters were resolved
+     * @param dispatcher the dispatcher type of the request
+     * @param requestPath the context relative request path, may be <code>null</code>
+     * @param filters the resolved filters
+     */
+    void put(int epoch, DispatcherType dispatcher, String requestPath, ApplicationFilterConfig[] filters) {
+        Generation current = generation;
+        if (current.epoch != epoch) {
+            if (current.epoch > epoch) {
+                // resolved against filter mappings which have changed since
+                return;
+            }
+            current = new Generation(epoch);
+            generation = current;
+        }
+        int index = dispatcher.ordinal();
+        if (requestPath == null) {
+            current.withoutPath.set(index, filters);
+        } else if (current.byPath[index].size() < MAX_PATHS) {
+            current.byPath[index].put(requestPath, filters);
+        }
+    }
+
+    /**
+     * The entries cached for one filter chain epoch.
+     */
+    private static final class Generation {
+
+        final int epoch;
+        final ConcurrentMap<String, ApplicationFilterConfig[]>[] byPath;
+        final AtomicReferenceArray<ApplicationFilterConfig[]> withoutPath;
+
+        @SuppressWarnings("unchecked")
+        Generation(int epoch) {
+            this.epoch = epoch;
+            byPath = new ConcurrentMap[DISPATCHER_TYPES.length];
+            for (int i = 0; i < byPath.length; i++) {
+                byPath[i] = new ConcurrentHashMap<>();
+            }
+            withoutPath = new AtomicReferenceArray<>(DISPATCHER_TYPES.length);
+        }
+    }
+}
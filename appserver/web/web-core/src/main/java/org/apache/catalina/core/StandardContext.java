@@ -453,6 +453,17 @@ public class StandardContext
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * Changes whenever the filter definitions, mappings or configurations
+     * change, invalidating the filters cached by the wrappers of this context.
+     */
+    private final AtomicInteger filterChainEpoch = new AtomicInteger();
+
+    /**
+     * Should the filters applying to a request be cached per wrapper?
+     */
+    private boolean filterChainCacheEnabled = true;
+
     /**
      * The list of classnames of InstanceListeners that will be added
      * to each newly created Wrapper by <code>createWrapper()</code>.
@@ -897,6 +908,7 @@ public class StandardContext
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        invalidateFilterChains();
     }
 
     /**
@@ -907,6 +919,36 @@ public class StandardContext
     }
     // END SJSWS 6324431
 
+    /**
+     * Enables or disables caching the filters that apply to a request in
+     * the wrapper of the target servlet.
+     */
+    public void setFilterChainCacheEnabled(boolean filterChainCacheEnabled) {
+        this.filterChainCacheEnabled = filterChainCacheEnabled;
+    }
+
+    /**
+     * Are the filters that apply to a request cached per wrapper?
+     */
+    public boolean isFilterChainCacheEnabled() {
+        return filterChainCacheEnabled;
+    }
+
+    /**
+     * Gets the current filter chain epoch, which changes whenever a filter
+     * definition, mapping or configuration of this context changes.
+     */
+    int getFilterChainEpoch() {
+        return filterChainEpoch.get();
+    }
+
+    /**
+     * Invalidates the filters cached by the wrappers of this context.
+     */
+    private void invalidateFilterChains() {
+        filterChainEpoch.incrementAndGet();
+    }
+
     /**
      * Set allow linking.
      */
@@ -2529,6 +2571,7 @@ public class StandardContext
         synchronized (filterDefs) {
             filterDefs.put(filterDef.getFilterName(), filterDef);
         }
+        invalidateFilterChains();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterDef", filterDef);
@@ -2622,6 +2665,7 @@ public class StandardContext
         } else {
             filterMaps.add(0, filterMap);
         }
+        invalidateFilterChains();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -4730,6 +4774,7 @@ public class StandardContext
         synchronized (filterDefs) {
             filterDefs.remove(filterDef.getFilterName());
         }
+        invalidateFilterChains();
 
         if (notifyContainerListeners) {
             fireContainerEvent("removeFilterDef", filterDef);
@@ -4749,6 +4794,7 @@ public class StandardContext
             }
         }
         filterMaps.clear();
+        invalidateFilterChains();
     }
 
     /**
@@ -5112,6 +5158,7 @@ public class StandardContext
                 }
             }
         }
+        invalidateFilterChains();
 
         return (ok);
 
@@ -5140,6 +5187,7 @@ public class StandardContext
             }
             filterConfigs.clear();
         }
+        invalidateFilterChains();
         return (true);
     }
 
@@ -6167,6 +6215,11 @@ public class StandardContext
                     (PersistentManagerBase) getManager();
                 pManager.backgroundProcess();
             }
+            if (getManager() instanceof ManagerBase) {
+                ManagerBase managerBase = (ManagerBase) getManager();
+                sessionRatesEvent(managerBase.getSessionCreateRate(),
+                        managerBase.getSessionExpireRate());
+            }
         }
 
         // START S1AS8PE 4965017
@@ -7832,6 +7885,16 @@ public class StandardContext
         // Deliberate noop
     }
 
+    /**
+     * Trigger for monitoring
+     * @see org.glassfish.web.admin.monitor.SessionStatsProvider#sessionRatesEvent
+     * @param createRate sessions created during the last minute
+     * @param expireRate sessions expired during the last minute
+     */
+    public void sessionRatesEvent(int createRate, int expireRate) {
+        // Deliberate noop
+    }
+
     /**
      * Trigger for monitoring
      * @see org.glassfish.web.admin.monitor.SessionStatsProvider#sessionPersistedStartEvent
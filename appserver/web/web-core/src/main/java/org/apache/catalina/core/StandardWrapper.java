@@ -323,6 +323,11 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
 
     private boolean osgi;
 
+    /**
+     * The filters resolved for requests to this servlet
+     */
+    private final FilterChainCache filterChainCache = new FilterChainCache();
+
 
     // ----------------------------------------------------------- Constructors
 
@@ -891,6 +896,13 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
         return multipartFileSizeThreshold;
     }
 
+    /**
+     * Gets the cache of the filters resolved for requests to this servlet.
+     */
+    FilterChainCache getFilterChainCache() {
+        return filterChainCache;
+    }
+
     /**
      * Returns whether this is running in an OSGi context
      * @return
@@ -75,6 +75,7 @@ import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.text.MessageFormat;
 import java.util.*;
@@ -104,6 +105,7 @@ import javax.xml.transform.stream.StreamSource;
 import com.sun.enterprise.util.io.FileUtils;
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -1881,7 +1883,7 @@ public class DefaultServlet extends HttpServlet {
                                   long length, Range range) {
         if ((sendfileSize > 0)
             && (entry.resource != null)
-            && ((length > sendfileSize) || (entry.resource.getContent() == null))
+            && ((length > sendfileSize) || (!entry.resource.hasContent()))
             && (entry.attributes.getCanonicalPath() != null)
             && (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support")))
             && (request.getClass().getName().equals("org.apache.catalina.connector.RequestFacade"))
@@ -2098,6 +2100,11 @@ public class DefaultServlet extends HttpServlet {
         // Optimization: If the binary content has already been loaded, send
         // it directly
         if (cacheEntry.resource != null) {
+            ByteBuffer contentBuffer = cacheEntry.resource.getContentBuffer();
+            if (contentBuffer != null) {
+                copy(contentBuffer, ostream);
+                return;
+            }
             byte buffer[] = cacheEntry.resource.getContent();
             if (buffer != null) {
                 ostream.write(buffer, 0, buffer.length);
@@ -2126,6 +2133,34 @@ public class DefaultServlet extends HttpServlet {
     }
 
 
+    /**
+     * Copy content held out of the heap to the specified output stream.
+     * The connector output stream sends the buffer itself, other streams
+     * get it in chunks of the output buffer size.
+     *
+     * @param content The content to copy
+     * @param ostream The output stream to write to
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    private void copy(ByteBuffer content, ServletOutputStream ostream)
+        throws IOException {
+
+        if (ostream instanceof CoyoteOutputStream) {
+            ((CoyoteOutputStream) ostream).write(content);
+            return;
+        }
+
+        byte[] chunk = new byte[Math.min(output, content.remaining())];
+        while (content.hasRemaining()) {
+            int len = Math.min(chunk.length, content.remaining());
+            content.get(chunk, 0, len);
+            ostream.write(chunk, 0, len);
+        }
+
+    }
+
+
     /**
      * Copy the contents of the specified input stream to the specified
      * output stream, and ensure that both streams are closed before returning
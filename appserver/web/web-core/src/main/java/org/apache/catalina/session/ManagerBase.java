@@ -179,7 +179,7 @@ public abstract class ManagerBase implements Manager {
     /**
      * A random number generator to use when generating session identifiers.
      */
-    private SecureRandom random = null;
+    private volatile SecureRandom random = null;
     
     
     /**
@@ -220,6 +220,25 @@ public abstract class ManagerBase implements Manager {
      * session identifier.
      */
     protected final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * The active Sessions of this Manager, indexed by the time at which
+     * they time out.
+     */
+    private final SessionExpiryIndex expiryIndex = new SessionExpiryIndex();
+
+    /**
+     * Every how many expiry checks all active sessions are checked, rather
+     * than only the ones which are due according to the expiry index.
+     */
+    protected int fullSweepFrequency = 6;
+
+    // Number of expiry checks since the last full sweep
+    private int expiryChecks = 0;
+
+    private final SessionRate sessionCreationRate = new SessionRate();
+
+    private final SessionRate sessionExpirationRate = new SessionRate();
     
     // Number of sessions created by this manager
     protected int sessionCounter=0;
@@ -564,8 +583,15 @@ public abstract class ManagerBase implements Manager {
      * generating session identifiers.  If there is no such generator
      * currently defined, construct and seed a new one.
      */
-    public synchronized SecureRandom getRandom() {
-        if (this.random == null) {
+    public SecureRandom getRandom() {
+        SecureRandom result = this.random;
+        if (result != null) {
+            return result;
+        }
+        synchronized (this) {
+            if (this.random != null) {
+                return this.random;
+            }
             // Calculate the new random number generator seed
             long seed = System.currentTimeMillis();
             long t1 = seed;
@@ -577,15 +603,15 @@ public abstract class ManagerBase implements Manager {
             try {
                  // Construct and seed a new random number generator
                  Class<?> clazz = Class.forName(randomClass);
-                 this.random = (SecureRandom) clazz.newInstance();
-                 this.random.setSeed(seed);
+                 result = (SecureRandom) clazz.newInstance();
+                 result.setSeed(seed);
             } catch (Exception e) {
                  // Fall back to the simple case
                 String msg = MessageFormat.format(rb.getString(LogFacade.INIT_RANDOM_NUMBER_GENERATOR_EXCEPTION),
                                                   randomClass);
                  log.log(Level.SEVERE, msg, e);
-                 this.random = new SecureRandom();
-                 this.random.setSeed(seed);
+                 result = new SecureRandom();
+                 result.setSeed(seed);
             }
             long t2=System.currentTimeMillis();
             if( (t2-t1) > 100 )
@@ -594,9 +620,10 @@ public abstract class ManagerBase implements Manager {
                                                        randomClass);
                      log.log(Level.FINE, "{0} {1}", new Object[]{msg, t2-t1});
                  }
+            // Only publish the generator once it has been seeded
+            this.random = result;
+            return result;
         }
-
-        return (this.random);
     }
 
     /**
@@ -709,6 +736,7 @@ public abstract class ManagerBase implements Manager {
     @Override
     public void add(Session session) {
         sessions.put(session.getIdInternal(), session);
+        expiryIndex.schedule(session);
         int size = sessions.size();
         if (size > maxActive) {
             synchronized(maxActiveUpdateLock) {
@@ -760,6 +788,7 @@ public abstract class ManagerBase implements Manager {
 
         session.setId(sessionId);
         sessionCounter++;
+        sessionCreationRate.record(System.currentTimeMillis());
 
         return (session);
 
@@ -802,6 +831,7 @@ public abstract class ManagerBase implements Manager {
 
         session.setId(sessionId);
         sessionCounter++;
+        sessionCreationRate.record(System.currentTimeMillis());
 
         return (session);
 
@@ -893,6 +923,7 @@ public abstract class ManagerBase implements Manager {
      */
     public void clearSessions() {
         sessions.clear();
+        expiryIndex.clear();
     }    
 
 
@@ -912,6 +943,7 @@ public abstract class ManagerBase implements Manager {
     @Override
     public void remove(Session session) {
         sessions.remove(session.getIdInternal());
+        expiryIndex.cancel(session);
     }
 
     @Override
@@ -981,7 +1013,7 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
+    protected String generateSessionId(Object obj) {
         return uuidGenerator.generateUuid(obj);
     }   
     
@@ -989,11 +1021,69 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }    
 
 
+    /**
+     * Returns the active sessions which may have expired by the given time.
+     * Usually these are the sessions which are due according to the expiry
+     * index, every {@link #getFullSweepFrequency()} calls all active sessions
+     * are returned. The sessions returned which are still active have to be
+     * passed to {@link #rescheduleExpiry(Session)} afterwards.
+     *
+     * @param time the current time
+     * @return the sessions to check for expiration
+     */
+    protected List<Session> findExpirableSessions(long time) {
+        if (fullSweepFrequency > 0 && ++expiryChecks >= fullSweepFrequency) {
+            expiryChecks = 0;
+            return findSessions();
+        }
+        return expiryIndex.removeDue(time);
+    }
+
+
+    /**
+     * Schedules the expiration check of the given session at its current
+     * expiration time if it is still active in this Manager, or removes it
+     * from the expiry index otherwise.
+     *
+     * @param session the session
+     */
+    protected void rescheduleExpiry(Session session) {
+        String id = session.getIdInternal();
+        if (id == null) {
+            // not added yet, add() indexes the session once its id is set
+            return;
+        }
+        if (sessions.get(id) == session) {
+            expiryIndex.schedule(session);
+        } else {
+            expiryIndex.cancel(session);
+        }
+    }
+
+
+    /**
+     * Records the expiration of a session of this Manager.
+     *
+     * @param time the time the session expired
+     */
+    void sessionExpired(long time) {
+        sessionExpirationRate.record(time);
+    }
+
+
+    /**
+     * Gets the number of sessions in the expiry index.
+     */
+    int getScheduledSessionCount() {
+        return expiryIndex.size();
+    }
+
+
     // ------------------------------------------------------ Protected Methods
 
 
@@ -1100,6 +1190,43 @@ public abstract class ManagerBase implements Manager {
     }
 
 
+    /**
+     * Number of sessions created by this manager during the last minute.
+     *
+     * @return sessions created per minute
+     */
+    public int getSessionCreateRate() {
+        return sessionCreationRate.perMinute(System.currentTimeMillis());
+    }
+
+
+    /**
+     * Number of sessions of this manager which expired during the last
+     * minute.
+     *
+     * @return sessions expired per minute
+     */
+    public int getSessionExpireRate() {
+        return sessionExpirationRate.perMinute(System.currentTimeMillis());
+    }
+
+
+    /**
+     * Every how many expiry checks all active sessions are checked rather
+     * than only the ones which are due according to the expiry index.
+     *
+     * @return the full sweep frequency, 0 if there are no full sweeps
+     */
+    public int getFullSweepFrequency() {
+        return fullSweepFrequency;
+    }
+
+
+    public void setFullSweepFrequency(int fullSweepFrequency) {
+        this.fullSweepFrequency = fullSweepFrequency;
+    }
+
+
     /** 
      * Returns the number of active sessions
      *
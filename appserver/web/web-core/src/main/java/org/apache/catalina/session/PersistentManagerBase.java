@@ -597,7 +597,7 @@ public abstract class PersistentManagerBase extends ManagerBase implements Lifec
         if (!started)
             return;
 
-        final List<Session> sessions = findSessions();
+        final List<Session> sessions = findExpirableSessions(System.currentTimeMillis());
         for (final Session session1 : sessions) {
             StandardSession session = (StandardSession) session1;
             if(!session.getIsValid() || session.hasExpired()) {
@@ -608,7 +608,8 @@ public abstract class PersistentManagerBase extends ManagerBase implements Lifec
                         session.unlockBackground();
                     }
                 }
-            }            
+            }
+            rescheduleExpiry(session);
         }
     }        
 
@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.catalina.Session;
+
+/**
+ * Index of the active sessions of a manager by the time at which they time out, so that the background expiry
+ * check only has to look at the sessions which may have expired rather than at all active sessions.
+ * <p>
+ * Sessions are kept in buckets of {@link #BUCKET_MILLIS}. Accessing a session only pushes its expiration time back,
+ * so the index is not updated on every request: a session whose bucket is due is handed to the expiry check and,
+ * if it turns out to be still in use, scheduled again at its current expiration time. Only changes that bring the
+ * expiration time forward, such as a shorter maximum inactive interval, have to be scheduled right away.
+ */
+final class SessionExpiryIndex {
+
+    /**
+     * The time span covered by one bucket.
+     */
+    static final long BUCKET_MILLIS = 1000;
+
+    private final Map<Long, Set<Session>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<Session, Long> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules the given session at its current expiration time, replacing any earlier schedule. Sessions which
+     * never time out are removed from the index.
+     *
+     * @param session the session
+     */
+    void schedule(Session session) {
+        long expirationTime = getExpirationTime(session);
+        if (expirationTime < 0) {
+            cancel(session);
+            return;
+        }
+        // a bucket is due once its end has passed, so that sessions are not handed out before they expire
+        Long bucket = (expirationTime + BUCKET_MILLIS - 1) / BUCKET_MILLIS;
+        Long previous = scheduled.put(session, bucket);
+        if (bucket.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromBucket(previous, session);
+        }
+        buckets.compute(bucket, (key, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+            }
+            sessions.add(session);
+            return sessions;
+        });
+    }
+
+    /**
+     * Removes the given session from the index.
+     *
+     * @param session the session
+     */
+    void cancel(Session session) {
+        Long previous = scheduled.remove(session);
+        if (previous != null) {
+            removeFromBucket(previous, session);
+        }
+    }
+
+    /**
+     * Removes and returns the sessions whose expiration time has passed by the given time, as far as the index
+     * knows. Sessions which are still in use have to be scheduled again by the caller.
+     *
+     * @param time the current time
+     * @return the sessions which may have expired
+     */
+    List<Session> removeDue(long time) {
+        long current = time / BUCKET_MILLIS;
+        List<Session> due = new ArrayList<>();
+        for (Long bucket : buckets.keySet()) {
+            if (bucket > current) {
+                continue;
+            }
+            Set<Session> sessions = buckets.remove(bucket);
+            if (sessions == null) {
+                continue;
+            }
+            for (Session session : sessions) {
+                // skip sessions which have been scheduled again in the meantime
+                if (scheduled.remove(session, bucket)) {
+                    due.add(session);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Removes all sessions from the index.
+     */
+    void clear() {
+        scheduled.clear();
+        buckets.clear();
+    }
+
+    /**
+     * Gets the number of sessions in the index.
+     */
+    int size() {
+        return scheduled.size();
+    }
+
+    private void removeFromBucket(Long bucket, Session session) {
+        buckets.computeIfPresent(bucket, (key, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    private static long getExpirationTime(Session session) {
+        if (session instanceof StandardSession) {
+            return ((StandardSession) session).getExpirationTime();
+        }
+        int maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval < 0) {
+            return -1;
+        }
+        return session.getLastAccessedTime() + maxInactiveInterval * 1000L;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.catalina.session;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts session events, such as creations or expirations, over the last minute without locking.
+ * <p>
+ * The minute is split into one second slots, each packing the second it counts in the upper 32 bits and the number
+ * of events in that second in the lower 32 bits, so that a slot is reused for a new second atomically.
+ */
+final class SessionRate {
+
+    private static final int SLOTS = 60;
+    private static final long SLOT_MILLIS = 1000;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    /**
+     * Records an event.
+     *
+     * @param time the time of the event
+     */
+    void record(long time) {
+        long second = time / SLOT_MILLIS;
+        int slot = (int) (second % SLOTS);
+        long current;
+        long updated;
+        do {
+            current = slots.get(slot);
+            if ((current >>> 32) == second) {
+                updated = current + 1;
+            } else if ((current >>> 32) < second) {
+                updated = (second << 32) | 1;
+            } else {
+                // recorded late, the slot has moved on already
+                return;
+            }
+        } while (!slots.compareAndSet(slot, current, updated));
+    }
+
+    /**
+     * Gets the number of events recorded in the minute before the given time.
+     *
+     * @param time the current time
+     * @return events per minute
+     */
+    int perMinute(long time) {
+        long second = time / SLOT_MILLIS;
+        long events = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            long slot = slots.get(i);
+            long slotSecond = slot >>> 32;
+            if (slotSecond > second - SLOTS && slotSecond <= second) {
+                events += slot & COUNT_MASK;
+            }
+        }
+        return (int) Math.min(events, Integer.MAX_VALUE);
+    }
+}
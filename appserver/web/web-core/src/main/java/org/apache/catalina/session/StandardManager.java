@@ -494,6 +494,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
                         StandardSession.deserialize(ois, this);
                     session.setManager(this);
                     sessions.put(session.getIdInternal(), session);
+                    rescheduleExpiry(session);
                     session.activate();
                 }
             } catch (ClassNotFoundException e) {
@@ -982,7 +983,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
 
         long timeNow = System.currentTimeMillis();
 
-        final List<Session> sessions = findSessions();
+        final List<Session> sessions = findExpirableSessions(timeNow);
         for (final Session session : sessions) {
             final StandardSession sess = (StandardSession) session;
             if (sess.lockBackground()) {
@@ -992,6 +993,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
                     sess.unlockBackground();
                 }
             }
+            rescheduleExpiry(sess);
         }
 
         long timeEnd = System.currentTimeMillis();
@@ -625,6 +625,9 @@ public class StandardSession implements HttpSession, Session, Serializable {
         this.maxInactiveInterval = interval;
         if (isValid && interval == 0) {
             expire();
+        } else if (isValid && manager instanceof ManagerBase) {
+            // the session may time out earlier than it is indexed for
+            ((ManagerBase) manager).rescheduleExpiry(this);
         }
 
     }
@@ -901,6 +904,9 @@ public class StandardSession implements HttpSession, Session, Serializable {
                 average = ((average * (numExpired-1)) + timeAlive)/numExpired;
                 manager.setSessionAverageAliveTimeSeconds(average);
             }
+            if (manager instanceof ManagerBase) {
+                ((ManagerBase) manager).sessionExpired(timeNow);
+            }
 
             // Remove this session from our manager's active sessions
             if(persistentRemove) {
@@ -1089,6 +1095,18 @@ public class StandardSession implements HttpSession, Session, Serializable {
     // END SJSAS 6329289
 
 
+    /**
+     * Gets the time at which this Session times out unless it is accessed
+     * again, or -1 if it never times out.
+     */
+    long getExpirationTime() {
+        if (maxInactiveInterval < 0) {
+            return -1;
+        }
+        return thisAccessedTime + maxInactiveInterval * 1000L;
+    }
+
+
     /**
      * Increments the version number
      */
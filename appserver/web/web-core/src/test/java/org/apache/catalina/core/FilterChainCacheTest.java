@@ -0,0 +1,217 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.apache.catalina.Globals;
+import org.apache.catalina.Request;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Tests the {@link FilterChainCache} and the filters {@link ApplicationFilterFactory#createFilterChain} takes from
+ * it, as {@link StandardWrapperValve#invoke} builds the filter chain of a request.
+ */
+public class FilterChainCacheTest {
+
+    private static final String SERVLET_NAME = "CatalogServlet";
+
+    private StandardContext context;
+    private FilterChainCache cache;
+    private StandardWrapper wrapper;
+
+    @Before
+    public void setUp() {
+        context = new StandardContext();
+        cache = new FilterChainCache();
+        wrapper = mock(StandardWrapper.class);
+        when(wrapper.getParent()).thenReturn(context);
+        when(wrapper.getName()).thenReturn(SERVLET_NAME);
+        when(wrapper.getFilterChainCache()).thenReturn(cache);
+    }
+
+    @Test
+    public void missesWhenEpochChanges() {
+        ApplicationFilterConfig[] filters = new ApplicationFilterConfig[1];
+        cache.put(1, DispatcherType.REQUEST, "/catalog/items", filters);
+        cache.put(1, DispatcherType.FORWARD, null, FilterChainCache.NO_FILTERS);
+
+        assertSame(filters, cache.get(1, DispatcherType.REQUEST, "/catalog/items"));
+        assertSame(FilterChainCache.NO_FILTERS, cache.get(1, DispatcherType.FORWARD, null));
+        assertNull(cache.get(1, DispatcherType.INCLUDE, "/catalog/items"));
+        assertNull(cache.get(2, DispatcherType.REQUEST, "/catalog/items"));
+
+        // filters resolved before the mappings changed are not cached
+        cache.put(2, DispatcherType.REQUEST, "/catalog/search", filters);
+        cache.put(1, DispatcherType.REQUEST, "/catalog/items", filters);
+        assertNull(cache.get(2, DispatcherType.REQUEST, "/catalog/items"));
+        assertSame(filters, cache.get(2, DispatcherType.REQUEST, "/catalog/search"));
+    }
+
+    @Test
+    public void cachesFiltersMatchingRequestPathAndServletName() {
+        addFilter("encoding", "/*", null);
+        addFilter("security", "/catalog/*", null);
+        addFilter("jsp", "*.jsp", null);
+        addFilter("admin", "/admin/*", null);
+        FilterMap forwarded = addFilter("forwarded", "/*", null);
+        forwarded.setDispatcherTypes(EnumSet.of(DispatcherType.FORWARD));
+        addFilter("tracing", null, "*");
+        addFilter("catalog", null, SERVLET_NAME);
+        addFilter("other", null, "OtherServlet");
+        assertTrue(context.filterStart());
+
+        assertEquals(Arrays.asList("encoding", "security", "tracing", "catalog"), createFilterChain("/catalog/items"));
+        assertEquals(Arrays.asList("encoding", "security", "jsp", "tracing", "catalog"),
+                createFilterChain("/catalog/index.jsp"));
+        assertEquals(Arrays.asList("encoding", "tracing", "catalog"), createFilterChain("/about"));
+
+        // the second request for the same path takes the filters from the cache
+        ApplicationFilterConfig[] cached = cache.get(context.getFilterChainEpoch(), DispatcherType.REQUEST,
+                "/catalog/items");
+        createFilterChain("/catalog/items");
+        assertSame(cached, cache.get(context.getFilterChainEpoch(), DispatcherType.REQUEST, "/catalog/items"));
+    }
+
+    @Test
+    public void disabledCacheIsNotFilled() {
+        addFilter("encoding", "/*", null);
+        assertTrue(context.filterStart());
+        context.setFilterChainCacheEnabled(false);
+
+        assertNotNull(ApplicationFilterFactory.getInstance().createFilterChain(createRequest("/catalog/items"),
+                wrapper, mock(Servlet.class)));
+        assertNull(cache.get(context.getFilterChainEpoch(), DispatcherType.REQUEST, "/catalog/items"));
+    }
+
+    @Test
+    public void addFilterMapAfterRequestInvalidatesCachedChain() {
+        addFilter("encoding", "/*", null);
+        addFilterDef("security");
+        assertTrue(context.filterStart());
+        assertEquals(Arrays.asList("encoding"), createFilterChain("/catalog/items"));
+        int epoch = context.getFilterChainEpoch();
+
+        context.addFilterMap(createFilterMap("security", "/catalog/*", null));
+        assertNotEquals(epoch, context.getFilterChainEpoch());
+        assertNull(cache.get(context.getFilterChainEpoch(), DispatcherType.REQUEST, "/catalog/items"));
+
+        assertEquals(Arrays.asList("encoding", "security"), createFilterChain("/catalog/items"));
+    }
+
+    /**
+     * Builds the filter chain of a request for the given path and returns the names of the filters cached for it.
+     */
+    private List<String> createFilterChain(String requestPath) {
+        ApplicationFilterChain filterChain = ApplicationFilterFactory.getInstance()
+                .createFilterChain(createRequest(requestPath), wrapper, mock(Servlet.class));
+        ApplicationFilterConfig[] filters = cache.get(context.getFilterChainEpoch(), DispatcherType.REQUEST,
+                requestPath);
+        assertNotNull(filters);
+        assertEquals(filters.length > 0, filterChain != null);
+        List<String> names = new ArrayList<>();
+        for (ApplicationFilterConfig filter : filters) {
+            names.add(filter.getFilterName());
+        }
+        return names;
+    }
+
+    private FilterMap addFilter(String filterName, String urlPattern, String servletName) {
+        addFilterDef(filterName);
+        FilterMap filterMap = createFilterMap(filterName, urlPattern, servletName);
+        context.addFilterMap(filterMap);
+        return filterMap;
+    }
+
+    private void addFilterDef(String filterName) {
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(filterName);
+        filterDef.setFilterClass(NoOpFilter.class);
+        context.addFilterDef(filterDef);
+    }
+
+    private static FilterMap createFilterMap(String filterName, String urlPattern, String servletName) {
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        if (urlPattern != null) {
+            filterMap.setURLPattern(urlPattern);
+        }
+        filterMap.setServletName(servletName);
+        return filterMap;
+    }
+
+    private static ServletRequest createRequest(String requestPath) {
+        ServletRequest request = mock(ServletRequest.class, withSettings().extraInterfaces(Request.class).stubOnly());
+        when(request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(request.getAttribute(Globals.DISPATCHER_REQUEST_PATH_ATTR)).thenReturn(requestPath);
+        // the chain is recycled with the request
+        when(((Request) request).getFilterChain()).thenReturn(new ApplicationFilterChain());
+        return request;
+    }
+
+    public static class NoOpFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+            // not invoked
+        }
+    }
+}
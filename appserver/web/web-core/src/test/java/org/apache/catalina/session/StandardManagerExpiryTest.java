@@ -0,0 +1,169 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.catalina.session;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the expiry index of {@link ManagerBase} through a {@link StandardManager}.
+ */
+public class StandardManagerExpiryTest {
+
+    private StandardManager manager;
+
+    @Before
+    public void createManager() {
+        StandardContext context = mock(StandardContext.class);
+        when(context.getSessionTimeout()).thenReturn(1);
+        manager = new StandardManager();
+        manager.setContainer(context);
+        // only look at the sessions the index hands out
+        manager.setFullSweepFrequency(0);
+    }
+
+    @Test
+    public void createdSessionsAreIndexed() throws Exception {
+        Session generated = manager.createSession();
+        Session requested = manager.createSession("requested-id");
+
+        assertNotNull(generated.getIdInternal());
+        assertSame(generated, manager.findSession(generated.getIdInternal()));
+        assertSame(requested, manager.findSession("requested-id"));
+        assertEquals(60, generated.getMaxInactiveInterval());
+        assertEquals(2, manager.getScheduledSessionCount());
+        assertEquals(2, manager.getSessionCreateRate());
+    }
+
+    @Test
+    public void expiredSessionIsRemoved() throws Exception {
+        StandardSession session = createIdleSession();
+        assertTrue(manager.findExpirableSessions(System.currentTimeMillis()).isEmpty());
+
+        // bringing the expiration time forward on a live session schedules it right away
+        session.setMaxInactiveInterval(60);
+        assertEquals(1, manager.getScheduledSessionCount());
+        manager.processExpires();
+
+        assertFalse(session.getIsValid());
+        assertNull(manager.findSession(session.getIdInternal()));
+        assertEquals(0, manager.getScheduledSessionCount());
+        assertEquals(1, manager.getSessionExpireRate());
+    }
+
+    @Test
+    public void activeSessionIsRescheduled() throws Exception {
+        StandardSession session = (StandardSession) manager.createSession();
+        session.unlockForeground();
+        long expirationTime = session.getExpirationTime();
+
+        assertTrue(manager.findExpirableSessions(expirationTime - SessionExpiryIndex.BUCKET_MILLIS).isEmpty());
+        // the session has been accessed since it was indexed, so it has not expired when its bucket is due
+        session.access();
+        assertEquals(1, manager.findExpirableSessions(expirationTime + SessionExpiryIndex.BUCKET_MILLIS).size());
+        assertEquals(0, manager.getScheduledSessionCount());
+        assertTrue(session.isValid());
+
+        manager.rescheduleExpiry(session);
+        assertEquals(1, manager.getScheduledSessionCount());
+        assertTrue(manager.findExpirableSessions(session.getExpirationTime() - SessionExpiryIndex.BUCKET_MILLIS).isEmpty());
+        assertSame(session, manager.findSession(session.getIdInternal()));
+    }
+
+    @Test
+    public void removedSessionIsNotRescheduled() {
+        Session session = manager.createSession();
+        manager.remove(session);
+        assertEquals(0, manager.getScheduledSessionCount());
+
+        manager.rescheduleExpiry(session);
+        assertEquals(0, manager.getScheduledSessionCount());
+    }
+
+    @Test
+    public void sessionWithoutIdIsNotRescheduled() {
+        StandardSession session = new StandardSession(manager);
+        session.setValid(true);
+        session.setMaxInactiveInterval(60);
+
+        assertEquals(0, manager.getScheduledSessionCount());
+    }
+
+    @Test
+    public void sessionWhichNeverTimesOutIsNotIndexed() {
+        StandardSession session = (StandardSession) manager.createSession();
+        session.setMaxInactiveInterval(-1);
+
+        assertEquals(0, manager.getScheduledSessionCount());
+        assertTrue(manager.findExpirableSessions(Long.MAX_VALUE / 2).isEmpty());
+    }
+
+    @Test
+    public void fullSweepReturnsAllSessions() {
+        manager.setFullSweepFrequency(2);
+        manager.createSession();
+        manager.createSession();
+
+        assertTrue(manager.findExpirableSessions(System.currentTimeMillis()).isEmpty());
+        assertEquals(2, manager.findExpirableSessions(System.currentTimeMillis()).size());
+    }
+
+    /**
+     * Creates a session which was last accessed two minutes ago, while the index still has it at the expiration
+     * time it was created with.
+     */
+    private StandardSession createIdleSession() {
+        StandardSession session = (StandardSession) manager.createSession();
+        session.unlockForeground();
+        session.setCreationTime(System.currentTimeMillis() - 120_000L);
+        return session;
+    }
+}
@@ -113,6 +113,8 @@ public final class Constants {
     
     public static final String ACCESS_LOG_PREFIX = "accessLogPrefix";
 
+    public static final String ACCESS_LOG_ASYNC_WRITER_PROPERTY = "accessLogAsyncWriter";
+
     public static final String ACCESS_LOGGING_ENABLED = "accessLoggingEnabled";
 
     public static final String SSO_ENABLED = "sso-enabled";
@@ -47,6 +47,7 @@ import com.sun.enterprise.web.accesslog.AccessLogFormatter;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
+import com.sun.enterprise.web.accesslog.JsonAccessLogFormatterImpl;
 import com.sun.enterprise.web.pluggable.WebContainerFeatureFactory;
 import com.sun.enterprise.util.io.FileUtils;
 import org.apache.catalina.*;
@@ -67,6 +68,10 @@ import java.text.FieldPosition;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.internal.api.LogManager;
@@ -97,6 +102,7 @@ public final class PEAccessLogValve
     // Predefined patterns
     private static final String COMMON_PATTERN = "common";
     private static final String COMBINED_PATTERN = "combined";
+    private static final String JSON_PATTERN = "json";
 
     /**
      * Name of the system property whose value specifies the max number of
@@ -121,6 +127,22 @@ public final class PEAccessLogValve
      */
     private final static int DEFAULT_FILE_SIZE_ROTATION_LIMIT = 0;
 
+    /**
+     * The minimum size of the buffer the writer thread collects entries in
+     * when the asynchronous writer is used.
+     */
+    private final static int MIN_WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * How many times the buffer size may be waiting for the writer thread
+     * before request threads have to wait for it.
+     */
+    private final static int MAX_PENDING_BUFFERS = 32;
+
+    private static final long WRITER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     private static final String LOG_ROTATION_TIME_FORMAT
             = "'T'HH-mm-ss";
 
@@ -293,6 +315,39 @@ public final class PEAccessLogValve
      */
     private Object lock = new Object();
 
+    /**
+     * If true, request threads format entries into their own buffer and hand
+     * them to the writer thread instead of appending them to the shared
+     * buffer under the lock.
+     */
+    private boolean asyncWriter;
+
+    /**
+     * The buffer each request thread formats its entries in when the
+     * asynchronous writer is used.
+     */
+    private ThreadLocal<CharBuffer> threadCharBuffers;
+
+    /**
+     * The encoded entries waiting for the writer thread.
+     */
+    private final Queue<ByteBuffer> pendingEntries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of bytes in <code>pendingEntries</code>.
+     */
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    /**
+     * The buffer the writer thread collects pending entries in.
+     */
+    private ByteBuffer writeBuffer;
+
+    /**
+     * True while the writer thread waits for entries.
+     */
+    private volatile boolean writerWaiting;
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -322,6 +377,22 @@ public final class PEAccessLogValve
         return rotationInterval;
     }
 
+    /**
+     * Are entries handed to the writer thread without taking the shared lock?
+     */
+    public boolean isAsyncWriter() {
+        return asyncWriter;
+    }
+
+    /**
+     * Set whether request threads format entries into their own buffers and
+     * hand them to the writer thread instead of writing them under a lock
+     * shared by all requests.
+     */
+    public void setAsyncWriter(boolean asyncWriter) {
+        this.asyncWriter = asyncWriter;
+    }
+
     /**
      * Set rotation interval
      */
@@ -396,6 +467,8 @@ public final class PEAccessLogValve
             formatter = new CommonAccessLogFormatterImpl();
         } else if (COMBINED_PATTERN.equalsIgnoreCase(p)) {
             formatter = new CombinedAccessLogFormatterImpl();
+        } else if (JSON_PATTERN.equalsIgnoreCase(p)) {
+            formatter = new JsonAccessLogFormatterImpl();
         } else {
             formatter = new DefaultAccessLogFormatterImpl(p, getContainer());
         }
@@ -571,6 +644,11 @@ public final class PEAccessLogValve
             return;
         }
 
+        if (isWritingAsync()) {
+            enqueueLogEntry(request, response);
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -608,6 +686,124 @@ public final class PEAccessLogValve
         }
     }
 
+    /**
+     * Formats the entry into the calling thread's buffer and hands the
+     * encoded entry to the writer thread.
+     */
+    private void enqueueLogEntry(Request request, Response response) {
+        if (formatter == null) {
+            return;
+        }
+        CharBuffer threadCharBuffer = threadCharBuffers.get();
+        threadCharBuffer.clear();
+        try {
+            formatter.appendLogEntry(request, response, threadCharBuffer);
+            threadCharBuffer.put('\n');
+        } catch (BufferOverflowException ex) {
+            _logger.log(
+                    Level.SEVERE,
+                    LogFacade.ACCESS_LOG_UNABLE_TO_WRITE,
+                new Object[] {ex});
+            return;
+        }
+        threadCharBuffer.flip();
+        ByteBuffer entry = Charset.defaultCharset().encode(threadCharBuffer);
+
+        long maxPendingBytes = (long) bufferSize * MAX_PENDING_BUFFERS;
+        while (pendingBytes.get() > maxPendingBytes && started) {
+            // the writer is behind, wait for it rather than growing the queue
+            wakeWriter();
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+        long pending = pendingBytes.addAndGet(entry.remaining());
+        pendingEntries.offer(entry);
+        if (writerWaiting && (flushRealTime || pending >= bufferSize)) {
+            wakeWriter();
+        }
+    }
+
+    /**
+     * Whether this valve was started with the asynchronous writer, changing
+     * the <code>asyncWriter</code> property takes effect on the next start.
+     */
+    private boolean isWritingAsync() {
+        return writeBuffer != null;
+    }
+
+    private void wakeWriter() {
+        Thread writer = writerThread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the entries handed over by the request threads to the log file,
+     * collecting them into as few channel writes as possible.
+     */
+    private void writePendingEntries() {
+        synchronized (lock) {
+            ByteBuffer entry;
+            while ((entry = pendingEntries.poll()) != null) {
+                int length = entry.remaining();
+                pendingBytes.addAndGet(-length);
+                if (accessLogToConsole) {
+                    logManager.getOutStream().print("AccessLog: " + new String(entry.array(),
+                            entry.arrayOffset() + entry.position(), length, Charset.defaultCharset()));
+                }
+                if (writeBuffer.remaining() < length) {
+                    writeBufferToChannel();
+                }
+                if (writeBuffer.remaining() < length) {
+                    writeToChannel(entry);
+                } else {
+                    writeBuffer.put(entry);
+                }
+            }
+            writeBufferToChannel();
+        }
+    }
+
+    private void writeBufferToChannel() {
+        writeBuffer.flip();
+        writeToChannel(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeToChannel(ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        } catch (IOException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+        }
+    }
+
+    /**
+     * Waits until the asynchronous writer has entries to write, the write
+     * interval has passed or the writer thread is stopped.
+     */
+    private void awaitPendingEntries() {
+        long timeout = writeInterval > 0 ? TimeUnit.SECONDS.toNanos(writeInterval) : WRITER_IDLE_NANOS;
+        long deadline = System.nanoTime() + timeout;
+        writerWaiting = true;
+        try {
+            while (!threadDone) {
+                if (flushRealTime ? !pendingEntries.isEmpty() : pendingBytes.get() >= bufferSize) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            writerWaiting = false;
+        }
+    }
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
@@ -621,23 +817,27 @@ public final class PEAccessLogValve
             }
         }
 
-        synchronized(lock){
-            try{
-                charBuffer.flip();
-                String bufString = charBuffer.toString();
-                if (accessLogToConsole && !bufString.isEmpty()) {
-                    logManager.getOutStream().print(bufString.replaceAll("(?m)^", "AccessLog: "));
-                }
-                ByteBuffer byteBuffer =
-                    ByteBuffer.wrap(bufString.getBytes(Charset.defaultCharset()));
+        if (isWritingAsync()) {
+            writePendingEntries();
+        } else {
+            synchronized(lock){
+                try{
+                    charBuffer.flip();
+                    String bufString = charBuffer.toString();
+                    if (accessLogToConsole && !bufString.isEmpty()) {
+                        logManager.getOutStream().print(bufString.replaceAll("(?m)^", "AccessLog: "));
+                    }
+                    ByteBuffer byteBuffer =
+                        ByteBuffer.wrap(bufString.getBytes(Charset.defaultCharset()));
 
-                while (byteBuffer.hasRemaining()){
-                    fileChannel.write(byteBuffer);
+                    while (byteBuffer.hasRemaining()){
+                        fileChannel.write(byteBuffer);
+                    }
+                } catch (IOException ex){
+                    ;
+                } finally {
+                    charBuffer.clear();
                 }
-            } catch (IOException ex){
-                ;
-            } finally {
-                charBuffer.clear();
             }
         }
 
@@ -768,6 +968,13 @@ public final class PEAccessLogValve
             }
         }
         
+        /*
+         * The accessLogAsyncWriter property under <virtual-server> lets request
+         * threads hand their entries to the writer thread without locking
+         */
+        setAsyncWriter(Boolean.parseBoolean(vsBean.getPropertyValue(
+                Constants.ACCESS_LOG_ASYNC_WRITER_PROPERTY)));
+
         String acFilePrefix = vsBean.getPropertyValue(Constants.ACCESS_LOG_PREFIX);
         if(acFilePrefix != null && !acFilePrefix.trim().isEmpty() && !"null".equals(acFilePrefix) && !"null".equals(accessLogPrefix)) {
             setPrefix(acFilePrefix + ".");
@@ -1203,6 +1410,14 @@ public final class PEAccessLogValve
         }
 
         charBuffer = CharBuffer.allocate(bufferSize);
+        if (asyncWriter) {
+            final int entryBufferSize = bufferSize;
+            threadCharBuffers = ThreadLocal.withInitial(() -> CharBuffer.allocate(entryBufferSize));
+            writeBuffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_WRITE_BUFFER_SIZE));
+        } else {
+            threadCharBuffers = null;
+            writeBuffer = null;
+        }
 
         // Initialize the timeZone, Date formatters, and currentDate
         final TimeZone tz = TimeZone.getDefault();
@@ -1227,7 +1442,7 @@ public final class PEAccessLogValve
 
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
+        if (!flushRealTime || isWritingAsync()){
             // Start the background writer writerThread
             threadStart();
         }
@@ -1254,7 +1469,7 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        if (!flushRealTime || isWritingAsync()){
             // Stop the background writer thread
             threadStop();
         }
@@ -1270,7 +1485,11 @@ public final class PEAccessLogValve
 
         // Loop until the termination semaphore is set
         while (!threadDone) {
-            threadSleep();
+            if (isWritingAsync()) {
+                awaitPendingEntries();
+            } else {
+                threadSleep();
+            }
             try {
                 log();
             } catch (IOException ioe) {
@@ -1302,7 +1521,7 @@ public final class PEAccessLogValve
      */
     private void threadStart() {
 
-        if (writerThread != null || writeInterval == 0)
+        if (writerThread != null || writeInterval == 0 && !isWritingAsync())
             return;
 
         threadDone = false;
@@ -1318,11 +1537,16 @@ public final class PEAccessLogValve
      */
     private void threadStop() {
 
-        if (writerThread == null || writeInterval == 0)
+        if (writerThread == null || writeInterval == 0 && !isWritingAsync())
             return;
 
         threadDone = true;
-        writerThread.interrupt();
+        if (isWritingAsync()) {
+            // interrupting a thread writing to the file channel closes it
+            LockSupport.unpark(writerThread);
+        } else {
+            writerThread.interrupt();
+        }
         try {
             writerThread.join();
         } catch (InterruptedException e) {
@@ -1808,7 +1808,8 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
         webModule.setModuleName(moduleName);
         webModule.setMonitoringNodeName(monitoringNodeName);
 
-        webStatsProviderBootstrap.registerApplicationStatsProviders(monitoringNodeName, virtualServer.getName(), getServletNames(webBundleDescriptor));
+        webStatsProviderBootstrap.registerApplicationStatsProviders(monitoringNodeName, virtualServer.getName(), getServletNames(webBundleDescriptor),
+                new StaticResourceCacheStatistics(webModule));
 
         virtualServer.addChild(webModule);
 
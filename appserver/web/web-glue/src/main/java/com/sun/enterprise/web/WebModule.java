@@ -2207,6 +2207,12 @@ public class WebModule extends PwcWebModule implements Context {
             monitoringNodeName, vsId);
     }
 
+    @Override
+    public void sessionRatesEvent(int createRate, int expireRate) {
+        sessionProbeProvider.sessionRatesEvent(createRate, expireRate,
+            monitoringNodeName, vsId);
+    }
+
     @Override
     public void sessionPersistedStartEvent(HttpSession session) {
         sessionProbeProvider.sessionPersistedStartEvent(session.getId(),
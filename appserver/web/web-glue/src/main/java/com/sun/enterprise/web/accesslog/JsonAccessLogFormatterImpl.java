@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.web.accesslog;
+
+import com.sun.enterprise.web.Constants;
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Access log formatter writing each entry as a single line JSON object (JSON lines), which log shippers can ingest
+ * without a pattern specific parser.
+ */
+public class JsonAccessLogFormatterImpl extends AccessLogFormatter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final DateTimeFormatter timestampFormatter =
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
+
+    /**
+     * Constructor.
+     */
+    public JsonAccessLogFormatterImpl() {
+        super();
+        needTimeTaken = true;
+    }
+
+    /**
+     * Appends an access log entry line, with info obtained from the given
+     * request and response objects, to the given CharBuffer.
+     *
+     * @param request The request object from which to obtain access log info
+     * @param response The response object from which to obtain access log info
+     * @param charBuffer The CharBuffer to which to append access log info
+     */
+    @Override
+    public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+        ServletRequest req = request.getRequest();
+        HttpServletRequest hreq = (HttpServletRequest) req;
+
+        charBuffer.put('{');
+        appendField(charBuffer, "timestamp", timestampFormatter.format(Instant.now()), false);
+        appendField(charBuffer, "client", req.getRemoteHost(), true);
+        appendField(charBuffer, "user", hreq.getRemoteUser(), true);
+        appendField(charBuffer, "method", hreq.getMethod(), true);
+        appendField(charBuffer, "uri", hreq.getRequestURI(), true);
+        appendField(charBuffer, "query", hreq.getQueryString(), true);
+        appendField(charBuffer, "protocol", hreq.getProtocol(), true);
+        appendNumber(charBuffer, "status", ((HttpResponse) response).getStatus());
+        appendNumber(charBuffer, "bytes", response.getContentCount());
+        appendField(charBuffer, "referer", hreq.getHeader("referer"), true);
+        appendField(charBuffer, "userAgent", hreq.getHeader("user-agent"), true);
+        Long startTime = (Long) request.getNote(Constants.REQUEST_START_TIME_NOTE);
+        if (startTime != null) {
+            appendNumber(charBuffer, "timeTaken", System.currentTimeMillis() - startTime);
+        }
+        charBuffer.put('}');
+    }
+
+    private static void appendField(CharBuffer cb, String name, String value, boolean separator) {
+        if (separator) {
+            cb.put(',');
+        }
+        cb.put('"').put(name).put("\":");
+        if (value == null) {
+            cb.put("null");
+            return;
+        }
+        cb.put('"');
+        appendEscaped(cb, value);
+        cb.put('"');
+    }
+
+    private static void appendNumber(CharBuffer cb, String name, long value) {
+        cb.put(",\"").put(name).put("\":").put(Long.toString(value));
+    }
+
+    /*
+     * Appends the value escaped as the content of a JSON string.
+     */
+    static void appendEscaped(CharBuffer cb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    cb.put("\\\"");
+                    break;
+                case '\\':
+                    cb.put("\\\\");
+                    break;
+                case '\n':
+                    cb.put("\\n");
+                    break;
+                case '\r':
+                    cb.put("\\r");
+                    break;
+                case '\t':
+                    cb.put("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        cb.put("\\u00").put(HEX[c >> 4]).put(HEX[c & 0xF]);
+                    } else {
+                        cb.put(c);
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.internal.api.Globals;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Tests that the {@link PEAccessLogValve} logs every request exactly once as a complete line when requests are
+ * logged by many threads concurrently, with the synchronous and with the asynchronous writer.
+ */
+public class PEAccessLogValveTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpHabitat() {
+        if (Globals.getDefaultHabitat() == null) {
+            Globals.setDefaultHabitat(mock(ServiceLocator.class));
+        }
+    }
+
+    @Test
+    public void stoppedValveLogsNothing() throws Exception {
+        File directory = folder.newFolder();
+        PEAccessLogValve valve = createValve(directory, false);
+        logConcurrently(valve);
+        assertEquals(0, readLines(directory).size());
+    }
+
+    @Test
+    public void synchronousWriterLogsEveryRequestOnce() throws Exception {
+        assertEveryRequestLoggedOnce(false);
+    }
+
+    @Test
+    public void asynchronousWriterLogsEveryRequestOnce() throws Exception {
+        assertEveryRequestLoggedOnce(true);
+    }
+
+    private void assertEveryRequestLoggedOnce(boolean asyncWriter) throws Exception {
+        File directory = folder.newFolder();
+        PEAccessLogValve valve = createValve(directory, asyncWriter);
+        valve.start();
+        try {
+            logConcurrently(valve);
+        } finally {
+            valve.stop();
+        }
+        List<String> lines = readLines(directory);
+        assertEquals(THREADS * REQUESTS_PER_THREAD, lines.size());
+        for (String line : lines) {
+            assertTrue("Incomplete entry: " + line, line.startsWith("{") && line.endsWith("}"));
+            assertTrue("Entry of another request: " + line, line.contains("/shop/catalog/items"));
+        }
+    }
+
+    private static PEAccessLogValve createValve(File directory, boolean asyncWriter) {
+        PEAccessLogValve valve = new PEAccessLogValve();
+        valve.setDirectory(directory.getAbsolutePath());
+        valve.setPrefix("server_access_log.");
+        valve.setSuffix(".txt");
+        valve.setPattern("json");
+        valve.setWriterInterval(1);
+        // the smallest buffer, so the entries of all threads are flushed several times
+        valve.setBufferSize(5120);
+        valve.setAsyncWriter(asyncWriter);
+        return valve;
+    }
+
+    private static void logConcurrently(PEAccessLogValve valve) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Request request = createRequest();
+                HttpResponse response = createResponse();
+                workers.add(executor.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        valve.invoke(request, response);
+                        valve.postInvoke(request, response);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Request createRequest() {
+        HttpServletRequest servletRequest = mock(HttpServletRequest.class, withSettings().stubOnly());
+        when(servletRequest.getRemoteHost()).thenReturn("192.168.0.17");
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getRequestURI()).thenReturn("/shop/catalog/items");
+        when(servletRequest.getQueryString()).thenReturn("page=3&sort=price");
+        when(servletRequest.getProtocol()).thenReturn("HTTP/1.1");
+        when(servletRequest.getHeader("user-agent")).thenReturn("Mozilla/5.0 (X11; Linux x86_64)");
+        Request request = mock(Request.class, withSettings().stubOnly());
+        when(request.getRequest()).thenReturn(servletRequest);
+        when(request.getNote(Constants.REQUEST_START_TIME_NOTE)).thenReturn(System.currentTimeMillis());
+        return request;
+    }
+
+    private static HttpResponse createResponse() {
+        HttpResponse response = mock(HttpResponse.class, withSettings().stubOnly());
+        when(response.getStatus()).thenReturn(200);
+        when(response.getContentCount()).thenReturn(4096);
+        return response;
+    }
+
+    private static List<String> readLines(File directory) throws IOException {
+        List<String> lines = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                lines.addAll(Files.readAllLines(file.toPath()));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.web.accesslog;
+
+import com.sun.enterprise.web.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.CharBuffer;
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JsonAccessLogFormatterImplTest {
+
+    @Test
+    public void escapesControlAndQuoteCharacters() {
+        CharBuffer cb = CharBuffer.allocate(64);
+        JsonAccessLogFormatterImpl.appendEscaped(cb, "a\"b\\c\nd\u0001");
+        cb.flip();
+        assertEquals("a\\\"b\\\\c\\nd\\u0001", cb.toString());
+    }
+
+    @Test
+    public void writesRequestAndResponseFields() {
+        HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        when(servletRequest.getRemoteHost()).thenReturn("127.0.0.1");
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getRequestURI()).thenReturn("/app/index.html");
+        when(servletRequest.getQueryString()).thenReturn("q=\"x\"");
+        when(servletRequest.getProtocol()).thenReturn("HTTP/1.1");
+        when(servletRequest.getHeader("user-agent")).thenReturn("curl/8.0");
+
+        Request request = mock(Request.class);
+        when(request.getRequest()).thenReturn(servletRequest);
+        when(request.getNote(Constants.REQUEST_START_TIME_NOTE)).thenReturn(System.currentTimeMillis());
+
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatus()).thenReturn(200);
+        when(response.getContentCount()).thenReturn(512);
+
+        CharBuffer cb = CharBuffer.allocate(1024);
+        new JsonAccessLogFormatterImpl().appendLogEntry(request, response, cb);
+        cb.flip();
+        String entry = cb.toString();
+
+        assertTrue(entry, entry.startsWith("{\"timestamp\":\""));
+        assertTrue(entry, entry.endsWith("}"));
+        assertTrue(entry, entry.contains(",\"client\":\"127.0.0.1\",\"user\":null,\"method\":\"GET\""));
+        assertTrue(entry, entry.contains(",\"uri\":\"/app/index.html\",\"query\":\"q=\\\"x\\\"\""));
+        assertTrue(entry, entry.contains(",\"status\":200,\"bytes\":512,\"referer\":null,\"userAgent\":\"curl/8.0\""));
+        assertTrue(entry, entry.contains(",\"timeTaken\":"));
+        assertEquals(-1, entry.indexOf('\n'));
+    }
+}
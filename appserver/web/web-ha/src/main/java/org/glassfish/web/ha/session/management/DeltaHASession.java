@@ -0,0 +1,157 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.ha.session.management;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.security.Principal;
+import org.apache.catalina.Manager;
+
+/**
+ * A session which is replicated as deltas of its changed attributes.
+ * <p>
+ * Besides the changed attributes tracked by {@link ModifiedAttributeHASession} this session remembers the version
+ * it was last replicated at, which is the version the next delta is made against, and how many deltas have been
+ * replicated since its last snapshot.
+ */
+public class DeltaHASession extends ModifiedAttributeHASession {
+
+    private transient long replicatedVersion = SessionDeltaMetadata.SNAPSHOT;
+
+    private transient boolean snapshotRequired = true;
+
+    private transient int snapshotBytes;
+
+    private transient int replicatedDeltas;
+
+    private transient int replicatedDeltaBytes;
+
+    /** Creates a new instance of DeltaHASession */
+    public DeltaHASession(Manager manager) {
+        super(manager);
+    }
+
+    /**
+     * Returns the version this session was last replicated at, or a negative number if it has not been replicated
+     */
+    public long getReplicatedVersion() {
+        return replicatedVersion;
+    }
+
+    /**
+     * Is a full snapshot of this session required the next time it is replicated
+     */
+    public boolean isSnapshotRequired() {
+        return snapshotRequired || replicatedVersion < 0;
+    }
+
+    /**
+     * Returns the size of the serialized session of the last replicated snapshot
+     */
+    int getSnapshotBytes() {
+        return snapshotBytes;
+    }
+
+    /**
+     * Returns the number of deltas replicated since the last snapshot
+     */
+    int getReplicatedDeltas() {
+        return replicatedDeltas;
+    }
+
+    /**
+     * Returns the size of the deltas replicated since the last snapshot
+     */
+    int getReplicatedDeltaBytes() {
+        return replicatedDeltaBytes;
+    }
+
+    /**
+     * Records that this session has been replicated at the given version
+     * @param version the replicated version
+     * @param snapshotBytes the size of the serialized session of the last snapshot
+     * @param deltas the number of deltas replicated since the last snapshot
+     * @param deltaBytes the size of the deltas replicated since the last snapshot
+     */
+    void replicated(long version, int snapshotBytes, int deltas, int deltaBytes) {
+        replicatedVersion = version;
+        snapshotRequired = false;
+        this.snapshotBytes = snapshotBytes;
+        replicatedDeltas = deltas;
+        replicatedDeltaBytes = deltaBytes;
+    }
+
+    /**
+     * Sets or removes an attribute replicated from another member, without notifying any listeners, the same as
+     * the attributes of a deserialized session
+     * @param name the attribute name
+     * @param value the attribute value, null to remove the attribute
+     */
+    void applyReplicatedAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    /**
+     * A change of the principal is not an attribute change, so it is replicated as a snapshot
+     */
+    @Override
+    public void setPrincipal(Principal principal) {
+        super.setPrincipal(principal);
+        snapshotRequired = true;
+    }
+
+    private void readObject(ObjectInputStream stream) throws ClassNotFoundException, IOException {
+        stream.defaultReadObject();
+        // a deserialized session has not been replicated until its store says so
+        replicatedVersion = SessionDeltaMetadata.SNAPSHOT;
+        snapshotRequired = true;
+    }
+
+    @Override
+    public void recycle() {
+        super.recycle();
+        replicatedVersion = SessionDeltaMetadata.SNAPSHOT;
+        snapshotRequired = true;
+    }
+}
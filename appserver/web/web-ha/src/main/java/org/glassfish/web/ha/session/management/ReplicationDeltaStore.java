@@ -0,0 +1,333 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.ha.session.management;
+
+import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
+import org.apache.catalina.Container;
+import org.apache.catalina.Loader;
+import org.apache.catalina.Session;
+import org.apache.catalina.session.StandardSession;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * A store which replicates the attributes changed by each request as a {@link SessionDeltaMetadata} delta, rather
+ * than the whole session.
+ * <p>
+ * Deltas are only sent to a backing store implementing {@link DeltaBackingStore}. The session is replicated as a
+ * full snapshot when it is first saved, when its principal changes, when the backing store does not support deltas,
+ * when the deltas since the last snapshot would outgrow it and whenever the backing store rejects a delta.
+ */
+public class ReplicationDeltaStore extends ReplicationStore {
+
+    /** Creates a new instance of ReplicationDeltaStore */
+    public ReplicationDeltaStore(JavaEEIOUtils ioUtils) {
+        super(ioUtils);
+        setLogLevel();
+    }
+
+    /**
+     * Save the specified Session into this Store.  Any previously saved
+     * information for the associated session identifier is replaced.
+     *
+     * @param session Session to be saved
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void valveSave(Session session) throws IOException {
+        if (!(session instanceof HASession)) {
+            return;
+        }
+        HASession haSess = (HASession) session;
+        if (haSess.isPersistent() && !haSess.isDirty()) {
+            this.updateLastAccessTime(session);
+        } else {
+            this.doValveSave(session);
+            haSess.setPersistent(true);
+        }
+        haSess.setDirty(false);
+    }
+
+    /**
+     * Save the specified Session into this Store.  Any previously saved
+     * information for the associated session identifier is replaced.
+     *
+     * @param session Session to be saved
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void save(Session session) throws IOException {
+        if (!(session instanceof HASession)) {
+            return;
+        }
+        HASession haSess = (HASession) session;
+        if (haSess.isPersistent() && !haSess.isDirty()) {
+            this.updateLastAccessTime(session);
+        } else {
+            this.doSave(session);
+            haSess.setPersistent(true);
+        }
+        haSess.setDirty(false);
+    }
+
+    @Override
+    public void doValveSave(Session session) throws IOException {
+        if (session.getPrincipal() != null && session instanceof BaseHASession) {
+            ((BaseHASession) session).setUserName(session.getPrincipal().getName());
+        }
+        replicate(session);
+    }
+
+    @Override
+    public void doSave(Session session) throws IOException {
+        replicate(session);
+    }
+
+    private void replicate(Session session) throws IOException {
+        // do not save if session is not valid
+        if (!((StandardSession) session).getIsValid() || !(session instanceof DeltaHASession)) {
+            return;
+        }
+        DeltaHASession deltaSession = (DeltaHASession) session;
+        String id = session.getIdInternal();
+        try {
+            BackingStore<String, SessionDeltaMetadata> backingStore = getDeltaMetadataBackingStore();
+            if (!deltaSession.isSnapshotRequired() && backingStore instanceof DeltaBackingStore) {
+                SessionDeltaMetadata delta = createDelta(deltaSession);
+                int sequence = deltaSession.getReplicatedDeltas() + 1;
+                int deltaBytes = deltaSession.getReplicatedDeltaBytes() + delta.getSize();
+                if (SessionDeltaMetadata.isWithinLimits(sequence, deltaBytes, deltaSession.getSnapshotBytes())
+                        && ((DeltaBackingStore) backingStore).saveDelta(id, sequence, delta)) {
+                    if (_logger.isLoggable(Level.FINE)) {
+                        _logger.fine("ReplicationDeltaStore>>replicate: saved " + delta + " id is " + id);
+                    }
+                    deltaSession.resetAttributeState();
+                    deltaSession.replicated(deltaSession.getVersion(), deltaSession.getSnapshotBytes(), sequence,
+                            deltaBytes);
+                    return;
+                }
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.fine("ReplicationDeltaStore>>replicate: " + delta + " not saved, saving snapshot of id " + id);
+                }
+            }
+            byte[] state = getByteArray(session, isReplicationCompressionEnabled());
+            SessionDeltaMetadata snapshot = SessionDeltaMetadata.createSnapshot(deltaSession.getVersion(),
+                    deltaSession.getLastAccessedTimeInternal(),
+                    deltaSession.getMaxInactiveInterval() * 1000L,
+                    deltaSession.getUserName(),
+                    state);
+            backingStore.save(id, snapshot, !deltaSession.isPersistent());
+            deltaSession.resetAttributeState();
+            deltaSession.replicated(deltaSession.getVersion(), state.length, 0, 0);
+        } catch (BackingStoreException ex) {
+            throw new IOException("Error during save: " + ex.getMessage(), ex);
+        }
+    }
+
+    private SessionDeltaMetadata createDelta(DeltaHASession session) throws IOException {
+        List<String> changed = new ArrayList<>(session.getAddedAttributes());
+        changed.addAll(session.getModifiedAttributes());
+        List<String> updatedNames = new ArrayList<>(changed.size());
+        List<Object> updatedValues = new ArrayList<>(changed.size());
+        for (String name : changed) {
+            Object value = session.getAttribute(name);
+            // like a full save, leave out attributes which cannot be replicated
+            if (value instanceof Serializable) {
+                updatedNames.add(name);
+                updatedValues.add(value);
+            }
+        }
+        return SessionDeltaMetadata.createDelta(session.getReplicatedVersion(), session.getVersion(),
+                session.getLastAccessedTimeInternal(),
+                session.getMaxInactiveInterval() * 1000L,
+                session.getUserName(),
+                updatedNames,
+                updatedValues.isEmpty() ? null : getByteArray(updatedValues),
+                session.getDeletedAttributes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BackingStore<String, SessionDeltaMetadata> getDeltaMetadataBackingStore() throws BackingStoreException {
+        ReplicationManagerBase<SessionDeltaMetadata> mgr
+                = (ReplicationManagerBase<SessionDeltaMetadata>) this.getManager();
+        BackingStore<String, SessionDeltaMetadata> rv = mgr.getBackingStore();
+        if (rv == null) {
+            throw new BackingStoreException("Backing Store is not set");
+        }
+        return rv;
+    }
+
+    @Override
+    public Session load(String id, String version) throws ClassNotFoundException, IOException {
+        try {
+            SessionDeltaMetadata metadata = getDeltaMetadataBackingStore().load(id, version);
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("ReplicationDeltaStore>>load:id=" + id + ", metadata=" + metadata);
+            }
+            return getSession(metadata);
+        } catch (BackingStoreException ex) {
+            throw new IOException("Error during load: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Restores a session from its snapshot and the deltas applied to it since.
+     *
+     * @param metadata the snapshot loaded from the backing store, with the stored deltas applied
+     * @return the session, or null if there is no snapshot
+     */
+    public Session getSession(SessionDeltaMetadata metadata) throws IOException, ClassNotFoundException {
+        if (metadata == null || metadata.getState() == null) {
+            return null;
+        }
+        Session session = getSession(metadata.getState(), metadata.getVersion());
+        if (!(session instanceof DeltaHASession)) {
+            return session;
+        }
+        DeltaHASession deltaSession = (DeltaHASession) session;
+        for (SessionDeltaMetadata delta : metadata.getDeltas()) {
+            String[] updatedNames = delta.getUpdatedAttributes();
+            if (updatedNames.length > 0) {
+                List<Object> updatedValues = getAttributeValues(delta.getAttributeState(), updatedNames.length);
+                for (int i = 0; i < updatedNames.length; i++) {
+                    deltaSession.applyReplicatedAttribute(updatedNames[i], updatedValues.get(i));
+                }
+            }
+            for (String deletedName : delta.getDeletedAttributes()) {
+                deltaSession.applyReplicatedAttribute(deletedName, null);
+            }
+        }
+        deltaSession.setLastAccessedTime(metadata._storeable_getLastAccessTime());
+        int maxInactiveInterval = (int) (metadata._storeable_getMaxIdleTime() / 1000L);
+        if (maxInactiveInterval != deltaSession.getMaxInactiveInterval()) {
+            deltaSession.setMaxInactiveInterval(maxInactiveInterval);
+        }
+        deltaSession.resetAttributeState();
+        deltaSession.replicated(metadata.getVersion(), metadata.getState().length, metadata.getDeltas().size(),
+                metadata.getDeltaBytes());
+        return deltaSession;
+    }
+
+    /**
+    * Create an byte[] for the given attribute values, sharing one stream so
+    * that each class descriptor is only written once.
+    *
+    * @param values
+    *   The attribute values we are serializing
+    *
+    */
+    protected byte[] getByteArray(List<Object> values) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = null;
+        try {
+            try {
+                oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
+            } catch (Exception ex) {}
+
+            //use normal ObjectOutputStream if there is a failure during stream creation
+            if (oos == null) {
+                oos = new ObjectOutputStream(new BufferedOutputStream(bos));
+            }
+            for (Object value : values) {
+                oos.writeObject(value);
+            }
+        } finally {
+            if (oos != null) {
+                oos.close();
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+    * Given a byte[] containing attribute values, return the values
+    *
+    * @param state
+    *   The byte[] with the attribute values
+    * @param count
+    *   The number of values in <code>state</code>
+    */
+    protected List<Object> getAttributeValues(byte[] state, int count) throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = null;
+        Container container = manager.getContainer();
+        if (container != null) {
+            Loader loader = container.getLoader();
+            if (loader != null) {
+                classLoader = loader.getClassLoader();
+            }
+        }
+        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(state));
+        ObjectInputStream ois = null;
+        if (classLoader != null) {
+            try {
+                ois = ioUtils.createObjectInputStream(bis, true, classLoader, getUniqueId());
+            } catch (Exception ex) {}
+        }
+        if (ois == null) {
+            ois = new ObjectInputStream(bis);
+        }
+        try {
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(ois.readObject());
+            }
+            return values;
+        } finally {
+            try {
+                ois.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+}
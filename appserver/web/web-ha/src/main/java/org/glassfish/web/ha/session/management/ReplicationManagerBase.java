@@ -196,6 +196,7 @@ public abstract class ReplicationManagerBase<T extends Storeable> extends Persis
         }
         Session removed = null;
         removed = sessions.remove(session.getIdInternal());
+        rescheduleExpiry(session);
         if (removed != null && _logger.isLoggable(Level.FINE)){
             _logger.fine("Remove from manager cache id=" + session.getId());
         }
@@ -0,0 +1,444 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.ha.session.management;
+
+import org.glassfish.ha.store.api.Storeable;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The replicated state of a web session, either as a full snapshot or as a delta holding only the attributes which
+ * changed since a given version.
+ * <p>
+ * A backing store keeps each delta apart from the snapshot it was made against, so saving a delta sends neither the
+ * snapshot nor the earlier deltas. When the session is loaded the stored deltas are applied to the snapshot in order,
+ * and the loaded snapshot holds the serialized session and the deltas applied to it. A delta is only applied if it
+ * was made against the current version of the snapshot and does not make the deltas outgrow the snapshot; the
+ * replicating member takes a new snapshot before the deltas would grow any further.
+ * <p>
+ * Instances are written in a compact format of their own rather than by default serialization, so the class
+ * descriptor is only sent once for the whole snapshot or delta. The values of the changed attributes of a delta
+ * are written to one object stream, so each of their class descriptors is sent once per delta.
+ */
+public final class SessionDeltaMetadata implements Storeable, Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The base version of a snapshot, which does not depend on any earlier version.
+     */
+    static final long SNAPSHOT = -1L;
+
+    /**
+     * The maximum number of deltas applied to a snapshot before a new snapshot is required.
+     */
+    public static final int MAX_DELTAS = 64;
+
+    /**
+     * The number of bytes the deltas applied to a snapshot may take up regardless of the size of the snapshot.
+     */
+    static final int MIN_DELTA_BYTES = 4096;
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private static final String[] ATTRIBUTE_NAMES = new String[] { ReplicationAttributeNames.STATE };
+
+    private long version;
+
+    private long baseVersion = SNAPSHOT;
+
+    private long lastAccessTime;
+
+    private long maxInactiveInterval;
+
+    private String userName;
+
+    private byte[] state;
+
+    private String[] updatedAttributes = NO_NAMES;
+
+    private byte[] attributeState;
+
+    private String[] deletedAttributes = NO_NAMES;
+
+    private List<SessionDeltaMetadata> deltas = new ArrayList<>();
+
+    private int deltaBytes;
+
+    private boolean[] dirtyBits = new boolean[] { true };
+
+    /**
+     * Every Storeable must have a public no arg constructor
+     */
+    public SessionDeltaMetadata() {
+
+    }
+
+    private SessionDeltaMetadata(long version, long baseVersion, long lastAccessTime, long maxInactiveInterval,
+            String userName) {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.lastAccessTime = lastAccessTime;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.userName = userName;
+    }
+
+    /**
+     * Creates a snapshot of a session.
+     *
+     * @param version             the version of the session
+     * @param lastAccessTime      the last access time of the session
+     * @param maxInactiveInterval the maximum time in milliseconds the session can be idle
+     * @param userName            the name of the user the session belongs to, may be empty
+     * @param state               the serialized session
+     */
+    public static SessionDeltaMetadata createSnapshot(long version, long lastAccessTime, long maxInactiveInterval,
+            String userName, byte[] state) {
+        SessionDeltaMetadata snapshot = new SessionDeltaMetadata(version, SNAPSHOT, lastAccessTime,
+                maxInactiveInterval, userName);
+        snapshot.state = state;
+        return snapshot;
+    }
+
+    /**
+     * Creates a delta of a session.
+     *
+     * @param baseVersion         the version of the session the delta was made against
+     * @param version             the version of the session after the delta
+     * @param lastAccessTime      the last access time of the session
+     * @param maxInactiveInterval the maximum time in milliseconds the session can be idle
+     * @param userName            the name of the user the session belongs to, may be empty
+     * @param updatedAttributes   the names of the attributes added or changed, in the order their values are written
+     *                            to <code>attributeState</code>
+     * @param attributeState      the serialized values of the updated attributes, null if there are none
+     * @param deletedAttributes   the names of the attributes removed
+     */
+    public static SessionDeltaMetadata createDelta(long baseVersion, long version, long lastAccessTime,
+            long maxInactiveInterval, String userName, List<String> updatedAttributes, byte[] attributeState,
+            List<String> deletedAttributes) {
+        if (baseVersion < 0) {
+            throw new IllegalArgumentException("A delta requires a base version, got " + baseVersion);
+        }
+        SessionDeltaMetadata delta = new SessionDeltaMetadata(version, baseVersion, lastAccessTime,
+                maxInactiveInterval, userName);
+        delta.updatedAttributes = updatedAttributes.toArray(NO_NAMES);
+        delta.attributeState = attributeState;
+        delta.deletedAttributes = deletedAttributes.toArray(NO_NAMES);
+        return delta;
+    }
+
+    /**
+     * Can the given number of deltas be stored alongside a snapshot, or should a new snapshot be taken instead
+     *
+     * @param deltas        the number of deltas
+     * @param deltaBytes    the size of the deltas, as returned by {@link #getSize()}
+     * @param snapshotBytes the size of the serialized session of the snapshot
+     */
+    static boolean isWithinLimits(int deltas, int deltaBytes, int snapshotBytes) {
+        return deltas <= MAX_DELTAS && deltaBytes <= Math.max(MIN_DELTA_BYTES, snapshotBytes);
+    }
+
+    /**
+     * Applies the given delta to this snapshot in place.
+     *
+     * @param delta the delta to apply
+     * @return this snapshot, or null if the delta was rejected because it was not made against the version of this
+     * snapshot or because a new snapshot should have been taken instead
+     */
+    public SessionDeltaMetadata apply(SessionDeltaMetadata delta) {
+        if (!isSnapshot() || delta.isSnapshot() || delta.baseVersion != version) {
+            return null;
+        }
+        int bytes = deltaBytes + delta.getSize();
+        if (!isWithinLimits(deltas.size() + 1, bytes, state == null ? 0 : state.length)) {
+            return null;
+        }
+        deltas.add(delta);
+        deltaBytes = bytes;
+        version = delta.version;
+        lastAccessTime = delta.lastAccessTime;
+        maxInactiveInterval = delta.maxInactiveInterval;
+        userName = delta.userName;
+        return this;
+    }
+
+    /**
+     * Is this a full snapshot of the session rather than a delta
+     */
+    public boolean isSnapshot() {
+        return baseVersion == SNAPSHOT;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the version of the session this delta was made against, or {@link #SNAPSHOT} for a snapshot
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    /**
+     * Returns the serialized session of a snapshot
+     */
+    public byte[] getState() {
+        return state;
+    }
+
+    /**
+     * Returns the names of the attributes added or changed by this delta, in the order their values are written
+     * to {@link #getAttributeState()}
+     */
+    public String[] getUpdatedAttributes() {
+        return updatedAttributes.clone();
+    }
+
+    /**
+     * Returns the serialized values of the attributes added or changed by this delta
+     */
+    public byte[] getAttributeState() {
+        return attributeState;
+    }
+
+    /**
+     * Returns the names of the attributes removed by this delta
+     */
+    public String[] getDeletedAttributes() {
+        return deletedAttributes.clone();
+    }
+
+    /**
+     * Returns the deltas applied to this snapshot, in the order they were applied
+     */
+    public List<SessionDeltaMetadata> getDeltas() {
+        return Collections.unmodifiableList(deltas);
+    }
+
+    /**
+     * Returns the size of the deltas applied to this snapshot, as counted by {@link #isWithinLimits(int, int, int)}
+     */
+    int getDeltaBytes() {
+        return deltaBytes;
+    }
+
+    /**
+     * Returns the size of this delta counted towards the limit of the deltas of a snapshot
+     */
+    int getSize() {
+        int size = attributeState == null ? 0 : attributeState.length;
+        for (String name : updatedAttributes) {
+            size += name.length();
+        }
+        for (String name : deletedAttributes) {
+            size += name.length();
+        }
+        return size;
+    }
+
+    @Override
+    public long _storeable_getVersion() {
+        return version;
+    }
+
+    @Override
+    public void _storeable_setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long _storeable_getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public void _storeable_setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    @Override
+    public long _storeable_getMaxIdleTime() {
+        return maxInactiveInterval;
+    }
+
+    @Override
+    public void _storeable_setMaxIdleTime(long maxInactiveInterval) {
+        this.maxInactiveInterval = maxInactiveInterval;
+    }
+
+    @Override
+    public String[] _storeable_getAttributeNames() {
+        return ATTRIBUTE_NAMES;
+    }
+
+    @Override
+    public boolean[] _storeable_getDirtyStatus() {
+        return dirtyBits;
+    }
+
+    @Override
+    public void _storeable_writeState(OutputStream os) throws IOException {
+        DataOutputStream dos = new DataOutputStream(os);
+        write(dos);
+        dos.flush();
+    }
+
+    @Override
+    public void _storeable_readState(InputStream is) throws IOException {
+        read(new DataInputStream(is));
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        write(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        read(in);
+    }
+
+    private void write(DataOutput out) throws IOException {
+        out.writeLong(version);
+        out.writeLong(baseVersion);
+        out.writeLong(lastAccessTime);
+        out.writeLong(maxInactiveInterval);
+        out.writeUTF(userName == null ? "" : userName);
+        writeBytes(out, state);
+        writeNames(out, updatedAttributes);
+        writeBytes(out, attributeState);
+        writeNames(out, deletedAttributes);
+        out.writeInt(deltas.size());
+        for (SessionDeltaMetadata delta : deltas) {
+            delta.write(out);
+        }
+    }
+
+    private void read(DataInput in) throws IOException {
+        version = in.readLong();
+        baseVersion = in.readLong();
+        lastAccessTime = in.readLong();
+        maxInactiveInterval = in.readLong();
+        userName = in.readUTF();
+        state = readBytes(in);
+        updatedAttributes = readNames(in);
+        attributeState = readBytes(in);
+        deletedAttributes = readNames(in);
+        int deltaCount = in.readInt();
+        deltas = new ArrayList<>(deltaCount);
+        deltaBytes = 0;
+        for (int i = 0; i < deltaCount; i++) {
+            SessionDeltaMetadata delta = new SessionDeltaMetadata();
+            delta.read(in);
+            deltas.add(delta);
+            deltaBytes += delta.getSize();
+        }
+        dirtyBits = new boolean[] { true };
+    }
+
+    private static void writeBytes(DataOutput out, byte[] data) throws IOException {
+        if (data == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(data.length);
+            out.write(data);
+        }
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        in.readFully(data);
+        return data;
+    }
+
+    private static void writeNames(DataOutput out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static String[] readNames(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count == 0) {
+            return NO_NAMES;
+        }
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = in.readUTF();
+        }
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionDeltaMetadata{" +
+                "version=" + version +
+                ", baseVersion=" + baseVersion +
+                ", lastAccessTime=" + lastAccessTime +
+                ", maxInactiveInterval=" + maxInactiveInterval +
+                ", state=" + (state == null ? 0 : state.length) +
+                ", updatedAttributes=" + updatedAttributes.length +
+                ", deletedAttributes=" + deletedAttributes.length +
+                ", deltas=" + deltas.size() +
+                '}';
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2018-2021] Payara Foundation and/or affiliates
+// Portions Copyright [2018-2026] Payara Foundation and/or affiliates
 
 package org.glassfish.web.ha.strategy.builder;
 
@@ -100,6 +100,11 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
                     new ModifiedAttributeSessionFactory(),
                     new ReplicationAttributeStore(ioUtils),
                     ctx, serverConfigLookup);
+        } else if (this.getPersistenceScope().equals("delta-attribute")) {
+            setupReplicationWebEventPersistentManager(SessionDeltaMetadata.class,
+                    new DeltaSessionFactory(),
+                    new ReplicationDeltaStore(ioUtils),
+                    ctx, serverConfigLookup);
         } else {
             throw new IllegalArgumentException(this.getPersistenceScope());
         }
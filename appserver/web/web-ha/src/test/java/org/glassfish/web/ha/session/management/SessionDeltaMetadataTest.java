@@ -0,0 +1,226 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@link SessionDeltaMetadata} deltas of the changed attributes, applied to the snapshot when it is
+ * loaded, restore the same session attributes as replicating the full session, as done for a
+ * {@link FullHASession}, while sending fewer bytes.
+ */
+public class SessionDeltaMetadataTest {
+
+    private static final int ATTRIBUTES = 20;
+    // more than MAX_DELTAS, so new snapshots have to be taken
+    private static final int REQUESTS = 3 * SessionDeltaMetadata.MAX_DELTAS;
+
+    @Test
+    public void deltasRestoreAttributesWithFewerBytes() throws Exception {
+        Map<String, Object> attributes = createAttributes();
+        SessionDeltaMetadata first = snapshot(0, attributes);
+        byte[] stored = serialize(first);
+        int snapshotBytes = first.getState().length;
+        List<byte[]> storedDeltas = new ArrayList<>();
+        int deltaBytes = 0;
+        long bytes = stored.length;
+        long fullBytes = 0;
+        int snapshots = 1;
+        for (int request = 1; request <= REQUESTS; request++) {
+            String name = changeAttribute(attributes, request);
+            fullBytes += serialize(new SimpleMetadata(request, 0L, 1800_000L,
+                    serialize(new HashMap<>(attributes)))).length;
+            SessionDeltaMetadata delta = SessionDeltaMetadata.createDelta(request - 1, request,
+                    System.currentTimeMillis(), 1800_000L, "",
+                    Collections.singletonList(name), serializeValues(attributes.get(name)),
+                    Collections.<String>emptyList());
+            if (SessionDeltaMetadata.isWithinLimits(storedDeltas.size() + 1, deltaBytes + delta.getSize(),
+                    snapshotBytes)) {
+                byte[] sent = serialize(delta);
+                bytes += sent.length;
+                storedDeltas.add(sent);
+                deltaBytes += delta.getSize();
+            } else {
+                SessionDeltaMetadata snapshot = snapshot(request, attributes);
+                stored = serialize(snapshot);
+                bytes += stored.length;
+                snapshots++;
+                snapshotBytes = snapshot.getState().length;
+                storedDeltas.clear();
+                deltaBytes = 0;
+            }
+            // what the backing store does when the session is loaded
+            SessionDeltaMetadata loaded = (SessionDeltaMetadata) deserialize(stored);
+            for (byte[] storedDelta : storedDeltas) {
+                assertNotNull(loaded.apply((SessionDeltaMetadata) deserialize(storedDelta)));
+            }
+            assertEquals(storedDeltas.size(), loaded.getDeltas().size());
+            assertEquals(attributes, restore(loaded));
+        }
+
+        assertTrue("the deltas should have been compacted into new snapshots", snapshots > 1);
+        assertTrue("delta replication should send fewer bytes than full sessions", bytes < fullBytes);
+    }
+
+    @Test
+    public void deltaOfOtherVersionIsRejected() throws Exception {
+        Map<String, Object> attributes = createAttributes();
+        SessionDeltaMetadata snapshot = snapshot(5, attributes);
+        SessionDeltaMetadata gap = SessionDeltaMetadata.createDelta(4, 6, 0L, 1800_000L, "",
+                Collections.singletonList("attribute0"), serializeValues("changed"), Collections.<String>emptyList());
+        assertNull(snapshot.apply(gap));
+        assertEquals(5, snapshot.getVersion());
+
+        SessionDeltaMetadata delta = SessionDeltaMetadata.createDelta(5, 7, 0L, 1800_000L, "",
+                Collections.singletonList("attribute0"), serializeValues("changed"),
+                Collections.singletonList("attribute1"));
+        assertNotNull(snapshot.apply(delta));
+        assertEquals(7, snapshot.getVersion());
+        attributes.put("attribute0", "changed");
+        attributes.remove("attribute1");
+        assertEquals(attributes, restore((SessionDeltaMetadata) deserialize(serialize(snapshot))));
+    }
+
+    private static Map<String, Object> createAttributes() {
+        Map<String, Object> attributes = new HashMap<>();
+        for (int i = 0; i < ATTRIBUTES; i++) {
+            attributes.put("attribute" + i, new Item("item" + i, i, "description of item " + i));
+        }
+        return attributes;
+    }
+
+    private static String changeAttribute(Map<String, Object> attributes, int request) {
+        String name = "attribute" + (request % ATTRIBUTES);
+        attributes.put(name, new Item("item" + request, request, "description of item " + request));
+        return name;
+    }
+
+    private static SessionDeltaMetadata snapshot(long version, Map<String, Object> attributes) throws IOException {
+        return SessionDeltaMetadata.createSnapshot(version, System.currentTimeMillis(), 1800_000L, "",
+                serialize(new HashMap<>(attributes)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> restore(SessionDeltaMetadata snapshot) throws Exception {
+        Map<String, Object> attributes = (Map<String, Object>) deserialize(snapshot.getState());
+        for (SessionDeltaMetadata delta : snapshot.getDeltas()) {
+            String[] names = delta.getUpdatedAttributes();
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(delta.getAttributeState()))) {
+                for (String name : names) {
+                    attributes.put(name, in.readObject());
+                }
+            }
+            for (String name : delta.getDeletedAttributes()) {
+                attributes.remove(name);
+            }
+        }
+        return attributes;
+    }
+
+    private static byte[] serializeValues(Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (Object value : values) {
+                out.writeObject(value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    private static final class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final int quantity;
+        private final String description;
+
+        Item(String name, int quantity, String description) {
+            this.name = name;
+            this.quantity = quantity;
+            this.description = description;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Item)) {
+                return false;
+            }
+            Item other = (Item) obj;
+            return name.equals(other.name) && quantity == other.quantity && description.equals(other.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + quantity;
+        }
+    }
+}
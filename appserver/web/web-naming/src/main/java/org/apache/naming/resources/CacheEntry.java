@@ -80,6 +80,12 @@ public class CacheEntry {
     public boolean exists = true;
     public long accessCount = 0;
     public int size = 1;
+    public int references = 0;
+
+    /**
+     * Bytes of content counted by the cache when the entry was loaded.
+     */
+    long cachedBytes = 0;
 
 
     // ----------------------------------------------------- Public Methods
@@ -94,6 +100,8 @@ public class CacheEntry {
         exists = true;
         accessCount = 0;
         size = 1;
+        references = 0;
+        cachedBytes = 0;
     }
 
 
@@ -1122,7 +1122,7 @@ public class FileDirContext extends BaseDirContext {
          */
         public InputStream streamContent()
                 throws IOException {
-            if (binaryContent == null) {
+            if (!hasContent()) {
                 FileInputStream fin = new FileInputStream(file);
                 inputStream = fin;
                 return fin;
@@ -1477,7 +1477,7 @@ public class ProxyDirContext implements DirContext {
         if (((!entry.exists)
              || (entry.context != null)
              || ((entry.resource != null) 
-                 && (entry.resource.getContent() != null)))
+                 && (entry.resource.hasContent())))
             && (System.currentTimeMillis() < entry.timestamp)) {
             return true;
         }
@@ -1563,7 +1563,7 @@ public class ProxyDirContext implements DirContext {
 
         // Load object content
         if ((exists) && (entry.resource != null) 
-            && (entry.resource.getContent() == null) 
+            && (!entry.resource.hasContent()) 
             && (entry.attributes.getContentLength() >= 0)
             && (entry.attributes.getContentLength() < 
                 (cacheObjectMaxSize * 1024L))) {
@@ -61,6 +61,7 @@ package org.apache.naming.resources;
 import java.io.InputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Encapsultes the contents of a resource.
@@ -94,7 +95,14 @@ public class Resource {
     /**
      * Binary content.
      */
-    protected byte[] binaryContent = null;
+    protected volatile byte[] binaryContent = null;
+
+
+    /**
+     * Binary content moved out of the heap, set before
+     * {@link #binaryContent} is cleared.
+     */
+    protected volatile ByteBuffer contentBuffer = null;
     
     
     /**
@@ -113,8 +121,13 @@ public class Resource {
      */
     public InputStream streamContent()
         throws IOException {
-        if (binaryContent != null) {
-            return new ByteArrayInputStream(binaryContent);
+        byte[] content = binaryContent;
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        ByteBuffer buffer = contentBuffer;
+        if (buffer != null) {
+            return new ByteBufferInputStream(buffer.duplicate());
         }
         return inputStream;
     }
@@ -122,11 +135,80 @@ public class Resource {
     
     /**
      * Content accessor.
+     * <p>
+     * Content held out of the heap is copied into a new array on every
+     * call. Code serving requests should use {@link #getContentBuffer()}
+     * first, or {@link #streamContent()}, which do not copy.
      * 
      * @return binary content
      */
     public byte[] getContent() {
-        return binaryContent;
+        byte[] content = binaryContent;
+        if (content == null) {
+            ByteBuffer buffer = contentBuffer;
+            if (buffer != null) {
+                content = new byte[buffer.capacity()];
+                buffer.duplicate().get(content);
+            }
+        }
+        return content;
+    }
+
+
+    /**
+     * Content accessor which does not copy content held out of the heap.
+     *
+     * @return a read only buffer of the binary content if it is held out
+     * of the heap, null otherwise
+     */
+    public ByteBuffer getContentBuffer() {
+        ByteBuffer buffer = contentBuffer;
+        return buffer == null ? null : buffer.asReadOnlyBuffer();
+    }
+
+
+    /**
+     * @return true if the binary content has been loaded
+     */
+    public boolean hasContent() {
+        return binaryContent != null || contentBuffer != null;
+    }
+
+
+    /**
+     * @return the length of the binary content, or -1 if it has not been
+     * loaded
+     */
+    public long getContentLength() {
+        byte[] content = binaryContent;
+        if (content != null) {
+            return content.length;
+        }
+        ByteBuffer buffer = contentBuffer;
+        return buffer == null ? -1 : buffer.capacity();
+    }
+
+
+    /**
+     * Moves the binary content into a direct buffer, which can be written
+     * to a socket without being copied.
+     *
+     * @param maxLength Largest content which will be moved
+     * @return true if the content is held out of the heap
+     */
+    public synchronized boolean moveContentOffHeap(int maxLength) {
+        if (contentBuffer != null) {
+            return true;
+        }
+        byte[] content = binaryContent;
+        if (content == null || content.length > maxLength) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+        buffer.put(content).flip();
+        contentBuffer = buffer;
+        binaryContent = null;
+        return true;
     }
     
     
@@ -145,8 +227,55 @@ public class Resource {
      * 
      * @param binaryContent New bin content
      */
-    public void setContent(byte[] binaryContent) {
+    public synchronized void setContent(byte[] binaryContent) {
         this.binaryContent = binaryContent;
+        this.contentBuffer = null;
+    }
+
+
+    // ------------------------------------------------ ByteBufferInputStream
+
+
+    /**
+     * Reads the content held in a buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
     }
     
     
@@ -58,11 +58,23 @@
 // Portions Copyright [2017] [Payara Foundation and/or its affiliates]
 package org.apache.naming.resources;
 
-import java.util.HashMap;
-import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implements a special purpose cache.
+ * <p>
+ * Lookups do not lock. Loads, unloads and allocations are synchronized on
+ * the cache. When space is needed, entries are evicted in the order of a
+ * clock: an entry looked up since the hand last passed it loses one of its
+ * references and gets another chance, an entry without references is
+ * evicted. Entries looked up often keep up to {@link #MAX_REFERENCES}
+ * references and so survive longer than entries looked up once.
+ * <p>
+ * The content of small entries which are looked up often is moved out of
+ * the heap, where it can be written to the network without copying.
  * 
  * @author <a href="mailto:remm@apache.org">Remy Maucherat</a>
  * @version $Revision: 1.3 $
@@ -78,26 +90,35 @@ public class ResourceCache {
     
     
     // ----------------------------------------------------- Instance Variables
-      
-    
+
+
     /**
-     * Random generator used to determine elements to free.
+     * Most references an entry keeps, each is one more pass of the clock
+     * hand the entry survives.
      */
-    protected SecureRandom random = new SecureRandom();
-    
-    
+    protected static final int MAX_REFERENCES = 3;
+
+
     /**
      * Cache.
      * Path -> Cache entry.
      */
-    protected CacheEntry[] cache = new CacheEntry[0];
+    protected final Map<String, CacheEntry> cache =
+        new ConcurrentHashMap<String, CacheEntry>();
+
+
+    /**
+     * Clock of the entries of the cache, in the order they will be
+     * considered for eviction. Guarded by this cache.
+     */
+    protected final ArrayDeque<CacheEntry> clock = new ArrayDeque<CacheEntry>();
 
 
     /**
      * Not found cache.
      */
-    protected HashMap<String, CacheEntry> notFoundCache =
-        new HashMap<String, CacheEntry>();
+    protected final Map<String, CacheEntry> notFoundCache =
+        new ConcurrentHashMap<String, CacheEntry>();
 
 
     /**
@@ -125,22 +146,41 @@ public class ResourceCache {
     protected int spareNotFoundEntries = 500;
 
 
+    /**
+     * Max size in KB of the content moved out of the heap.
+     */
+    protected int offHeapObjectMaxSize = 64; // 64 KB
+
+
+    /**
+     * Number of accesses after which the content of an entry is moved out
+     * of the heap.
+     */
+    protected long offHeapAccessCount = 10;
+
+
     /**
      * Current cache size in KB.
      */
-    protected int cacheSize = 0;
+    protected volatile int cacheSize = 0;
+
+
+    /**
+     * Bytes of content currently cached.
+     */
+    protected volatile long cachedBytes = 0;
 
 
     /**
      * Number of accesses to the cache.
      */
-    protected long accessCount = 0;
+    protected final LongAdder accessCount = new LongAdder();
 
 
     /**
      * Number of cache hits.
      */
-    protected long hitsCount = 0;
+    protected final LongAdder hitsCount = new LongAdder();
 
 
     // ------------------------------------------------------------- Properties
@@ -148,11 +188,9 @@ public class ResourceCache {
 
     /**
      * Return the access count.
-     * Note: Update is not synced, so the number may not be completely 
-     * accurate.
      */
     public long getAccessCount() {
-        return accessCount;
+        return accessCount.sum();
     }
 
 
@@ -180,9 +218,20 @@ public class ResourceCache {
     }
 
 
+    /**
+     * Return the bytes of content currently cached.
+     */
+    public long getCachedBytes() {
+        return cachedBytes;
+    }
+
+
     /**
      * Return desired entry access ratio.
+     *
+     * @deprecated no longer used by the eviction
      */
+    @Deprecated
     public long getDesiredEntryAccessRatio() {
         return desiredEntryAccessRatio;
     }
@@ -190,7 +239,10 @@ public class ResourceCache {
 
     /**
      * Set the desired entry access ratio.
+     *
+     * @deprecated no longer used by the eviction
      */
+    @Deprecated
     public void setDesiredEntryAccessRatio(long desiredEntryAccessRatio) {
         this.desiredEntryAccessRatio = desiredEntryAccessRatio;
     }
@@ -198,17 +250,18 @@ public class ResourceCache {
 
     /**
      * Return the number of cache hits.
-     * Note: Update is not synced, so the number may not be completely 
-     * accurate.
      */
     public long getHitsCount() {
-        return hitsCount;
+        return hitsCount.sum();
     }
 
 
     /**
      * Return the maximum amount of iterations during a space allocation.
+     *
+     * @deprecated no longer used by the eviction
      */
+    @Deprecated
     public int getMaxAllocateIterations() {
         return maxAllocateIterations;
     }
@@ -216,7 +269,10 @@ public class ResourceCache {
 
     /**
      * Set the maximum amount of iterations during a space allocation.
+     *
+     * @deprecated no longer used by the eviction
      */
+    @Deprecated
     public void setMaxAllocateIterations(int maxAllocateIterations) {
         this.maxAllocateIterations = maxAllocateIterations;
     }
@@ -238,16 +294,54 @@ public class ResourceCache {
     }
 
 
+    /**
+     * Return the max size in KB of the content moved out of the heap.
+     */
+    public int getOffHeapObjectMaxSize() {
+        return offHeapObjectMaxSize;
+    }
+
+
+    /**
+     * Set the max size in KB of the content moved out of the heap, 0 keeps
+     * all content in the heap.
+     */
+    public void setOffHeapObjectMaxSize(int offHeapObjectMaxSize) {
+        this.offHeapObjectMaxSize = offHeapObjectMaxSize;
+    }
+
+
+    /**
+     * Return the number of accesses after which the content of an entry is
+     * moved out of the heap.
+     */
+    public long getOffHeapAccessCount() {
+        return offHeapAccessCount;
+    }
+
+
+    /**
+     * Set the number of accesses after which the content of an entry is
+     * moved out of the heap.
+     */
+    public void setOffHeapAccessCount(long offHeapAccessCount) {
+        this.offHeapAccessCount = offHeapAccessCount;
+    }
+
+
     // --------------------------------------------------------- Public Methods
 
 
-    public boolean allocate(int space) {
+    public synchronized boolean allocate(int space) {
 
         int toFree = space - (cacheMaxSize - cacheSize);
 
         if (toFree <= 0) {
             return true;
         }
+        if (space > cacheMaxSize) {
+            return false;
+        }
 
         // Increase the amount to free so that allocate won't have to run right
         // away again
@@ -260,115 +354,82 @@ public class ResourceCache {
             toFree -= size;
         }
 
-        if (toFree <= 0) {
-            return true;
-        }
-
-        int attempts = 0;
-        int entriesFound = 0;
-        long totalSpace = 0;
-        int[] toRemove = new int[maxAllocateIterations];
-        while (toFree > 0) {
-            if (attempts == maxAllocateIterations) {
-                // Give up, no changes are made to the current cache
-                return false;
-            }
-            if (toFree > 0) {
-                // Randomly select an entry in the array
-                int entryPos = -1;
-                boolean unique = false;
-                int count = 0;
-                while (!unique) {
-                    unique = true;
-                    entryPos = random.nextInt(cache.length) ;
-                    // Guarantee uniqueness
-                    for (int i = 0; i < entriesFound; i++) {
-                        if (toRemove[i] == entryPos) {
-                            unique = false;
-                        }
-                    }
-                }
-                long entryAccessRatio = 
-                    ((cache[entryPos].accessCount * 100) / accessCount);
-                if (entryAccessRatio < desiredEntryAccessRatio) {
-                    toRemove[entriesFound] = entryPos;
-                    totalSpace += cache[entryPos].size;
-                    toFree -= cache[entryPos].size;
-                    entriesFound++;
-                }
+        // Every entry is evicted after at most MAX_REFERENCES + 1 turns
+        int steps = (MAX_REFERENCES + 1) * clock.size();
+        while (toFree > 0 && steps-- > 0) {
+            CacheEntry entry = clock.poll();
+            if (cache.get(entry.name) != entry) {
+                // Already unloaded
+                continue;
             }
-            attempts++;
-        }
-
-        // Now remove the selected entries
-        java.util.Arrays.sort(toRemove, 0, entriesFound);
-        CacheEntry[] newCache = new CacheEntry[cache.length - entriesFound];
-        int pos = 0;
-        int n = -1;
-        if (entriesFound > 0) {
-            n = toRemove[0];
-            for (int i = 0; i < cache.length; i++) {
-                if (i == n) {
-                    if ((pos + 1) < entriesFound) {
-                        n = toRemove[pos + 1];
-                        pos++;
-                    } else {
-                        pos++;
-                        n = -1;
-                    }
-                } else {
-                    newCache[i - pos] = cache[i];
-                }
+            if (entry.references > 0) {
+                entry.references--;
+                clock.add(entry);
+            } else {
+                cache.remove(entry.name);
+                cacheSize -= entry.size;
+                cachedBytes -= entry.cachedBytes;
+                toFree -= entry.size;
             }
         }
-        cache = newCache;
-        cacheSize -= totalSpace;
 
-        return true;
+        return space <= cacheMaxSize - cacheSize;
 
     }
 
 
     public CacheEntry lookup(String name) {
 
-        CacheEntry cacheEntry = null;
-        accessCount++;
-        int pos = find(cache, name);
-        if ((pos != -1) && (name.equals(cache[pos].name))) {
-            cacheEntry = cache[pos];
-        }
+        accessCount.increment();
+        CacheEntry cacheEntry = cache.get(name);
         if (cacheEntry == null) {
-            try {
-                cacheEntry = notFoundCache.get(name);
-            } catch (Exception e) {
-                // Ignore: the reliability of this lookup is not critical
-            }
+            cacheEntry = notFoundCache.get(name);
         }
         if (cacheEntry != null) {
-            hitsCount++;
+            hitsCount.increment();
+            // Not synced, a lost reference only makes eviction a bit less
+            // accurate
+            if (cacheEntry.references < MAX_REFERENCES) {
+                cacheEntry.references++;
+            }
+            if (cacheEntry.resource != null
+                && cacheEntry.accessCount >= offHeapAccessCount
+                && offHeapObjectMaxSize > 0) {
+                cacheEntry.resource.moveContentOffHeap(
+                    offHeapObjectMaxSize * 1024);
+            }
         }
         return cacheEntry;
 
     }
 
 
-    public void load(CacheEntry entry) {
+    public synchronized void load(CacheEntry entry) {
         if (entry.exists) {
-            if (insertCache(entry)) {
+            if (cache.putIfAbsent(entry.name, entry) == null) {
                 cacheSize += entry.size;
+                // the content could change while cached, unloading
+                // subtracts what was counted here
+                entry.cachedBytes = contentLength(entry);
+                cachedBytes += entry.cachedBytes;
+                if (clock.size() > 2 * cache.size() + 16) {
+                    // Drop the unloaded entries the hand has not reached yet
+                    clock.removeIf(e -> cache.get(e.name) != e);
+                }
+                clock.add(entry);
             }
         } else {
-            int sizeIncrement = (notFoundCache.get(entry.name) == null) ? 1 : 0;
-            notFoundCache.put(entry.name, entry);
+            int sizeIncrement = (notFoundCache.put(entry.name, entry) == null) ? 1 : 0;
             cacheSize += sizeIncrement;
         }
     }
 
 
-    public boolean unload(String name) {
-        CacheEntry removedEntry = removeCache(name);
+    public synchronized boolean unload(String name) {
+        CacheEntry removedEntry = cache.remove(name);
         if (removedEntry != null) {
             cacheSize -= removedEntry.size;
+            cachedBytes -= removedEntry.cachedBytes;
             return true;
         } else if (notFoundCache.remove(name) != null) {
             
@@ -379,86 +440,11 @@ public class ResourceCache {
     }
 
 
-    /**
-     * Find a map elemnt given its name in a sorted array of map elements.
-     * This will return the index for the closest inferior or equal item in the
-     * given array.
-     */
-    private static final int find(CacheEntry[] map, String name) {
-
-        int a = 0;
-        int b = map.length - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-        if (name.compareTo(map[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
+    private static long contentLength(CacheEntry entry) {
+        if (entry.resource == null) {
             return 0;
         }
-
-        int i = 0;
-        while (true) {
-            i = (b + a) >>> 1;
-            int result = name.compareTo(map[i].name);
-            if (result > 0) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if ((b - a) == 1) {
-                int result2 = name.compareTo(map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
-            }
-        }
-
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array, and prevent
-     * duplicates.
-     */
-    private final boolean insertCache(CacheEntry newElement) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, newElement.name);
-        if ((pos != -1) && (newElement.name.equals(oldCache[pos].name))) {
-            return false;
-        }
-        CacheEntry[] newCache = new CacheEntry[cache.length + 1];
-        System.arraycopy(oldCache, 0, newCache, 0, pos + 1);
-        newCache[pos + 1] = newElement;
-        System.arraycopy
-            (oldCache, pos + 1, newCache, pos + 2, oldCache.length - pos - 1);
-        cache = newCache;
-        return true;
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array.
-     */
-    private final CacheEntry removeCache(String name) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, name);
-        if ((pos != -1) && (name.equals(oldCache[pos].name))) {
-            CacheEntry[] newCache = new CacheEntry[cache.length - 1];
-            System.arraycopy(oldCache, 0, newCache, 0, pos);
-            System.arraycopy(oldCache, pos + 1, newCache, pos, 
-                             oldCache.length - pos - 1);
-            cache = newCache;
-            return oldCache[pos];
-        }
-        return null;
+        return Math.max(0, entry.resource.getContentLength());
     }
 
 
@@ -993,7 +993,7 @@ public class WARDirContext extends BaseDirContext {
         public InputStream streamContent()
             throws IOException {
             try {
-                if (binaryContent == null) {
+                if (!hasContent()) {
                     InputStream is = base.getInputStream(entry);
                     inputStream = is;
                     return is;
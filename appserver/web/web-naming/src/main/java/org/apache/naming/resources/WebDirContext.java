@@ -494,7 +494,7 @@ public class WebDirContext extends FileDirContext {
          */
         public InputStream streamContent()
             throws IOException {
-            if (binaryContent == null) {
+            if (!hasContent()) {
                 InputStream jin = jarFile.getInputStream(jarEntry);
                 inputStream = jin;
                 return jin;
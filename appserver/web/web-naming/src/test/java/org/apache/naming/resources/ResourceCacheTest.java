@@ -0,0 +1,230 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.apache.naming.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceCacheTest {
+
+    private final ResourceCache cache = new ResourceCache();
+
+    @Before
+    public void before() {
+        cache.setCacheMaxSize(100);
+    }
+
+    @Test
+    public void loadAndUnloadKeepTheCachedBytes() {
+        cache.load(entry("/a", 1, 100));
+        cache.load(entry("/b", 2, 2048));
+        assertEquals(3, cache.getCacheSize());
+        assertEquals(2148, cache.getCachedBytes());
+
+        // loading an entry of the same name again does not count it twice
+        cache.load(entry("/a", 1, 100));
+        assertEquals(3, cache.getCacheSize());
+        assertEquals(2148, cache.getCachedBytes());
+
+        assertTrue(cache.unload("/b"));
+        assertEquals(1, cache.getCacheSize());
+        assertEquals(100, cache.getCachedBytes());
+        assertTrue(cache.unload("/a"));
+        assertFalse(cache.unload("/a"));
+        assertEquals(0, cache.getCacheSize());
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void notFoundEntriesHoldNoBytes() {
+        CacheEntry notFound = entry("/missing", 1, 0);
+        notFound.exists = false;
+        notFound.resource = null;
+        cache.load(notFound);
+        assertEquals(1, cache.getCacheSize());
+        assertEquals(0, cache.getCachedBytes());
+        assertSame(notFound, cache.lookup("/missing"));
+        assertTrue(cache.unload("/missing"));
+        assertEquals(0, cache.getCacheSize());
+    }
+
+    @Test
+    public void unloadSubtractsTheBytesCountedWhenLoaded() {
+        CacheEntry entry = entry("/a", 1, 100);
+        cache.load(entry);
+        entry.resource.setContent(new byte[500]);
+        cache.unload("/a");
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void allocateEvictsEntriesWithoutReferencesFirst() {
+        cache.load(entry("/a", 30, 0));
+        cache.load(entry("/b", 30, 0));
+        cache.load(entry("/c", 30, 0));
+        cache.lookup("/a");
+        cache.lookup("/c");
+
+        assertTrue(cache.allocate(30));
+        assertNotNull(cache.lookup("/a"));
+        assertNull(cache.lookup("/b"));
+        assertNotNull(cache.lookup("/c"));
+        assertEquals(60, cache.getCacheSize());
+    }
+
+    @Test
+    public void entriesLookedUpOftenSurviveSeveralPasses() {
+        CacheEntry often = entry("/often", 40, 0);
+        CacheEntry once = entry("/once", 40, 0);
+        cache.load(often);
+        cache.load(once);
+        for (int i = 0; i < 5; i++) {
+            cache.lookup("/often");
+        }
+        cache.lookup("/once");
+        assertEquals(ResourceCache.MAX_REFERENCES, often.references);
+
+        // the hand passes the entries twice before it finds one without references
+        assertTrue(cache.allocate(40));
+        assertNull(cache.lookup("/once"));
+        assertSame(often, cache.lookup("/often"));
+    }
+
+    @Test
+    public void allocateFailsForMoreThanTheMaximumSize() {
+        cache.load(entry("/a", 30, 0));
+        assertFalse(cache.allocate(101));
+        assertNotNull(cache.lookup("/a"));
+    }
+
+    @Test
+    public void frequentlyUsedSmallContentIsMovedOffHeap() throws IOException {
+        cache.setOffHeapObjectMaxSize(1);
+        cache.setOffHeapAccessCount(2);
+        CacheEntry entry = entry("/a", 1, 1024);
+        byte[] content = entry.resource.getContent();
+        cache.load(entry);
+
+        cache.lookup("/a");
+        assertNull(entry.resource.getContentBuffer());
+        entry.accessCount = 2;
+        cache.lookup("/a");
+
+        ByteBuffer buffer = entry.resource.getContentBuffer();
+        assertNotNull(buffer);
+        assertTrue(buffer.isDirect());
+        assertTrue(buffer.isReadOnly());
+        assertTrue(entry.resource.hasContent());
+        assertEquals(1024, entry.resource.getContentLength());
+        assertArrayEquals(content, entry.resource.getContent());
+        assertArrayEquals(content, read(entry.resource.streamContent()));
+        // every accessor has a position of its own
+        assertArrayEquals(content, read(entry.resource.streamContent()));
+        assertEquals(1024, entry.resource.getContentBuffer().remaining());
+
+        assertEquals(1024, cache.getCachedBytes());
+        cache.unload("/a");
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void largeContentStaysOnHeap() {
+        cache.setOffHeapObjectMaxSize(1);
+        cache.setOffHeapAccessCount(0);
+        CacheEntry entry = entry("/a", 2, 1025);
+        cache.load(entry);
+        cache.lookup("/a");
+        assertNull(entry.resource.getContentBuffer());
+        assertEquals(1025, entry.resource.getContent().length);
+    }
+
+    @Test
+    public void offHeapContentCanBeDisabled() {
+        cache.setOffHeapObjectMaxSize(0);
+        cache.setOffHeapAccessCount(0);
+        CacheEntry entry = entry("/a", 1, 10);
+        cache.load(entry);
+        cache.lookup("/a");
+        assertNull(entry.resource.getContentBuffer());
+    }
+
+    @Test
+    public void settingContentReplacesOffHeapContent() {
+        Resource resource = new Resource(new byte[] { 1, 2, 3 });
+        assertTrue(resource.moveContentOffHeap(3));
+        resource.setContent(new byte[] { 4 });
+        assertNull(resource.getContentBuffer());
+        assertArrayEquals(new byte[] { 4 }, resource.getContent());
+    }
+
+    private static CacheEntry entry(String name, int size, int contentLength) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.size = size;
+        byte[] content = new byte[contentLength];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        entry.resource = new Resource(content);
+        return entry;
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[100];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2019] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 /*
  * UuidUtil.java
@@ -49,7 +49,9 @@ package com.sun.enterprise.util.uuid;
 
 import java.net.InetAddress;
 import java.rmi.server.UID;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Class UuidUtil
@@ -188,8 +190,11 @@ public class UuidUtil
         return result;
     }
 
-    private static synchronized int getNextInt() {
-        return _seeder.nextInt();
+    // Session creation calls this from every request thread, so spread the
+    // calls over several generators, each with its own state and lock,
+    // instead of serializing them all on one
+    private static int getNextInt() {
+        return _seeders[ThreadLocalRandom.current().nextInt(_seeders.length)].nextInt();
     }
 
     private static String getNextRandomString() {
@@ -208,7 +213,40 @@ public class UuidUtil
         return result;
     }
 
-    private static SecureRandom _seeder = new SecureRandom();
+    // The default NativePRNG of Linux shares one state and one lock between
+    // all its instances, so the generators use an algorithm which keeps its
+    // state per instance
+    private static final String[] SEEDER_ALGORITHMS = { "DRBG", "SHA1PRNG" };
+
+    private static final SecureRandom[] _seeders = initSeeders();
+
+    private static SecureRandom[] initSeeders() {
+        SecureRandom system = new SecureRandom();
+        SecureRandom[] seeders = new SecureRandom[Runtime.getRuntime().availableProcessors() * 2];
+        for (int i = 0; i < seeders.length; i++) {
+            seeders[i] = createSeeder(system);
+        }
+        return seeders;
+    }
+
+    private static SecureRandom createSeeder(SecureRandom system) {
+        for (String algorithm : SEEDER_ALGORITHMS) {
+            try {
+                SecureRandom seeder = SecureRandom.getInstance(algorithm);
+                byte[] seed = new byte[32];
+                system.nextBytes(seed);
+                seeder.setSeed(seed);
+                return seeder;
+            } catch (NoSuchAlgorithmException e) {
+                // try the next algorithm
+            }
+        }
+        return system;
+    }
+
+    static SecureRandom[] getSeeders() {
+        return _seeders.clone();
+    }
 
     /**
      * Method main
@@ -121,4 +121,40 @@ public class DeploymentOrder {
     }
     return appList.iterator();
   }
+
+  /**
+   * Returns the applications to deploy in deployment order, in groups of
+   * user applications that have the same deployment-order attribute. The
+   * deployment-order attribute does not order the applications of a group,
+   * so they may be deployed in parallel. System applications and standalone
+   * resource adapters are each in a group of their own.
+   */
+  public static List<List<Application>> getApplicationDeploymentGroups() {
+    List<List<Application>> groups = new ArrayList<List<Application>>();
+    List<Application> group = null;
+    String groupOrder = null;
+    Iterator<ApplicationOrderInfo> it = application_deployments.iterator();
+    while (it.hasNext()) {
+      ApplicationOrderInfo appOrderInfo = it.next();
+      Application app = appOrderInfo.getApplication();
+      boolean userApp = getDeploymentType(appOrderInfo) == DeploymentType.DEFAULT_APP;
+      if (!userApp || groupOrder == null || !groupOrder.equals(app.getDeploymentOrder())) {
+        group = new ArrayList<Application>();
+        groups.add(group);
+        // other applications never share a group
+        groupOrder = userApp ? app.getDeploymentOrder() : null;
+      }
+      group.add(app);
+    }
+    return groups;
+  }
+
+  private static DeploymentType getDeploymentType(ApplicationOrderInfo app) {
+    for (int i = 0; i < APPLICATION_DEPLOYMENT_ORDER.length; i++) {
+      if (APPLICATION_DEPLOYMENT_ORDER[i].isInstance(app)) {
+        return APPLICATION_DEPLOYMENT_ORDER[i];
+      }
+    }
+    return null;
+  }
 }
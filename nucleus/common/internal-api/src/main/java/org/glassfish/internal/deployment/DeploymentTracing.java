@@ -190,6 +190,12 @@ public class DeploymentTracing {
          * Reload the application code.
          */
         RELOAD,
+
+        /**
+         * Waiting for a thread to load the application at server startup, when applications with the same deployment
+         * order are loaded in parallel.
+         */
+        AWAIT_STARTUP_THREAD,
     }
 
     public enum ModuleMark {
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package org.glassfish.internal.deployment;
+
+import com.sun.enterprise.config.serverbeans.Application;
+import com.sun.enterprise.config.serverbeans.ServerTags;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeploymentOrderTest {
+
+    @Test
+    public void groupsUserApplicationsWithSameDeploymentOrder() {
+        int order = 0;
+        add(application("admin", "system-admin", "100", false), order++);
+        add(application("console", "system-admin", "100", false), order++);
+        add(application("adapter-a", "user", "100", true), order++);
+        add(application("adapter-b", "user", "100", true), order++);
+        add(application("late", "user", "200", false), order++);
+        add(application("first", "user", "100", false), order++);
+        add(application("second", "user", "100", false), order++);
+        add(application("early", "user", "50", false), order++);
+        add(application("later", "user", "200", false), order++);
+
+        List<List<String>> groups = DeploymentOrder.getApplicationDeploymentGroups().stream()
+                .map(group -> group.stream().map(Application::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        assertEquals(asList(
+                asList("admin"),
+                asList("console"),
+                asList("adapter-a"),
+                asList("adapter-b"),
+                asList("early"),
+                asList("first", "second"),
+                asList("late", "later")), groups);
+    }
+
+    private static void add(Application application, int order) {
+        DeploymentOrder.addApplicationDeployment(new ApplicationOrderInfo(application, order));
+    }
+
+    private static Application application(String name, String objectType, String deploymentOrder,
+            boolean resourceAdapter) {
+        Application application = mock(Application.class);
+        when(application.getName()).thenReturn(name);
+        when(application.getObjectType()).thenReturn(objectType);
+        when(application.getDeploymentOrder()).thenReturn(deploymentOrder);
+        when(application.containsSnifferType(ServerTags.CONNECTOR)).thenReturn(resourceAdapter);
+        when(application.isStandaloneModule()).thenReturn(resourceAdapter);
+        return application;
+    }
+}
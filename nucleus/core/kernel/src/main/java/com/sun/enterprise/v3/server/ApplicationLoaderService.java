@@ -51,6 +51,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jakarta.inject.Inject;
@@ -82,6 +87,7 @@ import org.glassfish.internal.data.ApplicationRegistry;
 import org.glassfish.internal.data.ContainerRegistry;
 import org.glassfish.internal.data.EngineInfo;
 import org.glassfish.internal.deployment.*;
+import org.glassfish.internal.deployment.analysis.DeploymentSpan;
 import org.glassfish.internal.deployment.analysis.StructuredDeploymentTracing;
 import org.glassfish.kernel.KernelLoggerInfo;
 import org.glassfish.security.services.impl.AuthenticationServiceImpl;
@@ -100,6 +106,17 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     final Logger logger = KernelLoggerInfo.getLogger();
 
+    /**
+     * System property enabling loading applications with the same deployment order in parallel at startup.
+     */
+    public static final String PARALLEL_STARTUP_PROPERTY = "fish.payara.deployment.parallel-startup";
+
+    /**
+     * System property with the maximum number of applications loaded in parallel at startup, defaults to the number
+     * of processors.
+     */
+    public static final String PARALLEL_STARTUP_THREADS_PROPERTY = "fish.payara.deployment.parallel-startup.threads";
+
     // During the authentication service's PostConstruct the javax.security.auth.login.Configuration class is constructed.
     // During the Configuration initialization a static variable is set to the current thread's context class loader.
     // When applications are loaded via this (ApplicationLoaderService) the current thread's context class loader
@@ -250,14 +267,18 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
         List<Deployment.ApplicationDeployment> appDeployments = new ArrayList<>();
         // process the deployed applications
-        Iterator iter = DeploymentOrder.getApplicationDeployments();
-        while (iter.hasNext()) {
-          Application app = (Application)iter.next();
-          ApplicationRef appRef = server.getApplicationRef(app.getName());
-          if (appRef != null) {
-            // Does the application need to be run on this instance?
-            appDeployments.addAll(processApplication(app, appRef));
-          }
+        if (Boolean.getBoolean(PARALLEL_STARTUP_PROPERTY)) {
+            appDeployments.addAll(processApplicationsInParallel());
+        } else {
+            Iterator iter = DeploymentOrder.getApplicationDeployments();
+            while (iter.hasNext()) {
+              Application app = (Application)iter.next();
+              ApplicationRef appRef = server.getApplicationRef(app.getName());
+              if (appRef != null) {
+                // Does the application need to be run on this instance?
+                appDeployments.addAll(processApplication(app, appRef));
+              }
+            }
         }
 
         // does the user want us to run a particular application
@@ -368,7 +389,83 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
     }
 
 
+    /**
+     * Processes the deployed applications group by group in deployment order. The applications of a group have the
+     * same deployment order and are processed in parallel on a bounded pool, the next group starts when all
+     * applications of the group are processed.
+     *
+     * @return the application deployments in deployment order
+     */
+    private List<Deployment.ApplicationDeployment> processApplicationsInParallel() {
+        int threads = Integer.getInteger(PARALLEL_STARTUP_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        List<List<Application>> groups = DeploymentOrder.getApplicationDeploymentGroups();
+        int maxGroupSize = groups.stream().mapToInt(List::size).max().orElse(0);
+        List<Deployment.ApplicationDeployment> appDeployments = new ArrayList<>();
+
+        ExecutorService executor = null;
+        if (threads > 1 && maxGroupSize > 1) {
+            // resolve the runtime dependencies once before the applications are loaded concurrently
+            initializeRuntimeDependencies();
+            // applications are loaded with the context class loader of the startup thread
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.min(threads, maxGroupSize), task -> {
+                Thread thread = new Thread(task, "payara-startup-deployment-" + threadNumber.incrementAndGet());
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            });
+        }
+        try {
+            for (List<Application> group : groups) {
+                List<Future<List<Deployment.ApplicationDeployment>>> results = new ArrayList<>(group.size());
+                for (Application app : group) {
+                    ApplicationRef appRef = server.getApplicationRef(app.getName());
+                    if (appRef == null) {
+                        continue;
+                    }
+                    if (executor == null || group.size() == 1) {
+                        appDeployments.addAll(processApplication(app, appRef));
+                        continue;
+                    }
+                    StructuredDeploymentTracing structuredTracing = createTracing(app);
+                    DeploymentSpan queued = structuredTracing.startSpan(DeploymentTracing.AppStage.AWAIT_STARTUP_THREAD);
+                    results.add(executor.submit(() -> {
+                        queued.close();
+                        return processApplication(app, appRef, structuredTracing);
+                    }));
+                }
+                // keep the deployment order within the group for initialization
+                for (Future<List<Deployment.ApplicationDeployment>> result : results) {
+                    try {
+                        appDeployments.addAll(result.get());
+                    } catch (ExecutionException e) {
+                        logger.log(Level.SEVERE, KernelLoggerInfo.deployException, e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.SEVERE, KernelLoggerInfo.deployException, e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        return appDeployments;
+    }
+
+    private StructuredDeploymentTracing createTracing(Application app) {
+        return deploymentTracingEnabled != null
+                ? StructuredDeploymentTracing.create(app.getName())
+                : StructuredDeploymentTracing.createDisabled(app.getName());
+    }
+
     public List<Deployment.ApplicationDeployment> processApplication(Application app, ApplicationRef appRef) {
+        return processApplication(app, appRef, createTracing(app));
+    }
+
+    private List<Deployment.ApplicationDeployment> processApplication(Application app, ApplicationRef appRef,
+            StructuredDeploymentTracing structuredTracing) {
 
         long operationStartTime = Calendar.getInstance().getTimeInMillis();
 
@@ -395,9 +492,6 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
             try {
                 ReadableArchive archive = null;
                 try {
-                    StructuredDeploymentTracing structuredTracing = deploymentTracingEnabled != null
-                            ? StructuredDeploymentTracing.create(app.getName())
-                            : StructuredDeploymentTracing.createDisabled(app.getName());
                     DeploymentTracing tracing = null;
 
                     DeployCommandParameters deploymentParams =
@@ -51,8 +51,16 @@ import com.sun.enterprise.util.LocalStringManagerImpl;
 import com.sun.enterprise.util.io.FileUtils;
 import com.sun.enterprise.v3.logging.AgentFormatterDelegate;
 import fish.payara.enterprise.server.logging.JSONLogFormatter;
+import com.sun.enterprise.server.logging.LogRecordRingBuffer.OverflowPolicy;
 import fish.payara.enterprise.server.logging.PayaraNotificationLogRotationTimer;;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.security.PrivilegedAction;
 import java.text.FieldPosition;
 import java.text.ParseException;
@@ -61,6 +69,8 @@ import java.util.*;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.ErrorManager;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
@@ -148,6 +158,22 @@ public class GFFileHandler extends StreamHandler implements
 
     private BlockingQueue<LogRecord> pendingRecords = new ArrayBlockingQueue<>(10000);
 
+    private static final int DEFAULT_RING_BUFFER_SIZE = 16384;
+    private static final int RING_BUFFER_BATCH_SIZE = 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_QUEUE_FULL_SAMPLE_RATE = 10;
+
+    /** Replaces the pendingRecords queue when ringBufferEnabled is set, records are then written in batches */
+    private volatile LogRecordRingBuffer ringBuffer;
+    private ByteBuffer writeBuffer;
+    private CharsetEncoder encoder;
+
+    private OverflowPolicy queueFullPolicy = OverflowPolicy.BLOCK;
+    private int queueFullSampleRate = DEFAULT_QUEUE_FULL_SAMPLE_RATE;
+    private final AtomicLong overflowedRecords = new AtomicLong();
+    private final LongAdder droppedRecords = new LongAdder();
+    private long reportedDroppedRecords;
+
     /**Rotation can be done in 3 ways: <ol>
      * <li> Based on the Size: Rotate when some Threshold number of bytes are
      *    written to server.log </li>
@@ -240,6 +266,9 @@ public class GFFileHandler extends StreamHandler implements
             currentFileHandlerFormatter = "fish.payara.enterprise.server.logging.JSONLogFormatter";
         }
 
+        // must be known before the pump is started
+        configureQueue();
+
         String propertyValue = manager.getProperty(className + ".logtoFile");
         boolean logToFile = true;
         if (propertyValue != null) {
@@ -327,6 +356,48 @@ public class GFFileHandler extends StreamHandler implements
 
     }
 
+    private void configureQueue() {
+        String propertyValue = manager.getProperty(className + ".queueFullPolicy");
+        if (propertyValue != null && !propertyValue.trim().isEmpty()) {
+            try {
+                queueFullPolicy = OverflowPolicy.valueOf(propertyValue.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logInvalidAttributeValue(propertyValue, "queueFullPolicy");
+            }
+        }
+        queueFullSampleRate = getPositiveIntProperty("queueFullSampleRate", DEFAULT_QUEUE_FULL_SAMPLE_RATE);
+
+        if (Boolean.parseBoolean(manager.getProperty(className + ".ringBufferEnabled"))) {
+            ringBuffer = new LogRecordRingBuffer(getPositiveIntProperty("ringBufferSize", DEFAULT_RING_BUFFER_SIZE));
+        }
+    }
+
+    private int getPositiveIntProperty(String attribute, int defaultValue) {
+        String propertyValue = manager.getProperty(className + "." + attribute);
+        if (propertyValue == null) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(propertyValue.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        logInvalidAttributeValue(propertyValue, attribute);
+        return defaultValue;
+    }
+
+    private void logInvalidAttributeValue(String propertyValue, String attribute) {
+        logRecord = new LogRecord(Level.WARNING, LogFacade.INVALID_ATTRIBUTE_VALUE);
+        logRecord.setParameters(new Object[]{propertyValue, attribute});
+        logRecord.setResourceBundle(ResourceBundle.getBundle(LogFacade.LOGGING_RB_NAME));
+        logRecord.setThreadID((int) Thread.currentThread().getId());
+        logRecord.setLoggerName(LogFacade.LOGGING_LOGGER_NAME);
+        EarlyLogHandler.earlyMessages.add(logRecord);
+    }
+
     private void configureLogFormatter(String formatterName, String excludeFields, boolean multiLineMode) {
         if (UniformLogFormatter.class.getName().equals(formatterName)) {
             configureUniformLogFormatter(excludeFields, multiLineMode);
@@ -625,6 +696,11 @@ public class GFFileHandler extends StreamHandler implements
 
     private void drainAllPendingRecords() {
         drainPendingRecords(0);
+        if (ringBuffer != null) {
+            while (writePendingRecords() > 0) {
+                // keep writing until the ring buffer is empty
+            }
+        }
     }
 
     /**
@@ -648,6 +724,85 @@ public class GFFileHandler extends StreamHandler implements
         }
     }
 
+    /**
+     * Formats the records waiting in the ring buffer into a reused buffer and writes them to the log file with as few
+     * channel writes as possible.
+     * @return the number of records taken from the ring buffer
+     */
+    private int writePendingRecords() {
+        synchronized (rotationLock) {
+            synchronized (this) {
+                if (writeBuffer == null) {
+                    writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+                }
+                prepareEncoder();
+                int written = ringBuffer.drainTo(this::encodeRecord, RING_BUFFER_BATCH_SIZE);
+                writeBufferToFile();
+                return written;
+            }
+        }
+    }
+
+    private void prepareEncoder() {
+        String encoding = getEncoding();
+        Charset charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+    }
+
+    private void encodeRecord(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        String message;
+        try {
+            message = getFormatter().format(record);
+        } catch (Exception e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(message);
+        encoder.reset();
+        while (encoder.encode(chars, writeBuffer, true) == CoderResult.OVERFLOW) {
+            writeBufferToFile();
+        }
+        while (encoder.flush(writeBuffer) == CoderResult.OVERFLOW) {
+            writeBufferToFile();
+        }
+    }
+
+    private void writeBufferToFile() {
+        writeBuffer.flip();
+        try {
+            if (writeBuffer.hasRemaining() && meter != null) {
+                meter.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+    private void reportDroppedRecords() {
+        long dropped = droppedRecords.sum();
+        if (dropped != reportedDroppedRecords) {
+            new ErrorManager().error("GFFileHandler: Queue full. " + (dropped - reportedDroppedRecords)
+                    + " log records dropped.", null, ErrorManager.GENERIC_FAILURE);
+            reportedDroppedRecords = dropped;
+        }
+    }
+
+    /**
+     * @return the number of log records dropped so far because the queue was full
+     */
+    long getDroppedRecordCount() {
+        return droppedRecords.sum();
+    }
+
     /**
      * This method is invoked from LogManager.reInitializeLoggers() to
      * change the location of the file.
@@ -723,14 +878,26 @@ public class GFFileHandler extends StreamHandler implements
         private volatile boolean isOpen;
 
         OutputStream out;
+        final FileChannel channel;
         long written;
 
-        MeteredStream(OutputStream out, long written) {
+        MeteredStream(OutputStream out, FileChannel channel, long written) {
             this.out = out;
+            this.channel = channel;
             this.written = written;
             isOpen = true;
         }
 
+        /**
+         * Writes the buffer straight to the file channel, after flushing anything still buffered by the stream.
+         */
+        void write(ByteBuffer buffer) throws IOException {
+            out.flush();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        }
+
         @Override
         public void write(int b) throws IOException {
             out.write(b);
@@ -778,7 +945,7 @@ public class GFFileHandler extends StreamHandler implements
         }
         FileOutputStream fout = new FileOutputStream(file, true);
         BufferedOutputStream bout = new BufferedOutputStream(fout);
-        meter = new MeteredStream(bout, file.length());
+        meter = new MeteredStream(bout, fout.getChannel(), file.length());
         setOutputStream(meter);
     }
 
@@ -940,20 +1107,30 @@ public class GFFileHandler extends StreamHandler implements
     public void log() {
 
         if (logToFile) {
-            LogRecord record;
+            if (ringBuffer != null) {
+                try {
+                    ringBuffer.awaitRecords();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                writePendingRecords();
+            } else {
+                LogRecord record;
 
-            // take is blocking so we take one record off the queue
-            try {
-                record = pendingRecords.take();
-                super.publish(record);
-            } catch (InterruptedException e) {
-                return;
-            }
+                // take is blocking so we take one record off the queue
+                try {
+                    record = pendingRecords.take();
+                    super.publish(record);
+                } catch (InterruptedException e) {
+                    return;
+                }
 
-            if (flushFrequency > 1) {
-                // now try to read more.  we end up blocking on the above take call if nothing is in the queue
-                drainPendingRecords(flushFrequency - 1);
+                if (flushFrequency > 1) {
+                    // now try to read more.  we end up blocking on the above take call if nothing is in the queue
+                    drainPendingRecords(flushFrequency - 1);
+                }
             }
+            reportDroppedRecords();
 
             flush();
             if ((rotationRequested.get())
@@ -991,18 +1168,7 @@ public class GFFileHandler extends StreamHandler implements
         GFLogRecord wrappedRecord = GFLogRecord.wrap(record, true);
 
         if (logToFile) {
-            try {
-                pendingRecords.add(wrappedRecord);
-            } catch (IllegalStateException e) {
-                // queue is full, start waiting.
-                new ErrorManager().error("GFFileHandler: Queue full. Waiting to submit.", e, ErrorManager.GENERIC_FAILURE);
-                try {
-                    pendingRecords.put(wrappedRecord);
-                } catch (InterruptedException e1) {
-                    // too bad, record is lost...
-                    new ErrorManager().error("GFFileHandler: Waiting was interrupted. Log record lost.", e1, ErrorManager.GENERIC_FAILURE);
-                }
-            }
+            enqueue(wrappedRecord);
         }
 
         Formatter formatter = this.getFormatter();
@@ -1013,6 +1179,33 @@ public class GFFileHandler extends StreamHandler implements
 
     }
 
+    /**
+     * Adds the record to the queue of records to write, applying the queue full policy if there is no space.
+     */
+    private void enqueue(LogRecord record) {
+        LogRecordRingBuffer buffer = ringBuffer;
+        if (buffer != null ? buffer.offer(record) : pendingRecords.offer(record)) {
+            return;
+        }
+        if (queueFullPolicy == OverflowPolicy.DROP || queueFullPolicy == OverflowPolicy.SAMPLE
+                && overflowedRecords.incrementAndGet() % queueFullSampleRate != 0) {
+            droppedRecords.increment();
+            return;
+        }
+        // queue is full, start waiting.
+        new ErrorManager().error("GFFileHandler: Queue full. Waiting to submit.", null, ErrorManager.GENERIC_FAILURE);
+        try {
+            if (buffer != null) {
+                buffer.put(record);
+            } else {
+                pendingRecords.put(record);
+            }
+        } catch (InterruptedException e) {
+            // too bad, record is lost...
+            new ErrorManager().error("GFFileHandler: Waiting was interrupted. Log record lost.", e, ErrorManager.GENERIC_FAILURE);
+        }
+    }
+
     protected File getLogFileName() {
         return new File(absoluteServerLogName);
 
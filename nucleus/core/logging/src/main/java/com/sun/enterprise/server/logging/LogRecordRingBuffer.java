@@ -0,0 +1,200 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.server.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.LogRecord;
+
+/**
+ * A bounded multi-producer, single-consumer queue of {@link LogRecord}s backed by a pre-allocated ring of reusable
+ * slots.
+ * <p>
+ * Producers claim a sequence number with a single CAS and publish the record into the slot for that sequence, so
+ * enqueuing never allocates and never takes a lock. The consumer drains all published slots in sequence order and
+ * hands each slot back to the producers once its record has been taken.
+ */
+final class LogRecordRingBuffer {
+
+    /**
+     * What a producer does when the buffer is full.
+     */
+    enum OverflowPolicy {
+        /** Wait for space, no record is lost. */
+        BLOCK,
+        /** Discard the record. */
+        DROP,
+        /** Discard all but every n-th record, those wait for space. */
+        SAMPLE
+    }
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final class Slot {
+
+        /** Equal to the sequence number when free for that sequence, one more when its record was published. */
+        volatile long sequence;
+        LogRecord record;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile Thread waitingConsumer;
+
+    /** The next sequence to consume, only accessed by the consumer. */
+    private long consumed;
+
+    /**
+     * @param capacity the minimum number of records the buffer can hold, rounded up to the next power of two
+     */
+    LogRecordRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Adds the record if there is space without waiting.
+     *
+     * @param record the record to add
+     * @return true if the record was added, false if the buffer is full
+     */
+    boolean offer(LogRecord record) {
+        while (true) {
+            long sequence = claimed.get();
+            Slot slot = slots[(int) sequence & mask];
+            long available = slot.sequence - sequence;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0 && claimed.compareAndSet(sequence, sequence + 1)) {
+                slot.record = record;
+                slot.sequence = sequence + 1;
+                Thread consumer = waitingConsumer;
+                if (consumer != null) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds the record, waiting for space if the buffer is full.
+     *
+     * @param record the record to add
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(LogRecord record) throws InterruptedException {
+        while (!offer(record)) {
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Passes all published records, up to the given maximum, to the consumer in the order they were added. Must only
+     * be called by one thread at a time.
+     *
+     * @param consumer receives the records
+     * @param maxRecords the maximum number of records to drain
+     * @return the number of records drained
+     */
+    int drainTo(Consumer<? super LogRecord> consumer, int maxRecords) {
+        int drained = 0;
+        long sequence = consumed;
+        try {
+            while (drained < maxRecords) {
+                Slot slot = slots[(int) sequence & mask];
+                if (slot.sequence != sequence + 1) {
+                    break;
+                }
+                LogRecord record = slot.record;
+                slot.record = null;
+                slot.sequence = sequence + slots.length;
+                sequence++;
+                drained++;
+                consumer.accept(record);
+            }
+        } finally {
+            consumed = sequence;
+        }
+        return drained;
+    }
+
+    /**
+     * Waits until at least one record is available to the consumer. Must only be called by the consumer.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitRecords() throws InterruptedException {
+        waitingConsumer = Thread.currentThread();
+        try {
+            while (isEmpty()) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    boolean isEmpty() {
+        return slots[(int) consumed & mask].sequence != consumed + 1;
+    }
+}
@@ -141,6 +141,10 @@ public class SetLogAttributes implements AdminCommand {
         "com.sun.enterprise.server.logging.GFFileHandler.compressOnRotation",
         "com.sun.enterprise.server.logging.GFFileHandler.logStandardStreams",
         "com.sun.enterprise.server.logging.GFFileHandler.fastLogging",
+        "com.sun.enterprise.server.logging.GFFileHandler.ringBufferEnabled",
+        "com.sun.enterprise.server.logging.GFFileHandler.ringBufferSize",
+        "com.sun.enterprise.server.logging.GFFileHandler.queueFullPolicy",
+        "com.sun.enterprise.server.logging.GFFileHandler.queueFullSampleRate",
         "com.sun.enterprise.server.logging.UniformLogFormatter.ansiColor",
         "com.sun.enterprise.server.logging.UniformLogFormatter.infoColor",
         "com.sun.enterprise.server.logging.UniformLogFormatter.warnColor",
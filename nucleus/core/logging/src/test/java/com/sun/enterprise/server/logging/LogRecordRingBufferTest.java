@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package com.sun.enterprise.server.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link LogRecordRingBuffer} used by the {@link GFFileHandler} in ring buffer mode.
+ */
+public class LogRecordRingBufferTest {
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(16, new LogRecordRingBuffer(10).capacity());
+        assertEquals(16, new LogRecordRingBuffer(16).capacity());
+        assertEquals(2, new LogRecordRingBuffer(0).capacity());
+    }
+
+    @Test
+    public void recordsAreDrainedInOrderAcrossWrapAround() {
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(4);
+        List<String> drained = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(record(round + "-" + i)));
+            }
+            assertEquals(3, buffer.drainTo(record -> drained.add(record.getMessage()), 10));
+            assertTrue(buffer.isEmpty());
+        }
+        assertEquals(15, drained.size());
+        assertEquals("0-0", drained.get(0));
+        assertEquals("4-2", drained.get(14));
+    }
+
+    @Test
+    public void offerFailsWhenFull() {
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(record("r" + i)));
+        }
+        assertFalse(buffer.offer(record("overflow")));
+        assertEquals(1, buffer.drainTo(record -> { }, 1));
+        assertTrue(buffer.offer(record("r4")));
+    }
+
+    @Test
+    public void blockedProducerContinuesOnceDrained() throws Exception {
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(2);
+        buffer.offer(record("a"));
+        buffer.offer(record("b"));
+        CountDownLatch added = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.put(record("c"));
+                added.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(added.await(50, TimeUnit.MILLISECONDS));
+        buffer.drainTo(record -> { }, 1);
+        assertTrue(added.await(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void concurrentProducersDoNotLoseRecords() throws Exception {
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(64);
+        int producers = 4;
+        int perProducer = 5000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    try {
+                        buffer.put(record(Integer.toString(i)));
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        int consumed = 0;
+        while (consumed < producers * perProducer) {
+            buffer.awaitRecords();
+            consumed += buffer.drainTo(record -> assertNotNull(record.getMessage()), 16);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(producers * perProducer, consumed);
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static LogRecord record(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+}
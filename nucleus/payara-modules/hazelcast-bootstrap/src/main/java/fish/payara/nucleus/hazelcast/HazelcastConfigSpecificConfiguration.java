@@ -107,5 +107,20 @@ public interface HazelcastConfigSpecificConfiguration extends ConfigBeanProxy, C
     @Attribute
     String getConfigSpecificDataGridStartPort();
     public void setConfigSpecificDataGridStartPort(String value);
+
+    /**
+     * Comma separated names of the clustered stores which keep a near cache on each member.
+     */
+    @Attribute(defaultValue = "")
+    String getNearCachedStores();
+    public void setNearCachedStores(String value);
+
+    @Attribute(defaultValue = "10000", dataType = Integer.class)
+    String getNearCacheMaxEntries();
+    public void setNearCacheMaxEntries(String value);
+
+    @Attribute(defaultValue = "0", dataType = Integer.class)
+    String getNearCacheTimeToLiveSeconds();
+    public void setNearCacheTimeToLiveSeconds(String value);
     
 }
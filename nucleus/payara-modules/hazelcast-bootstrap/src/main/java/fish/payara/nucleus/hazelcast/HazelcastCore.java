@@ -51,6 +51,7 @@ import com.hazelcast.config.GlobalSerializerConfig;
 import com.hazelcast.config.InterfacesConfig;
 import com.hazelcast.config.JoinConfig;
 import com.hazelcast.config.KubernetesConfig;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MemberAddressProviderConfig;
 import com.hazelcast.config.MulticastConfig;
 import com.hazelcast.config.NetworkConfig;
@@ -74,6 +75,7 @@ import com.hazelcast.nio.serialization.StreamSerializer;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.sun.enterprise.util.Utility;
 import fish.payara.nucleus.events.HazelcastEvents;
+import fish.payara.nucleus.store.ClusteredStore;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import org.glassfish.api.StartupRunLevel;
@@ -446,6 +448,7 @@ public class HazelcastCore implements EventListener, ConfigListener {
 
                 config.setProperty("hazelcast.jmx", "true");
             }
+            buildNearCacheConfiguration(config);
             if (config.getCPSubsystemConfig().getCPMemberCount() == 0) {
                 config.getCPSubsystemConfig().setCPMemberCount(Integer.getInteger("hazelcast.cp-subsystem.cp-member-count", 0));
             }
@@ -459,6 +462,28 @@ public class HazelcastCore implements EventListener, ConfigListener {
         return config;
     }
 
+    /**
+     * Adds a near cache to the maps of the configured clustered stores, unless the Hazelcast configuration file
+     * already defines one.
+     */
+    private void buildNearCacheConfiguration(Config config) {
+        String nearCachedStores = nodeConfig.getNearCachedStores();
+        if (nearCachedStores == null || nearCachedStores.trim().isEmpty()) {
+            return;
+        }
+        int maxEntries = Integer.parseInt(nodeConfig.getNearCacheMaxEntries());
+        int timeToLiveSeconds = Integer.parseInt(nodeConfig.getNearCacheTimeToLiveSeconds());
+        for (String storeName : nearCachedStores.split(",")) {
+            storeName = storeName.trim();
+            if (!storeName.isEmpty()) {
+                MapConfig mapConfig = config.getMapConfig(storeName);
+                if (mapConfig.getNearCacheConfig() == null) {
+                    mapConfig.setNearCacheConfig(ClusteredStore.createNearCacheConfig(storeName, maxEntries, timeToLiveSeconds));
+                }
+            }
+        }
+    }
+
     private void setPayaraSerializerConfig(SerializationConfig serConfig) {
         if(serConfig == null || ctxUtil == null) {
             throw new IllegalStateException("either serialization config or ctxUtil is null");
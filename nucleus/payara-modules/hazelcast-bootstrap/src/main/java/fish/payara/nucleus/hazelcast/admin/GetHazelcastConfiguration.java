@@ -150,6 +150,9 @@ public class GetHazelcastConfiguration implements AdminCommand {
         columnFormatter.addRow(new Object[]{"Scheduled Executor Queue Capacity",nodeConfiguration.getScheduledExecutorQueueCapacity(),"Config"});
         columnFormatter.addRow(new Object[]{"Public Address",nodeConfiguration.getPublicAddress(),"Config"});
         columnFormatter.addRow(new Object[]{"Config Specific Data Grid Start Port",nodeConfiguration.getConfigSpecificDataGridStartPort(),"Config"});
+        columnFormatter.addRow(new Object[]{"Near Cached Stores",nodeConfiguration.getNearCachedStores(),"Config"});
+        columnFormatter.addRow(new Object[]{"Near Cache Max Entries",nodeConfiguration.getNearCacheMaxEntries(),"Config"});
+        columnFormatter.addRow(new Object[]{"Near Cache Time To Live Seconds",nodeConfiguration.getNearCacheTimeToLiveSeconds(),"Config"});
 
         Map<String, Object> map = new HashMap<>(26);
         Properties extraProps = new Properties();
@@ -183,6 +186,9 @@ public class GetHazelcastConfiguration implements AdminCommand {
         map.put("kubernetesNamespace", runtimeConfiguration.getKubernetesNamespace());
         map.put("kubernetesServiceName", runtimeConfiguration.getKubernetesServiceName());
         map.put("configSpecificDataGridStartPort",nodeConfiguration.getConfigSpecificDataGridStartPort());
+        map.put("nearCachedStores", nodeConfiguration.getNearCachedStores());
+        map.put("nearCacheMaxEntries", nodeConfiguration.getNearCacheMaxEntries());
+        map.put("nearCacheTimeToLiveSeconds", nodeConfiguration.getNearCacheTimeToLiveSeconds());
         map.put("encryptDatagrid", runtimeConfiguration.getDatagridEncryptionEnabled());
 
         extraProps.put("getHazelcastConfiguration",map);
@@ -180,6 +180,15 @@ public class SetHazelcastConfiguration implements AdminCommand, DeploymentTarget
     @Param(name = "scheduledExecutorQueueCapacity", optional = true)
     private String scheduledExecutorQueueCapacity;
 
+    @Param(name = "nearCachedStores", optional = true)
+    private String nearCachedStores;
+
+    @Param(name = "nearCacheMaxEntries", optional = true)
+    private String nearCacheMaxEntries;
+
+    @Param(name = "nearCacheTimeToLiveSeconds", optional = true)
+    private String nearCacheTimeToLiveSeconds;
+
     @Param(name = "licenseKey", shortName = "lk", optional = true)
     private String licenseKey;
 
@@ -358,6 +367,15 @@ public class SetHazelcastConfiguration implements AdminCommand, DeploymentTarget
                             if (scheduledExecutorQueueCapacity != null) {
                                 hazelcastRuntimeConfigurationProxy.setScheduledExecutorQueueCapacity(scheduledExecutorQueueCapacity);
                             }
+                            if (nearCachedStores != null) {
+                                hazelcastRuntimeConfigurationProxy.setNearCachedStores(nearCachedStores);
+                            }
+                            if (nearCacheMaxEntries != null) {
+                                hazelcastRuntimeConfigurationProxy.setNearCacheMaxEntries(nearCacheMaxEntries);
+                            }
+                            if (nearCacheTimeToLiveSeconds != null) {
+                                hazelcastRuntimeConfigurationProxy.setNearCacheTimeToLiveSeconds(nearCacheTimeToLiveSeconds);
+                            }
                             if (memberName != null) {
                                 hazelcastRuntimeConfigurationProxy.setMemberName(memberName);
                             }
@@ -38,15 +38,23 @@
  */
 package fish.payara.nucleus.store;
 
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.query.Predicates;
 import fish.payara.monitoring.collect.MonitoringDataCollector;
 import fish.payara.monitoring.collect.MonitoringDataSource;
 import fish.payara.nucleus.events.HazelcastEvents;
+import fish.payara.nucleus.hazelcast.HazelcastConfigSpecificConfiguration;
 import fish.payara.nucleus.hazelcast.HazelcastCore;
 import fish.payara.nucleus.hazelcast.encryption.PayaraHazelcastEncryptedValueHolder;
 import fish.payara.nucleus.hazelcast.encryption.HazelcastSymmetricEncryptor;
@@ -59,10 +67,13 @@ import org.jvnet.hk2.annotations.Service;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 import org.glassfish.internal.api.JavaEEContextUtil;
 import org.glassfish.internal.api.JavaEEContextUtil.Context;
@@ -102,10 +113,20 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
                             IMap<Object, Object> map = hz.getMap(obj.getName());
                             if (map != null) {
                                 LocalMapStats stats = map.getLocalMapStats();
-                                collector.in("map").group(map.getName())
+                                MonitoringDataCollector mapCollector = collector.in("map").group(map.getName())
                                         .collect("GetCount", stats.getGetOperationCount())
                                         .collect("PutCount", stats.getPutOperationCount())
                                         .collect("EntryCount", stats.getOwnedEntryCount());
+                                NearCacheStats nearCacheStats = stats.getNearCacheStats();
+                                if (nearCacheStats != null) {
+                                    long hits = nearCacheStats.getHits();
+                                    long lookups = hits + nearCacheStats.getMisses();
+                                    mapCollector
+                                            .collect("NearCacheHitCount", hits)
+                                            .collect("NearCacheMissCount", nearCacheStats.getMisses())
+                                            .collect("NearCacheHitRatio", lookups == 0L ? 0L : 100 * hits / lookups)
+                                            .collect("NearCacheEntryCount", nearCacheStats.getOwnedEntryCount());
+                                }
                             }
                         }
                     }
@@ -126,6 +147,27 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         return hzCore.isEnabled();
     }
 
+    /**
+     * Creates the configuration of a near cache of the given store, which keeps the entries read on this member so
+     * repeated reads of the same keys do not need a remote call. Entries are invalidated when they are changed
+     * anywhere in the cluster. The configuration has to be part of the Hazelcast configuration the member is started
+     * with, see {@link HazelcastConfigSpecificConfiguration#getNearCachedStores()}.
+     * @param storeName The name of the store to cache
+     * @param maxEntries The maximum number of entries kept in the near cache, least recently used are evicted first
+     * @param timeToLiveSeconds The maximum number of seconds an entry is kept in the near cache, 0 for no limit
+     * @return the near cache configuration
+     */
+    public static NearCacheConfig createNearCacheConfig(String storeName, int maxEntries, int timeToLiveSeconds) {
+        return new NearCacheConfig(storeName)
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setInvalidateOnChange(true)
+                .setTimeToLiveSeconds(timeToLiveSeconds)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setSize(maxEntries));
+    }
+
     /**
      * Stores a value in Hazelcast
      * @param storeName The name of the store to put the value into.
@@ -138,17 +180,90 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         boolean result = false;
         if (isEnabled()) {
             try (Context ctx = ctxUtil.empty().pushContext()) {
-                if (value != null && hzCore.isDatagridEncryptionEnabled()) {
-                    value = new PayaraHazelcastEncryptedValueHolder(HazelcastSymmetricEncryptor.encode(
-                            HazelcastSymmetricEncryptor.objectToByteArray(value)));
-                }
-                hzCore.getInstance().getMap(storeName).set(key, value);
+                hzCore.getInstance().getMap(storeName).set(key, encrypt(value));
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stores all the given values in Hazelcast using a single bulk operation.
+     * @param storeName The name of the store to put the values into.
+     * This will be created if it does not already exist.
+     * @param entries The key/value pairs to store
+     * @return true if the operation succeeded, false otherwise
+     */
+    public boolean setAll(String storeName, Map<? extends Serializable, ? extends Serializable> entries) {
+        boolean result = false;
+        if (isEnabled()) {
+            try (Context ctx = ctxUtil.empty().pushContext()) {
+                hzCore.getInstance().getMap(storeName).putAll(encryptAll(entries));
                 result = true;
             }
         }
         return result;
     }
 
+    /**
+     * Stores a value in Hazelcast without waiting for the operation to complete.
+     * @param storeName The name of the store to put the value into.
+     * This will be created if it does not already exist.
+     * @param key
+     * @param value
+     * @return completes with true if the operation succeeded, false if Hazelcast is not enabled
+     */
+    public CompletionStage<Boolean> setAsync(String storeName, Serializable key, Serializable value) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try (Context ctx = ctxUtil.empty().pushContext()) {
+            IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
+            return map.setAsync(key, encrypt(value)).thenApply(ignored -> true);
+        }
+    }
+
+    /**
+     * Stores all the given values in Hazelcast using a single bulk operation, without waiting for it to complete.
+     * @param storeName The name of the store to put the values into.
+     * This will be created if it does not already exist.
+     * @param entries The key/value pairs to store
+     * @return completes with true if the operation succeeded, false if Hazelcast is not enabled
+     */
+    public CompletionStage<Boolean> setAllAsync(String storeName, Map<? extends Serializable, ? extends Serializable> entries) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try (Context ctx = ctxUtil.empty().pushContext()) {
+            IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
+            return map.putAllAsync(encryptAll(entries)).thenApply(ignored -> true);
+        }
+    }
+
+    /**
+     * Removes the key/value pairs with the given keys from a Hazelcast store.
+     * The store will be created if it does not already exist.
+     * @param storeName The name of the store to remove from
+     * @param <K> The key type, which must be comparable so the keys can be matched by a single predicate
+     * @param keys The keys to remove
+     * @return true if the operation succeeded, false otherwise
+     */
+    public <K extends Serializable & Comparable<? super K>> boolean removeAll(String storeName, Collection<K> keys) {
+        boolean result = false;
+        if (isEnabled()) {
+            try (Context ctx = ctxUtil.empty().pushContext()) {
+                IMap<Serializable, Object> map = hzCore.getInstance().getMap(storeName);
+                if (map != null) {
+                    if (!keys.isEmpty()) {
+                        map.removeAll(Predicates.in("__key", keys.toArray(new Comparable[0])));
+                    }
+                    result = true;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Removes a key/value pair of a Hazelcast store.
      * The store will be created if it does not already exist.
@@ -170,6 +285,23 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         return result;
     }
 
+    /**
+     * Removes a key/value pair of a Hazelcast store without waiting for the operation to complete.
+     * The store will be created if it does not already exist.
+     * @param storeName The name of the store to remove from
+     * @param key The key to remove
+     * @return completes with true if the operation succeeded, false if Hazelcast is not enabled
+     */
+    public CompletionStage<Boolean> removeAsync(String storeName, Serializable key) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try (Context ctx = ctxUtil.empty().pushContext()) {
+            IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
+            return map.removeAsync(key).thenApply(ignored -> true);
+        }
+    }
+
     /**
      * Checks to see if a a key already exists in Hazelcast.
      * The store will be created if it does not already exist.
@@ -203,12 +335,28 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
             try (Context ctx = ctxUtil.empty().pushContext()) {
                 var map = hzCore.getInstance().getMap(storeName);
                 if (map != null) {
-                    result = (Serializable) map.get(key);
+                    result = decrypt((Serializable) map.get(key));
+                }
+            }
+        }
+        return result;
+    }
 
-                    if (result instanceof PayaraHazelcastEncryptedValueHolder && hzCore.isDatagridEncryptionEnabled()) {
-                        result = (Serializable) HazelcastSymmetricEncryptor.byteArrayToObject(
-                                HazelcastSymmetricEncryptor.decode(
-                                        ((PayaraHazelcastEncryptedValueHolder) result).getEncryptedObjectBytes()));
+    /**
+     * Gets the values from Hazelcast with the specified keys in the given store using a single bulk operation.
+     * The store will be created if it does not already exist.
+     * @param storeName The store name to lookup
+     * @param keys The keys to lookup
+     * @return the key/value pairs found, keys without a value are left out
+     */
+    public Map<Serializable, Serializable> getAll(String storeName, Collection<? extends Serializable> keys) {
+        Map<Serializable, Serializable> result = new HashMap<>();
+        if (isEnabled()) {
+            try (Context ctx = ctxUtil.empty().pushContext()) {
+                IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
+                if (map != null) {
+                    for (Map.Entry<Serializable, Serializable> entry : map.getAll(new HashSet<>(keys)).entrySet()) {
+                        result.put(entry.getKey(), decrypt(entry.getValue()));
                     }
                 }
             }
@@ -216,6 +364,52 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         return result;
     }
 
+    /**
+     * Gets the value from Hazelcast with the specified key in the given store without waiting for it.
+     * The store will be created if it does not already exist.
+     * @param storeName The store name to lookup
+     * @param key The key to lookup
+     * @return completes with the value, or null if there is none or Hazelcast is not enabled
+     */
+    public CompletionStage<Serializable> getAsync(String storeName, Serializable key) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try (Context ctx = ctxUtil.empty().pushContext()) {
+            IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
+            return map.getAsync(key).thenApply(value -> {
+                try (Context valueCtx = ctxUtil.empty().pushContext()) {
+                    return decrypt(value);
+                }
+            });
+        }
+    }
+
+    private Serializable encrypt(Serializable value) {
+        if (value != null && hzCore.isDatagridEncryptionEnabled()) {
+            return new PayaraHazelcastEncryptedValueHolder(HazelcastSymmetricEncryptor.encode(
+                    HazelcastSymmetricEncryptor.objectToByteArray(value)));
+        }
+        return value;
+    }
+
+    private Map<Serializable, Serializable> encryptAll(Map<? extends Serializable, ? extends Serializable> entries) {
+        Map<Serializable, Serializable> values = new HashMap<>(entries);
+        if (hzCore.isDatagridEncryptionEnabled()) {
+            values.replaceAll((key, value) -> encrypt(value));
+        }
+        return values;
+    }
+
+    private Serializable decrypt(Serializable value) {
+        if (value instanceof PayaraHazelcastEncryptedValueHolder && hzCore.isDatagridEncryptionEnabled()) {
+            return (Serializable) HazelcastSymmetricEncryptor.byteArrayToObject(
+                    HazelcastSymmetricEncryptor.decode(
+                            ((PayaraHazelcastEncryptedValueHolder) value).getEncryptedObjectBytes()));
+        }
+        return value;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void event(Event event) {
@@ -237,19 +431,11 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         HashMap<Serializable,Serializable> result = new HashMap<>();
         if (hzCore.isEnabled()) {
             try (Context ctx = ctxUtil.empty().pushContext()) {
-                IMap<Serializable, ?> map = hzCore.getInstance().getMap(storeName);
+                IMap<Serializable, Serializable> map = hzCore.getInstance().getMap(storeName);
                 if (map != null) {
-                    Set<Serializable> keys = map.keySet();
-                    for (Serializable key : keys) {
-                        Serializable value = (Serializable) map.get(key);
-
-                        if (value instanceof PayaraHazelcastEncryptedValueHolder && hzCore.isDatagridEncryptionEnabled()) {
-                            value = (Serializable) HazelcastSymmetricEncryptor.byteArrayToObject(
-                                    HazelcastSymmetricEncryptor.decode(
-                                            ((PayaraHazelcastEncryptedValueHolder) value).getEncryptedObjectBytes()));
-                        }
-
-                        result.put(key, value);
+                    // one bulk call rather than a remote get per key
+                    for (Map.Entry<Serializable, Serializable> entry : map.entrySet()) {
+                        result.put(entry.getKey(), decrypt(entry.getValue()));
                     }
                 }
             }
@@ -0,0 +1,248 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.nucleus.store;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.spi.properties.ClusterProperty;
+import fish.payara.monitoring.collect.MonitoringDataCollector;
+import fish.payara.nucleus.hazelcast.HazelcastCore;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.glassfish.internal.api.JavaEEContextUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the store against two Hazelcast members in this JVM, the first of which reads through a near cache.
+ */
+public class ClusteredStoreTest {
+
+    private static final String STORE = "near-cached-store";
+    private static final String PLAIN_STORE = "plain-store";
+
+    private static HazelcastInstance member;
+    private static HazelcastInstance otherMember;
+    private static ClusteredStore store;
+    private static ClusteredStore otherStore;
+
+    @BeforeClass
+    public static void startMembers() throws Exception {
+        String clusterName = "clustered-store-test-" + UUID.randomUUID();
+        member = Hazelcast.newHazelcastInstance(createConfig(clusterName));
+        otherMember = Hazelcast.newHazelcastInstance(createConfig(clusterName));
+        assertEquals(2, member.getCluster().getMembers().size());
+        store = createStore(member, true);
+        otherStore = createStore(otherMember, true);
+    }
+
+    @AfterClass
+    public static void stopMembers() {
+        if (otherMember != null) {
+            otherMember.shutdown();
+        }
+        if (member != null) {
+            member.shutdown();
+        }
+    }
+
+    @Test
+    public void getAllReturnsTheStoredValues() {
+        Map<Serializable, Serializable> entries = new HashMap<>();
+        entries.put("getAll-1", "one");
+        entries.put("getAll-2", "two");
+        assertTrue(store.setAll(PLAIN_STORE, entries));
+        assertEquals(entries, otherStore.getAll(PLAIN_STORE, Arrays.asList("getAll-1", "getAll-2", "getAll-3")));
+    }
+
+    @Test
+    public void removeAllRemovesTheKeysOnEveryMember() {
+        Map<Serializable, Serializable> entries = new HashMap<>();
+        entries.put(keyOwnedBy(member, "removeAll"), "one");
+        entries.put(keyOwnedBy(otherMember, "removeAll"), "two");
+        entries.put("removeAll-kept", "three");
+        assertTrue(store.setAll(PLAIN_STORE, entries));
+        entries.remove("removeAll-kept");
+
+        assertTrue(otherStore.removeAll(PLAIN_STORE, Arrays.asList(entries.keySet().toArray(new String[0]))));
+        assertTrue(store.getAll(PLAIN_STORE, entries.keySet()).isEmpty());
+        assertEquals("three", store.get(PLAIN_STORE, "removeAll-kept"));
+        assertTrue(store.removeAll(PLAIN_STORE, Arrays.<String>asList()));
+    }
+
+    @Test
+    public void asyncOperationsComplete() throws Exception {
+        assertTrue(store.setAsync(PLAIN_STORE, "async-1", "one").toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals("one", otherStore.getAsync(PLAIN_STORE, "async-1").toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        Map<Serializable, Serializable> entries = new HashMap<>();
+        entries.put("async-2", "two");
+        entries.put("async-3", "three");
+        assertTrue(store.setAllAsync(PLAIN_STORE, entries).toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals(entries, otherStore.getAll(PLAIN_STORE, entries.keySet()));
+
+        assertTrue(store.removeAsync(PLAIN_STORE, "async-1").toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertNull(otherStore.getAsync(PLAIN_STORE, "async-1").toCompletableFuture().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncOperationsCompleteWithoutHazelcast() throws Exception {
+        ClusteredStore disabledStore = createStore(member, false);
+        assertFalse(disabledStore.setAsync(PLAIN_STORE, "disabled", "value").toCompletableFuture().get());
+        assertFalse(disabledStore.setAllAsync(PLAIN_STORE, new HashMap<>()).toCompletableFuture().get());
+        assertFalse(disabledStore.removeAsync(PLAIN_STORE, "disabled").toCompletableFuture().get());
+        assertNull(disabledStore.getAsync(PLAIN_STORE, "disabled").toCompletableFuture().get());
+        assertTrue(disabledStore.getAll(PLAIN_STORE, Arrays.asList("disabled")).isEmpty());
+    }
+
+    @Test
+    public void nearCacheServesRepeatedReadsAndIsPublished() {
+        String key = keyOwnedBy(otherMember, "metrics");
+        otherStore.set(STORE, key, "value");
+        NearCacheStats stats = member.getMap(STORE).getLocalMapStats().getNearCacheStats();
+        long hits = stats.getHits();
+        long misses = stats.getMisses();
+
+        assertEquals("value", store.get(STORE, key));
+        assertEquals("value", store.get(STORE, key));
+        stats = member.getMap(STORE).getLocalMapStats().getNearCacheStats();
+        assertEquals(hits + 1, stats.getHits());
+        assertEquals(misses + 1, stats.getMisses());
+
+        MonitoringDataCollector collector = mock(MonitoringDataCollector.class, RETURNS_SELF);
+        store.collect(collector);
+        verify(collector).group(STORE);
+        verify(collector).collect("NearCacheHitCount", stats.getHits());
+        verify(collector).collect("NearCacheMissCount", stats.getMisses());
+        verify(collector).collect("NearCacheHitRatio", 100 * stats.getHits() / (stats.getHits() + stats.getMisses()));
+    }
+
+    @Test
+    public void nearCacheIsInvalidatedByLocalChanges() {
+        String key = keyOwnedBy(otherMember, "local");
+        otherStore.set(STORE, key, "old");
+        assertEquals("old", store.get(STORE, key));
+        store.set(STORE, key, "new");
+        assertEquals("new", store.get(STORE, key));
+        store.remove(STORE, key);
+        assertNull(store.get(STORE, key));
+    }
+
+    @Test
+    public void nearCacheIsInvalidatedByChangesOnOtherMembers() throws Exception {
+        String key = keyOwnedBy(otherMember, "remote");
+        otherStore.set(STORE, key, "old");
+        assertEquals("old", store.get(STORE, key));
+        otherStore.set(STORE, key, "new");
+        // invalidations are sent asynchronously
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!"new".equals(store.get(STORE, key)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("new", store.get(STORE, key));
+    }
+
+    private static Config createConfig(String clusterName) {
+        Config config = new Config()
+                .setClusterName(clusterName)
+                .setProperty(ClusterProperty.WAIT_SECONDS_BEFORE_JOIN.getName(), "1")
+                .setProperty("hazelcast.phone.home.enabled", "false")
+                // send each invalidation at once rather than in batches
+                .setProperty("hazelcast.map.invalidation.batch.enabled", "false");
+        config.getNetworkConfig().setPort(5801).setPortAutoIncrement(true);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1:5801-5810");
+        config.getMapConfig(STORE).setNearCacheConfig(ClusteredStore.createNearCacheConfig(STORE, 100, 0));
+        return config;
+    }
+
+    private static ClusteredStore createStore(HazelcastInstance instance, boolean enabled) throws Exception {
+        HazelcastCore hzCore = mock(HazelcastCore.class);
+        when(hzCore.isEnabled()).thenReturn(enabled);
+        when(hzCore.getInstance()).thenReturn(instance);
+        JavaEEContextUtil ctxUtil = mock(JavaEEContextUtil.class);
+        JavaEEContextUtil.Instance empty = mock(JavaEEContextUtil.Instance.class);
+        when(ctxUtil.empty()).thenReturn(empty);
+        when(empty.pushContext()).thenReturn(mock(JavaEEContextUtil.Context.class));
+        ClusteredStore clusteredStore = new ClusteredStore();
+        setField(clusteredStore, "hzCore", hzCore);
+        setField(clusteredStore, "ctxUtil", ctxUtil);
+        return clusteredStore;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Near caches do not hold the entries owned by their own member, so the keys read through it are owned by the
+     * other member.
+     */
+    private static String keyOwnedBy(HazelcastInstance owner, String prefix) {
+        for (int i = 0; ; i++) {
+            String key = prefix + "-" + i;
+            if (owner.getCluster().getLocalMember().equals(owner.getPartitionService().getPartition(key).getOwner())) {
+                return key;
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@ import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.IntSupplier;
 import java.util.logging.Level;
@@ -103,6 +104,7 @@ import fish.payara.nucleus.requesttracing.domain.execoptions.RequestTracingExecu
 import fish.payara.nucleus.requesttracing.events.RequestTracingEvents;
 import fish.payara.nucleus.requesttracing.sampling.AdaptiveSampleFilter;
 import fish.payara.nucleus.requesttracing.sampling.SampleFilter;
+import fish.payara.nucleus.requesttracing.store.ClusteredSummaryRequestTraceStore;
 import fish.payara.nucleus.requesttracing.store.RequestTraceStoreFactory;
 import fish.payara.nucleus.requesttracing.store.RequestTraceStoreInterface;
 import io.opentracing.tag.Tag;
@@ -177,6 +179,11 @@ public class RequestTracingService implements EventListener, ConfigListener, Mon
     private RequestTraceStoreInterface historicRequestTraceStore;
     private RequestTraceStoreInterface requestTraceStore;
 
+    /**
+     * Ships the pending trace summaries of the clustered stores, null if the stores are local
+     */
+    private ScheduledFuture<?> summaryFlushTask;
+
     /**
      * Hold the last not yet collected traces. The size of the queue is limited by removing oldest element in case it
      * gets larger than a fixed limit before adding a new trace to the queue.
@@ -247,6 +254,11 @@ public class RequestTracingService implements EventListener, ConfigListener, Mon
             bootstrapNotifierList();
         }
 
+        if (summaryFlushTask != null) {
+            summaryFlushTask.cancel(false);
+            summaryFlushTask = null;
+        }
+
         if (executionOptions != null && executionOptions.isEnabled()) {
             if (executionOptions.getAdaptiveSamplingEnabled()) {
                 sampleFilter = new AdaptiveSampleFilter(executionOptions.getSampleRate(), executionOptions.getAdaptiveSamplingTargetCount(),
@@ -290,7 +302,9 @@ public class RequestTracingService implements EventListener, ConfigListener, Mon
                         executionOptions.getTraceStoreTimeout(), requestTraceStore), 
                         0, period, TimeUnit.SECONDS);
             }
-            
+
+            scheduleSummaryFlush();
+
             logger.log(Level.INFO, "Payara Request Tracing Service Started with configuration: {0}", executionOptions);
         } else {
             clusteredConfig.clearSharedConfiguration("requestTraceStoreSize");
@@ -298,6 +312,27 @@ public class RequestTracingService implements EventListener, ConfigListener, Mon
         }
     }
 
+    /**
+     * Ships the pending trace summaries of the clustered stores once their batch is due, so that the last traces of
+     * an idle instance still reach the cluster.
+     */
+    private void scheduleSummaryFlush() {
+        List<ClusteredSummaryRequestTraceStore> summaryStores = new ArrayList<>();
+        if (requestTraceStore instanceof ClusteredSummaryRequestTraceStore) {
+            summaryStores.add((ClusteredSummaryRequestTraceStore) requestTraceStore);
+        }
+        if (executionOptions.isHistoricTraceStoreEnabled()
+                && historicRequestTraceStore instanceof ClusteredSummaryRequestTraceStore) {
+            summaryStores.add((ClusteredSummaryRequestTraceStore) historicRequestTraceStore);
+        }
+        if (!summaryStores.isEmpty()) {
+            long delay = TimeUnit.NANOSECONDS.toMillis(ClusteredSummaryRequestTraceStore.BATCH_DELAY_NANOS);
+            summaryFlushTask = payaraExecutorService.scheduleWithFixedDelay(
+                    () -> summaryStores.forEach(ClusteredSummaryRequestTraceStore::flushIfDue),
+                    delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
     private void initStoreSize(RequestTraceStoreInterface store, IntSupplier size, String clusteredConfigProperty) {
         if (store.isShared()) {
             store.setSize(() -> clusteredConfig.getSharedConfiguration(clusteredConfigProperty, size.getAsInt(), Integer::max));
@@ -41,6 +41,7 @@ package fish.payara.nucleus.requesttracing.admin;
 
 import com.sun.enterprise.util.ColumnFormatter;
 import fish.payara.notification.requesttracing.RequestTrace;
+import fish.payara.notification.requesttracing.RequestTraceSummary;
 import fish.payara.nucleus.requesttracing.RequestTracingService;
 import fish.payara.nucleus.requesttracing.configuration.RequestTracingServiceConfiguration;
 import fish.payara.nucleus.requesttracing.store.RequestTraceStoreInterface;
@@ -76,6 +77,7 @@ import java.util.*;
 public class ListRequestTraces implements AdminCommand {
 
     private static final String headers[] = {"Occurring Time", "Elapsed Time", "Traced Message"};
+    private static final String summaryHeaders[] = {"Occurring Time", "Elapsed Time", "Operation", "Instance"};
 
     @Inject
     protected Target targetUtil;
@@ -89,6 +91,9 @@ public class ListRequestTraces implements AdminCommand {
     @Param(name = "historicTraces", optional = true, alias = "historictraces")
     private Boolean historicTraces;
 
+    @Param(name = "summaries", optional = true, defaultValue = "false")
+    private Boolean summaries;
+
     @Inject
     private RequestTracingService service;
 
@@ -130,8 +135,12 @@ public class ListRequestTraces implements AdminCommand {
         } else {
             eventStore = service.getRequestTraceStore();
         }
-        
-        
+
+        if (summaries != null && summaries) {
+            generateSummaryReport(actionReport, eventStore);
+            return;
+        }
+
         ColumnFormatter columnFormatter = new ColumnFormatter(headers);
         Properties extrasProps = new Properties();
         List<Map<String, String>> tracesList = new ArrayList<>();
@@ -156,4 +165,36 @@ public class ListRequestTraces implements AdminCommand {
 
         actionReport.setActionExitCode(ActionReport.ExitCode.SUCCESS);
     }
+
+    /**
+     * Lists the summaries of the stored traces, which in a cluster include the traces of all instances.
+     */
+    private void generateSummaryReport(ActionReport actionReport, RequestTraceStoreInterface eventStore) {
+        ColumnFormatter columnFormatter = new ColumnFormatter(summaryHeaders);
+        Properties extrasProps = new Properties();
+        List<Map<String, String>> summaryList = new ArrayList<>();
+
+        List<RequestTraceSummary> traceSummaries = new ArrayList<>(eventStore.getTraceSummaries());
+        traceSummaries.sort(Comparator.comparingLong(RequestTraceSummary::getElapsedTime).reversed());
+        for (RequestTraceSummary summary : traceSummaries.subList(0, Math.min(first, traceSummaries.size()))) {
+            Map<String, String> messages = new LinkedHashMap<>();
+            Object values[] = new Object[4];
+            values[0] = summary.getStartTime();
+            values[1] = summary.getElapsedTime();
+            values[2] = summary.getOperationName();
+            values[3] = summary.getInstanceId() == null ? "" : summary.getInstanceId().toString();
+            messages.put("occuringTime", String.valueOf(values[0]));
+            messages.put("elapsedTime", values[1].toString());
+            messages.put("operation", String.valueOf(values[2]));
+            messages.put("instance", (String) values[3]);
+            summaryList.add(messages);
+            columnFormatter.addRow(values);
+        }
+
+        actionReport.setMessage(columnFormatter.toString());
+        extrasProps.put("summaries", summaryList);
+        actionReport.setExtraProperties(extrasProps);
+
+        actionReport.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+    }
 }
@@ -0,0 +1,358 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.nucleus.requesttracing.store;
+
+import fish.payara.notification.requesttracing.RequestTrace;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * A store of {@link RequestTrace} objects kept in a fixed-capacity array.
+ * <p>
+ * When keeping the longest traces the array is a binary min-heap ordered by elapsed time and start time, so the
+ * shortest (and on a tie the oldest) trace is always at the root and can be compared with and replaced by a new trace
+ * in O(log n). When reservoir sampling the array is a plain set of slots of which a random one is replaced. In both
+ * modes a trace's slot is tracked by identity, so removing a specific trace does not need to scan the store and no
+ * trace's {@link RequestTrace#equals(Object)} is ever evaluated.
+ * <p>
+ * Unlike the {@link LocalRequestTraceStore} adding a trace does not copy or iterate the stored traces.
+ */
+public class BoundedRequestTraceStore implements RequestTraceStoreInterface {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean keepLongest;
+    private final Random random;
+    private final Map<RequestTrace, Integer> slots = new IdentityHashMap<>();
+    private RequestTrace[] traces = new RequestTrace[INITIAL_CAPACITY];
+    private int size;
+    private volatile IntSupplier maxStoreSize = () -> 0;
+
+    /**
+     * @param reservoirSamplingEnabled true to evict random traces, false to evict the shortest traces
+     */
+    BoundedRequestTraceStore(boolean reservoirSamplingEnabled) {
+        this(reservoirSamplingEnabled, new Random());
+    }
+
+    BoundedRequestTraceStore(boolean reservoirSamplingEnabled, Random random) {
+        this.keepLongest = !reservoirSamplingEnabled;
+        this.random = random;
+    }
+
+    @Override
+    public RequestTrace addTrace(RequestTrace trace) {
+        return addTrace(trace, null);
+    }
+
+    @Override
+    public synchronized RequestTrace addTrace(RequestTrace trace, RequestTrace traceToRemove) {
+        if (slots.containsKey(trace)) {
+            return null;
+        }
+        int maxSize = maxStoreSize.getAsInt();
+        trimTo(maxSize);
+        if (size < maxSize) {
+            insert(trace);
+            return null;
+        }
+        if (maxSize <= 0) {
+            return trace;
+        }
+        Integer slot = traceToRemove == null ? null : slots.get(traceToRemove);
+        if (slot != null) {
+            removeAt(slot);
+            insert(trace);
+            return traceToRemove;
+        }
+        int victim;
+        if (keepLongest) {
+            if (isShorter(trace, traces[0])) {
+                return trace;
+            }
+            victim = 0;
+        } else {
+            // the new trace has the same chance of being discarded as any of the stored ones
+            victim = random.nextInt(size + 1);
+            if (victim == size) {
+                return trace;
+            }
+        }
+        RequestTrace removed = traces[victim];
+        slots.remove(removed);
+        place(trace, victim);
+        siftDown(victim);
+        traceRemoved(removed);
+        traceAdded(trace);
+        return removed;
+    }
+
+    /**
+     * Returns a live view of the store. Iteration happens over a snapshot taken when the iterator is created, removing
+     * a trace from the view removes it from the store.
+     */
+    @Override
+    public Collection<RequestTrace> getTraces() {
+        return new AbstractCollection<RequestTrace>() {
+
+            @Override
+            public Iterator<RequestTrace> iterator() {
+                return new SnapshotIterator(snapshot());
+            }
+
+            @Override
+            public int size() {
+                return BoundedRequestTraceStore.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return BoundedRequestTraceStore.this.contains(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o instanceof RequestTrace && removeTrace((RequestTrace) o);
+            }
+        };
+    }
+
+    /**
+     * Gets up to limit traces, the longest first when the store keeps the longest traces.
+     */
+    @Override
+    public Collection<RequestTrace> getTraces(int limit) {
+        List<RequestTrace> result = new ArrayList<>(Arrays.asList(snapshot()));
+        if (keepLongest) {
+            result.sort(null);
+        }
+        return limit < result.size() ? new ArrayList<>(result.subList(0, Math.max(0, limit))) : result;
+    }
+
+    @Override
+    public synchronized void setSize(IntSupplier maxSize) {
+        trimTo(maxSize.getAsInt());
+        this.maxStoreSize = maxSize;
+    }
+
+    @Override
+    public int getStoreSize() {
+        return maxStoreSize.getAsInt();
+    }
+
+    @Override
+    public synchronized Collection<RequestTrace> emptyStore() {
+        List<RequestTrace> removed = new ArrayList<>(Arrays.asList(traces).subList(0, size));
+        Arrays.fill(traces, 0, size, null);
+        slots.clear();
+        size = 0;
+        removed.forEach(this::traceRemoved);
+        return removed;
+    }
+
+    /**
+     * Removes the given trace if it is contained in the store.
+     *
+     * @param trace the trace to remove
+     * @return true if the trace was removed, false if it was not contained
+     */
+    public synchronized boolean removeTrace(RequestTrace trace) {
+        Integer slot = slots.get(trace);
+        if (slot == null) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean contains(Object trace) {
+        return slots.containsKey(trace);
+    }
+
+    synchronized RequestTrace[] snapshot() {
+        return Arrays.copyOf(traces, size);
+    }
+
+    /**
+     * Called with the store's monitor held whenever a trace has been added to the store.
+     *
+     * @param trace the added trace
+     */
+    protected void traceAdded(RequestTrace trace) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called with the store's monitor held whenever a trace has been removed from the store.
+     *
+     * @param trace the removed trace
+     */
+    protected void traceRemoved(RequestTrace trace) {
+        // nothing to do by default
+    }
+
+    private void trimTo(int maxSize) {
+        while (size > Math.max(0, maxSize)) {
+            removeAt(keepLongest ? 0 : random.nextInt(size));
+        }
+    }
+
+    private void insert(RequestTrace trace) {
+        if (size == traces.length) {
+            traces = Arrays.copyOf(traces, size * 2);
+        }
+        place(trace, size++);
+        siftUp(size - 1);
+        traceAdded(trace);
+    }
+
+    private void removeAt(int index) {
+        RequestTrace removed = traces[index];
+        slots.remove(removed);
+        int last = --size;
+        if (index != last) {
+            place(traces[last], index);
+            traces[last] = null;
+            siftDown(index);
+            siftUp(index);
+        } else {
+            traces[last] = null;
+        }
+        traceRemoved(removed);
+    }
+
+    private void place(RequestTrace trace, int index) {
+        traces[index] = trace;
+        slots.put(trace, index);
+    }
+
+    private void siftUp(int index) {
+        if (!keepLongest) {
+            return;
+        }
+        RequestTrace trace = traces[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isShorter(trace, traces[parent])) {
+                break;
+            }
+            place(traces[parent], index);
+            index = parent;
+        }
+        place(trace, index);
+    }
+
+    private void siftDown(int index) {
+        if (!keepLongest) {
+            return;
+        }
+        RequestTrace trace = traces[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && isShorter(traces[right], traces[child])) {
+                child = right;
+            }
+            if (!isShorter(traces[child], trace)) {
+                break;
+            }
+            place(traces[child], index);
+            index = child;
+        }
+        place(trace, index);
+    }
+
+    /**
+     * Same order as the {@link fish.payara.nucleus.requesttracing.store.strategy.LongestTraceStorageStrategy}: the
+     * shorter trace is removed first, of two equally long traces the one that started first.
+     */
+    private static boolean isShorter(RequestTrace a, RequestTrace b) {
+        if (a.getElapsedTime() != b.getElapsedTime()) {
+            return a.getElapsedTime() < b.getElapsedTime();
+        }
+        return a.getStartTime().isBefore(b.getStartTime());
+    }
+
+    private final class SnapshotIterator implements Iterator<RequestTrace> {
+
+        private final RequestTrace[] snapshot;
+        private int next;
+
+        SnapshotIterator(RequestTrace[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < snapshot.length;
+        }
+
+        @Override
+        public RequestTrace next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return snapshot[next++];
+        }
+
+        @Override
+        public void remove() {
+            if (next == 0) {
+                throw new IllegalStateException();
+            }
+            removeTrace(snapshot[next - 1]);
+        }
+    }
+}
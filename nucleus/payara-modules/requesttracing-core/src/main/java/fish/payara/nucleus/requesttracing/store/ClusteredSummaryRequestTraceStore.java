@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.nucleus.requesttracing.store;
+
+import fish.payara.notification.requesttracing.RequestTrace;
+import fish.payara.notification.requesttracing.RequestTraceSummary;
+import fish.payara.nucleus.store.ClusteredStore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A store of {@link RequestTrace} objects for clustered instances.
+ * <p>
+ * The full traces are kept locally in a {@link BoundedRequestTraceStore}. The cluster only receives a
+ * {@link RequestTraceSummary} of each stored trace, which is shipped in batches rather than on every add. Traces
+ * removed before their summary was shipped are never sent at all.
+ * <p>
+ * As the full traces are not shared, the local store is not {@link #isShared() shared} and is sized by the
+ * configuration of this instance rather than the largest size configured in the cluster.
+ */
+public class ClusteredSummaryRequestTraceStore extends BoundedRequestTraceStore {
+
+    static final int BATCH_SIZE = 32;
+
+    /**
+     * The time after which pending summaries are shipped even if the batch is not full.
+     */
+    public static final long BATCH_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClusteredStore clusteredStore;
+    private final String storeName;
+    private final UUID instanceId;
+
+    private Map<UUID, RequestTraceSummary> pendingSummaries = new LinkedHashMap<>();
+    private Set<UUID> pendingRemovals = new HashSet<>();
+    private long batchStarted;
+
+    /**
+     * Held while shipping a batch, so that batches reach the cluster in the order they were taken
+     */
+    private final Object flushLock = new Object();
+
+    ClusteredSummaryRequestTraceStore(ClusteredStore clusteredStore, String storeName,
+            boolean reservoirSamplingEnabled) {
+        super(reservoirSamplingEnabled);
+        this.clusteredStore = clusteredStore;
+        this.storeName = storeName;
+        this.instanceId = clusteredStore.getInstanceId();
+    }
+
+    @Override
+    public RequestTrace addTrace(RequestTrace trace, RequestTrace traceToRemove) {
+        RequestTrace removed = super.addTrace(trace, traceToRemove);
+        flushIfDue();
+        return removed;
+    }
+
+    @Override
+    public Collection<RequestTrace> emptyStore() {
+        Collection<RequestTrace> traces = super.emptyStore();
+        flush();
+        return traces;
+    }
+
+    /**
+     * Gets the summaries of the traces stored by all instances of the cluster.
+     *
+     * @return the summaries of all traces in the cluster
+     */
+    @Override
+    public Collection<RequestTraceSummary> getTraceSummaries() {
+        flush();
+        List<RequestTraceSummary> summaries = new ArrayList<>();
+        for (Serializable summary : clusteredStore.getMap(storeName).values()) {
+            if (summary instanceof RequestTraceSummary) {
+                summaries.add((RequestTraceSummary) summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Ships the pending summaries and removals to the cluster.
+     */
+    public void flush() {
+        // a removal shipped by a concurrent flush must not overtake the summary it removes
+        synchronized (flushLock) {
+            Map<UUID, RequestTraceSummary> summaries;
+            Set<UUID> removals;
+            synchronized (this) {
+                if (pendingSummaries.isEmpty() && pendingRemovals.isEmpty()) {
+                    return;
+                }
+                summaries = pendingSummaries;
+                removals = pendingRemovals;
+                pendingSummaries = new LinkedHashMap<>();
+                pendingRemovals = new HashSet<>();
+            }
+            if (!removals.isEmpty()) {
+                clusteredStore.removeAll(storeName, removals);
+            }
+            if (!summaries.isEmpty()) {
+                clusteredStore.setAll(storeName, summaries);
+            }
+        }
+    }
+
+    /**
+     * Ships the pending summaries and removals to the cluster if the batch is full or has been pending for
+     * {@link #BATCH_DELAY_NANOS}.
+     */
+    public void flushIfDue() {
+        if (isBatchDue()) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void traceAdded(RequestTrace trace) {
+        UUID traceId = trace.getTraceId();
+        startBatch();
+        pendingRemovals.remove(traceId);
+        pendingSummaries.put(traceId, RequestTraceSummary.of(trace, instanceId));
+    }
+
+    @Override
+    protected void traceRemoved(RequestTrace trace) {
+        UUID traceId = trace.getTraceId();
+        if (pendingSummaries.remove(traceId) == null) {
+            startBatch();
+            pendingRemovals.add(traceId);
+        }
+    }
+
+    private void startBatch() {
+        if (pendingSummaries.isEmpty() && pendingRemovals.isEmpty()) {
+            batchStarted = System.nanoTime();
+        }
+    }
+
+    private synchronized boolean isBatchDue() {
+        int pending = pendingSummaries.size() + pendingRemovals.size();
+        return pending >= BATCH_SIZE || pending > 0 && System.nanoTime() - batchStarted >= BATCH_DELAY_NANOS;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -53,11 +53,23 @@ import java.util.UUID;
 /**
  * A factory for generating a
  * {@link fish.payara.nucleus.requesttracing.store.RequestTraceStoreInterface}.
+ * <p>
+ * Setting the <code>fish.payara.requesttracing.bounded-store</code> system property to true selects the
+ * {@link BoundedRequestTraceStore} for local stores and the {@link ClusteredSummaryRequestTraceStore} for clustered
+ * stores. The clustered summary stores keep only
+ * {@link fish.payara.notification.requesttracing.RequestTraceSummary summaries} in the Hazelcast stores named
+ * <code>REQUEST_TRACE_SUMMARY_STORE</code> and <code>HISTORIC_REQUEST_TRACE_SUMMARY_STORE</code> rather than the
+ * full traces in <code>REQUEST_TRACE_STORE</code> and <code>HISTORIC_REQUEST_TRACE_STORE</code>, so their
+ * {@link RequestTraceStoreInterface#getTraces()} returns only the traces of the local instance.
  */
 public class RequestTraceStoreFactory {
 
+    static final String BOUNDED_STORE_PROPERTY = "fish.payara.requesttracing.bounded-store";
+
     private static final String REQUEST_TRACE_STORE = "REQUEST_TRACE_STORE";
     private static final String HISTORIC_REQUEST_TRACE_STORE = "HISTORIC_REQUEST_TRACE_STORE";
+    private static final String REQUEST_TRACE_SUMMARY_STORE = "REQUEST_TRACE_SUMMARY_STORE";
+    private static final String HISTORIC_REQUEST_TRACE_SUMMARY_STORE = "HISTORIC_REQUEST_TRACE_SUMMARY_STORE";
 
     /**
      * Generates a request trace store.
@@ -68,13 +80,29 @@ public class RequestTraceStoreFactory {
      * @return a request trace store.
      */
     public static RequestTraceStoreInterface getStore(boolean reservoirSamplingEnabled, boolean historic) {
+        boolean bounded = Boolean.getBoolean(BOUNDED_STORE_PROPERTY);
 
         // Get the hazelcast store name for if it's a clustered store.
         String storeName;
         if (historic) {
-            storeName = HISTORIC_REQUEST_TRACE_STORE;
+            storeName = bounded ? HISTORIC_REQUEST_TRACE_SUMMARY_STORE : HISTORIC_REQUEST_TRACE_STORE;
         } else {
-            storeName = REQUEST_TRACE_STORE;
+            storeName = bounded ? REQUEST_TRACE_SUMMARY_STORE : REQUEST_TRACE_STORE;
+        }
+
+        // Get a clustered store if possible
+        ClusteredStore clusteredStore = null;
+        ServiceHandle<ClusteredStore> serviceHandle = Globals.getDefaultHabitat().getServiceHandle(ClusteredStore.class);
+        if (serviceHandle != null && serviceHandle.isActive()) {
+            clusteredStore = serviceHandle.getService();
+        }
+
+        if (bounded) {
+            // Share only trace summaries, the full traces stay with the instance that recorded them
+            if (clusteredStore != null && clusteredStore.isEnabled()) {
+                return new ClusteredSummaryRequestTraceStore(clusteredStore, storeName, reservoirSamplingEnabled);
+            }
+            return new BoundedRequestTraceStore(reservoirSamplingEnabled);
         }
 
         // Determines a strategy for adding items to the store
@@ -85,13 +113,6 @@ public class RequestTraceStoreFactory {
             strategy = new LongestTraceStorageStrategy();
         }
 
-        // Get a clustered store if possible
-        ClusteredStore clusteredStore = null;
-        ServiceHandle<ClusteredStore> serviceHandle = Globals.getDefaultHabitat().getServiceHandle(ClusteredStore.class);
-        if (serviceHandle != null && serviceHandle.isActive()) {
-            clusteredStore = serviceHandle.getService();
-        }
-
         if (clusteredStore != null && clusteredStore.isEnabled()) {
             Map<UUID, RequestTrace> store = (Map) clusteredStore.getMap(storeName);
             return new ClusteredRequestTraceStore(store, strategy);
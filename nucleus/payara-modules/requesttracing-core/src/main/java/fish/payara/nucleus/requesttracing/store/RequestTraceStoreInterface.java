@@ -40,7 +40,10 @@
 package fish.payara.nucleus.requesttracing.store;
 
 import fish.payara.notification.requesttracing.RequestTrace;
+import fish.payara.notification.requesttracing.RequestTraceSummary;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.IntSupplier;
 
 /**
@@ -105,6 +108,20 @@ public interface RequestTraceStoreInterface {
      */
     Collection<RequestTrace> emptyStore();
 
+    /**
+     * Gets the summaries of the stored traces. A clustered store returns the summaries of the traces stored by all
+     * instances of the cluster.
+     *
+     * @return the summaries of the stored traces.
+     */
+    default Collection<RequestTraceSummary> getTraceSummaries() {
+        List<RequestTraceSummary> summaries = new ArrayList<>();
+        for (RequestTrace trace : getTraces()) {
+            summaries.add(RequestTraceSummary.of(trace, null));
+        }
+        return summaries;
+    }
+
     /**
      * @return true in case of a clustered store, false in case of a local store.
      */
@@ -0,0 +1,153 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.nucleus.requesttracing.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fish.payara.notification.requesttracing.RequestTrace;
+
+/**
+ * Tests correctness of the {@link BoundedRequestTraceStore} keeping the longest traces.
+ */
+public class BoundedRequestTraceStoreTest extends AbstractRequestTraceStoreTest {
+
+    public BoundedRequestTraceStoreTest() {
+        super(new BoundedRequestTraceStore(false));
+    }
+
+    @Test
+    public void keepsTheLongestTraces() {
+        store.setSize(() -> 5);
+        List<RequestTrace> traces = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            traces.add(createTrace(i * 10000000L));
+        }
+        List<RequestTrace> longest = new ArrayList<>(traces.subList(45, 50));
+        Collections.reverse(longest);
+        Collections.shuffle(traces, new Random(42));
+        for (RequestTrace trace : traces) {
+            store.addTrace(trace);
+        }
+        assertEquals(longest, new ArrayList<>(store.getTraces(5)));
+    }
+
+    @Test
+    public void shorterTraceThanAllStoredIsRejected() {
+        store.setSize(() -> 2);
+        store.addTrace(createTrace(200000000L));
+        store.addTrace(createTrace(300000000L));
+        RequestTrace shortTrace = createTrace(100000000L);
+        assertSame(shortTrace, store.addTrace(shortTrace));
+        assertFalse(store.getTraces().contains(shortTrace));
+    }
+
+    @Test
+    public void givenTraceToRemoveIsRemovedInsteadOfShortest() {
+        store.setSize(() -> 2);
+        RequestTrace shortest = createTrace(100000000L);
+        RequestTrace longest = createTrace(300000000L);
+        store.addTrace(shortest);
+        store.addTrace(longest);
+        RequestTrace added = createTrace(200000000L);
+        assertSame(longest, store.addTrace(added, longest));
+        assertTrue(store.getTraces().contains(shortest));
+        assertTrue(store.getTraces().contains(added));
+    }
+
+    @Test
+    public void traceToRemoveIsIgnoredWhenStoreIsNotFull() {
+        store.setSize(() -> 3);
+        RequestTrace first = createTrace();
+        store.addTrace(first);
+        assertNull(store.addTrace(createTrace(), first));
+        assertEquals(2, store.getTraces().size());
+    }
+
+    @Test
+    public void removingFromTheTracesRemovesFromTheStore() {
+        store.setSize(() -> 10);
+        for (int i = 1; i <= 10; i++) {
+            store.addTrace(createTrace(i * 10000000L));
+        }
+        Collection<RequestTrace> traces = store.getTraces();
+        for (RequestTrace trace : traces) {
+            if (trace.getElapsedTime() / 10 % 2 == 0) {
+                traces.remove(trace);
+            }
+        }
+        assertEquals(5, store.getTraces().size());
+        Iterator<RequestTrace> iter = store.getTraces().iterator();
+        iter.next();
+        iter.remove();
+        assertEquals(4, store.getTraces().size());
+        // the heap is still intact after removing from its middle
+        store.setSize(() -> 2);
+        Iterator<RequestTrace> longest = store.getTraces(2).iterator();
+        assertEquals(9L, longest.next().getElapsedTime() / 10);
+        assertEquals(7L, longest.next().getElapsedTime() / 10);
+    }
+
+    @Test
+    public void reservoirSamplingKeepsTheStoreAtMaxSize() {
+        BoundedRequestTraceStore reservoir = new BoundedRequestTraceStore(true, new Random(7));
+        reservoir.setSize(() -> 10);
+        int removed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (reservoir.addTrace(createTrace()) != null) {
+                removed++;
+            }
+        }
+        assertEquals(10, reservoir.getTraces().size());
+        assertEquals(90, removed);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ * 
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/master/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ * 
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ * 
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ * 
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ * 
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ */
+package fish.payara.nucleus.requesttracing.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+
+import fish.payara.notification.requesttracing.RequestTrace;
+import fish.payara.notification.requesttracing.RequestTraceSummary;
+import fish.payara.nucleus.store.ClusteredStore;
+
+/**
+ * Tests correctness of the {@link ClusteredSummaryRequestTraceStore}.
+ */
+public class ClusteredSummaryRequestTraceStoreTest extends AbstractRequestTraceStoreTest {
+
+    private static final String STORE_NAME = "TEST_SUMMARY_STORE";
+
+    private final ClusteredStore clusteredStore;
+    private final Map<Serializable, Serializable> cluster;
+
+    public ClusteredSummaryRequestTraceStoreTest() {
+        this(mock(ClusteredStore.class), new HashMap<>());
+    }
+
+    private ClusteredSummaryRequestTraceStoreTest(ClusteredStore clusteredStore, Map<Serializable, Serializable> cluster) {
+        super(createStore(clusteredStore, cluster));
+        this.clusteredStore = clusteredStore;
+        this.cluster = cluster;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ClusteredSummaryRequestTraceStore createStore(ClusteredStore clusteredStore,
+            Map<Serializable, Serializable> cluster) {
+        when(clusteredStore.getInstanceId()).thenReturn(UUID.randomUUID());
+        when(clusteredStore.getMap(anyString())).thenAnswer(invocation -> new HashMap<>(cluster));
+        doAnswer(invocation -> {
+            cluster.putAll(invocation.getArgument(1));
+            return true;
+        }).when(clusteredStore).setAll(anyString(), anyMap());
+        doAnswer(invocation -> {
+            cluster.keySet().removeAll(invocation.getArgument(1));
+            return true;
+        }).when(clusteredStore).removeAll(anyString(), ArgumentMatchers.<UUID>anyCollection());
+        return new ClusteredSummaryRequestTraceStore(clusteredStore, STORE_NAME, false);
+    }
+
+    private ClusteredSummaryRequestTraceStore summaryStore() {
+        return (ClusteredSummaryRequestTraceStore) store;
+    }
+
+    @Before
+    public void resetCluster() {
+        cluster.clear();
+    }
+
+    @Test
+    public void summariesAreShippedInBatches() {
+        store.setSize(() -> 100);
+        for (int i = 1; i < ClusteredSummaryRequestTraceStore.BATCH_SIZE; i++) {
+            store.addTrace(createTrace());
+        }
+        verify(clusteredStore, never()).setAll(anyString(), anyMap());
+        store.addTrace(createTrace());
+        verify(clusteredStore, times(1)).setAll(eq(STORE_NAME), anyMap());
+        assertEquals(ClusteredSummaryRequestTraceStore.BATCH_SIZE, cluster.size());
+    }
+
+    @Test
+    public void summariesReflectTheLocallyStoredTraces() {
+        store.setSize(() -> 3);
+        RequestTrace longest = createTrace(500000000L);
+        store.addTrace(longest);
+        for (int i = 0; i < 10; i++) {
+            store.addTrace(createTrace());
+        }
+        Collection<RequestTraceSummary> summaries = summaryStore().getTraceSummaries();
+        assertEquals(3, summaries.size());
+        assertEquals(1, summaries.stream().filter(s -> s.getTraceId().equals(longest.getTraceId())).count());
+        RequestTraceSummary summary = (RequestTraceSummary) cluster.get(longest.getTraceId());
+        assertEquals(longest.getElapsedTime(), summary.getElapsedTime());
+        assertEquals(longest.getStartTime(), summary.getStartTime());
+        assertEquals("op1", summary.getOperationName());
+    }
+
+    @Test
+    public void localTracesAreNotSizedByTheCluster() {
+        // only shared stores take the largest size configured in the cluster
+        assertFalse(store.isShared());
+    }
+
+    @Test
+    public void removedTracesAreRemovedFromTheCluster() {
+        store.setSize(() -> 5);
+        for (int i = 0; i < 5; i++) {
+            store.addTrace(createTrace());
+        }
+        summaryStore().flush();
+        assertEquals(5, cluster.size());
+        store.setSize(() -> 2);
+        summaryStore().flush();
+        assertEquals(2, cluster.size());
+        store.emptyStore();
+        assertEquals(0, cluster.size());
+    }
+}